@@ -1,9 +1,7 @@
 package integration;
 
 import com.firebolt.jdbc.FireboltBackendType;
-import com.firebolt.jdbc.client.HttpClientConfig;
 import java.io.InputStream;
-import java.lang.reflect.Field;
 import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -108,12 +106,6 @@ public abstract class IntegrationTest {
 		}
 	}
 
-	protected void removeExistingClient() throws NoSuchFieldException, IllegalAccessException {
-		Field field = HttpClientConfig.class.getDeclaredField("instance");
-		field.setAccessible(true);
-		field.set(null, null);
-	}
-
 	protected String getSystemEngineName() {
 		return System.getProperty("api") == null ? null : SYSTEM_ENGINE_NAME;
 	}
@@ -3,21 +3,18 @@ package integration.tests;
 import com.firebolt.jdbc.cache.CacheService;
 import com.firebolt.jdbc.cache.CacheServiceProvider;
 import com.firebolt.jdbc.cache.CacheType;
-import com.firebolt.jdbc.cache.DirectoryPathResolver;
-import com.firebolt.jdbc.cache.FileService;
-import com.firebolt.jdbc.cache.FilenameGenerator;
+import com.firebolt.jdbc.cache.DiskCacheStore;
 import com.firebolt.jdbc.cache.key.CacheKey;
 import com.firebolt.jdbc.cache.key.ClientSecretCacheKey;
 import com.firebolt.jdbc.testutils.TestFixtures;
 import com.firebolt.jdbc.testutils.TestTag;
 import integration.ConnectionInfo;
 import integration.IntegrationTest;
-import java.io.File;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.file.Files;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import lombok.CustomLog;
 import org.junit.jupiter.api.AfterAll;
@@ -27,6 +24,7 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @Tag(TestTag.V2)
@@ -54,22 +52,16 @@ public class CachedConnectionTest extends IntegrationTest {
             connection.createStatement().execute("CREATE DATABASE IF NOT EXISTS " + secondDbName + ";");
         }
 
-        // clean up the cache directory after the fact, since creating and starting the engine might take some time and we
-        // are expecting the cache file not to be older than 2 minutes.
-        DirectoryPathResolver directoryPathResolver = new DirectoryPathResolver();
-
-        // remove all the files from the directory path resolver
+        // clean up the cache after the fact, since creating and starting the engine might take some time and we
+        // are expecting the cache entry not to be older than 2 minutes.
         CacheService cacheService = CacheServiceProvider.getInstance().getCacheService(CacheType.DISK);
         CacheKey cacheKey = new ClientSecretCacheKey(ConnectionInfo.getInstance().getPrincipal(), ConnectionInfo.getInstance().getSecret(), ConnectionInfo.getInstance().getAccount());
         cacheService.remove(cacheKey);
 
-        // allow the file to be deleted
+        // allow the removal to be written to disk
         sleepForMillis(200);
 
-        FilenameGenerator filenameGenerator = new FilenameGenerator();
-        String expectedCacheFile = filenameGenerator.generate(cacheKey);
-        File file = Paths.get(directoryPathResolver.resolveFireboltJdbcDirectory().toString(), expectedCacheFile).toFile();
-        assertFalse(file.exists());
+        assertTrue(DiskCacheStore.getInstance().getCreationTime(cacheKey).isEmpty());
 
     }
 
@@ -152,16 +144,10 @@ public class CachedConnectionTest extends IntegrationTest {
             assertFalse(engineTwoResultSet.next());
         }
 
-        // verify cache file exists
-        DirectoryPathResolver directoryPathResolver = new DirectoryPathResolver();
-        Path fireboltDriverDirectory = directoryPathResolver.resolveFireboltJdbcDirectory();
-
-        FilenameGenerator filenameGenerator = new FilenameGenerator();
-        String expectedCacheFile = filenameGenerator.generate(new ClientSecretCacheKey(ConnectionInfo.getInstance().getPrincipal(), ConnectionInfo.getInstance().getSecret(), ConnectionInfo.getInstance().getAccount()));
-
-        // the cache file exists
-        File file = Paths.get(fireboltDriverDirectory.toString(), expectedCacheFile).toFile();
-        assertTrue(file.exists());
+        // verify the connection is cached on disk
+        CacheKey cacheKey = new ClientSecretCacheKey(ConnectionInfo.getInstance().getPrincipal(), ConnectionInfo.getInstance().getSecret(), ConnectionInfo.getInstance().getAccount());
+        assertTrue(Files.exists(DiskCacheStore.getInstance().getCacheFile()));
+        assertTrue(DiskCacheStore.getInstance().getCreationTime(cacheKey).isPresent());
     }
 
     @Test
@@ -173,20 +159,14 @@ public class CachedConnectionTest extends IntegrationTest {
             assertTrue(rs.next());
         }
 
-        // sleep for some time to allow for the file to be created
+        // sleep for some time to allow for the cache to be written to disk
         TestFixtures.sleepForMillis(200);
 
-        DirectoryPathResolver directoryPathResolver = new DirectoryPathResolver();
-        Path fireboltDriverDirectory = directoryPathResolver.resolveFireboltJdbcDirectory();
-
-        FilenameGenerator filenameGenerator = new FilenameGenerator();
-        String expectedCacheFile = filenameGenerator.generate(new ClientSecretCacheKey(ConnectionInfo.getInstance().getPrincipal(), ConnectionInfo.getInstance().getSecret(), ConnectionInfo.getInstance().getAccount()));
-
-        File file = Paths.get(fireboltDriverDirectory.toString(), expectedCacheFile).toFile();
-        FileService fileService = FileService.getInstance();
+        CacheKey cacheKey = new ClientSecretCacheKey(ConnectionInfo.getInstance().getPrincipal(), ConnectionInfo.getInstance().getSecret(), ConnectionInfo.getInstance().getAccount());
+        Instant creationTime = DiskCacheStore.getInstance().getCreationTime(cacheKey).orElse(null);
 
-        assertTrue(file.exists(), "Did not find the cache file");
-        assertFalse(fileService.wasFileCreatedBeforeTimestamp(file, 2, ChronoUnit.MINUTES));
-        assertTrue(fileService.wasFileCreatedBeforeTimestamp(file, 1, ChronoUnit.MILLIS));
+        assertNotNull("Did not find the cached connection on disk", creationTime);
+        assertFalse(creationTime.isBefore(Instant.now().minus(2, ChronoUnit.MINUTES)));
+        assertTrue(creationTime.isBefore(Instant.now().minus(1, ChronoUnit.MILLIS)));
     }
 }
@@ -16,7 +16,7 @@ import org.junit.jupiter.api.Test;
 
 public class TLSTest extends MockWebServerAwareIntegrationTest {
 	@Test
-	public void shouldUseTLS() throws SQLException, IOException, NoSuchFieldException, IllegalAccessException {
+	public void shouldUseTLS() throws SQLException, IOException {
 		mockBackEnd.enqueue(new MockResponse().setResponseCode(200));
 
 		/*
@@ -42,14 +42,13 @@ public class TLSTest extends MockWebServerAwareIntegrationTest {
 		try (Writer out = new FileWriter(new File(path).getAbsoluteFile())) {
 			out.write(localhostCertificate.certificatePem());
 		}
-		removeExistingClient();
+		// the certificate path is part of the settings of the http client, so the connection gets its own client that is
+		// released when the connection is closed
 		try (FireboltConnection fireboltConnection = (FireboltConnection) createLocalConnection(
 				String.format("?ssl_certificate_path=%s&port=%s&access_token=my_token", path, mockBackEnd.getPort()));
 				Statement statement = fireboltConnection.createStatement()) {
 			statement.execute("SELECT 1;");
 			assertMockBackendRequestsCount(1);
-		} finally {
-			removeExistingClient();
 		}
 	}
 }
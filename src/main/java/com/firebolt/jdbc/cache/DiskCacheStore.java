@@ -0,0 +1,619 @@
+package com.firebolt.jdbc.cache;
+
+import com.firebolt.jdbc.annotation.ExcludeFromJacocoGeneratedReport;
+import com.firebolt.jdbc.cache.exception.ConnectionCacheDeserializationException;
+import com.firebolt.jdbc.cache.exception.EncryptionException;
+import com.firebolt.jdbc.cache.key.CacheKey;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import lombok.CustomLog;
+import org.apache.commons.lang3.tuple.Pair;
+
+/**
+ * Stores the connection caches of all the cache keys in a single append-only file that is memory mapped and indexed in memory.
+ *
+ * Layout of the file: a header (magic, version and a "superseded" flag) followed by records. Each record is
+ * [length][crc32][key hash][creation time][type][payload] where the key hash is an HMAC of the cache key (so the file does not reveal it)
+ * and the payload is the serialized connection cache encrypted with the encryption key of the cache key and a random nonce.
+ * Later records of a key override the earlier ones, a record of type REMOVE deletes the key.
+ *
+ * Writes are coalesced: all the puts and removes done within {@link #WRITE_COALESCING_WINDOW_MILLIS} are appended in one go and only the
+ * last one of each key is written. When the file grows to more than twice the size of its live records it is compacted into a new file
+ * which atomically replaces the old one; the old file is marked as superseded so other JVMs using it reopen the new file.
+ * The file may be shared by several JVMs, all file changes are done while holding an exclusive file lock.
+ *
+ * Older versions of the driver kept one file per cache key next to the cache file. Their entries are not migrated, the token they hold
+ * is only valid for a short time anyhow, so these files are deleted when the store first opens its file.
+ */
+@CustomLog
+public class DiskCacheStore {
+
+    static final String CACHE_FILE_NAME = "connection_cache.bin";
+    static final long WRITE_COALESCING_WINDOW_MILLIS = 100;
+    static final long COMPACTION_THRESHOLD_BYTES = 256 * 1024L;
+
+    private static final int MAGIC = 0x46424343; // FBCC
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int SUPERSEDED_FLAG_POSITION = 8;
+    private static final int RECORD_PREFIX_SIZE = Integer.BYTES * 2; // length + crc
+    private static final int KEY_HASH_SIZE = 32;
+    private static final int ENTRY_HEADER_SIZE = KEY_HASH_SIZE + Long.BYTES + 1; // key hash + creation time + type
+    private static final int MAX_RECORD_SIZE = 1024 * 1024;
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    // the url safe base64 name of a cache file written by older versions of the driver
+    private static final Pattern LEGACY_CACHE_FILE_NAME = Pattern.compile("[A-Za-z0-9_-]+\\.txt");
+
+    private static DiskCacheStore instance;
+
+    private final Path cacheFile;
+    private final EncryptionService encryptionService;
+    private final ScheduledExecutorService executorService;
+    private final Clock clock;
+    private final Duration timeToLive;
+
+    // writes that are waiting for the coalescing window to pass
+    private final Map<ByteBuffer, PendingWrite> pendingWrites = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    // the fields below are guarded by this
+    private final Map<ByteBuffer, IndexEntry> index = new HashMap<>();
+    private FileChannel channel;
+    private MappedByteBuffer mappedFile;
+    private long validEnd;
+    private long liveBytes;
+    private boolean legacyCacheFilesDeleted;
+
+    @ExcludeFromJacocoGeneratedReport
+    public static synchronized DiskCacheStore getInstance() {
+        if (instance == null) {
+            ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "firebolt-jdbc-cache");
+                thread.setDaemon(true);
+                return thread;
+            });
+            Path cacheFile = new DirectoryPathResolver().resolveFireboltJdbcDirectory().resolve(CACHE_FILE_NAME);
+            instance = new DiskCacheStore(cacheFile, new EncryptionService(), executorService, Clock.systemUTC(),
+                    Duration.ofMinutes(OnDiskMemoryCacheService.CACHE_TIME_IN_MINUTES));
+            // short-lived JVMs should not lose the writes of their last coalescing window
+            Runtime.getRuntime().addShutdownHook(new Thread(instance::flush, "firebolt-jdbc-cache-shutdown"));
+        }
+        return instance;
+    }
+
+    // visible for testing
+    DiskCacheStore(Path cacheFile, EncryptionService encryptionService, ScheduledExecutorService executorService, Clock clock, Duration timeToLive) {
+        this.cacheFile = cacheFile;
+        this.encryptionService = encryptionService;
+        this.executorService = executorService;
+        this.clock = clock;
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Schedules the connection cache to be written to disk. If there is another write for the same key within the coalescing window only the last one is written.
+     */
+    public void put(CacheKey cacheKey, ConnectionCache connectionCache) {
+        schedule(cacheKey, connectionCache);
+    }
+
+    /**
+     * Schedules the removal of the connection cache from disk.
+     */
+    public void remove(CacheKey cacheKey) {
+        schedule(cacheKey, null);
+    }
+
+    /**
+     * Returns the connection cache saved for the key if there is one that was created within the time to live.
+     */
+    public Optional<ConnectionCache> get(CacheKey cacheKey) {
+        Optional<ByteBuffer> keyHash = hash(cacheKey);
+        if (keyHash.isEmpty()) {
+            return Optional.empty();
+        }
+
+        PendingWrite pendingWrite = pendingWrites.get(keyHash.get());
+        if (pendingWrite != null) {
+            return Optional.ofNullable(pendingWrite.connectionCache);
+        }
+
+        byte[] payload;
+        long creationTime;
+        synchronized (this) {
+            IndexEntry entry = findLiveEntry(keyHash.get());
+            if (entry == null) {
+                return Optional.empty();
+            }
+            payload = new byte[entry.getPayloadLength()];
+            mappedFile.duplicate().position(entry.getPayloadPosition()).get(payload);
+            creationTime = entry.creationTime;
+        }
+
+        try {
+            byte[] decrypted = encryptionService.decrypt(payload, associatedData(keyHash.get(), creationTime), cacheKey.getEncryptionKey());
+            return Optional.of(deserialize(decrypted));
+        } catch (EncryptionException | ConnectionCacheDeserializationException e) {
+            // the record was written with another encryption key or tampered with, so we cannot use it anyhow
+            log.warn("Cannot read the cached connection from disk.");
+            remove(cacheKey);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns the time when the connection cache of the key was first written to disk, if there is one that can still be used.
+     */
+    public Optional<Instant> getCreationTime(CacheKey cacheKey) {
+        Optional<ByteBuffer> keyHash = hash(cacheKey);
+        if (keyHash.isEmpty()) {
+            return Optional.empty();
+        }
+        synchronized (this) {
+            IndexEntry entry = findLiveEntry(keyHash.get());
+            return entry == null ? Optional.empty() : Optional.of(Instant.ofEpochMilli(entry.creationTime));
+        }
+    }
+
+    public Path getCacheFile() {
+        return cacheFile;
+    }
+
+    private void schedule(CacheKey cacheKey, ConnectionCache connectionCache) {
+        Optional<ByteBuffer> keyHash = hash(cacheKey);
+        if (keyHash.isEmpty()) {
+            return;
+        }
+        pendingWrites.put(keyHash.get(), new PendingWrite(cacheKey, connectionCache));
+        if (flushScheduled.compareAndSet(false, true)) {
+            executorService.schedule(this::flush, WRITE_COALESCING_WINDOW_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private Optional<ByteBuffer> hash(CacheKey cacheKey) {
+        try {
+            return Optional.of(ByteBuffer.wrap(encryptionService.hash(cacheKey.getValue(), cacheKey.getEncryptionKey())));
+        } catch (EncryptionException | IllegalArgumentException e) {
+            log.warn("Cannot calculate the hash of the cache key.");
+            return Optional.empty();
+        }
+    }
+
+    private IndexEntry findLiveEntry(ByteBuffer keyHash) {
+        if (!openIfNeeded()) {
+            return null;
+        }
+        try {
+            refresh();
+        } catch (IOException e) {
+            log.warn("Failed to read the connection cache file", e);
+        }
+        IndexEntry entry = index.get(keyHash);
+        return entry == null || isExpired(entry.creationTime) ? null : entry;
+    }
+
+    /**
+     * Writes all the pending writes to the file. Runs on the executor after the coalescing window and on JVM shutdown.
+     */
+    // visible for testing
+    void flush() {
+        flushScheduled.set(false);
+        Map<ByteBuffer, PendingWrite> writes = new LinkedHashMap<>(pendingWrites);
+        if (writes.isEmpty()) {
+            return;
+        }
+
+        synchronized (this) {
+            if (openIfNeeded()) {
+                try {
+                    append(writes);
+                } catch (IOException e) {
+                    log.warn("Failed to write the connection cache to disk", e);
+                }
+            }
+        }
+
+        // a write done after we took the snapshot is kept for the next flush
+        writes.forEach(pendingWrites::remove);
+    }
+
+    private void append(Map<ByteBuffer, PendingWrite> writes) throws IOException {
+        boolean compacted;
+        FileLock lock = channel.lock();
+        try {
+            if (isSuperseded()) {
+                // another JVM compacted the file after we opened it, so write to the new file instead
+                lock.release();
+                lock = null;
+                reopen();
+                lock = channel.lock();
+            }
+            scan(); // pick up the records of the other JVMs so we keep the creation time of their entries
+
+            ByteArrayOutputStream records = new ByteArrayOutputStream();
+            for (Map.Entry<ByteBuffer, PendingWrite> write : writes.entrySet()) {
+                writeRecord(records, write.getKey(), write.getValue());
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(records.toByteArray());
+            long position = validEnd; // overwrites the torn record a crashed JVM could have left at the end of the file
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            scan();
+
+            compacted = shouldCompact() && compact();
+        } finally {
+            if (lock != null && lock.isValid()) {
+                lock.release();
+            }
+        }
+        if (compacted) {
+            reopen();
+        }
+    }
+
+    private void writeRecord(ByteArrayOutputStream records, ByteBuffer keyHash, PendingWrite write) throws IOException {
+        long creationTime = clock.millis();
+        byte[] payload = new byte[0];
+        if (write.connectionCache != null) {
+            IndexEntry existing = index.get(keyHash);
+            if (existing != null && !isExpired(existing.creationTime)) {
+                creationTime = existing.creationTime;
+            }
+            try {
+                payload = encryptionService.encrypt(serialize(write.connectionCache), associatedData(keyHash, creationTime), write.cacheKey.getEncryptionKey());
+            } catch (EncryptionException | IllegalArgumentException e) {
+                log.warn("Failed to encrypt the connection cache so will not save it do disk.");
+                return;
+            }
+        }
+
+        ByteBuffer entry = ByteBuffer.allocate(ENTRY_HEADER_SIZE + payload.length);
+        entry.put(keyHash.duplicate()).putLong(creationTime).put(write.connectionCache == null ? REMOVE : PUT).put(payload);
+        CRC32 crc = new CRC32();
+        crc.update(entry.array());
+
+        DataOutputStream out = new DataOutputStream(records);
+        out.writeInt(entry.capacity());
+        out.writeInt((int) crc.getValue());
+        out.write(entry.array());
+    }
+
+    private boolean openIfNeeded() {
+        if (channel != null) {
+            return true;
+        }
+        try {
+            open();
+            return true;
+        } catch (IOException e) {
+            log.warn("Cannot open the connection cache file. Maybe do not have the write permission.", e);
+            close();
+            return false;
+        }
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(cacheFile.getParent());
+        if (!legacyCacheFilesDeleted) {
+            deleteLegacyCacheFiles();
+            legacyCacheFilesDeleted = true;
+        }
+        channel = FileChannel.open(cacheFile, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        boolean superseded;
+        try (FileLock ignored = channel.lock()) {
+            if (channel.size() == 0) {
+                channel.write(header(), 0);
+            }
+            // a file written by another version of the driver is replaced by an empty one
+            superseded = hasValidHeader() ? isSuperseded() : replaceFile(List.of());
+        }
+        if (superseded) {
+            reopen();
+            return;
+        }
+        index.clear();
+        liveBytes = 0;
+        validEnd = HEADER_SIZE;
+        map();
+        scan();
+    }
+
+    private void deleteLegacyCacheFiles() {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(cacheFile.getParent(),
+                file -> LEGACY_CACHE_FILE_NAME.matcher(file.getFileName().toString()).matches() && Files.isRegularFile(file))) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            log.debug("Failed to delete the cache files of older versions of the driver", e);
+        }
+    }
+
+    private void reopen() throws IOException {
+        close();
+        open();
+    }
+
+    private void close() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("Failed to close the connection cache file", e);
+            }
+        }
+        channel = null;
+        mappedFile = null;
+        index.clear();
+    }
+
+    /**
+     * Makes the records appended by other JVMs since the last read visible in the index.
+     */
+    private void refresh() throws IOException {
+        if (isSuperseded()) {
+            reopen();
+        } else if (channel.size() > validEnd) {
+            try (FileLock ignored = channel.lock(0, Long.MAX_VALUE, true)) {
+                scan();
+            }
+        }
+    }
+
+    private void map() throws IOException {
+        mappedFile = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+
+    /**
+     * Indexes the records found after {@link #validEnd}. Stops at the first record that is incomplete or corrupted.
+     */
+    private void scan() throws IOException {
+        if (channel.size() > mappedFile.capacity()) {
+            map();
+        }
+        long size = mappedFile.capacity();
+        CRC32 crc = new CRC32();
+        while (validEnd + RECORD_PREFIX_SIZE <= size) {
+            int position = (int) validEnd;
+            int length = mappedFile.getInt(position);
+            if (length < ENTRY_HEADER_SIZE || length > MAX_RECORD_SIZE || position + RECORD_PREFIX_SIZE + (long) length > size) {
+                break;
+            }
+            int entryPosition = position + RECORD_PREFIX_SIZE;
+            crc.reset();
+            crc.update(mappedFile.duplicate().position(entryPosition).limit(entryPosition + length));
+            if ((int) crc.getValue() != mappedFile.getInt(position + Integer.BYTES)) {
+                break;
+            }
+
+            byte[] keyHash = new byte[KEY_HASH_SIZE];
+            mappedFile.duplicate().position(entryPosition).get(keyHash);
+            long creationTime = mappedFile.getLong(entryPosition + KEY_HASH_SIZE);
+            byte type = mappedFile.get(entryPosition + KEY_HASH_SIZE + Long.BYTES);
+            IndexEntry previous = type == PUT
+                    ? index.put(ByteBuffer.wrap(keyHash), new IndexEntry(position, RECORD_PREFIX_SIZE + length, creationTime))
+                    : index.remove(ByteBuffer.wrap(keyHash));
+            if (previous != null) {
+                liveBytes -= previous.recordLength;
+            }
+            if (type == PUT) {
+                liveBytes += RECORD_PREFIX_SIZE + length;
+            }
+            validEnd = entryPosition + (long) length;
+        }
+    }
+
+    private boolean shouldCompact() {
+        return validEnd > COMPACTION_THRESHOLD_BYTES && liveBytes * 2 < validEnd;
+    }
+
+    /**
+     * Copies the records that can still be used to a new file that atomically replaces the cache file. Needs the exclusive lock of the current file.
+     */
+    private boolean compact() {
+        List<IndexEntry> liveEntries = new ArrayList<>();
+        for (IndexEntry entry : index.values()) {
+            if (!isExpired(entry.creationTime)) {
+                liveEntries.add(entry);
+            }
+        }
+        try {
+            return replaceFile(liveEntries);
+        } catch (IOException e) {
+            // e.g. on windows a file cannot be replaced while it is open by another process, will try again on a later write
+            log.debug("Failed to compact the connection cache file", e);
+            return false;
+        }
+    }
+
+    private boolean replaceFile(List<IndexEntry> entries) throws IOException {
+        Path tempFile = Files.createTempFile(cacheFile.getParent(), CACHE_FILE_NAME, ".tmp");
+        try {
+            try (FileChannel tempChannel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                tempChannel.write(header());
+                for (IndexEntry entry : entries) {
+                    tempChannel.write(mappedFile.duplicate().position(entry.recordPosition).limit(entry.recordPosition + entry.recordLength));
+                }
+                tempChannel.force(true);
+            }
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        // the JVMs that still have the old file open will reopen the cache file when they see this
+        channel.write(ByteBuffer.wrap(new byte[] {1}), SUPERSEDED_FLAG_POSITION);
+        return true;
+    }
+
+    private boolean hasValidHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        channel.read(header, 0);
+        return !header.hasRemaining() && header.getInt(0) == MAGIC && header.getInt(Integer.BYTES) == VERSION;
+    }
+
+    private boolean isSuperseded() throws IOException {
+        ByteBuffer flag = ByteBuffer.allocate(1);
+        channel.read(flag, SUPERSEDED_FLAG_POSITION);
+        return flag.get(0) != 0;
+    }
+
+    private static ByteBuffer header() {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).put((byte) 0);
+        return header.clear();
+    }
+
+    private boolean isExpired(long creationTime) {
+        return creationTime < clock.millis() - timeToLive.toMillis();
+    }
+
+    private static byte[] associatedData(ByteBuffer keyHash, long creationTime) {
+        // binds the encrypted payload to its key and creation time, so a payload cannot be moved to another record
+        return ByteBuffer.allocate(KEY_HASH_SIZE + Long.BYTES).put(keyHash.duplicate()).putLong(creationTime).array();
+    }
+
+    static byte[] serialize(ConnectionCache connectionCache) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeString(out, connectionCache.getConnectionId());
+        writeString(out, connectionCache.getAccessToken());
+        writeString(out, connectionCache.getSystemEngineUrl());
+        out.writeInt(connectionCache.getDatabaseOptionsMap().size());
+        for (Map.Entry<String, DatabaseOptions> databaseOptions : connectionCache.getDatabaseOptionsMap().entrySet()) {
+            writeString(out, databaseOptions.getKey());
+            writeParameters(out, databaseOptions.getValue().getParameters());
+        }
+        out.writeInt(connectionCache.getEngineOptionsMap().size());
+        for (Map.Entry<String, EngineOptions> engineOptions : connectionCache.getEngineOptionsMap().entrySet()) {
+            writeString(out, engineOptions.getKey());
+            writeString(out, engineOptions.getValue().getEngineUrl());
+            writeParameters(out, engineOptions.getValue().getParameters());
+        }
+        return bytes.toByteArray();
+    }
+
+    static ConnectionCache deserialize(byte[] bytes) throws ConnectionCacheDeserializationException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            String connectionId = readString(in);
+            if (connectionId == null) {
+                throw new ConnectionCacheDeserializationException();
+            }
+            ConnectionCache connectionCache = new ConnectionCache(connectionId);
+            connectionCache.setAccessToken(readString(in));
+            connectionCache.setSystemEngineUrl(readString(in));
+            for (int databases = in.readInt(); databases > 0; databases--) {
+                connectionCache.setDatabaseOptions(readString(in), new DatabaseOptions(readParameters(in)));
+            }
+            for (int engines = in.readInt(); engines > 0; engines--) {
+                String engineName = readString(in);
+                connectionCache.setEngineOptions(engineName, new EngineOptions(readString(in), readParameters(in)));
+            }
+            return connectionCache;
+        } catch (IOException | RuntimeException e) {
+            throw new ConnectionCacheDeserializationException();
+        }
+    }
+
+    private static void writeParameters(DataOutputStream out, List<Pair<String, String>> parameters) throws IOException {
+        out.writeInt(parameters == null ? 0 : parameters.size());
+        if (parameters != null) {
+            for (Pair<String, String> parameter : parameters) {
+                writeString(out, parameter.getKey());
+                writeString(out, parameter.getValue());
+            }
+        }
+    }
+
+    private static List<Pair<String, String>> readParameters(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        List<Pair<String, String>> parameters = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            parameters.add(Pair.of(readString(in), readString(in)));
+        }
+        return parameters;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > in.available()) {
+            throw new IOException("Truncated string");
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final class PendingWrite {
+        private final CacheKey cacheKey;
+        private final ConnectionCache connectionCache; // null for a removal
+
+        private PendingWrite(CacheKey cacheKey, ConnectionCache connectionCache) {
+            this.cacheKey = cacheKey;
+            this.connectionCache = connectionCache;
+        }
+    }
+
+    private static final class IndexEntry {
+        private final int recordPosition;
+        private final int recordLength;
+        private final long creationTime;
+
+        private IndexEntry(int recordPosition, int recordLength, long creationTime) {
+            this.recordPosition = recordPosition;
+            this.recordLength = recordLength;
+            this.creationTime = creationTime;
+        }
+
+        private int getPayloadPosition() {
+            return recordPosition + RECORD_PREFIX_SIZE + ENTRY_HEADER_SIZE;
+        }
+
+        private int getPayloadLength() {
+            return recordLength - RECORD_PREFIX_SIZE - ENTRY_HEADER_SIZE;
+        }
+    }
+}
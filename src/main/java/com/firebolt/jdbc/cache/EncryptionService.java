@@ -2,15 +2,12 @@ package com.firebolt.jdbc.cache;
 
 import com.firebolt.jdbc.cache.exception.EncryptionException;
 import java.nio.charset.StandardCharsets;
-import java.security.InvalidAlgorithmParameterException;
-import java.security.InvalidKeyException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.util.Arrays;
-import java.util.Base64;
-import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
-import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.Mac;
 import javax.crypto.NoSuchPaddingException;
 import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
@@ -18,7 +15,7 @@ import lombok.CustomLog;
 import org.apache.commons.lang3.StringUtils;
 
 /**
- * Class that knows how to encrypt and encrypt secrets using AES encryption algorithm
+ * Class that knows how to encrypt and decrypt secrets using AES encryption algorithm
  */
 @CustomLog
 public class EncryptionService {
@@ -26,48 +23,90 @@ public class EncryptionService {
     private static final int GCM_TAG_LENGTH = 128; // GCM tag length in bits (16 bytes)
     private static final int AES_KEY_SIZE = 32; // use 32 bytes so we will use AES-256 algorithm
     private static final String SHA_256_ALGO = "SHA-256";
+    private static final String HMAC_SHA_256_ALGO = "HmacSHA256";
+    private static final int GCM_NONCE_LENGTH = 12; // AES-GCM nonce should be 12 bytes
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
 
     /**
-     * Encrypts a plaintext using the encryption key.
+     * Encrypts the bytes using the encryption key and a random nonce, so the same plain bytes never encrypt to the same value.
      *
-     * @param plainText - the text to be encrypted
+     * @param plainBytes - the bytes to be encrypted
+     * @param associatedData - data that is not encrypted but is authenticated together with the encrypted bytes, it has to be passed again when decrypting
      * @param encryptionKey - the key to be used for encryption
-     * @return - if encryption is successful then a base64 encoded encrypted string will be returned
-     * @throws EncryptionException - when cannot encrypt the plain text
+     * @return the nonce followed by the encrypted bytes
+     * @throws EncryptionException - when cannot encrypt the bytes
      */
-    public String encrypt(String plainText, String encryptionKey) throws EncryptionException, IllegalArgumentException {
-        if (StringUtils.isBlank(plainText) || StringUtils.isBlank(encryptionKey)) {
-            throw new IllegalArgumentException("Text to encrypt or encryption key is null. Cannot encrypt.");
+    public byte[] encrypt(byte[] plainBytes, byte[] associatedData, String encryptionKey) throws EncryptionException, IllegalArgumentException {
+        if (plainBytes == null || StringUtils.isBlank(encryptionKey)) {
+            throw new IllegalArgumentException("Bytes to encrypt or encryption key is null. Cannot encrypt.");
         }
 
         try {
-            return encryptAESGCM(plainText, encryptionKey);
+            byte[] nonce = new byte[GCM_NONCE_LENGTH];
+            SECURE_RANDOM.nextBytes(nonce);
+
+            Cipher cipher = getAesGcmCipherInstance();
+            cipher.init(Cipher.ENCRYPT_MODE, deriveAESKey(encryptionKey), new GCMParameterSpec(GCM_TAG_LENGTH, nonce));
+            cipher.updateAAD(associatedData);
+
+            byte[] encrypted = new byte[GCM_NONCE_LENGTH + cipher.getOutputSize(plainBytes.length)];
+            System.arraycopy(nonce, 0, encrypted, 0, GCM_NONCE_LENGTH);
+            cipher.doFinal(plainBytes, 0, plainBytes.length, encrypted, GCM_NONCE_LENGTH);
+            return encrypted;
         } catch (Exception e) {
-            log.error("Failed to encrypt the text", e);
+            log.error("Failed to encrypt the bytes", e);
             throw new EncryptionException("Encryption failed.");
         }
     }
 
     /**
-     * Decrypts the encrypted text using AES algorithm
-     * @param base64EncryptedText - the base64 encoded string
+     * Decrypts bytes encrypted by {@link #encrypt(byte[], byte[], String)}
+     *
+     * @param encryptedBytes - the nonce followed by the encrypted bytes
+     * @param associatedData - the same associated data that was used for encryption
      * @param encryptionKey - the key to decrypt
-     * @return the original plain text
-     * @throws EncryptionException - in case the encrypted text cannot be decrypted
+     * @return the original plain bytes
+     * @throws EncryptionException - in case the bytes cannot be decrypted or were tampered with
      */
-    public String decrypt(String base64EncryptedText, String encryptionKey) throws EncryptionException, IllegalArgumentException {
-        if (StringUtils.isBlank(base64EncryptedText) || StringUtils.isBlank(encryptionKey)) {
-            throw new IllegalArgumentException("Text to decrypt or encryption key is null. Cannot decrypt.");
+    public byte[] decrypt(byte[] encryptedBytes, byte[] associatedData, String encryptionKey) throws EncryptionException, IllegalArgumentException {
+        if (encryptedBytes == null || StringUtils.isBlank(encryptionKey)) {
+            throw new IllegalArgumentException("Bytes to decrypt or encryption key is null. Cannot decrypt.");
         }
 
         try {
-            return decryptAESGCM(base64EncryptedText, encryptionKey);
+            Cipher cipher = getAesGcmCipherInstance();
+            cipher.init(Cipher.DECRYPT_MODE, deriveAESKey(encryptionKey), new GCMParameterSpec(GCM_TAG_LENGTH, encryptedBytes, 0, GCM_NONCE_LENGTH));
+            cipher.updateAAD(associatedData);
+            return cipher.doFinal(encryptedBytes, GCM_NONCE_LENGTH, encryptedBytes.length - GCM_NONCE_LENGTH);
         } catch (Exception e) {
-            log.error("Failed to decrypt encrypted text", e);
+            log.warn("Failed to decrypt encrypted bytes");
             throw new EncryptionException("Decryption failed.");
         }
     }
 
+    /**
+     * Creates a keyed hash (HMAC-SHA256) of the value. It can be used to identify a value without revealing it.
+     *
+     * @param value - the value to hash
+     * @param encryptionKey - the secret key of the hash
+     * @return the 32 bytes hash
+     * @throws EncryptionException - when cannot calculate the hash
+     */
+    public byte[] hash(String value, String encryptionKey) throws EncryptionException, IllegalArgumentException {
+        if (StringUtils.isBlank(value) || StringUtils.isBlank(encryptionKey)) {
+            throw new IllegalArgumentException("Value to hash or encryption key is null. Cannot hash.");
+        }
+
+        try {
+            Mac mac = Mac.getInstance(HMAC_SHA_256_ALGO);
+            mac.init(new SecretKeySpec(encryptionKey.getBytes(StandardCharsets.UTF_8), HMAC_SHA_256_ALGO));
+            return mac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            log.error("Failed to hash the value", e);
+            throw new EncryptionException("Hashing failed.");
+        }
+    }
+
     /**
      * Creates an encryption key with the correct length. AES algo uses 16, 24 or 32 bytes for the key. We will always use 32 bytes
      * @param input
@@ -80,60 +119,7 @@ public class EncryptionService {
         return new SecretKeySpec(Arrays.copyOf(hash, AES_KEY_SIZE), "AES"); // Trim to required length
     }
 
-    /**
-     * Return the base64 encoded encrypted text
-     * @param plaintext - the text to be encrypted
-     * @param key - the key to use for encryption
-     * @return
-     * @throws Exception - exception when cannot encrypt the plaintext
-     */
-    private String encryptAESGCM(String plaintext, String key) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidAlgorithmParameterException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
-        SecretKeySpec secretKey = deriveAESKey(key);
-
-        // Generate a deterministic nonce from the key
-        byte[] nonce = deriveNonce(key);
-        GCMParameterSpec gcmSpec = new GCMParameterSpec(GCM_TAG_LENGTH, nonce);
-
-        Cipher cipher = getAesGcmCipherInstance();
-        cipher.init(Cipher.ENCRYPT_MODE, secretKey, gcmSpec);
-        byte[] encrypted = cipher.doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
-
-        return Base64.getEncoder().encodeToString(encrypted);
-    }
-
-    /**
-     * Decrypts the encrypted text using AES algorithm
-     * @param encryptedBase64 - the base64 encoded string
-     * @param key - the key to decrypt
-     * @return the original plain text
-     * @throws Exception - in case the encrypted text cannot be decrypted
-     */
-    private String decryptAESGCM(String encryptedBase64, String key) throws NoSuchAlgorithmException, NoSuchPaddingException, InvalidAlgorithmParameterException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
-        SecretKeySpec secretKey = deriveAESKey(key);
-
-        // Regenerate the same deterministic nonce from key
-        byte[] nonce = deriveNonce(key);
-        GCMParameterSpec gcmSpec = new GCMParameterSpec(GCM_TAG_LENGTH, nonce);
-
-        Cipher cipher = getAesGcmCipherInstance();
-        cipher.init(Cipher.DECRYPT_MODE, secretKey, gcmSpec);
-
-        byte[] encrypted = Base64.getDecoder().decode(encryptedBase64);
-        byte[] decrypted = cipher.doFinal(encrypted);
-
-        return new String(decrypted, StandardCharsets.UTF_8);
-    }
-
     private Cipher getAesGcmCipherInstance() throws NoSuchPaddingException, NoSuchAlgorithmException {
         return Cipher.getInstance("AES/GCM/NoPadding");
     }
-
-    // Deterministic nonce generation using SHA-256 hash
-    private static byte[] deriveNonce(String key) throws NoSuchAlgorithmException {
-        MessageDigest digest = MessageDigest.getInstance(SHA_256_ALGO);
-        byte[] hash = digest.digest((key + key).getBytes(StandardCharsets.UTF_8));
-        byte[] nonce = new byte[12]; // AES-GCM nonce should be 12 bytes
-        System.arraycopy(hash, 0, nonce, 0, nonce.length);
-        return nonce;
-    }
 }
@@ -1,20 +1,15 @@
 package com.firebolt.jdbc.cache;
 
 import com.firebolt.jdbc.cache.exception.CacheException;
-import com.firebolt.jdbc.cache.exception.ConnectionCacheDeserializationException;
-import com.firebolt.jdbc.cache.exception.FilenameGenerationException;
 import com.firebolt.jdbc.cache.key.CacheKey;
-import java.io.File;
-import java.time.temporal.ChronoUnit;
 import java.util.Optional;
-import lombok.CustomLog;
 
 /**
- * A wrapper on another cache service, that will check the disk if the cached object is not present in the wrapped cached service
+ * A wrapper on another cache service, that will check the disk if the cached object is not present in the wrapped cached service.
+ * All the entries on disk are kept in the single file of the {@link DiskCacheStore}.
  *
  * Keep it package protected as only the CacheServiceProvider class should create it
  */
-@CustomLog
 class OnDiskMemoryCacheService implements CacheService {
 
     // the jwt token is only valid for 2hours, but we will keep the on disk cache for only 1 hr.
@@ -22,24 +17,24 @@ class OnDiskMemoryCacheService implements CacheService {
 
     // this would be the in memory cache
     private InMemoryCacheService inMemoryCacheService;
-    private FileService fileService;
+    private DiskCacheStore diskCacheStore;
 
     public OnDiskMemoryCacheService(InMemoryCacheService inMemoryCacheService) {
-        this(inMemoryCacheService, FileService.getInstance());
+        this(inMemoryCacheService, DiskCacheStore.getInstance());
     }
 
     // visible for testing
-    OnDiskMemoryCacheService(InMemoryCacheService inMemoryCacheService, FileService fileService) {
+    OnDiskMemoryCacheService(InMemoryCacheService inMemoryCacheService, DiskCacheStore diskCacheStore) {
         this.inMemoryCacheService = inMemoryCacheService;
-        this.fileService = fileService;
+        this.diskCacheStore = diskCacheStore;
     }
 
     @Override
     public void put(CacheKey key, ConnectionCache connectionCache) throws CacheException {
         inMemoryCacheService.put(key, connectionCache);
 
-        // also save to disk in async manner
-        safelySaveToDiskAsync(key, connectionCache);
+        // also save to disk, the store coalesces the writes and appends them in background
+        diskCacheStore.put(key, connectionCache);
     }
 
     @Override
@@ -52,28 +47,8 @@ class OnDiskMemoryCacheService implements CacheService {
             return connectionCacheOptional;
         }
 
-        // try to get it from disk
-        File cacheFile;
-        try {
-            cacheFile = fileService.findFileForKey(cacheKey);
-        } catch (FilenameGenerationException e) {
-            log.warn("Failed to generate the file name");
-            return Optional.empty();
-        }
-
-        if (!cacheFile.exists()) {
-            log.debug("Cache file does not exist");
-            return Optional.empty();
-        }
-
-        // found the file, make sure we can still use it
-        if (isFileTooOld(cacheFile)) {
-            fileService.safelyDeleteFile(cacheFile.toPath());
-            return Optional.empty();
-        }
-
-        // read the value from the file
-        Optional<ConnectionCache> onDiskConnectionCacheOptional = readConnectionCacheObjectFromDisk(cacheKey, cacheFile);
+        // try to get it from disk. The store only returns entries created within the last CACHE_TIME_IN_MINUTES
+        Optional<ConnectionCache> onDiskConnectionCacheOptional = diskCacheStore.get(cacheKey);
         if (onDiskConnectionCacheOptional.isEmpty()) {
             return Optional.empty();
         }
@@ -83,6 +58,8 @@ class OnDiskMemoryCacheService implements CacheService {
         // add it in the memory cache
         inMemoryCacheService.put(cacheKey, onDiskConnectionCache);
 
+        // all good we can use the connection cache from disk
+        onDiskConnectionCache.setCacheSource(CacheType.DISK.name());
         return Optional.of(onDiskConnectionCache);
     }
 
@@ -92,54 +69,6 @@ class OnDiskMemoryCacheService implements CacheService {
         inMemoryCacheService.remove(key);
 
         // remove it from disk
-        File cacheFile;
-        try {
-            cacheFile = fileService.findFileForKey(key);
-        } catch (FilenameGenerationException e) {
-            log.warn("Failed to generate the file name for key, so cannot remove it");
-            return;
-        }
-
-        if (!cacheFile.exists()) {
-            log.debug("Cache file does not exist");
-            return;
-        }
-
-        // found the file, make sure we can still use it
-        fileService.safelyDeleteFile(cacheFile.toPath());
-    }
-
-    /**
-     * Reads the connection cache object from disk. If we cannot deserialize the object from file content, it means that the file was corrupted and we can delete it.
-     */
-    private Optional<ConnectionCache> readConnectionCacheObjectFromDisk(CacheKey cacheKey, File cacheFile) {
-        Optional<ConnectionCache> cacheConnectionFromDiskOptional;
-        try {
-            cacheConnectionFromDiskOptional = fileService.readContent(cacheKey, cacheFile);
-        } catch (ConnectionCacheDeserializationException e) {
-            // when cannot read from file, we can delete the file since the file seems to be corrupted anyhow
-            fileService.safelyDeleteFile(cacheFile.toPath());
-
-            return Optional.empty();
-        }
-
-        if (cacheConnectionFromDiskOptional.isEmpty()) {
-            return Optional.empty();
-        }
-
-        ConnectionCache onDiskConnectionCache = cacheConnectionFromDiskOptional.get();
-
-        // all good we can use the connection cache from disk
-        onDiskConnectionCache.setCacheSource(CacheType.DISK.name());
-        return Optional.of(onDiskConnectionCache);
-    }
-
-    // we should only use the file if it was created within the last hour
-    private boolean isFileTooOld(File cacheFile) {
-        return fileService.wasFileCreatedBeforeTimestamp(cacheFile, CACHE_TIME_IN_MINUTES, ChronoUnit.MINUTES);
-    }
-
-    public void safelySaveToDiskAsync(CacheKey key, ConnectionCache connectionCache) {
-        fileService.safeSaveToDiskAsync(key, connectionCache);
+        diskCacheStore.remove(key);
     }
 }
@@ -1,7 +0,0 @@
-package com.firebolt.jdbc.cache.exception;
-
-/**
- * This class should be thrown when cannot generate a filename for a cache key.
- */
-public class FilenameGenerationException extends RuntimeException {
-}
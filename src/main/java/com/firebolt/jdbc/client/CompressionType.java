@@ -1,6 +1,58 @@
 package com.firebolt.jdbc.client;
 
+import com.firebolt.jdbc.exception.FireboltException;
+import lombok.Getter;
+
+/**
+ * Compression of the request payload, announced with the {@code Content-Encoding} header
+ */
+@Getter
 public enum CompressionType {
-	NONE,
-	GZIP
-}
\ No newline at end of file
+	NONE(null),
+	GZIP("gzip"),
+	/**
+	 * LZ4 frame format
+	 */
+	LZ4("lz4"),
+	/**
+	 * Requires {@code com.github.luben:zstd-jni} in the classpath
+	 */
+	ZSTD("zstd");
+
+	private static final String ZSTD_CLASS = "com.github.luben.zstd.ZstdOutputStream";
+
+	private final String contentEncoding;
+
+	CompressionType(String contentEncoding) {
+		this.contentEncoding = contentEncoding;
+	}
+
+	/**
+	 * @param name - the name of the compression, e.g. gzip. Null is gzip, the default compression.
+	 * @return the compression type
+	 * @throws FireboltException if the compression does not exist or cannot be used
+	 */
+	public static CompressionType fromName(String name) throws FireboltException {
+		if (name == null) {
+			return GZIP;
+		}
+		for (CompressionType type : values()) {
+			if (type.name().equalsIgnoreCase(name)) {
+				if (type == ZSTD && !isZstdAvailable()) {
+					throw new FireboltException("The zstd compression requires com.github.luben:zstd-jni in the classpath");
+				}
+				return type;
+			}
+		}
+		throw new FireboltException(String.format("Unknown compression %s. Supported values: gzip, lz4, zstd", name));
+	}
+
+	private static boolean isZstdAvailable() {
+		try {
+			Class.forName(ZSTD_CLASS, false, CompressionType.class.getClassLoader());
+			return true;
+		} catch (ClassNotFoundException e) {
+			return false;
+		}
+	}
+}
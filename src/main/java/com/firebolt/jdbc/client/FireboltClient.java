@@ -1,5 +1,7 @@
 package com.firebolt.jdbc.client;
 
+import com.firebolt.jdbc.client.transport.HttpTransport;
+import com.firebolt.jdbc.client.transport.OkHttpTransport;
 import com.firebolt.jdbc.connection.CacheListener;
 import com.firebolt.jdbc.connection.FireboltConnection;
 import com.firebolt.jdbc.exception.FireboltException;
@@ -23,23 +25,18 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import lombok.CustomLog;
 import lombok.Getter;
 import lombok.NonNull;
-import okhttp3.Call;
 import okhttp3.MediaType;
 import okhttp3.MultipartBody;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
-import okio.BufferedSink;
-import okio.GzipSink;
-import okio.Okio;
 import org.json.JSONException;
 import org.json.JSONObject;
 
@@ -57,15 +54,20 @@ public abstract class FireboltClient implements CacheListener {
 	private static final String HEADER_USER_AGENT = "User-Agent";
 	private static final String HEADER_PROTOCOL_VERSION = "Firebolt-Protocol-Version";
 	private static final String HEADER_CONTENT_ENCODING = "Content-Encoding";
+	private static final MediaType TEXT_PLAIN = MediaType.parse("text/plain; charset=utf-8");
 	private static final Pattern plainErrorPattern = Pattern.compile("Line (\\d+), Column (\\d+): (.*)$", Pattern.MULTILINE);
-	private final OkHttpClient httpClient;
+	private final HttpTransport transport;
 	private String headerUserAgentValue;
 	protected final FireboltConnection connection;
 	private final String customDrivers;
 	private final String customClients;
 
 	protected FireboltClient(OkHttpClient httpClient, FireboltConnection connection, String customDrivers, String customClients) {
-		this.httpClient = httpClient;
+		this(new OkHttpTransport(httpClient), connection, customDrivers, customClients);
+	}
+
+	protected FireboltClient(HttpTransport transport, FireboltConnection connection, String customDrivers, String customClients) {
+		this.transport = transport;
 		this.connection = connection;
 		this.customDrivers = customDrivers;
 		this.customClients = customClients;
@@ -110,9 +112,7 @@ public abstract class FireboltClient implements CacheListener {
 			throws IOException, SQLException {
 		Response response = null;
 		try {
-			OkHttpClient client = getClientWithTimeouts(connection.getConnectionTimeout(), connection.getNetworkTimeout());
-			Call call = client.newCall(request);
-			response = call.execute();
+			response = transport.execute(request, connection.getConnectionTimeout(), connection.getNetworkTimeout());
 			validateResponse(host, response, isCompress);
 		} catch (Exception e) {
 			CloseableUtil.close(response);
@@ -121,17 +121,6 @@ public abstract class FireboltClient implements CacheListener {
 		return response;
 	}
 
-	private OkHttpClient getClientWithTimeouts(int connectionTimeout, int networkTimeout) {
-		if (connectionTimeout != httpClient.connectTimeoutMillis()
-				|| networkTimeout != httpClient.readTimeoutMillis()) {
-			// This creates a shallow copy using the same connection pool
-			return httpClient.newBuilder().readTimeout(connection.getNetworkTimeout(), TimeUnit.MILLISECONDS)
-					.connectTimeout(connection.getConnectionTimeout(), TimeUnit.MILLISECONDS).build();
-		} else {
-			return httpClient;
-		}
-	}
-
 	protected Request createPostRequest(String uri, String label, RequestBody body, String accessToken) {
 		// old behavior was without compression type
 		return createPostRequest(uri, label, body, accessToken, CompressionType.NONE);
@@ -142,10 +131,10 @@ public abstract class FireboltClient implements CacheListener {
 		createHeaders(accessToken).forEach(header -> requestBuilder.addHeader(header.getKey(), header.getValue()));
 		if (body != null) {
 			RequestBody requestBody = body;
-			if (compressionType == CompressionType.GZIP) {
-				log.debug("Compressing the payload using gzip");
-				requestBody = gzip(requestBody);
-				requestBuilder.addHeader(HEADER_CONTENT_ENCODING, "gzip");
+			if (compressionType != CompressionType.NONE) {
+				log.debug("Compressing the payload using {}", compressionType.getContentEncoding());
+				requestBody = RequestBodies.compress(requestBody, compressionType);
+				requestBuilder.addHeader(HEADER_CONTENT_ENCODING, compressionType.getContentEncoding());
 			}
 			requestBuilder.post(requestBody);
 		}
@@ -155,7 +144,7 @@ public abstract class FireboltClient implements CacheListener {
 	protected Request createPostRequest(String uri, String label, String json, String accessToken, CompressionType compressionType) {
 		RequestBody requestBody = null;
 		if (json != null) {
-			requestBody = RequestBody.create(json, MediaType.parse("text/plain"));
+			requestBody = RequestBodies.text(json, TEXT_PLAIN);
 		}
 		return createPostRequest(uri, label, requestBody, accessToken, compressionType);
 	}
@@ -173,15 +162,16 @@ public abstract class FireboltClient implements CacheListener {
 	 * @param parts the list of multipart parts to include in the request body
 	 * @param accessToken the access token for authorization (can be null)
 	 * @param isCompress whether to compress the response
+	 * @param compressionType the compression of the whole multipart request body
 	 * @return the Response from the server
 	 * @throws IOException if an I/O error occurs during the HTTP request
 	 * @throws SQLException if a database access error occurs
 	 */
 	protected Response executeMultipart(@NonNull String uri, @NonNull String host, String label,
-			@NonNull List<MultipartBody.Part> parts, String accessToken, boolean isCompress)
+			@NonNull List<MultipartBody.Part> parts, String accessToken, boolean isCompress, CompressionType compressionType)
 			throws IOException, SQLException {
 		RequestBody multipartBody = createMultipartRequestBody(parts);
-		Request request = createPostRequest(uri, label, multipartBody, accessToken);
+		Request request = createPostRequest(uri, label, multipartBody, accessToken, compressionType);
 		return execute(request, host, isCompress);
 	}
 
@@ -205,32 +195,6 @@ public abstract class FireboltClient implements CacheListener {
 		return multipartBuilder.build();
 	}
 
-
-	private RequestBody gzip(RequestBody body) {
-		return new RequestBody() {
-			@Override
-			public MediaType contentType() {
-				return body.contentType();
-			}
-
-			@Override
-			public long contentLength() {
-				return -1; // We don't know the compressed length in advance
-			}
-
-			@Override
-			public void writeTo(BufferedSink sink) throws IOException {
-				GzipSink gzipSink = new GzipSink(sink);
-				BufferedSink bufferedGzipSink = Okio.buffer(gzipSink);
-				try {
-					body.writeTo(bufferedGzipSink);
-				} finally {
-					bufferedGzipSink.close();
-				}
-			}
-		};
-	}
-
 	protected void validateResponse(String host, Response response, Boolean isCompress) throws SQLException {
 		int statusCode = response.code();
 		if (!isCallSuccessful(statusCode)) {
@@ -1,35 +1,144 @@
 package com.firebolt.jdbc.client;
 
 import java.io.IOException;
+import java.net.http.HttpClient;
+import java.security.GeneralSecurityException;
 import java.security.KeyManagementException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import com.firebolt.jdbc.client.config.HttpClientSettings;
 import com.firebolt.jdbc.client.config.OkHttpClientCreator;
+import com.firebolt.jdbc.client.transport.JdkHttpTransport;
 import com.firebolt.jdbc.connection.settings.FireboltProperties;
+import com.firebolt.jdbc.exception.FireboltException;
 
 import lombok.CustomLog;
 import okhttp3.OkHttpClient;
 
+/**
+ * Holds the http clients of the driver. A client is created for each distinct {@link HttpClientSettings}, so connections
+ * with different pool sizes, timeouts or SSL settings do not share a client configured for another one. All the clients
+ * run their asynchronous work on the same threads. A client is held while a connection uses it: once the last
+ * connection using it releases it, it is removed and its idle connections are closed.
+ */
 @CustomLog
 public class HttpClientConfig {
 
-	private static OkHttpClient instance;
+	private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+	// same configuration as the default executor of OkHttp: threads are only kept while they are needed
+	private static final ExecutorService EXECUTOR = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS,
+			new SynchronousQueue<>(), runnable -> {
+				Thread thread = new Thread(runnable, "firebolt-jdbc-http-" + THREAD_COUNT.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+	private static final Map<HttpClientSettings, SharedClient<OkHttpClient>> clients = new HashMap<>();
+	private static final Map<HttpClientSettings, SharedClient<HttpClient>> jdkClients = new HashMap<>();
 
 	private HttpClientConfig() {
 	}
 
+	/**
+	 * Returns the http client configured by the session settings, creating it if no connection uses these settings. The
+	 * client must be released with {@link #release(OkHttpClient)} once it is not used anymore.
+	 * @param fireboltProperties - the session settings
+	 * @return the http client
+	 */
 	public static synchronized OkHttpClient init(FireboltProperties fireboltProperties) throws CertificateException,
-			NoSuchAlgorithmException, KeyStoreException, IOException, KeyManagementException {
-		if (instance == null) {
-			instance = OkHttpClientCreator.createClient(fireboltProperties);
-			log.info("Http client initialized");
+			NoSuchAlgorithmException, KeyStoreException, IOException, KeyManagementException, FireboltException {
+		HttpClientSettings settings = HttpClientSettings.of(fireboltProperties);
+		SharedClient<OkHttpClient> client = clients.get(settings);
+		if (client == null) {
+			client = new SharedClient<>(OkHttpClientCreator.createClient(fireboltProperties, EXECUTOR));
+			clients.put(settings, client);
+			log.info("Http client initialized for {}", settings);
 		}
-		return instance;
+		client.references++;
+		return client.client;
 	}
 
-	public static OkHttpClient getInstance() {
-		return instance;
+	/**
+	 * Releases an http client returned by {@link #init(FireboltProperties)}. The client is shut down when no connection
+	 * uses it anymore: its idle connections are closed and it is removed, so the next connection with the same settings
+	 * gets a new one.
+	 * @param client - the http client
+	 */
+	public static synchronized void release(OkHttpClient client) {
+		release(clients, client).ifPresent(settings -> {
+			// the dispatcher runs on the shared executor: only the connections of the client are to be closed
+			client.connectionPool().evictAll();
+			log.info("Http client shut down for {}", settings);
+		});
+	}
+
+	/**
+	 * Returns a transport sending the requests with the JDK http client configured by the session settings. The transport
+	 * tracks the requests of one connection while its http client is shared by the connections with the same settings.
+	 * The transport must be released with {@link #release(JdkHttpTransport)} once it is not used anymore.
+	 * @param fireboltProperties - the session settings
+	 * @return a new transport
+	 */
+	public static synchronized JdkHttpTransport initJdkTransport(FireboltProperties fireboltProperties)
+			throws GeneralSecurityException, IOException, FireboltException {
+		HttpClientSettings settings = HttpClientSettings.of(fireboltProperties);
+		SharedClient<HttpClient> client = jdkClients.get(settings);
+		if (client == null) {
+			client = new SharedClient<>(JdkHttpTransport.createClient(fireboltProperties, EXECUTOR));
+			jdkClients.put(settings, client);
+			log.info("JDK http client initialized for {}", settings);
+		}
+		client.references++;
+		return new JdkHttpTransport(client.client, fireboltProperties.getMaxRetries());
+	}
+
+	/**
+	 * Releases the JDK http client of a transport returned by {@link #initJdkTransport(FireboltProperties)}. The client is
+	 * removed when no connection uses it anymore. The JDK http client cannot be closed before Java 21: its connections
+	 * are closed once it is garbage collected.
+	 * @param transport - the transport
+	 */
+	public static synchronized void release(JdkHttpTransport transport) {
+		release(jdkClients, transport.getHttpClient())
+				.ifPresent(settings -> log.info("JDK http client released for {}", settings));
+	}
+
+	/**
+	 * @return the settings of the client if it was removed because no connection uses it anymore
+	 */
+	private static <T> Optional<HttpClientSettings> release(Map<HttpClientSettings, SharedClient<T>> sharedClients, T client) {
+		for (Iterator<Map.Entry<HttpClientSettings, SharedClient<T>>> it = sharedClients.entrySet().iterator(); it.hasNext(); ) {
+			Map.Entry<HttpClientSettings, SharedClient<T>> entry = it.next();
+			if (entry.getValue().client == client) {
+				if (--entry.getValue().references > 0) {
+					return Optional.empty();
+				}
+				it.remove();
+				return Optional.of(entry.getKey());
+			}
+		}
+		return Optional.empty(); // e.g. a client that was not created here
+	}
+
+	/**
+	 * A client with the number of connections using it
+	 */
+	private static final class SharedClient<T> {
+		private final T client;
+		private int references;
+
+		private SharedClient(T client) {
+			this.client = client;
+		}
 	}
 }
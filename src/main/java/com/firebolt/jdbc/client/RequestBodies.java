@@ -0,0 +1,125 @@
+package com.firebolt.jdbc.client;
+
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+import net.jpountz.lz4.LZ4FrameOutputStream;
+import okhttp3.MediaType;
+import okhttp3.MultipartBody;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
+import okio.Utf8;
+
+import java.io.IOException;
+
+/**
+ * Request bodies written while the request is sent, so the payload is not copied into a byte array first. The
+ * compression of a body is applied while it is written too.
+ */
+@UtilityClass
+public class RequestBodies {
+	// number of chars encoded at once, the encoded bytes are sent before the next chars are encoded
+	private static final int TEXT_CHUNK_SIZE = 8192;
+
+	/**
+	 * Creates a body writing the text in UTF-8. The text is encoded chunk by chunk into the request instead of being
+	 * copied into a byte array first. The text itself is still held as a whole: the SQL of a statement, including
+	 * the SQL of a merged batch, is a String.
+	 * @param text - the text
+	 * @param contentType - the content type of the body
+	 * @return the body
+	 */
+	public static RequestBody text(@NonNull String text, MediaType contentType) {
+		long length = Utf8.size(text);
+		return new RequestBody() {
+			@Override
+			public MediaType contentType() {
+				return contentType;
+			}
+
+			@Override
+			public long contentLength() {
+				return length;
+			}
+
+			@Override
+			public void writeTo(@NonNull BufferedSink sink) throws IOException {
+				int end;
+				for (int start = 0; start < text.length(); start = end) {
+					end = Math.min(text.length(), start + TEXT_CHUNK_SIZE);
+					if (end < text.length() && Character.isHighSurrogate(text.charAt(end - 1))) {
+						end--; // do not split a surrogate pair
+					}
+					sink.writeUtf8(text, start, end);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Creates a body compressing another one while it is written
+	 * @param body - the body to compress
+	 * @param compressionType - the compression
+	 * @return the compressed body, or the body itself if the compression is {@link CompressionType#NONE}
+	 */
+	public static RequestBody compress(@NonNull RequestBody body, @NonNull CompressionType compressionType) {
+		if (compressionType == CompressionType.NONE) {
+			return body;
+		}
+		boolean oneShot = isOneShot(body);
+		return new RequestBody() {
+			@Override
+			public MediaType contentType() {
+				return body.contentType();
+			}
+
+			@Override
+			public long contentLength() {
+				return -1; // We don't know the compressed length in advance
+			}
+
+			@Override
+			public boolean isOneShot() {
+				return oneShot;
+			}
+
+			@Override
+			public void writeTo(@NonNull BufferedSink sink) throws IOException {
+				BufferedSink compressedSink = compressingSink(sink, compressionType);
+				try {
+					body.writeTo(compressedSink);
+				} finally {
+					compressedSink.close();
+				}
+			}
+		};
+	}
+
+	/**
+	 * @param body - the body of a request, possibly null
+	 * @return true if the body can only be written once, e.g. a multipart body with a part read from a stream
+	 */
+	public static boolean isOneShot(RequestBody body) {
+		if (body == null) {
+			return false;
+		}
+		if (body instanceof MultipartBody) {
+			return ((MultipartBody) body).parts().stream().anyMatch(part -> part.body().isOneShot());
+		}
+		return body.isOneShot();
+	}
+
+	private static BufferedSink compressingSink(BufferedSink sink, CompressionType compressionType) throws IOException {
+		switch (compressionType) {
+			case GZIP:
+				return Okio.buffer(new GzipSink(sink));
+			case LZ4:
+				return Okio.buffer(Okio.sink(new LZ4FrameOutputStream(sink.outputStream(), LZ4FrameOutputStream.BLOCKSIZE.SIZE_64KB)));
+			case ZSTD:
+				return Okio.buffer(Okio.sink(ZstdCompression.outputStream(sink.outputStream())));
+			default:
+				throw new IllegalArgumentException("Cannot compress with " + compressionType);
+		}
+	}
+}
@@ -0,0 +1,20 @@
+package com.firebolt.jdbc.client;
+
+import com.github.luben.zstd.ZstdOutputStream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Creates the zstd streams. zstd-jni is an optional dependency: this class is only loaded once
+ * {@link CompressionType#fromName(String)} checked that it is in the classpath.
+ */
+final class ZstdCompression {
+
+	private ZstdCompression() {
+	}
+
+	static OutputStream outputStream(OutputStream out) throws IOException {
+		return new ZstdOutputStream(out);
+	}
+}
@@ -4,40 +4,139 @@ import com.firebolt.jdbc.client.FireboltClient;
 import com.firebolt.jdbc.connection.CacheListener;
 import com.firebolt.jdbc.connection.FireboltConnection;
 import com.firebolt.jdbc.exception.FireboltException;
+import lombok.CustomLog;
 import okhttp3.OkHttpClient;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Comparator;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static java.lang.String.format;
 import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
 
+/**
+ * Retrieves the engine URL of an account. The retrieved values are shared by all connections of the JVM:
+ * <ul>
+ *     <li>the number of cached values is limited by {@link #MAX_CACHED_VALUES}, the least recently loaded ones are evicted first</li>
+ *     <li>concurrent requests for a value that is not cached yet are served by a single HTTP call</li>
+ *     <li>a value older than {@link #REFRESH_AFTER} is still returned but reloaded in the background</li>
+ *     <li>a value older than {@link #EXPIRE_AFTER} is not returned anymore and has to be loaded again</li>
+ * </ul>
+ */
+@CustomLog
 public class FireboltAccountRetriever<T> extends FireboltClient implements CacheListener {
     private static final String URL = "https://%s/web/v3/account/%s/engineUrl";
+    static final int MAX_CACHED_VALUES = 1000;
+    static final Duration REFRESH_AFTER = Duration.ofMinutes(5);
+    static final Duration EXPIRE_AFTER = Duration.ofHours(1);
+    private static final Executor REFRESH_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "firebolt-jdbc-engine-url-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Map<String, CachedValue> valueCache = new ConcurrentHashMap<>();
+
     private final String host;
     private final Class<T> type;
-    private static final Map<String, Object> valueCache = new ConcurrentHashMap<>();
+    private final Clock clock;
+    private final Executor refreshExecutor;
 
     public FireboltAccountRetriever(OkHttpClient httpClient, FireboltConnection connection, String customDrivers, String customClients, String host, Class<T> type) {
+        this(httpClient, connection, customDrivers, customClients, host, type, Clock.systemUTC(), REFRESH_EXECUTOR);
+    }
+
+    FireboltAccountRetriever(OkHttpClient httpClient, FireboltConnection connection, String customDrivers, String customClients, String host, Class<T> type, Clock clock, Executor refreshExecutor) {
         super(httpClient, connection, customDrivers, customClients);
         this.host = host;
         this.type = type;
+        this.clock = clock;
+        this.refreshExecutor = refreshExecutor;
     }
 
     public T retrieve(String accessToken, String accountName) throws SQLException {
+        String url = format(URL, host, accountName);
+        long now = clock.millis();
+        CachedValue[] created = new CachedValue[1];
+        CachedValue cached = valueCache.compute(url, (key, current) ->
+                current != null && !current.isOlderThan(EXPIRE_AFTER, now) ? current : (created[0] = new CachedValue()));
+        if (cached == created[0]) {
+            evictIfFull();
+            return load(cached, url, accessToken, accountName);
+        }
+        if (cached.isOlderThan(REFRESH_AFTER, now) && cached.refreshing.compareAndSet(false, true)) {
+            refreshExecutor.execute(() -> refresh(cached, url, accessToken, accountName));
+        }
+        return await(cached, accountName);
+    }
+
+    private T load(CachedValue cached, String url, String accessToken, String accountName) throws SQLException {
         try {
-            String url = format(URL, host, accountName);
-            @SuppressWarnings("unchecked")
-            T value = (T)valueCache.get(url);
-            if (value == null) {
-                value = getResource(url, accessToken, type);
-                valueCache.put(url, value);
-            }
+            T value = getResource(url, accessToken, type);
+            cached.complete(value, clock.millis());
             return value;
         } catch (IOException e) {
-            throw new FireboltException(String.format("Failed to get engine url for account %s: %s", accountName, e.getMessage()), e);
+            FireboltException exception = new FireboltException(format("Failed to get engine url for account %s: %s", accountName, e.getMessage()), e);
+            fail(cached, url, exception);
+            throw exception;
+        } catch (SQLException | RuntimeException e) {
+            fail(cached, url, e);
+            throw e;
+        }
+    }
+
+    private static void fail(CachedValue cached, String url, Exception e) {
+        // failures are not cached: the next call tries again
+        valueCache.remove(url, cached);
+        cached.value.completeExceptionally(e);
+    }
+
+    private void refresh(CachedValue stale, String url, String accessToken, String accountName) {
+        try {
+            CachedValue fresh = new CachedValue();
+            fresh.complete(getResource(url, accessToken, type), clock.millis());
+            valueCache.replace(url, stale, fresh);
+        } catch (IOException | SQLException | RuntimeException e) {
+            // the stale value is still served until it expires; the next call after this one tries to refresh it again
+            log.warn("Could not refresh engine url for account {}", accountName, e);
+            stale.refreshing.set(false);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T await(CachedValue cached, String accountName) throws SQLException {
+        try {
+            return (T) cached.value.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FireboltException(format("Interrupted while getting engine url for account %s", accountName), e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new FireboltException(format("Failed to get engine url for account %s: %s", accountName, cause.getMessage()), cause);
+        }
+    }
+
+    private static void evictIfFull() {
+        int excess = valueCache.size() - MAX_CACHED_VALUES;
+        if (excess > 0) {
+            valueCache.entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().loadedAt))
+                    .limit(excess)
+                    .forEach(entry -> valueCache.remove(entry.getKey(), entry.getValue()));
         }
     }
 
@@ -60,4 +159,20 @@ public class FireboltAccountRetriever<T> extends FireboltClient implements Cache
     public void cleanup() {
         valueCache.clear();
     }
+
+    private static final class CachedValue {
+        private final CompletableFuture<Object> value = new CompletableFuture<>();
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        // a value that is still being loaded is never evicted nor considered expired
+        private volatile long loadedAt = Long.MAX_VALUE;
+
+        private void complete(Object result, long now) {
+            loadedAt = now;
+            value.complete(result);
+        }
+
+        private boolean isOlderThan(Duration age, long now) {
+            return loadedAt != Long.MAX_VALUE && now - loadedAt >= age.toMillis();
+        }
+    }
 }
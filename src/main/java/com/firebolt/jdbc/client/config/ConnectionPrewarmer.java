@@ -0,0 +1,87 @@
+package com.firebolt.jdbc.client.config;
+
+import lombok.CustomLog;
+import lombok.experimental.UtilityClass;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+/**
+ * Opens keep-alive connections to an endpoint before they are needed, so the first queries sent to it do not pay for the
+ * TCP and TLS handshakes. The connections are opened with HEAD requests and then stay in the connection pool of the http
+ * client until they are used or until they are idle for longer than the keep alive timeout.
+ */
+@UtilityClass
+@CustomLog
+public class ConnectionPrewarmer {
+
+	private static final long DEFAULT_WAIT_MILLIS = 10_000;
+	private static final ExecutorService PREWARM_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, "firebolt-jdbc-connection-prewarm");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * Opens (up to) the given number of connections to the endpoint in the background
+	 * @param httpClient - the client whose connection pool receives the connections
+	 * @param endpoint - the endpoint to connect to
+	 * @param connections - the number of connections to open
+	 * @return a future completed when all the connections are either open or failed to open
+	 */
+	public static CompletableFuture<Void> prewarm(OkHttpClient httpClient, HttpUrl endpoint, int connections) {
+		CountDownLatch connected = new CountDownLatch(connections);
+		long waitMillis = httpClient.connectTimeoutMillis() > 0 ? httpClient.connectTimeoutMillis() : DEFAULT_WAIT_MILLIS;
+		OkHttpClient.Builder builder = httpClient.newBuilder();
+		// a request that only opens a connection is not worth retrying
+		builder.interceptors().clear();
+		OkHttpClient prewarmClient = builder.addNetworkInterceptor(chain -> {
+			// each request holds its connection until the others are connected too, otherwise a request could reuse
+			// the connection of a request that has already finished instead of opening a new one
+			countDownOnce(chain.request(), connected);
+			await(connected, waitMillis);
+			return chain.proceed(chain.request());
+		}).build();
+		log.debug("Opening {} connections to {}", connections, endpoint.host());
+		return CompletableFuture.allOf(IntStream.range(0, connections)
+				.mapToObj(i -> new Request.Builder().url(endpoint).head().tag(AtomicBoolean.class, new AtomicBoolean()).build())
+				.map(request -> CompletableFuture.runAsync(() -> open(prewarmClient, request, connected), PREWARM_EXECUTOR))
+				.toArray(CompletableFuture[]::new));
+	}
+
+	private static void open(OkHttpClient client, Request request, CountDownLatch connected) {
+		try (Response response = client.newCall(request).execute()) {
+			log.debug("Opened connection to {} (status {})", request.url().host(), response.code());
+		} catch (IOException e) {
+			log.debug("Could not open connection to {}: {}", request.url().host(), e.getMessage());
+		} finally {
+			// no-op if the request got connected, otherwise the others do not have to wait for it
+			countDownOnce(request, connected);
+		}
+	}
+
+	private static void countDownOnce(Request request, CountDownLatch connected) {
+		AtomicBoolean counted = request.tag(AtomicBoolean.class);
+		if (counted != null && counted.compareAndSet(false, true)) {
+			connected.countDown();
+		}
+	}
+
+	private static void await(CountDownLatch latch, long waitMillis) {
+		try {
+			latch.await(waitMillis, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
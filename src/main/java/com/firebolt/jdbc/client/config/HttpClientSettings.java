@@ -0,0 +1,43 @@
+package com.firebolt.jdbc.client.config;
+
+import com.firebolt.jdbc.connection.settings.FireboltProperties;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * The session settings that configure an http client. Connections with equal settings share the same http client (and
+ * therefore its connection pool) while connections with different settings get their own one.
+ */
+@Value
+@Builder
+public class HttpClientSettings {
+	int connectionTimeoutMillis;
+	int socketTimeoutMillis;
+	int maxRetries;
+	int maxConnectionsTotal;
+	int keepAliveTimeoutMillis;
+	int tcpKeepIdle;
+	int tcpKeepCount;
+	int tcpKeepInterval;
+	boolean ssl;
+	String sslMode;
+	String sslCertificatePath;
+	String httpProtocol;
+
+	public static HttpClientSettings of(FireboltProperties properties) {
+		return HttpClientSettings.builder()
+				.connectionTimeoutMillis(properties.getConnectionTimeoutMillis())
+				.socketTimeoutMillis(properties.getSocketTimeoutMillis())
+				.maxRetries(properties.getMaxRetries())
+				.maxConnectionsTotal(properties.getMaxConnectionsTotal())
+				.keepAliveTimeoutMillis(properties.getKeepAliveTimeoutMillis())
+				.tcpKeepIdle(properties.getTcpKeepIdle())
+				.tcpKeepCount(properties.getTcpKeepCount())
+				.tcpKeepInterval(properties.getTcpKeepInterval())
+				.ssl(properties.isSsl())
+				.sslMode(properties.getSslMode())
+				.sslCertificatePath(properties.getSslCertificatePath())
+				.httpProtocol(properties.getHttpProtocol())
+				.build();
+	}
+}
@@ -0,0 +1,92 @@
+package com.firebolt.jdbc.client.config;
+
+import lombok.Value;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.HttpUrl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the requests (streams) carried by each connection of an http client. With HTTP/1.1 a connection carries one
+ * request at a time while with HTTP/2 it multiplexes several of them, up to the limit announced by the server. The peak
+ * number of concurrent streams of a connection therefore shows how close it got to that limit.
+ */
+public class HttpConnectionMetrics implements EventListener.Factory {
+
+	// the pool closes the connections, so they are only referenced weakly
+	private final Map<Connection, StreamCounter> counters = Collections.synchronizedMap(new WeakHashMap<>());
+
+	@Override
+	public EventListener create(Call call) {
+		return new EventListener() {
+			@Override
+			public void connectionAcquired(Call call, Connection connection) {
+				counters.computeIfAbsent(connection, StreamCounter::new).acquire();
+			}
+
+			@Override
+			public void connectionReleased(Call call, Connection connection) {
+				StreamCounter counter = counters.get(connection);
+				if (counter != null) {
+					counter.release();
+				}
+			}
+		};
+	}
+
+	/**
+	 * @return the metrics of the connections that are still referenced by the connection pool or by running requests
+	 */
+	public List<ConnectionMetrics> getConnectionMetrics() {
+		List<ConnectionMetrics> metrics = new ArrayList<>();
+		synchronized (counters) {
+			counters.forEach((connection, counter) -> metrics.add(counter.toMetrics()));
+		}
+		return metrics;
+	}
+
+	@Value
+	public static class ConnectionMetrics {
+		String host;
+		int port;
+		String protocol;
+		int activeStreams;
+		int peakActiveStreams;
+		long totalStreams;
+	}
+
+	private static class StreamCounter {
+		private final HttpUrl url;
+		private final String protocol;
+		private final AtomicInteger active = new AtomicInteger();
+		private final AtomicInteger peak = new AtomicInteger();
+		private final AtomicLong total = new AtomicLong();
+
+		private StreamCounter(Connection connection) {
+			url = connection.route().address().url();
+			protocol = connection.protocol().toString();
+		}
+
+		private void acquire() {
+			int streams = active.incrementAndGet();
+			peak.accumulateAndGet(streams, Math::max);
+			total.incrementAndGet();
+		}
+
+		private void release() {
+			active.decrementAndGet();
+		}
+
+		private ConnectionMetrics toMetrics() {
+			return new ConnectionMetrics(url.host(), url.port(), protocol, active.get(), peak.get(), total.get());
+		}
+	}
+}
@@ -3,12 +3,15 @@ package com.firebolt.jdbc.client.config;
 import com.firebolt.jdbc.client.config.socket.FireboltSSLSocketFactory;
 import com.firebolt.jdbc.client.config.socket.FireboltSocketFactory;
 import com.firebolt.jdbc.connection.settings.FireboltProperties;
+import com.firebolt.jdbc.exception.FireboltException;
 import lombok.Builder;
 import lombok.CustomLog;
 import lombok.Value;
 import lombok.experimental.UtilityClass;
 import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.KeyManager;
@@ -29,7 +32,9 @@ import java.security.cert.Certificate;
 import java.security.cert.CertificateException;
 import java.security.cert.CertificateFactory;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -44,6 +49,9 @@ public class OkHttpClientCreator {
 	private static final String TLS_PROTOCOL = "TLS";
 	private static final String JKS_KEYSTORE_TYPE = "JKS";
 	private static final String CERTIFICATE_TYPE_X_509 = "X.509";
+	public static final String HTTP_1_1 = "http1.1";
+	public static final String HTTP_2 = "h2";
+	public static final String HTTP_2_CLEARTEXT = "h2c";
 	TrustManager[] trustAllCerts = new TrustManager[] { new X509TrustManager() {
 		@Override
 		public void checkClientTrusted(java.security.cert.X509Certificate[] chain, String authType) {
@@ -62,20 +70,38 @@ public class OkHttpClientCreator {
 	} };
 
 	public static OkHttpClient createClient(FireboltProperties properties) throws CertificateException,
-			NoSuchAlgorithmException, KeyStoreException, IOException, KeyManagementException {
+			NoSuchAlgorithmException, KeyStoreException, IOException, KeyManagementException, FireboltException {
+		return createClient(properties, new Dispatcher());
+	}
+
+	/**
+	 * Creates an http client whose asynchronous calls run on the given executor, so several clients can share their threads
+	 * @param properties - the session settings
+	 * @param executor - the executor of the asynchronous calls
+	 * @return the http client
+	 */
+	public static OkHttpClient createClient(FireboltProperties properties, ExecutorService executor)
+			throws CertificateException, NoSuchAlgorithmException, KeyStoreException, IOException, KeyManagementException, FireboltException {
+		return createClient(properties, new Dispatcher(executor));
+	}
+
+	private static OkHttpClient createClient(FireboltProperties properties, Dispatcher dispatcher) throws CertificateException,
+			NoSuchAlgorithmException, KeyStoreException, IOException, KeyManagementException, FireboltException {
 		OkHttpClient.Builder builder = new OkHttpClient.Builder()
+				.dispatcher(dispatcher)
 				.connectTimeout(properties.getConnectionTimeoutMillis(), TimeUnit.MILLISECONDS)
 				.addInterceptor(new RetryInterceptor(properties.getMaxRetries()))
 				.socketFactory(new FireboltSocketFactory(properties))
 				.readTimeout(properties.getSocketTimeoutMillis(), TimeUnit.MILLISECONDS)
 				.connectionPool(new ConnectionPool(properties.getMaxConnectionsTotal(),
-						properties.getKeepAliveTimeoutMillis(), TimeUnit.MILLISECONDS));
+						properties.getKeepAliveTimeoutMillis(), TimeUnit.MILLISECONDS))
+				.protocols(getProtocols(properties))
+				.eventListenerFactory(new HttpConnectionMetrics());
 
 		Optional<SSLConfig> sslConfig = getSSLConfig(properties);
 		if (sslConfig.isPresent()) {
-			SSLContext ctx = SSLContext.getInstance(TLS_PROTOCOL);
 			SSLConfig config = sslConfig.get();
-			ctx.init(config.getKeyManagers(), config.getTrustManagers(), config.secureRandom);
+			SSLContext ctx = createSSLContext(config);
 			builder.sslSocketFactory(new FireboltSSLSocketFactory(properties, ctx.getSocketFactory()),
 					(X509TrustManager) config.trustManagers[0]);
 		}
@@ -85,6 +111,55 @@ public class OkHttpClientCreator {
 
 	}
 
+	/**
+	 * Creates the SSL context configured by the session settings, for http clients that are not created by this class
+	 * @param properties - the session settings
+	 * @return the SSL context or empty if SSL is disabled
+	 */
+	public static Optional<SSLContext> createSSLContext(FireboltProperties properties) throws CertificateException,
+			NoSuchAlgorithmException, KeyStoreException, IOException, KeyManagementException {
+		Optional<SSLConfig> sslConfig = getSSLConfig(properties);
+		return sslConfig.isPresent() ? Optional.of(createSSLContext(sslConfig.get())) : Optional.empty();
+	}
+
+	private static SSLContext createSSLContext(SSLConfig config) throws NoSuchAlgorithmException, KeyManagementException {
+		SSLContext ctx = SSLContext.getInstance(TLS_PROTOCOL);
+		ctx.init(config.getKeyManagers(), config.getTrustManagers(), config.secureRandom);
+		return ctx;
+	}
+
+	private static List<Protocol> getProtocols(FireboltProperties properties) throws FireboltException {
+		switch (getHttpProtocol(properties)) {
+			case HTTP_1_1:
+				return List.of(Protocol.HTTP_1_1);
+			case HTTP_2_CLEARTEXT:
+				// without TLS there is no negotiation: the server must support HTTP/2
+				return List.of(Protocol.H2_PRIOR_KNOWLEDGE);
+			default:
+				// HTTP/2 is negotiated with the server during the TLS handshake (ALPN), HTTP/1.1 is used if it is not supported
+				return List.of(Protocol.HTTP_2, Protocol.HTTP_1_1);
+		}
+	}
+
+	/**
+	 * Returns the http protocol of the session settings, h2 if it is not set
+	 * @param properties - the session settings
+	 * @return one of {@link #HTTP_1_1}, {@link #HTTP_2} and {@link #HTTP_2_CLEARTEXT}
+	 * @throws FireboltException if the protocol does not exist or is h2c while ssl is enabled
+	 */
+	public static String getHttpProtocol(FireboltProperties properties) throws FireboltException {
+		String httpProtocol = Optional.ofNullable(properties.getHttpProtocol()).orElse(HTTP_2);
+		if (!List.of(HTTP_1_1, HTTP_2, HTTP_2_CLEARTEXT).contains(httpProtocol)) {
+			throw new FireboltException(String.format("The http protocol %s set by http_protocol does not exist. Supported values: %s, %s, %s",
+					httpProtocol, HTTP_1_1, HTTP_2, HTTP_2_CLEARTEXT));
+		}
+		if (HTTP_2_CLEARTEXT.equals(httpProtocol) && properties.isSsl()) {
+			// a client that only speaks HTTP/2 without TLS cannot send any https request
+			throw new FireboltException(String.format("http_protocol=%s sends the requests without TLS, it cannot be used with ssl=true", HTTP_2_CLEARTEXT));
+		}
+		return httpProtocol;
+	}
+
 	private static Optional<HostnameVerifier> getHostnameVerifier(FireboltProperties properties) {
 		if (properties.isSsl() && SSL_NONE_MODE.equals(properties.getSslMode())) {
 			// No verification when SSL mode is NONE
@@ -1,5 +1,6 @@
 package com.firebolt.jdbc.client.config;
 
+import com.firebolt.jdbc.client.RequestBodies;
 import lombok.CustomLog;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -26,14 +27,33 @@ public class RetryInterceptor implements Interceptor {
 
 	private final int maxRetries;
 
+	/**
+	 * Sends a request once
+	 */
+	@FunctionalInterface
+	public interface Attempt {
+		Response execute(Request request) throws IOException;
+	}
+
 	@NonNull
 	@Override
 	public Response intercept(@NonNull Chain chain) throws IOException {
-		Request request = chain.request();
-		Response response = chain.proceed(request);
+		return execute(chain.request(), maxRetries, chain::proceed);
+	}
+
+	/**
+	 * Sends a request, and sends it again while its response has a retryable code, at most maxRetries more times. A
+	 * request whose body can only be written once is not sent again.
+	 * @param request - the request
+	 * @param maxRetries - the maximum number of times the request is sent again
+	 * @param attempt - sends the request once
+	 * @return the last response
+	 */
+	public static Response execute(Request request, int maxRetries, Attempt attempt) throws IOException {
+		Response response = attempt.execute(request);
 		int tryCount = 0;
 		while (!response.isSuccessful() && RETRYABLE_RESPONSE_CODES.contains(response.code())
-				&& tryCount++ < maxRetries) {
+				&& !RequestBodies.isOneShot(request.body()) && tryCount++ < maxRetries) {
 			String failureInfo;
 			String tag = request.tag(String.class);
 			if (tag != null && !tag.isEmpty()) {
@@ -48,7 +68,7 @@ public class RetryInterceptor implements Interceptor {
 
 			// retry the request
 			response.close();
-			response = chain.proceed(request);
+			response = attempt.execute(request);
 		}
 
 		return response;
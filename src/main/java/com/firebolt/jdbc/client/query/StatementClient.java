@@ -2,8 +2,10 @@ package com.firebolt.jdbc.client.query;
 
 import com.firebolt.jdbc.connection.settings.FireboltProperties;
 import com.firebolt.jdbc.statement.StatementInfoWrapper;
+import com.firebolt.jdbc.statement.preparedstatement.FileSource;
 import java.io.InputStream;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Map;
 
 public interface StatementClient {
@@ -20,6 +22,18 @@ public interface StatementClient {
 	InputStream executeSqlStatementWithFiles(StatementInfoWrapper statementInfoWrapper, FireboltProperties connectionProperties,
 											int queryTimeout, boolean isServerAsync, Map<String, byte[]> files) throws SQLException;
 
+	/**
+	 * Post SQL statement with files whose content is streamed into the request
+	 */
+	InputStream executeSqlStatementWithFileSources(StatementInfoWrapper statementInfoWrapper, FireboltProperties connectionProperties,
+												   int queryTimeout, boolean isServerAsync, List<FileSource> files) throws SQLException;
+
+	/**
+	 * Post SQL query whose result is returned in the given output format instead of the one read by the ResultSet
+	 */
+	InputStream executeSqlStatementWithOutputFormat(StatementInfoWrapper statementInfoWrapper, FireboltProperties connectionProperties,
+													int queryTimeout, String outputFormat) throws SQLException;
+
 	/**
 	 * Call endpoint to abort a running SQL statement
 	 */
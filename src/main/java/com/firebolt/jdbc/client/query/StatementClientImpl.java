@@ -3,12 +3,15 @@ package com.firebolt.jdbc.client.query;
 import com.firebolt.jdbc.FireboltBackendType;
 import com.firebolt.jdbc.client.CompressionType;
 import com.firebolt.jdbc.client.FireboltClient;
+import com.firebolt.jdbc.client.RequestBodies;
+import com.firebolt.jdbc.client.transport.HttpTransport;
 import com.firebolt.jdbc.connection.FireboltConnection;
 import com.firebolt.jdbc.connection.settings.FireboltProperties;
 import com.firebolt.jdbc.connection.settings.FireboltQueryParameterKey;
 import com.firebolt.jdbc.exception.ExceptionType;
 import com.firebolt.jdbc.exception.FireboltException;
 import com.firebolt.jdbc.statement.StatementInfoWrapper;
+import com.firebolt.jdbc.statement.preparedstatement.FileSource;
 import com.firebolt.jdbc.statement.rawstatement.RawStatement;
 import com.firebolt.jdbc.util.CloseableUtil;
 import java.io.IOException;
@@ -19,25 +22,23 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.function.BiPredicate;
-import java.util.function.Function;
+import java.util.Set;
 import java.util.regex.Pattern;
 import lombok.CustomLog;
 import lombok.NonNull;
-import okhttp3.Call;
-import okhttp3.Dispatcher;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
-import okhttp3.internal.http2.StreamResetException;
+import okio.BufferedSink;
 
+import static com.firebolt.jdbc.connection.settings.FireboltQueryParameterKey.DEFAULT_FORMAT;
+import static com.firebolt.jdbc.connection.settings.FireboltQueryParameterKey.OUTPUT_FORMAT;
 import static com.firebolt.jdbc.connection.settings.FireboltQueryParameterKey.QUERY_LABEL;
 import static com.firebolt.jdbc.exception.ExceptionType.INVALID_REQUEST;
 import static com.firebolt.jdbc.exception.ExceptionType.UNAUTHORIZED;
@@ -46,7 +47,6 @@ import static java.net.HttpURLConnection.HTTP_INTERNAL_ERROR;
 import static java.net.HttpURLConnection.HTTP_UNAUTHORIZED;
 import static java.util.Optional.ofNullable;
 import static okhttp3.MultipartBody.*;
-import static okhttp3.RequestBody.create;
 
 @CustomLog
 public class StatementClientImpl extends FireboltClient implements StatementClient {
@@ -58,12 +58,15 @@ public class StatementClientImpl extends FireboltClient implements StatementClie
 			Pattern.compile("Engine .+? does not exist or not authorized"), "Please grant at least one role to user associated your service account."
 	);
 
-	private final BiPredicate<Call, String> isCallWithLabel = (call, label) -> call.request().tag() instanceof String && Objects.equals(call.request().tag(), label);
 	// visible for testing
 	static final String HEADER_UPDATE_PARAMETER = "Firebolt-Update-Parameters";
 	static final String HEADER_UPDATE_ENDPOINT = "Firebolt-Update-Endpoint";
 	static final String HEADER_RESET_SESSION = "Firebolt-Reset-Session";
 	static final String HEADER_REMOVE_PARAMETER = "Firebolt-Remove-Parameters";
+	static final String HEADER_QUERY_ID = "Firebolt-Query-Id";
+	private static final int MAX_QUERY_IDS = 1000;
+	private static final String STREAM_RESET_BY_CANCEL = "stream was reset: CANCEL";
+	private static final okhttp3.MediaType OCTET_STREAM = okhttp3.MediaType.parse("application/octet-stream");
 
 	private enum QueryIdFetcher {
 		/**
@@ -120,10 +123,29 @@ public class StatementClientImpl extends FireboltClient implements StatementClie
 
 	}
 
+	// the ids the server reported for the latest statements, by label, so they can be canceled without looking them up
+	private final Map<String, String> queryIds = Collections.synchronizedMap(new LinkedHashMap<>() {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+			return size() > MAX_QUERY_IDS;
+		}
+	});
+	// the labels of the statements canceled while they were sent, so their failure is reported as a cancellation
+	private final Set<String> canceledLabels = Collections.synchronizedSet(Collections.newSetFromMap(new LinkedHashMap<>() {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+			return size() > MAX_QUERY_IDS;
+		}
+	}));
+
 	public StatementClientImpl(OkHttpClient httpClient, FireboltConnection connection, String customDrivers, String customClients) {
 		super(httpClient, connection, customDrivers, customClients);
 	}
 
+	public StatementClientImpl(HttpTransport transport, FireboltConnection connection, String customDrivers, String customClients) {
+		super(transport, connection, customDrivers, customClients);
+	}
+
 	/**
 	 * Sends SQL statement to Firebolt Retries to send the statement if the first
 	 * execution is unauthorized
@@ -136,7 +158,25 @@ public class StatementClientImpl extends FireboltClient implements StatementClie
 	@Override
 	public InputStream executeSqlStatement(@NonNull StatementInfoWrapper statementInfoWrapper,
 										   @NonNull FireboltProperties connectionProperties, int queryTimeout, boolean isServerAsync) throws SQLException {
-		return executeSqlStatementInternal(statementInfoWrapper, connectionProperties, queryTimeout, isServerAsync,
+		return executeSqlStatementInternal(statementInfoWrapper, connectionProperties, queryTimeout, isServerAsync, null,
+				(label, formattedStatement, uri) -> executeSqlStatementWithRetryOnUnauthorized(label, connectionProperties, formattedStatement, uri));
+	}
+
+	/**
+	 * Sends SQL query to Firebolt asking for its result in the given output format. Retries to send the statement if
+	 * the first execution is unauthorized
+	 *
+	 * @param statementInfoWrapper the statement wrapper
+	 * @param connectionProperties the connection properties
+	 * @param queryTimeout         query timeout
+	 * @param outputFormat         the format of the result, e.g. CSVWithNames
+	 * @return the server response
+	 */
+	@Override
+	public InputStream executeSqlStatementWithOutputFormat(@NonNull StatementInfoWrapper statementInfoWrapper,
+														   @NonNull FireboltProperties connectionProperties, int queryTimeout,
+														   @NonNull String outputFormat) throws SQLException {
+		return executeSqlStatementInternal(statementInfoWrapper, connectionProperties, queryTimeout, false, outputFormat,
 				(label, formattedStatement, uri) -> executeSqlStatementWithRetryOnUnauthorized(label, connectionProperties, formattedStatement, uri));
 	}
 
@@ -158,12 +198,34 @@ public class StatementClientImpl extends FireboltClient implements StatementClie
 		if (files == null || files.isEmpty()) {
 			throw new FireboltException("Files map cannot be null or empty when executing statement with files", INVALID_REQUEST);
 		}
-		return executeSqlStatementInternal(statementInfoWrapper, connectionProperties, queryTimeout, isServerAsync,
+		return executeSqlStatementWithFileSources(statementInfoWrapper, connectionProperties, queryTimeout, isServerAsync, FileSource.fromBytes(files));
+	}
+
+	/**
+	 * Sends SQL statement with files to Firebolt, streaming the content of the files into the request. Retries to send
+	 * the statement if the first execution is unauthorized and all the files can be sent again.
+	 *
+	 * @param statementInfoWrapper the statement wrapper
+	 * @param connectionProperties the connection properties
+	 * @param queryTimeout         query timeout
+	 * @param isServerAsync        makes query run async
+	 * @param files                the files to send
+	 * @return the server response
+	 */
+	@Override
+	public InputStream executeSqlStatementWithFileSources(@NonNull StatementInfoWrapper statementInfoWrapper,
+														  @NonNull FireboltProperties connectionProperties, int queryTimeout, boolean isServerAsync,
+														  List<FileSource> files) throws SQLException {
+		if (files == null || files.isEmpty()) {
+			throw new FireboltException("Files cannot be null or empty when executing statement with files", INVALID_REQUEST);
+		}
+		return executeSqlStatementInternal(statementInfoWrapper, connectionProperties, queryTimeout, isServerAsync, null,
 				(label, formattedStatement, uri) -> executeSqlStatementWithFilesRetryOnUnauthorized(label, connectionProperties, formattedStatement, uri, files));
 	}
 
 	@Override
 	public void abortStatement(@NonNull String statementLabel, @NonNull FireboltProperties properties) throws SQLException {
+		canceledLabels.add(statementLabel);
 		boolean aborted = abortRunningHttpRequest(statementLabel);
 		if (properties.isSystemEngine()) {
 			throw new FireboltException("Cannot cancel a statement using a system engine", INVALID_REQUEST);
@@ -174,7 +236,7 @@ public class StatementClientImpl extends FireboltClient implements StatementClie
 
 	@Override
 	public boolean isStatementRunning(String statementId) {
-		return getQueuedCallWithLabel(statementId).isPresent() || getRunningCallWithLabel(statementId).isPresent();
+		return getTransport().isRunning(statementId);
 	}
 
 	/**
@@ -219,33 +281,50 @@ public class StatementClientImpl extends FireboltClient implements StatementClie
 
 	private InputStream executeSqlStatementInternal(@NonNull StatementInfoWrapper statementInfoWrapper,
 													@NonNull FireboltProperties connectionProperties, int queryTimeout, boolean isServerAsync,
-													@NonNull StatementExecutor executor) throws SQLException {
+													String outputFormat, @NonNull StatementExecutor executor) throws SQLException {
 		String formattedStatement = QueryIdFetcher.getQueryFetcher(connection.getInfraVersion()).formatStatement(statementInfoWrapper);
 		QueryParameterProvider queryParameterProvider = getQueryParameterProvider();
 		Map<String, String> params = queryParameterProvider.getQueryParams(connectionProperties, statementInfoWrapper, queryTimeout, isServerAsync);
+		if (outputFormat != null) {
+			// the provider sets the format read by the ResultSet under the name of the parameter used by the server
+			params.replace(OUTPUT_FORMAT.getKey(), outputFormat);
+			params.replace(DEFAULT_FORMAT.getKey(), outputFormat);
+		}
 
 		String label = params.getOrDefault(QUERY_LABEL.getKey(), statementInfoWrapper.getLabel());
 		String errorMessage = format("Error executing statement with label %s: %s", label, formattedStatement);
 		try {
 			String uri = buildQueryUri(connectionProperties, params).toString();
+			// a label can be reused: the id of the previous statement with this label must not be canceled instead
+			queryIds.remove(label);
+			canceledLabels.remove(label);
 			return executor.execute(label, formattedStatement, uri);
 		} catch (FireboltException e) {
 			throw e;
-		} catch (StreamResetException e) {
-			throw new FireboltException(errorMessage, e, ExceptionType.CANCELED);
 		} catch (Exception e) {
-			throw new FireboltException(errorMessage, e);
+			// a stream reset by the server for another reason (e.g. REFUSED_STREAM or INTERNAL_ERROR) is not a cancellation
+			boolean canceled = canceledLabels.remove(label) || isStreamResetByCancel(e);
+			throw new FireboltException(errorMessage, e, canceled ? ExceptionType.CANCELED : ExceptionType.ERROR);
 		}
 	}
 
+	private static boolean isStreamResetByCancel(Exception e) {
+		// the message of the exception OkHttp throws when the server resets an HTTP/2 stream ends with its error code
+		return e instanceof IOException && STREAM_RESET_BY_CANCEL.equals(e.getMessage());
+	}
+
 	private InputStream executeSqlStatementWithRetryOnUnauthorized(String label, @NonNull FireboltProperties connectionProperties, String formattedStatement, String uri)
 			throws SQLException, IOException {
 		return executeWithRetryOnUnauthorized(label, uri, "statement",
 				() -> postSqlStatement(connectionProperties, formattedStatement, uri, label));
 	}
 
-	private InputStream executeSqlStatementWithFilesRetryOnUnauthorized(String label, @NonNull FireboltProperties connectionProperties, String formattedStatement, String uri, Map<String, byte[]> files)
+	private InputStream executeSqlStatementWithFilesRetryOnUnauthorized(String label, @NonNull FireboltProperties connectionProperties, String formattedStatement, String uri, List<FileSource> files)
 			throws SQLException, IOException {
+		if (!files.stream().allMatch(FileSource::isRepeatable)) {
+			// the content of a stream cannot be sent a second time
+			return postSqlStatementWithFiles(connectionProperties, formattedStatement, uri, label, files);
+		}
 		return executeWithRetryOnUnauthorized(label, uri, "statement with files",
 				() -> postSqlStatementWithFiles(connectionProperties, formattedStatement, uri, label, files));
 	}
@@ -277,25 +356,20 @@ public class StatementClientImpl extends FireboltClient implements StatementClie
 		return is;
 	}
 
-	private InputStream postSqlStatementWithFiles(@NonNull FireboltProperties connectionProperties, String formattedStatement, String uri, String label, Map<String, byte[]> files)
+	private InputStream postSqlStatementWithFiles(@NonNull FireboltProperties connectionProperties, String formattedStatement, String uri, String label, List<FileSource> files)
 			throws SQLException, IOException {
 		List<Part> parts = new ArrayList<>();
 
 		okhttp3.MediaType sqlMediaType = okhttp3.MediaType.parse("text/plain; charset=utf-8");
-		okhttp3.RequestBody sqlBody = create(formattedStatement, sqlMediaType);
+		okhttp3.RequestBody sqlBody = RequestBodies.text(formattedStatement, sqlMediaType);
 		parts.add(Part.createFormData("sql", null, sqlBody));
 
-		if (files != null) {
-			for (Map.Entry<String, byte[]> entry : files.entrySet()) {
-				String identifier = entry.getKey();
-				byte[] fileContent = entry.getValue();
-				okhttp3.RequestBody fileBody = create(fileContent, okhttp3.MediaType.parse("application/octet-stream"));
-				parts.add(Part.createFormData(identifier, identifier, fileBody));
-			}
+		for (FileSource file : files) {
+			parts.add(Part.createFormData(file.getIdentifier(), file.getIdentifier(), createFileBody(file)));
 		}
 
 		Response response = executeMultipart(uri, connectionProperties.getHost(), label, parts,
-				getConnection().getAccessToken().orElse(null), connectionProperties.isCompress());
+				getConnection().getAccessToken().orElse(null), connectionProperties.isCompress(), getRequestBodyCompressionType(connectionProperties));
 		InputStream is = ofNullable(response.body()).map(ResponseBody::byteStream).orElse(null);
 		if (is == null) {
 			CloseableUtil.close(response);
@@ -303,6 +377,33 @@ public class StatementClientImpl extends FireboltClient implements StatementClie
 		return is;
 	}
 
+	/**
+	 * Creates a request body that streams the content of the file when the request is sent
+	 */
+	private static RequestBody createFileBody(FileSource file) {
+		return new RequestBody() {
+			@Override
+			public okhttp3.MediaType contentType() {
+				return OCTET_STREAM;
+			}
+
+			@Override
+			public long contentLength() throws IOException {
+				return file.getContentLength();
+			}
+
+			@Override
+			public boolean isOneShot() {
+				return !file.isRepeatable();
+			}
+
+			@Override
+			public void writeTo(@NonNull BufferedSink sink) throws IOException {
+				file.writeTo(sink);
+			}
+		};
+	}
+
 	private QueryParameterProvider getQueryParameterProvider() {
 		FireboltBackendType fireboltBackendType = connection.getBackendType();
 
@@ -315,28 +416,16 @@ public class StatementClientImpl extends FireboltClient implements StatementClie
 		}
 	}
 
-	private CompressionType getRequestBodyCompressionType(@NonNull FireboltProperties connectionProperties) {
-		// for now if the compression is on, use the default gzip. We might expose the compression algorithm to the clients in the future, but now default to gzip
-		return connectionProperties.isCompressRequestPayload() ? CompressionType.GZIP : CompressionType.NONE;
+	private CompressionType getRequestBodyCompressionType(@NonNull FireboltProperties connectionProperties) throws FireboltException {
+		return connectionProperties.isCompressRequestPayload() ? CompressionType.fromName(connectionProperties.getRequestPayloadCompression()) : CompressionType.NONE;
 	}
 
 	private void abortRunningDbStatement(String label, FireboltProperties fireboltProperties, int getIdTimeout) throws SQLException {
 		try {
-			String id;
-			int attempt = 0;
-			int getIdAttempts = 10;
-			int getIdDelay = Math.max(getIdTimeout / getIdAttempts, 1);
-			// Statement ID is retrieved from query_history table. Records are written to this table asynchronously.
-			// So, if cancel() is called immediately after executing the statement sometimes the record in query_history
-			// can be unavailable. To retrieve it we perform several attempts.
-			for (id = getStatementId(label); attempt < getIdAttempts; id = getStatementId(label), attempt++) {
-				if (id != null) {
-					break;
-				}
-				delay(getIdDelay);
-			}
+			String id = queryIds.remove(label);
 			if (id == null) {
-				throw new FireboltException("Cannot retrieve id for statement with label " + label);
+				// the server did not report the id yet (e.g. the response headers were not received) or does not report it
+				id = fetchStatementId(label, getIdTimeout);
 			}
 			String uri = buildCancelUri(fireboltProperties, id).toString();
 			Request rq = createPostRequest(uri, null, (RequestBody)null, getConnection().getAccessToken().orElse(null));
@@ -356,6 +445,26 @@ public class StatementClientImpl extends FireboltClient implements StatementClie
 		}
 	}
 
+	private String fetchStatementId(String label, int getIdTimeout) throws SQLException {
+		String id;
+		int attempt = 0;
+		int getIdAttempts = 10;
+		int getIdDelay = Math.max(getIdTimeout / getIdAttempts, 1);
+		// Statement ID is retrieved from query_history table. Records are written to this table asynchronously.
+		// So, if cancel() is called immediately after executing the statement sometimes the record in query_history
+		// can be unavailable. To retrieve it we perform several attempts.
+		for (id = getStatementId(label); attempt < getIdAttempts; id = getStatementId(label), attempt++) {
+			if (id != null) {
+				break;
+			}
+			delay(getIdDelay);
+		}
+		if (id == null) {
+			throw new FireboltException("Cannot retrieve id for statement with label " + label);
+		}
+		return id;
+	}
+
 	@SuppressWarnings("java:S2142") // "InterruptedException" and "ThreadDeath" should not be ignored
 	private void delay(int delay) {
 		try {
@@ -366,28 +475,7 @@ public class StatementClientImpl extends FireboltClient implements StatementClie
 	}
 
 	private boolean abortRunningHttpRequest(@NonNull String label) {
-		boolean quedAborted = abortCall(getQueuedCallWithLabel(label));
-		boolean runningAborted = abortCall(getRunningCallWithLabel(label));
-		return quedAborted || runningAborted;
-	}
-
-	private boolean abortCall(Optional<Call> call) {
-		return call.map(c -> {
-			c.cancel();
-			return true;
-		}).orElse(false);
-	}
-
-	private Optional<Call> getQueuedCallWithLabel(String label) {
-		return getSelectedCallWithLabel(label, Dispatcher::queuedCalls);
-	}
-
-	private Optional<Call> getRunningCallWithLabel(String id) {
-		return getSelectedCallWithLabel(id, Dispatcher::runningCalls);
-	}
-
-	private Optional<Call> getSelectedCallWithLabel(String label, Function<Dispatcher, List<Call>> callsGetter) {
-		return callsGetter.apply(getHttpClient().dispatcher()).stream().filter(call -> isCallWithLabel.test(call, label)).findAny();
+		return getTransport().cancel(label);
 	}
 
 	private URI buildQueryUri(FireboltProperties fireboltProperties, Map<String, String> parameters) {
@@ -428,7 +516,7 @@ public class StatementClientImpl extends FireboltClient implements StatementClie
 			}
 			String endpoint = response.header(HEADER_UPDATE_ENDPOINT);
 			if (endpoint != null) {
-				connection.setEndpoint(connection.getSessionProperties().processEngineUrl(endpoint));
+				connection.updateEndpoint(endpoint);
 			}
 			for (String header : response.headers(HEADER_UPDATE_PARAMETER)) {
 				String[] keyValue = header.split("=");
@@ -437,6 +525,11 @@ public class StatementClientImpl extends FireboltClient implements StatementClie
 			for (String parameterName : response.headers(HEADER_REMOVE_PARAMETER)) {
 				connection.removeProperty(parameterName.trim());
 			}
+			String queryId = response.header(HEADER_QUERY_ID);
+			String label = queryId == null ? null : HttpTransport.getLabel(response.request());
+			if (label != null) {
+				queryIds.put(label, queryId);
+			}
 		}
 	}
 
@@ -0,0 +1,53 @@
+package com.firebolt.jdbc.client.transport;
+
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+
+/**
+ * Sends the http requests of the driver. Whatever the implementation, requests and responses are described with the
+ * OkHttp model classes, which are plain values that do not depend on the OkHttp networking.
+ * The requests of a statement are tagged with the label of the statement, so they can be canceled.
+ */
+public interface HttpTransport {
+
+	/**
+	 * Executes the request. The body of the returned response is streamed and has to be closed by the caller.
+	 * @param request - the request to send
+	 * @param connectTimeoutMillis - the connect timeout, 0 for no timeout
+	 * @param readTimeoutMillis - the read timeout, 0 for no timeout
+	 * @return the response of the server
+	 * @throws IOException if the request could not be sent or was canceled
+	 */
+	Response execute(Request request, int connectTimeoutMillis, int readTimeoutMillis) throws IOException;
+
+	/**
+	 * Cancels the queued and running requests tagged with the label
+	 * @param label - the label of the statement
+	 * @return true if a request was canceled
+	 */
+	boolean cancel(String label);
+
+	/**
+	 * Cancels all the queued and running requests tagged with a label
+	 * @return the number of canceled requests
+	 */
+	int cancelAll();
+
+	/**
+	 * @param label - the label of the statement
+	 * @return true if a request tagged with the label is queued or running
+	 */
+	boolean isRunning(String label);
+
+	/**
+	 * @return the statistics of the requests and of the connection pool of the transport
+	 */
+	TransportStats getStats();
+
+	static String getLabel(Request request) {
+		Object tag = request.tag();
+		return tag instanceof String ? (String) tag : null;
+	}
+}
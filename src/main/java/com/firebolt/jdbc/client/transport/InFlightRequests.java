@@ -0,0 +1,72 @@
+package com.firebolt.jdbc.client.transport;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * The requests of a transport that are in flight, indexed by the label of their statement. Adding, removing and looking
+ * up the requests of a label take constant time and do not lock the other labels.
+ * @param <T> - the type of the requests
+ */
+class InFlightRequests<T> {
+	private final Map<String, Set<T>> requests = new ConcurrentHashMap<>();
+	private final AtomicInteger size = new AtomicInteger();
+
+	void add(String label, T request) {
+		requests.compute(label, (key, labelRequests) -> {
+			Set<T> result = labelRequests == null ? ConcurrentHashMap.newKeySet() : labelRequests;
+			if (result.add(request)) {
+				size.incrementAndGet();
+			}
+			return result;
+		});
+	}
+
+	void remove(String label, T request) {
+		requests.computeIfPresent(label, (key, labelRequests) -> {
+			if (labelRequests.remove(request)) {
+				size.decrementAndGet();
+			}
+			return labelRequests.isEmpty() ? null : labelRequests;
+		});
+	}
+
+	boolean contains(String label) {
+		return requests.containsKey(label);
+	}
+
+	/**
+	 * Applies the action to the requests of the label
+	 * @return true if the label has requests in flight
+	 */
+	boolean forEach(String label, Consumer<T> action) {
+		Set<T> labelRequests = requests.get(label);
+		if (labelRequests == null) {
+			return false;
+		}
+		labelRequests.forEach(action);
+		return true;
+	}
+
+	/**
+	 * Applies the action to all the requests in flight
+	 * @return the number of requests the action was applied to
+	 */
+	int forEach(Consumer<T> action) {
+		int count = 0;
+		for (Set<T> labelRequests : requests.values()) {
+			for (T request : labelRequests) {
+				action.accept(request);
+				count++;
+			}
+		}
+		return count;
+	}
+
+	int size() {
+		return size.get();
+	}
+}
@@ -0,0 +1,441 @@
+package com.firebolt.jdbc.client.transport;
+
+import com.firebolt.jdbc.client.config.OkHttpClientCreator;
+import com.firebolt.jdbc.client.config.RetryInterceptor;
+import com.firebolt.jdbc.connection.settings.FireboltProperties;
+import com.firebolt.jdbc.exception.FireboltException;
+import lombok.CustomLog;
+import okhttp3.Headers;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.Okio;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpClient;
+import java.net.http.HttpClient.Redirect;
+import java.net.http.HttpClient.Version;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
+
+/**
+ * {@link HttpTransport} sending the requests with the {@link HttpClient} of the JDK. Compared to OkHttp:
+ * <ul>
+ *     <li>the connect timeout is the one of the client: a request with another connect timeout is rejected</li>
+ *     <li>the read timeout limits the time to receive the response headers, then the time a read of the body waits
+ *     for data: the exchange is aborted when it expires</li>
+ *     <li>a request body larger than {@value #BUFFERED_BODY_MAX_LENGTH} bytes, or whose length is unknown, is written
+ *     by another thread into a pipe read by the client</li>
+ *     <li>the TCP keep alive settings and the {@code ssl_mode=none} hostname verification are not supported</li>
+ *     <li>the connection pool is internal to the JDK client: its size is unknown</li>
+ * </ul>
+ * The requests are retried like with the {@link RetryInterceptor} of the OkHttp client.
+ */
+@CustomLog
+public class JdkHttpTransport implements HttpTransport {
+	public static final String NAME = "jdk";
+	private static final String HEADER_CONTENT_TYPE = "Content-Type";
+	private static final String HEADER_CONTENT_LENGTH = "Content-Length";
+	// a body up to this length is copied to a byte array, a longer one is streamed through a pipe
+	static final int BUFFERED_BODY_MAX_LENGTH = 64 * 1024;
+	private static final ExecutorService bodyWriters = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, "firebolt-jdbc-request-body");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private static final ScheduledThreadPoolExecutor readTimeouts = createReadTimeouts();
+
+	private final HttpClient httpClient;
+	private final int maxRetries;
+	private final InFlightRequests<Exchange> exchanges = new InFlightRequests<>();
+
+	public JdkHttpTransport(HttpClient httpClient) {
+		this(httpClient, 0);
+	}
+
+	public JdkHttpTransport(HttpClient httpClient, int maxRetries) {
+		this.httpClient = httpClient;
+		this.maxRetries = maxRetries;
+	}
+
+	/**
+	 * @return the JDK http client sending the requests
+	 */
+	public HttpClient getHttpClient() {
+		return httpClient;
+	}
+
+	/**
+	 * Creates a transport with a new JDK http client configured by the session settings
+	 * @param properties - the session settings
+	 * @return the transport
+	 */
+	public static JdkHttpTransport create(FireboltProperties properties) throws GeneralSecurityException, IOException, FireboltException {
+		return new JdkHttpTransport(createClient(properties, null), properties.getMaxRetries());
+	}
+
+	/**
+	 * Creates a JDK http client configured by the session settings
+	 * @param properties - the session settings
+	 * @param executor - the executor of the client or null to let the client create its own one
+	 * @return the http client
+	 */
+	public static HttpClient createClient(FireboltProperties properties, Executor executor) throws GeneralSecurityException, IOException, FireboltException {
+		HttpClient.Builder builder = HttpClient.newBuilder()
+				.version(OkHttpClientCreator.HTTP_1_1.equals(OkHttpClientCreator.getHttpProtocol(properties)) ? Version.HTTP_1_1 : Version.HTTP_2)
+				.followRedirects(Redirect.NORMAL);
+		if (properties.getConnectionTimeoutMillis() > 0) {
+			builder.connectTimeout(Duration.ofMillis(properties.getConnectionTimeoutMillis()));
+		}
+		if (executor != null) {
+			builder.executor(executor);
+		}
+		OkHttpClientCreator.createSSLContext(properties).ifPresent(builder::sslContext);
+		return builder.build();
+	}
+
+	private static ScheduledThreadPoolExecutor createReadTimeouts() {
+		ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+			Thread thread = new Thread(runnable, "firebolt-jdbc-read-timeout");
+			thread.setDaemon(true);
+			return thread;
+		});
+		// a timeout is scheduled for each read of a body and almost always canceled
+		executor.setRemoveOnCancelPolicy(true);
+		return executor;
+	}
+
+	@Override
+	public Response execute(Request request, int connectTimeoutMillis, int readTimeoutMillis) throws IOException {
+		long clientConnectTimeoutMillis = httpClient.connectTimeout().map(Duration::toMillis).orElse(0L);
+		if (connectTimeoutMillis != clientConnectTimeoutMillis) {
+			// the JDK client has no connect timeout per request
+			throw new IOException(format("The jdk transport cannot send a request with a connect timeout of %d ms: its http client connects with a timeout of %d ms set by connection_timeout_millis",
+					connectTimeoutMillis, clientConnectTimeoutMillis));
+		}
+		return RetryInterceptor.execute(request, maxRetries, r -> send(r, readTimeoutMillis));
+	}
+
+	private Response send(Request request, int readTimeoutMillis) throws IOException {
+		HttpRequest httpRequest = toHttpRequest(request, readTimeoutMillis);
+		Exchange exchange = new Exchange(HttpTransport.getLabel(request));
+		register(exchange);
+		try {
+			HttpResponse<InputStream> httpResponse = exchange.start(httpClient.sendAsync(httpRequest, BodyHandlers.ofInputStream())).get();
+			return toResponse(request, httpResponse, exchange, readTimeoutMillis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			unregister(exchange);
+			exchange.cancel();
+			throw new InterruptedIOException("Interrupted while waiting for the response to " + request.url());
+		} catch (CancellationException e) {
+			unregister(exchange);
+			throw new IOException("Canceled", e);
+		} catch (ExecutionException e) {
+			unregister(exchange);
+			Throwable cause = e.getCause();
+			throw cause instanceof IOException ? (IOException) cause : new IOException(cause.getMessage(), cause);
+		} catch (IOException | RuntimeException e) {
+			unregister(exchange);
+			throw e;
+		}
+	}
+
+	private static HttpRequest toHttpRequest(Request request, int readTimeoutMillis) throws IOException {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(request.url().uri());
+		Headers headers = request.headers();
+		for (int i = 0; i < headers.size(); i++) {
+			builder.header(headers.name(i), headers.value(i));
+		}
+		RequestBody body = request.body();
+		if (body == null) {
+			builder.method(request.method(), BodyPublishers.noBody());
+		} else {
+			MediaType contentType = body.contentType();
+			if (contentType != null && request.header(HEADER_CONTENT_TYPE) == null) {
+				builder.header(HEADER_CONTENT_TYPE, contentType.toString());
+			}
+			builder.method(request.method(), toBodyPublisher(body));
+		}
+		if (readTimeoutMillis > 0) {
+			builder.timeout(Duration.ofMillis(readTimeoutMillis));
+		}
+		return builder.build();
+	}
+
+	private static HttpRequest.BodyPublisher toBodyPublisher(RequestBody body) throws IOException {
+		long contentLength = body.contentLength();
+		if (contentLength >= 0 && contentLength <= BUFFERED_BODY_MAX_LENGTH) {
+			Buffer buffer = new Buffer();
+			body.writeTo(buffer);
+			return BodyPublishers.ofByteArray(buffer.readByteArray());
+		}
+		// the files uploaded with a query can be larger than the heap: the body is written while it is sent
+		HttpRequest.BodyPublisher publisher = BodyPublishers.ofInputStream(() -> new PipedBody(body));
+		return contentLength < 0 ? publisher : BodyPublishers.fromPublisher(publisher, contentLength);
+	}
+
+	private Response toResponse(Request request, HttpResponse<InputStream> httpResponse, Exchange exchange, int readTimeoutMillis) throws IOException {
+		Headers.Builder headers = new Headers.Builder();
+		httpResponse.headers().map().forEach((name, values) -> {
+			if (!name.startsWith(":")) { // HTTP/2 pseudo headers
+				values.forEach(value -> headers.addUnsafeNonAscii(name, value));
+			}
+		});
+		InputStream body = exchange.streaming(new FilterInputStream(httpResponse.body()) {
+			@Override
+			public void close() throws IOException {
+				try {
+					super.close();
+				} finally {
+					unregister(exchange);
+				}
+			}
+		});
+		if (readTimeoutMillis > 0) {
+			body = new ReadTimeoutBody(body, exchange, readTimeoutMillis);
+		}
+		String contentType = httpResponse.headers().firstValue(HEADER_CONTENT_TYPE).orElse(null);
+		long contentLength = httpResponse.headers().firstValueAsLong(HEADER_CONTENT_LENGTH).orElse(-1);
+		return new Response.Builder()
+				.request(request)
+				.protocol(httpResponse.version() == Version.HTTP_2 ? Protocol.HTTP_2 : Protocol.HTTP_1_1)
+				.code(httpResponse.statusCode())
+				.message("")
+				.headers(headers.build())
+				.body(ResponseBody.create(Okio.buffer(Okio.source(body)), contentType == null ? null : MediaType.parse(contentType), contentLength))
+				.build();
+	}
+
+	@Override
+	public boolean cancel(String label) {
+		return label != null && exchanges.forEach(label, Exchange::cancel);
+	}
+
+	@Override
+	public int cancelAll() {
+		return exchanges.forEach(Exchange::cancel);
+	}
+
+	@Override
+	public boolean isRunning(String label) {
+		return label != null && exchanges.contains(label);
+	}
+
+	@Override
+	public TransportStats getStats() {
+		return new TransportStats(NAME, exchanges.size(), TransportStats.UNKNOWN, TransportStats.UNKNOWN);
+	}
+
+	private void register(Exchange exchange) {
+		if (exchange.label != null) {
+			exchanges.add(exchange.label, exchange);
+		}
+	}
+
+	private void unregister(Exchange exchange) {
+		if (exchange.label != null) {
+			exchanges.remove(exchange.label, exchange);
+		}
+	}
+
+	/**
+	 * The content of a request body, written by another thread while the client reads it. An error of the writer is
+	 * thrown to the client instead of the end of the body.
+	 */
+	private static final class PipedBody extends PipedInputStream {
+		private volatile IOException failure;
+
+		private PipedBody(RequestBody body) {
+			super(BUFFERED_BODY_MAX_LENGTH);
+			PipedOutputStream out;
+			try {
+				out = new PipedOutputStream(this);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			bodyWriters.execute(() -> {
+				try {
+					BufferedSink sink = Okio.buffer(Okio.sink(out));
+					body.writeTo(sink);
+					sink.close();
+				} catch (IOException | RuntimeException e) {
+					// the pipe is also closed when the client stops reading, e.g. if the request is canceled
+					failure = e instanceof IOException ? (IOException) e : new IOException(e);
+					log.debug("Could not write the request body", e);
+					try {
+						out.close(); // the failure is set first: the client must not take the end of the pipe for the end of the body
+					} catch (IOException ignored) {
+						// the client fails with the error of the body anyway
+					}
+				}
+			});
+		}
+
+		@Override
+		public synchronized int read() throws IOException {
+			return checkEnd(super.read());
+		}
+
+		@Override
+		public synchronized int read(byte[] bytes, int offset, int length) throws IOException {
+			return checkEnd(super.read(bytes, offset, length));
+		}
+
+		private int checkEnd(int read) throws IOException {
+			IOException e = failure;
+			if (read < 0 && e != null) {
+				throw e;
+			}
+			return read;
+		}
+	}
+
+	/**
+	 * A response body whose reads wait for data at most for the read timeout, like with OkHttp. The JDK client has no
+	 * such timeout: the exchange is aborted when a read takes longer, which makes the read fail.
+	 */
+	private static final class ReadTimeoutBody extends FilterInputStream {
+		private final Exchange exchange;
+		private final long timeoutMillis;
+		private volatile boolean timedOut;
+
+		private ReadTimeoutBody(InputStream body, Exchange exchange, long timeoutMillis) {
+			super(body);
+			this.exchange = exchange;
+			this.timeoutMillis = timeoutMillis;
+		}
+
+		@Override
+		public int read() throws IOException {
+			ScheduledFuture<?> timeout = startTimeout();
+			try {
+				return super.read();
+			} catch (IOException e) {
+				throw readError(e);
+			} finally {
+				timeout.cancel(false);
+			}
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length) throws IOException {
+			ScheduledFuture<?> timeout = startTimeout();
+			try {
+				return super.read(bytes, offset, length);
+			} catch (IOException e) {
+				throw readError(e);
+			} finally {
+				timeout.cancel(false);
+			}
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			ScheduledFuture<?> timeout = startTimeout();
+			try {
+				return super.skip(n);
+			} catch (IOException e) {
+				throw readError(e);
+			} finally {
+				timeout.cancel(false);
+			}
+		}
+
+		private ScheduledFuture<?> startTimeout() throws IOException {
+			if (timedOut) {
+				throw timeoutException();
+			}
+			return readTimeouts.schedule(() -> {
+				timedOut = true;
+				exchange.cancel();
+			}, timeoutMillis, TimeUnit.MILLISECONDS);
+		}
+
+		private IOException readError(IOException e) {
+			if (!timedOut) {
+				return e;
+			}
+			SocketTimeoutException timeout = timeoutException();
+			timeout.initCause(e);
+			return timeout;
+		}
+
+		private SocketTimeoutException timeoutException() {
+			return new SocketTimeoutException(format("The response was not read: no data was received for %d ms", timeoutMillis));
+		}
+	}
+
+	/**
+	 * A request from the moment it is sent until its response body is closed
+	 */
+	private static final class Exchange {
+		private final String label;
+		private CompletableFuture<HttpResponse<InputStream>> response;
+		private InputStream body;
+		private boolean canceled;
+
+		private Exchange(String label) {
+			this.label = label;
+		}
+
+		private synchronized CompletableFuture<HttpResponse<InputStream>> start(CompletableFuture<HttpResponse<InputStream>> response) {
+			this.response = response;
+			if (canceled) {
+				response.cancel(true);
+			}
+			return response;
+		}
+
+		private synchronized InputStream streaming(InputStream body) throws IOException {
+			this.body = body;
+			if (canceled) {
+				body.close();
+				throw new IOException("Canceled");
+			}
+			return body;
+		}
+
+		private synchronized void cancel() {
+			canceled = true;
+			if (response != null) {
+				response.cancel(true);
+			}
+			if (body != null) {
+				// closing the body aborts the exchange: the JDK client does not abort it when the future is canceled
+				try {
+					body.close();
+				} catch (IOException e) {
+					log.debug("Could not close the response body of the canceled request {}", label, e);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package com.firebolt.jdbc.client.transport;
+
+import lombok.Getter;
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.ForwardingSource;
+import okio.Okio;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link HttpTransport} sending the requests with an {@link OkHttpClient}. A request is in flight until its response
+ * body is closed, so canceling it also stops the reading of a response that is being streamed.
+ */
+public class OkHttpTransport implements HttpTransport {
+	public static final String NAME = "okhttp";
+
+	@Getter
+	private final OkHttpClient httpClient;
+	private volatile OkHttpClient clientWithTimeouts;
+	private final InFlightRequests<Call> calls = new InFlightRequests<>();
+
+	public OkHttpTransport(OkHttpClient httpClient) {
+		this.httpClient = httpClient;
+	}
+
+	@Override
+	public Response execute(Request request, int connectTimeoutMillis, int readTimeoutMillis) throws IOException {
+		Call call = getClientWithTimeouts(connectTimeoutMillis, readTimeoutMillis).newCall(request);
+		String label = HttpTransport.getLabel(request);
+		if (label == null) {
+			return call.execute();
+		}
+		calls.add(label, call);
+		Response response = null;
+		try {
+			response = call.execute();
+			return trackUntilClosed(response, label, call);
+		} finally {
+			if (response == null || response.body() == null) {
+				calls.remove(label, call);
+			}
+		}
+	}
+
+	private Response trackUntilClosed(Response response, String label, Call call) {
+		ResponseBody body = response.body();
+		if (body == null) {
+			return response;
+		}
+		ForwardingSource source = new ForwardingSource(body.source()) {
+			@Override
+			public void close() throws IOException {
+				try {
+					super.close();
+				} finally {
+					calls.remove(label, call);
+				}
+			}
+		};
+		return response.newBuilder()
+				.body(ResponseBody.create(Okio.buffer(source), body.contentType(), body.contentLength()))
+				.build();
+	}
+
+	private OkHttpClient getClientWithTimeouts(int connectionTimeout, int networkTimeout) {
+		if (hasTimeouts(httpClient, connectionTimeout, networkTimeout)) {
+			return httpClient;
+		}
+		OkHttpClient client = clientWithTimeouts;
+		if (client == null || !hasTimeouts(client, connectionTimeout, networkTimeout)) {
+			// This creates a shallow copy using the same connection pool, kept until the timeouts change again
+			client = httpClient.newBuilder().readTimeout(networkTimeout, TimeUnit.MILLISECONDS)
+					.connectTimeout(connectionTimeout, TimeUnit.MILLISECONDS).build();
+			clientWithTimeouts = client;
+		}
+		return client;
+	}
+
+	private static boolean hasTimeouts(OkHttpClient client, int connectionTimeout, int networkTimeout) {
+		return client.connectTimeoutMillis() == connectionTimeout && client.readTimeoutMillis() == networkTimeout;
+	}
+
+	/**
+	 * Cancels every call of the statement. Canceling a call only affects this call: over HTTP/1.1 its connection is closed,
+	 * over HTTP/2 only its stream is reset while the streams of other statements multiplexed over the same connection go on.
+	 */
+	@Override
+	public boolean cancel(String label) {
+		return label != null && calls.forEach(label, Call::cancel);
+	}
+
+	@Override
+	public int cancelAll() {
+		return calls.forEach(Call::cancel);
+	}
+
+	@Override
+	public boolean isRunning(String label) {
+		return label != null && calls.contains(label);
+	}
+
+	@Override
+	public TransportStats getStats() {
+		return new TransportStats(NAME, httpClient.dispatcher().runningCallsCount(),
+				httpClient.connectionPool().connectionCount(), httpClient.connectionPool().idleConnectionCount());
+	}
+}
@@ -0,0 +1,16 @@
+package com.firebolt.jdbc.client.transport;
+
+import lombok.Value;
+
+/**
+ * Statistics of an {@link HttpTransport}. A value that the transport cannot provide is {@link #UNKNOWN}.
+ */
+@Value
+public class TransportStats {
+	public static final int UNKNOWN = -1;
+
+	String transport;
+	int runningRequests;
+	int connections;
+	int idleConnections;
+}
@@ -0,0 +1,191 @@
+package com.firebolt.jdbc.connection;
+
+import com.firebolt.jdbc.exception.FireboltException;
+import lombok.CustomLog;
+import org.apache.commons.lang3.StringUtils;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Tracks the status of async queries until they end. All the tracked queries are polled by a single background thread:
+ * <ul>
+ *     <li>every poll round reuses the same prepared {@code CALL fb_GetAsyncStatus(?)} statement for the queries that are due</li>
+ *     <li>each query is polled with its own backoff: the interval starts at {@code initialInterval} and doubles after each
+ *     poll that finds the query still running, up to {@code maxInterval}, so long-running queries are polled less and less</li>
+ *     <li>a query that is tracked several times is only polled once</li>
+ * </ul>
+ * The future of a query completes with its final status (any status other than {@code RUNNING}), or exceptionally if its
+ * status cannot be found.
+ */
+@CustomLog
+public class AsyncQueryMonitor implements AutoCloseable {
+	static final String RUNNING_STATUS = "RUNNING";
+	private static final String STATUS_QUERY = "CALL fb_GetAsyncStatus(?)";
+	static final Duration DEFAULT_INITIAL_INTERVAL = Duration.ofMillis(500);
+	static final Duration DEFAULT_MAX_INTERVAL = Duration.ofSeconds(30);
+
+	private final FireboltConnection connection;
+	private final long initialIntervalMillis;
+	private final long maxIntervalMillis;
+	private final Clock clock;
+	private final Map<String, TrackedQuery> queries = new ConcurrentHashMap<>();
+	private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "firebolt-jdbc-async-query-monitor");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	public AsyncQueryMonitor(FireboltConnection connection) {
+		this(connection, DEFAULT_INITIAL_INTERVAL, DEFAULT_MAX_INTERVAL);
+	}
+
+	public AsyncQueryMonitor(FireboltConnection connection, Duration initialInterval, Duration maxInterval) {
+		this(connection, initialInterval, maxInterval, Clock.systemUTC());
+	}
+
+	AsyncQueryMonitor(FireboltConnection connection, Duration initialInterval, Duration maxInterval, Clock clock) {
+		if (initialInterval.isNegative() || initialInterval.isZero() || maxInterval.compareTo(initialInterval) < 0) {
+			throw new IllegalArgumentException("The poll intervals must be positive and the max interval cannot be less than the initial one");
+		}
+		this.connection = connection;
+		this.initialIntervalMillis = initialInterval.toMillis();
+		this.maxIntervalMillis = maxInterval.toMillis();
+		this.clock = clock;
+		scheduler.scheduleWithFixedDelay(this::poll, initialIntervalMillis, initialIntervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Starts tracking an async query
+	 * @param asyncQueryToken - the token returned when the async query was submitted
+	 * @return a future completed with the final status of the query
+	 */
+	public CompletableFuture<String> track(String asyncQueryToken) throws SQLException {
+		if (StringUtils.isBlank(asyncQueryToken)) {
+			throw new FireboltException("Async query token cannot be null or empty");
+		}
+		if (scheduler.isShutdown()) {
+			throw new FireboltException("Cannot track the async query: the monitor is closed");
+		}
+		return queries.computeIfAbsent(asyncQueryToken, token -> new TrackedQuery(clock.millis())).status;
+	}
+
+	/**
+	 * Waits until all the async queries end
+	 * @param asyncQueryTokens - the tokens returned when the async queries were submitted
+	 * @param timeout - the maximum time to wait
+	 * @return the final status of each query, by token
+	 * @throws SQLException if the queries did not end before the timeout or the status of a query could not be found
+	 */
+	public Map<String, String> waitForAll(Collection<String> asyncQueryTokens, Duration timeout) throws SQLException {
+		Map<String, CompletableFuture<String>> futures = new LinkedHashMap<>();
+		for (String token : asyncQueryTokens) {
+			futures.put(token, track(token));
+		}
+		try {
+			CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0])).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new FireboltException("Interrupted while waiting for the async queries", e);
+		} catch (TimeoutException e) {
+			long running = futures.values().stream().filter(future -> !future.isDone()).count();
+			throw new FireboltException(String.format("%d of %d async queries did not end within %s", running, futures.size(), timeout), e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			throw cause instanceof SQLException ? (SQLException) cause : new FireboltException("Could not wait for the async queries", cause);
+		}
+		Map<String, String> statuses = new LinkedHashMap<>();
+		futures.forEach((token, future) -> statuses.put(token, future.join()));
+		return statuses;
+	}
+
+	/**
+	 * @return the number of async queries that are tracked and did not end yet
+	 */
+	public int getTrackedQueryCount() {
+		return queries.size();
+	}
+
+	/**
+	 * Stops the polling. The futures of the queries that did not end are canceled.
+	 */
+	@Override
+	public void close() {
+		scheduler.shutdownNow();
+		queries.values().forEach(query -> query.status.cancel(false));
+		queries.clear();
+	}
+
+	private void poll() {
+		long now = clock.millis();
+		List<Map.Entry<String, TrackedQuery>> due = new ArrayList<>();
+		queries.entrySet().stream().filter(entry -> entry.getValue().nextPollAt <= now).forEach(due::add);
+		if (due.isEmpty()) {
+			return;
+		}
+		try (PreparedStatement statement = connection.prepareStatement(STATUS_QUERY)) {
+			for (Map.Entry<String, TrackedQuery> entry : due) {
+				if (Thread.currentThread().isInterrupted()) {
+					return;
+				}
+				poll(statement, entry.getKey(), entry.getValue());
+			}
+		} catch (SQLException | RuntimeException e) {
+			// e.g. the connection is closed: the queries are polled again in the next round
+			log.warn("Could not poll the status of the async queries", e);
+		}
+	}
+
+	private void poll(PreparedStatement statement, String token, TrackedQuery query) throws SQLException {
+		String status;
+		statement.setString(1, token);
+		try (ResultSet rs = statement.executeQuery()) {
+			if (!rs.next()) {
+				queries.remove(token, query);
+				query.status.completeExceptionally(new FireboltException("Could not get status for the async query with token: " + token));
+				return;
+			}
+			status = rs.getString("status");
+		} catch (SQLException e) {
+			log.debug("Could not poll the status of the async query with token {}: {}", token, e.getMessage());
+			query.backOff(clock.millis());
+			return;
+		}
+		if (RUNNING_STATUS.equals(status)) {
+			query.backOff(clock.millis());
+		} else {
+			queries.remove(token, query);
+			query.status.complete(status);
+		}
+	}
+
+	private final class TrackedQuery {
+		private final CompletableFuture<String> status = new CompletableFuture<>();
+		private long intervalMillis = initialIntervalMillis;
+		private volatile long nextPollAt;
+
+		private TrackedQuery(long now) {
+			nextPollAt = now;
+		}
+
+		private void backOff(long now) {
+			nextPollAt = now + intervalMillis;
+			intervalMillis = Math.min(intervalMillis * 2, maxIntervalMillis);
+		}
+	}
+}
@@ -6,7 +6,14 @@ import com.firebolt.jdbc.annotation.ExcludeFromJacocoGeneratedReport;
 import com.firebolt.jdbc.annotation.NotImplemented;
 import com.firebolt.jdbc.client.HttpClientConfig;
 import com.firebolt.jdbc.client.authentication.FireboltAuthenticationClient;
+import com.firebolt.jdbc.client.config.ConnectionPrewarmer;
+import com.firebolt.jdbc.client.config.HttpClientSettings;
+import com.firebolt.jdbc.client.config.HttpConnectionMetrics;
 import com.firebolt.jdbc.client.query.StatementClientImpl;
+import com.firebolt.jdbc.client.transport.HttpTransport;
+import com.firebolt.jdbc.client.transport.JdkHttpTransport;
+import com.firebolt.jdbc.client.transport.OkHttpTransport;
+import com.firebolt.jdbc.client.transport.TransportStats;
 import com.firebolt.jdbc.connection.settings.FireboltProperties;
 import com.firebolt.jdbc.connection.settings.FireboltSessionProperty;
 import com.firebolt.jdbc.exception.ExceptionType;
@@ -60,6 +67,7 @@ import java.util.function.Supplier;
 import lombok.CustomLog;
 import lombok.Getter;
 import lombok.NonNull;
+import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import org.apache.commons.lang3.StringUtils;
 
@@ -89,6 +97,13 @@ public abstract class FireboltConnection extends JdbcBase implements Connection,
 
 	//Properties that are used at the beginning of the connection for authentication
 	protected final FireboltProperties loginProperties;
+	// null when the connection is created with its services, e.g. in unit tests
+	protected final OkHttpClient httpClient;
+	private final HttpTransport httpTransport;
+	// the shared http clients are released once, when the connection is closed or fails to connect
+	private boolean httpClientsReleased;
+	private String prewarmedHost;
+	private AsyncQueryMonitor asyncQueryMonitor;
 	private final Collection<CacheListener> cacheListeners = Collections.newSetFromMap(new IdentityHashMap<>());
 	// Parameter parser is determined by the version we're running on
 	@Getter
@@ -102,6 +117,8 @@ public abstract class FireboltConnection extends JdbcBase implements Connection,
 			ParserVersion parserVersion) {
 		this.loginProperties = extractFireboltProperties(url, connectionSettings);
 
+		this.httpClient = null;
+		this.httpTransport = null;
 		this.fireboltAuthenticationService = fireboltAuthenticationService;
 		this.httpConnectionUrl = loginProperties.getHttpConnectionUrl();
 		this.fireboltStatementService = fireboltStatementService;
@@ -118,11 +135,17 @@ public abstract class FireboltConnection extends JdbcBase implements Connection,
 	protected FireboltConnection(@NonNull String url, Properties connectionSettings, String protocolVersion,
 			ParserVersion parserVersion) throws SQLException {
 		this.loginProperties = extractFireboltProperties(url, connectionSettings);
-		OkHttpClient httpClient = getHttpClient(loginProperties);
+		this.httpClient = getHttpClient(loginProperties);
+		try {
+			this.httpTransport = getHttpTransport(loginProperties, httpClient);
+		} catch (SQLException | RuntimeException e) {
+			HttpClientConfig.release(httpClient);
+			throw e;
+		}
 
 		this.fireboltAuthenticationService = new FireboltAuthenticationService(createFireboltAuthenticationClient(httpClient));
 		this.httpConnectionUrl = loginProperties.getHttpConnectionUrl();
-		this.fireboltStatementService = new FireboltStatementService(new StatementClientImpl(httpClient, this, loginProperties.getUserDrivers(), loginProperties.getUserClients()));
+		this.fireboltStatementService = new FireboltStatementService(new StatementClientImpl(httpTransport, this, loginProperties.getUserDrivers(), loginProperties.getUserClients()));
 
 		this.statements = new ArrayList<>();
 		this.connectionTimeout = loginProperties.getConnectionTimeoutMillis();
@@ -135,7 +158,23 @@ public abstract class FireboltConnection extends JdbcBase implements Connection,
 
 	protected OkHttpClient getHttpClient(FireboltProperties fireboltProperties) throws SQLException {
 		try {
-			return HttpClientConfig.getInstance() == null ? HttpClientConfig.init(fireboltProperties) : HttpClientConfig.getInstance();
+			return HttpClientConfig.init(fireboltProperties);
+		} catch (GeneralSecurityException | IOException e) {
+			throw new FireboltException("Could not instantiate http client", e);
+		}
+	}
+
+	protected HttpTransport getHttpTransport(FireboltProperties fireboltProperties, OkHttpClient httpClient) throws SQLException {
+		String transport = Optional.ofNullable(fireboltProperties.getHttpTransport()).orElse(OkHttpTransport.NAME);
+		try {
+			switch (transport) {
+				case OkHttpTransport.NAME:
+					return new OkHttpTransport(httpClient);
+				case JdkHttpTransport.NAME:
+					return HttpClientConfig.initJdkTransport(fireboltProperties);
+				default:
+					throw new FireboltException(format("The http transport %s does not exist", transport));
+			}
 		} catch (GeneralSecurityException | IOException e) {
 			throw new FireboltException("Could not instantiate http client", e);
 		}
@@ -144,16 +183,71 @@ public abstract class FireboltConnection extends JdbcBase implements Connection,
 	protected void connect() throws SQLException {
 		closed = false;
 
-		validateConnectionParameters();
+		try {
+			validateConnectionParameters();
 
-		// try to authenticate
-		authenticate();
+			// try to authenticate
+			authenticate();
 
-		databaseMetaData = retrieveMetaData();
+			databaseMetaData = retrieveMetaData();
+		} catch (SQLException | RuntimeException e) {
+			// the connection is not returned: nothing would release its http clients
+			releaseHttpClients();
+			throw e;
+		}
+
+		if (sessionProperties != null) {
+			prewarmConnections(sessionProperties.getHost());
+		}
 
 		log.debug("Connection opened");
 	}
 
+	/**
+	 * Opens the number of connections to the engine host requested by {@code prewarm_connections} in the background,
+	 * unless they were already opened to this host
+	 */
+	private synchronized void prewarmConnections(String host) {
+		int connections = Math.min(loginProperties.getPrewarmConnections(), loginProperties.getMaxConnectionsTotal());
+		// the connections can only be opened in advance in the connection pool of OkHttp
+		if (connections <= 0 || !(httpTransport instanceof OkHttpTransport) || host == null || host.equals(prewarmedHost)) {
+			return;
+		}
+		try {
+			HttpUrl.Builder engineUrl = new HttpUrl.Builder().scheme(sessionProperties.isSsl() ? "https" : "http").host(host);
+			Optional.ofNullable(sessionProperties.getPort()).ifPresent(engineUrl::port);
+			prewarmedHost = host;
+			ConnectionPrewarmer.prewarm(httpClient, engineUrl.build(), connections);
+		} catch (IllegalArgumentException e) {
+			log.debug("Cannot open connections to {}: {}", host, e.getMessage());
+		}
+	}
+
+	/**
+	 * Returns the number of requests carried by each connection of the http client used by this connection. With
+	 * {@code http_protocol=h2} it shows how many queries are multiplexed over each HTTP/2 connection.
+	 */
+	public List<HttpConnectionMetrics.ConnectionMetrics> getHttpConnectionMetrics() {
+		return Optional.ofNullable(httpClient).map(OkHttpClient::eventListenerFactory)
+				.filter(HttpConnectionMetrics.class::isInstance).map(HttpConnectionMetrics.class::cast)
+				.map(HttpConnectionMetrics::getConnectionMetrics).orElse(List.of());
+	}
+
+	/**
+	 * Returns the settings of the http client used by this connection. Connections with equal settings share the same
+	 * http client and connection pool.
+	 */
+	public HttpClientSettings getHttpClientSettings() {
+		return HttpClientSettings.of(loginProperties);
+	}
+
+	/**
+	 * Returns the statistics of the http transport used to send the queries of this connection
+	 */
+	public Optional<TransportStats> getHttpTransportStats() {
+		return Optional.ofNullable(httpTransport).map(HttpTransport::getStats);
+	}
+
 	/**
 	 * Returns the version of the firebolt backend the connection is established to
 	 */
@@ -207,6 +301,15 @@ public abstract class FireboltConnection extends JdbcBase implements Connection,
 		return createStatement(getSessionProperties());
 	}
 
+	/**
+	 * Creates a statement that sends its queries with a snapshot of the current session properties. The changes the server requests
+	 * (e.g. a new endpoint or parameters) are still applied to the connection, so several such statements can be executed concurrently.
+	 */
+	public Statement createStatementWithSessionSnapshot() throws SQLException {
+		validateConnectionIsNotClose();
+		return createStatement(FireboltProperties.copy(getSessionProperties()));
+	}
+
 	private Statement createStatement(FireboltProperties fireboltProperties) throws SQLException {
 		validateConnectionIsNotClose();
 		FireboltStatement fireboltStatement = new FireboltStatement(fireboltStatementService, fireboltProperties, this);
@@ -320,6 +423,10 @@ public abstract class FireboltConnection extends JdbcBase implements Connection,
 			} else {
 				closed = true;
 			}
+			if (asyncQueryMonitor != null) {
+				asyncQueryMonitor.close();
+				asyncQueryMonitor = null;
+			}
 		}
 		synchronized (statements) {
 			for (FireboltStatement statement : statements) {
@@ -331,10 +438,31 @@ public abstract class FireboltConnection extends JdbcBase implements Connection,
 			}
 			statements.clear();
 		}
+		if (httpTransport != null) {
+			// the requests that are still in flight, e.g. the ones of statements that could not be closed
+			int canceled = httpTransport.cancelAll();
+			if (canceled > 0) {
+				log.debug("Canceled {} http requests", canceled);
+			}
+		}
+		releaseHttpClients();
 		databaseMetaData = null;
 		log.debug("Connection closed");
 	}
 
+	private synchronized void releaseHttpClients() {
+		if (httpClientsReleased) {
+			return;
+		}
+		httpClientsReleased = true;
+		if (httpTransport instanceof JdkHttpTransport) {
+			HttpClientConfig.release((JdkHttpTransport) httpTransport);
+		}
+		if (httpClient != null) {
+			HttpClientConfig.release(httpClient);
+		}
+	}
+
 	protected FireboltProperties extractFireboltProperties(String jdbcUri, Properties connectionProperties) {
 		return createFireboltProperties(jdbcUri, connectionProperties);
 	}
@@ -529,6 +657,14 @@ public abstract class FireboltConnection extends JdbcBase implements Connection,
 		this.httpConnectionUrl = endpoint;
 	}
 
+	/**
+	 * Applies the endpoint returned by the server: its query parameters are added to the session properties and its host becomes the endpoint of the connection
+	 */
+	public synchronized void updateEndpoint(String endpoint) {
+		setEndpoint(sessionProperties.processEngineUrl(endpoint));
+		prewarmConnections(httpConnectionUrl);
+	}
+
 	public String getEndpoint() {
 		return httpConnectionUrl;
 	}
@@ -725,6 +861,19 @@ public abstract class FireboltConnection extends JdbcBase implements Connection,
 		cacheListeners.forEach(CacheListener::cleanup);
 	}
 
+	/**
+	 * Returns the monitor that tracks the async queries of this connection until they end. Prefer it to
+	 * {@link #isAsyncQueryRunning(String)} to wait for many async queries: it polls each of them once per round with
+	 * an increasing interval. The monitor is closed with the connection.
+	 */
+	public synchronized AsyncQueryMonitor getAsyncQueryMonitor() throws SQLException {
+		validateConnectionIsNotClose();
+		if (asyncQueryMonitor == null) {
+			asyncQueryMonitor = new AsyncQueryMonitor(this);
+		}
+		return asyncQueryMonitor;
+	}
+
 	public boolean isAsyncQueryRunning(String asyncQueryToken) throws SQLException {
 		return getAsyncQueryStatus(asyncQueryToken).equals("RUNNING");
 	}
@@ -79,7 +79,6 @@ public class FireboltConnectionServiceSecret extends FireboltConnection {
     FireboltConnectionServiceSecret(@NonNull String url, Properties connectionSettings, ConnectionIdGenerator connectionIdGenerator, CacheService cacheService)
             throws SQLException {
         super(url, connectionSettings, PROTOCOL_VERSION, ParserVersion.CURRENT);
-        OkHttpClient httpClient = getHttpClient(loginProperties);
         this.fireboltGatewayUrlService = new FireboltGatewayUrlService(createFireboltAccountRetriever(httpClient, GatewayUrlResponse.class));
         this.fireboltEngineVersion2Service = new FireboltEngineVersion2Service(this);
         this.cacheService = cacheService;
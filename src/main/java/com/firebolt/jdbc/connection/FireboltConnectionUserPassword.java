@@ -47,7 +47,6 @@ public class FireboltConnectionUserPassword extends FireboltConnection {
     FireboltConnectionUserPassword(@NonNull String url, Properties connectionSettings, ParserVersion parserVersion)
             throws SQLException {
         super(url, connectionSettings, PROTOCOL_VERSION, parserVersion);
-        OkHttpClient httpClient = getHttpClient(loginProperties);
         this.fireboltEngineService = new FireboltEngineApiService(new FireboltAccountClient(httpClient, this, loginProperties.getUserDrivers(), loginProperties.getUserClients()));
         connect();
     }
@@ -48,6 +48,9 @@ public class FireboltProperties {
 
 	private final int keepAliveTimeoutMillis;
 	private final int maxConnectionsTotal;
+	private final int prewarmConnections;
+	private final String httpProtocol;
+	private final String httpTransport;
 	private final int maxRetries;
 	private final int bufferSize;
 	private final int socketTimeoutMillis;
@@ -61,6 +64,7 @@ public class FireboltProperties {
 	private final String sslMode;
 	private final boolean compress;
 	private final boolean compressRequestPayload;
+	private final String requestPayloadCompression;
 	private final String principal;
 	private final String secret;
 	private String engine; // updatable using use statement
@@ -77,6 +81,12 @@ public class FireboltProperties {
 	private final String accessToken;
 	private final boolean validateOnSystemEngine;
 	private final boolean mergePreparedStatementBatches;
+	private final boolean parquetBatchInsert;
+	private final boolean arrayBatchInsert;
+	private final long batchMemoryLimit;
+	private final int maxConcurrentStatements;
+	private final boolean spoolResults;
+	private final int spoolMemoryThreshold;
 	private final boolean connectionCachingEnabled;
 	private final String preparedStatementParamStyle;
 	private String transactionId;
@@ -106,10 +116,14 @@ public class FireboltProperties {
 		systemEngine = isSystemEngine(engine);
 		compress = ((Boolean) getSetting(properties, FireboltSessionProperty.COMPRESS)) && !systemEngine;
 		compressRequestPayload = ((Boolean) getSetting(properties, FireboltSessionProperty.COMPRESS_REQUEST_PAYLOAD)) && !systemEngine;
+		requestPayloadCompression = getSetting(properties, FireboltSessionProperty.REQUEST_PAYLOAD_COMPRESSION);
 		account = getSetting(properties, FireboltSessionProperty.ACCOUNT);
 		accountId = getSetting(properties, FireboltSessionProperty.ACCOUNT_ID);
 		keepAliveTimeoutMillis = getSetting(properties, FireboltSessionProperty.KEEP_ALIVE_TIMEOUT_MILLIS);
 		maxConnectionsTotal = getSetting(properties, FireboltSessionProperty.MAX_CONNECTIONS_TOTAL);
+		prewarmConnections = getSetting(properties, FireboltSessionProperty.PREWARM_CONNECTIONS);
+		httpProtocol = getSetting(properties, FireboltSessionProperty.HTTP_PROTOCOL);
+		httpTransport = getSetting(properties, FireboltSessionProperty.HTTP_TRANSPORT);
 		maxRetries = getSetting(properties, FireboltSessionProperty.MAX_RETRIES);
 		bufferSize = getSetting(properties, FireboltSessionProperty.BUFFER_SIZE);
 		socketTimeoutMillis = getSetting(properties, FireboltSessionProperty.SOCKET_TIMEOUT_MILLIS);
@@ -123,6 +137,12 @@ public class FireboltProperties {
 		userClients = getSetting(properties, FireboltSessionProperty.USER_CLIENTS);
 		validateOnSystemEngine = getSetting(properties, FireboltSessionProperty.VALIDATE_ON_SYSTEM_ENGINE);
 		mergePreparedStatementBatches = getSetting(properties, FireboltSessionProperty.MERGE_PREPARED_STATEMENT_BATCHES);
+		parquetBatchInsert = getSetting(properties, FireboltSessionProperty.PARQUET_BATCH_INSERT);
+		arrayBatchInsert = getSetting(properties, FireboltSessionProperty.ARRAY_BATCH_INSERT);
+		batchMemoryLimit = getSetting(properties, FireboltSessionProperty.BATCH_MEMORY_LIMIT);
+		maxConcurrentStatements = getSetting(properties, FireboltSessionProperty.MAX_CONCURRENT_STATEMENTS);
+		spoolResults = getSetting(properties, FireboltSessionProperty.SPOOL_RESULTS);
+		spoolMemoryThreshold = getSetting(properties, FireboltSessionProperty.SPOOL_MEMORY_THRESHOLD);
 		connectionCachingEnabled = getSetting(properties, FireboltSessionProperty.CACHE_CONNECTION);
         preparedStatementParamStyle = getSetting(properties, FireboltSessionProperty.PREPARED_STATEMENT_PARAM_STYLE);
 
@@ -38,6 +38,15 @@ public enum FireboltSessionProperty {
 
 	MAX_CONNECTIONS_TOTAL("max_connections_total", 300, Integer.class,
 			"Maximum total connections in the connection pool", FireboltProperties::getMaxConnectionsTotal, "maxTotal"),
+	HTTP_PROTOCOL("http_protocol", "h2", String.class,
+			"HTTP protocol used to send the queries. Supported values: http1.1 (one query at a time per connection), h2 (HTTP/2 multiplexing several queries over one connection when the server supports it, HTTP/1.1 otherwise), h2c (HTTP/2 without TLS, e.g. for Firebolt Core over plain http, requires ssl=false). Default is h2.",
+			FireboltProperties::getHttpProtocol),
+	HTTP_TRANSPORT("http_transport", "okhttp", String.class,
+			"HTTP implementation used to send the queries. Supported values: okhttp (the default), jdk (java.net.http.HttpClient of the JDK). The authentication requests are always sent with okhttp.",
+			FireboltProperties::getHttpTransport),
+	PREWARM_CONNECTIONS("prewarm_connections", 0, Integer.class,
+			"Number of connections to the engine opened in the background once the connection is established and again whenever the engine endpoint changes, so the first queries do not wait for the TCP and TLS handshakes. 0 (the default) opens the connections only when they are needed",
+			FireboltProperties::getPrewarmConnections),
 
 	TCP_KEEP_IDLE("tcp_keep_idle", 60, Integer.class,
 			"TCP option that defines the number of seconds of idle time before keep-alive initiates a probe. TCP probes a connection that has been idle for some amount of time. If the remote system does not respond to a keep-alive probe, TCP retransmits the probe after some amount of time.", FireboltProperties::getTcpKeepIdle),
@@ -52,6 +61,9 @@ public enum FireboltSessionProperty {
 			"compress", true, Boolean.class, "Whether to compress transferred data or not. Compressed by default", FireboltProperties::isCompress),
 	COMPRESS_REQUEST_PAYLOAD(
 			"compress_request_payload", false, Boolean.class, "Whether to compress the request payload. The default would be false", FireboltProperties::isCompressRequestPayload),
+	REQUEST_PAYLOAD_COMPRESSION("request_payload_compression", "gzip", String.class,
+			"The compression of the request payload, including the files uploaded with the queries, when compress_request_payload is true. Supported values: gzip (the default), lz4, zstd. zstd requires com.github.luben:zstd-jni in the classpath",
+			FireboltProperties::getRequestPayloadCompression),
 	DATABASE("database", null, String.class, "default database name", FireboltProperties::getDatabase),
 	// Typically client_secret property should be used, but password is the standard JDBC property supported by all tools, so it is silently defined here as alias. Also see CLIENT_ID.
 	CLIENT_SECRET("client_secret", null, String.class, "client secret - null by default", p -> "****", "password"),
@@ -73,6 +85,24 @@ public enum FireboltSessionProperty {
 			FireboltProperties::isValidateOnSystemEngine),
 	MERGE_PREPARED_STATEMENT_BATCHES("merge_prepared_statement_batches", false, Boolean.class,
 			"Whether to send prepared statement batches as a single statement. By default, they are sent one by one.", FireboltProperties::isMergePreparedStatementBatches),
+	PARQUET_BATCH_INSERT("parquet_batch_insert", false, Boolean.class,
+			"Whether to send the batches of prepared statements INSERT INTO ... VALUES (?, ...) as a single INSERT reading the rows from a Parquet file uploaded with the query. Batches with values that cannot be written in Parquet, e.g. timestamps or arrays, are sent as usual. Disabled by default",
+			FireboltProperties::isParquetBatchInsert),
+	ARRAY_BATCH_INSERT("array_batch_insert", false, Boolean.class,
+			"Whether to send the batches of fb_numeric prepared statements INSERT INTO ... VALUES ($1, ...) as a single INSERT ... SELECT * FROM UNNEST($1, ...) binding each parameter to the array of its values in the batch. Batches with values that cannot be bound as typed arrays, e.g. arrays or only nulls, are sent as usual. Disabled by default",
+			FireboltProperties::isArrayBatchInsert),
+	BATCH_MEMORY_LIMIT("batch_memory_limit", 0L, Long.class,
+			"The estimated memory in bytes that the rows added to the batch of a prepared statement may use. Once the limit is crossed, addBatch sends the rows already added and executeBatch sends the remaining ones, so the memory used does not grow with the size of the batch. By default (0) the rows are kept until executeBatch",
+			FireboltProperties::getBatchMemoryLimit),
+	MAX_CONCURRENT_STATEMENTS("max_concurrent_statements", 0, Integer.class,
+			"The maximum number of queries of a multi-statement script (e.g. SELECT 1; SELECT 2) that are sent at the same time. Consecutive queries (SELECT, SHOW, DESCRIBE, ...) run concurrently in auto-commit mode and their results are still returned in the order of the script by getMoreResults. By default (0) the statements run one after the other, like with 1",
+			FireboltProperties::getMaxConcurrentStatements),
+	SPOOL_RESULTS("spool_results", false, Boolean.class,
+			"Whether to read the whole response of a query as soon as it is received, so the request and the resources of the query on the server are released without waiting for the ResultSet to be read. Responses larger than spool_memory_threshold are written to a temporary file, compressed with LZ4 unless the response already is. Disabled by default",
+			FireboltProperties::isSpoolResults),
+	SPOOL_MEMORY_THRESHOLD("spool_memory_threshold", 8 * 1024 * 1024, Integer.class,
+			"The size in bytes up to which a spooled response is kept in memory before it is written to a temporary file. Only used with spool_results",
+			FireboltProperties::getSpoolMemoryThreshold),
 	/**
 	 * When the connection is cached the subsequent request to same url will reuse the same jwt token, system engine url and will not validate if engine and database exist if these were
 	 * validate already by the connection that was cached.
@@ -3,11 +3,15 @@ package com.firebolt.jdbc.resultset;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.sql.*;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TimeZone;
 
 import com.firebolt.jdbc.CheckedTriFunction;
 import com.firebolt.jdbc.exception.FireboltException;
@@ -83,10 +87,22 @@ public class FieldTypeConverter {
 			verify(Array.class, columnType, BaseType.ARRAY);
 			return BaseType.ARRAY.transform(value, column);
 		});
+		// java.time values are decoded straight from the text sent by the server
 		CLASS_TO_CONVERT_FUNCTION.put(OffsetDateTime.class, (value, columnType, column) -> {
-			verify(OffsetDateTime.class, columnType, BaseType.DATE, BaseType.TIMESTAMP, BaseType.TIMESTAMP_WITH_TIMEZONE);
-			Timestamp ts = BaseType.TIMESTAMP.transform(value, column);
-			return SqlDateUtil.transformFromTimestampToOffsetDateTime.apply(ts);
+			verifyDateTime(OffsetDateTime.class, columnType);
+			return BaseType.isNull(value) ? null : SqlDateUtil.transformToOffsetDateTimeFunction.apply(value, getTimeZone(column));
+		});
+		CLASS_TO_CONVERT_FUNCTION.put(Instant.class, (value, columnType, column) -> {
+			verifyDateTime(Instant.class, columnType);
+			return BaseType.isNull(value) ? null : SqlDateUtil.transformToInstantFunction.apply(value, getTimeZone(column));
+		});
+		CLASS_TO_CONVERT_FUNCTION.put(LocalDateTime.class, (value, columnType, column) -> {
+			verifyDateTime(LocalDateTime.class, columnType);
+			return BaseType.isNull(value) ? null : SqlDateUtil.transformToLocalDateTimeFunction.apply(value, getTimeZone(column));
+		});
+		CLASS_TO_CONVERT_FUNCTION.put(LocalDate.class, (value, columnType, column) -> {
+			verifyDateTime(LocalDate.class, columnType);
+			return BaseType.isNull(value) ? null : SqlDateUtil.transformToLocalDateFunction.apply(value, getTimeZone(column));
 		});
 		CLASS_TO_CONVERT_FUNCTION.put(Object.class, (value, columnType, column) -> {
 			verify(Object.class, columnType, BaseType.OBJECT, BaseType.NULL);
@@ -106,6 +122,14 @@ public class FieldTypeConverter {
 		verify(toType, columnBaseType, BaseType.REAL, BaseType.DOUBLE, BaseType.BYTE, BaseType.SHORT, BaseType.INTEGER, BaseType.LONG, BaseType.BIGINT, BaseType.NUMERIC);
 	}
 
+	private static <T> void verifyDateTime(Class<T> toType, BaseType columnBaseType) throws SQLException {
+		verify(toType, columnBaseType, BaseType.DATE, BaseType.TIMESTAMP, BaseType.TIMESTAMP_WITH_TIMEZONE);
+	}
+
+	private static TimeZone getTimeZone(Column column) {
+		return column == null || column.getType() == null ? null : column.getType().getTimeZone();
+	}
+
 	private static <T> void verify(Class<T> toType, BaseType columnBaseType, BaseType... supportedTypes) throws SQLException {
 		if (Arrays.stream(supportedTypes).noneMatch(b -> b.equals(columnBaseType))) {
 			throw new FireboltException(
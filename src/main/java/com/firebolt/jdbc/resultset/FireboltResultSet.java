@@ -7,7 +7,7 @@ import com.firebolt.jdbc.annotation.NotImplemented;
 import com.firebolt.jdbc.exception.ExceptionType;
 import com.firebolt.jdbc.exception.FireboltException;
 import com.firebolt.jdbc.exception.FireboltSQLFeatureNotSupportedException;
-import com.firebolt.jdbc.exception.ServerError;
+import com.firebolt.jdbc.exception.SQLState;
 import com.firebolt.jdbc.resultset.column.Column;
 import com.firebolt.jdbc.resultset.column.ColumnType;
 import com.firebolt.jdbc.resultset.compress.LZ4InputStream;
@@ -57,7 +57,6 @@ import java.util.TreeMap;
 import java.util.stream.Stream;
 import lombok.CustomLog;
 import org.apache.commons.lang3.StringUtils;
-import org.json.JSONObject;
 
 import static com.firebolt.jdbc.type.BaseType.isNull;
 import static com.firebolt.jdbc.util.StringUtil.splitAll;
@@ -142,23 +141,6 @@ public class FireboltResultSet extends JdbcBase implements ResultSet {
 		return new BufferedReader(inputStreamReader, bufferSize);
 	}
 
-	// Server can append an error trailer to a 200 OK streaming response when a per-row
-	// evaluation (e.g. CAST(text AS BOOLEAN) on uncastable text) fails partway through. If we
-	// just keep readLine()-ing we surface those trailer lines as if they were data rows,
-	// producing silent wrong results. Detect the trailer and throw, so callers see the same
-	// SQLException they would for a non-streaming error.
-	//
-	// Two trailer shapes occur: a plain-text line "Line N, Column N: <reason>" (followed by an
-	// echo of the query and a caret), and a JSON error envelope
-	// ({ "errors": [ { "description": "Line N, Column M: ..." } ], ... }) that the firebolt
-	// server appends. In the JSON form the "Line N, Column" text is indented inside
-	// "description", so STREAMED_ERROR_TRAILER (anchored at start-of-line) does not match it —
-	// detect the envelope's "errors": [ marker instead.
-	private static final java.util.regex.Pattern STREAMED_ERROR_TRAILER =
-			java.util.regex.Pattern.compile("^Line \\d+, Column \\d+: .+$");
-	private static final java.util.regex.Pattern STREAMED_JSON_ERROR =
-			java.util.regex.Pattern.compile("^\\s*\\{?\\s*\"errors\"\\s*:\\s*\\[");
-
 	@Override
 	public boolean next() throws SQLException {
 		checkStreamNotClosed();
@@ -174,17 +156,16 @@ public class FireboltResultSet extends JdbcBase implements ResultSet {
 			nextLine = reader.readLine();
 			currentRow++;
 		} catch (IOException e) {
+			if (statement != null && statement.isCancelled()) {
+				// the request of the query was aborted, e.g. its HTTP/2 stream was reset: other queries sharing the connection are not affected
+				throw new FireboltException("Error reading result from stream: the statement was cancelled", e, ExceptionType.CANCELED, SQLState.QUERY_CANCELED);
+			}
 			throw new SQLException("Error reading result from stream", e);
 		}
 
 		if (currentLine != null) {
-			boolean plainTrailer = STREAMED_ERROR_TRAILER.matcher(currentLine).matches();
-			// JSON envelope: match its "errors": [ marker on this line (compact form), or on the
-			// next line right after a lone "{" (pretty-printed) so the "{" isn't first surfaced as
-			// a data row.
-			boolean jsonTrailer = STREAMED_JSON_ERROR.matcher(currentLine).find()
-					|| ("{".equals(currentLine.strip()) && nextLine != null
-							&& STREAMED_JSON_ERROR.matcher(nextLine).find());
+			boolean plainTrailer = StreamedErrorTrailer.isPlainTrailer(currentLine);
+			boolean jsonTrailer = StreamedErrorTrailer.isJsonTrailer(currentLine, nextLine);
 			if (plainTrailer || jsonTrailer) {
 				// Drain the rest of the stream into the message so the caller can read it once,
 				// then propagate as an exception with the same shape callers see for a
@@ -198,26 +179,13 @@ public class FireboltResultSet extends JdbcBase implements ResultSet {
 				} catch (IOException ignored) {
 					// already capturing what we have; the SQLException is the primary signal
 				}
-				throw new SQLException(jsonTrailer ? parseStreamedJsonError(rest.toString()) : rest.toString());
+				throw new SQLException(StreamedErrorTrailer.getMessage(rest.toString(), jsonTrailer));
 			}
 		}
 
 		return currentLine != null;
 	}
 
-	// Extract a human-readable message from a streamed JSON error envelope, mirroring the
-	// non-streaming error parsing in FireboltClient so callers (and error-substring matchers) see
-	// a consistent message shape. Falls back to the raw drained text if it doesn't parse as JSON.
-	private static String parseStreamedJsonError(String raw) {
-		try {
-			String json = raw.substring(raw.indexOf('{'));
-			String message = new ServerError(new JSONObject(json)).getErrorMessage();
-			return (message == null || message.isBlank()) ? raw : message;
-		} catch (RuntimeException e) {
-			return raw;
-		}
-	}
-
 	@Override
 	public String getString(int columnIndex) throws SQLException {
 		Column columnInfo = columns.get(columnIndex - 1);
@@ -318,7 +286,11 @@ public class FireboltResultSet extends JdbcBase implements ResultSet {
 		} else if (StringUtils.isEmpty(columnValueAsString.get())) {
 			return new byte[] {};
 		} else {
-			return SqlArrayUtil.hexStringToByteArray(columnValueAsString.get());
+			try {
+				return SqlArrayUtil.hexStringToByteArray(columnValueAsString.get());
+			} catch (IllegalArgumentException e) {
+				throw invalidBinaryValue(colNum, e);
+			}
 		}
 	}
 
@@ -622,7 +594,21 @@ public class FireboltResultSet extends JdbcBase implements ResultSet {
 
 	@Override
 	public InputStream getBinaryStream(int columnIndex) throws SQLException {
-		return ofNullable(getBytes(columnIndex)).map(ByteArrayInputStream::new).orElse(null);
+		String value = getValueAtColumn(columnIndex);
+		if (value == null || isNull(value)) {
+			return null;
+		}
+		// the value is decoded while the stream is read, so the whole binary value is not allocated
+		try {
+			return value.isEmpty() ? new ByteArrayInputStream(new byte[0]) : SqlArrayUtil.hexStringToInputStream(value);
+		} catch (IllegalArgumentException e) {
+			throw invalidBinaryValue(columnIndex, e);
+		}
+	}
+
+	private static FireboltException invalidBinaryValue(int columnIndex, IllegalArgumentException e) {
+		return new FireboltException(format("The value of the column %d is not a valid binary value: %s", columnIndex, e.getMessage()),
+				e, ExceptionType.TYPE_TRANSFORMATION_ERROR);
 	}
 
 	@Override
@@ -1040,7 +1026,16 @@ public class FireboltResultSet extends JdbcBase implements ResultSet {
 
 	@Override
 	public Blob getBlob(int columnIndex) throws SQLException {
-		return Optional.ofNullable(getBytes(columnIndex)).map(FireboltBlob::new).orElse(null);
+		String value = getValueAtColumn(columnIndex);
+		if (value == null || isNull(value)) {
+			return null;
+		}
+		// the value is only decoded when the bytes of the blob are read
+		try {
+			return value.isEmpty() ? new FireboltBlob() : FireboltBlob.ofHexString(value);
+		} catch (IllegalArgumentException e) {
+			throw invalidBinaryValue(columnIndex, e);
+		}
 	}
 
 	@Override
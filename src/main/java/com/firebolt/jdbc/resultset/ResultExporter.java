@@ -0,0 +1,250 @@
+package com.firebolt.jdbc.resultset;
+
+import com.firebolt.jdbc.resultset.compress.LZ4InputStream;
+import com.firebolt.jdbc.statement.ExportFormat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Writes the response of a query to a channel as it is received, without parsing its rows. The bytes are written as
+ * they are read from the response, only the start of each line is looked at to detect a {@link StreamedErrorTrailer}.
+ * The start of a line is held back until it is known not to be a trailer, so the trailer is not written and the rows
+ * written before it are complete. A Parquet file has no lines: it is only checked to end with its footer.
+ */
+public final class ResultExporter {
+	private static final int BUFFER_SIZE = 64 * 1024;
+	// enough bytes of the start of a line to tell whether it is an error trailer
+	private static final int LINE_START_LENGTH = 256;
+	private static final byte[] PARQUET_MAGIC = { 'P', 'A', 'R', '1' };
+	private static final WritableByteChannel DISCARD = new WritableByteChannel() {
+		@Override
+		public int write(ByteBuffer source) {
+			int length = source.remaining();
+			source.position(source.limit());
+			return length;
+		}
+
+		@Override
+		public boolean isOpen() {
+			return true;
+		}
+
+		@Override
+		public void close() {
+			// nothing to close
+		}
+	};
+
+	private final InputStream in;
+	private final WritableByteChannel target;
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+	// the bytes of the buffer that are read from the response and not handled yet
+	private int position;
+	private int limit;
+	private final ByteArrayOutputStream lineStart = new ByteArrayOutputStream();
+	// a line with a lone "{" is held back until the next line tells whether it starts a JSON trailer
+	private byte[] openingBrace;
+	// true once the start of the current line is written
+	private boolean inLine;
+	private long written;
+
+	private ResultExporter(InputStream in, WritableByteChannel target) {
+		this.in = in;
+		this.target = target;
+	}
+
+	/**
+	 * Writes the response of a query and closes it
+	 *
+	 * @param response the response of the query
+	 * @param target the channel to write to, it is not closed
+	 * @param format the format of the response
+	 * @param compressed whether the response is compressed, see the compress property
+	 * @param keepCompression whether to write a compressed response as it is. It is still decompressed to detect
+	 *                        errors, but the bytes preceding an error trailer are then already written.
+	 * @return the number of bytes written
+	 * @throws SQLException if the response ends with an error trailer
+	 * @throws IOException if the response cannot be read or written
+	 */
+	public static long export(InputStream response, WritableByteChannel target, ExportFormat format, boolean compressed,
+							  boolean keepCompression) throws SQLException, IOException {
+		try (InputStream in = response) {
+			if (!compressed) {
+				return new ResultExporter(in, target).export(format);
+			}
+			if (!keepCompression) {
+				return new ResultExporter(new LZ4InputStream(in), target).export(format);
+			}
+			CopyingInputStream copying = new CopyingInputStream(in, target);
+			new ResultExporter(new LZ4InputStream(copying), DISCARD).export(format);
+			return copying.copied;
+		}
+	}
+
+	private long export(ExportFormat format) throws SQLException, IOException {
+		if (format.isBinary()) {
+			exportParquet();
+		} else {
+			exportLines();
+		}
+		return written;
+	}
+
+	private void exportParquet() throws SQLException, IOException {
+		byte[] end = new byte[PARQUET_MAGIC.length];
+		int endLength = 0;
+		for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+			write(buffer, 0, read);
+			// keep the last bytes written
+			int kept = Math.max(0, Math.min(endLength, end.length - read));
+			System.arraycopy(end, endLength - kept, end, 0, kept);
+			int copied = Math.min(read, end.length);
+			System.arraycopy(buffer, read - copied, end, kept, copied);
+			endLength = kept + copied;
+		}
+		if (written > 0 && !Arrays.equals(PARQUET_MAGIC, Arrays.copyOf(end, endLength))) {
+			throw new SQLException("The Parquet file returned by the server does not end with its footer: the query failed or its result was cut while it was streamed");
+		}
+	}
+
+	private void exportLines() throws SQLException, IOException {
+		for (limit = in.read(buffer); limit >= 0; limit = in.read(buffer)) {
+			position = 0;
+			while (position < limit) {
+				int newline = indexOfNewline(buffer, position, limit);
+				int end = newline < 0 ? limit : newline + 1;
+				if (inLine) {
+					write(buffer, position, end - position);
+					position = end;
+					inLine = newline < 0;
+				} else {
+					int length = Math.min(end - position, LINE_START_LENGTH - lineStart.size());
+					lineStart.write(buffer, position, length);
+					position += length;
+					boolean complete = position == newline + 1;
+					if (complete || lineStart.size() == LINE_START_LENGTH) {
+						checkLineStart(complete);
+					}
+				}
+			}
+		}
+		position = limit = 0;
+		if (lineStart.size() > 0) {
+			checkLineStart(true);
+		}
+		if (openingBrace != null) {
+			write(openingBrace, 0, openingBrace.length);
+		}
+	}
+
+	/**
+	 * Writes the start of the line that is held back, or throws the error if the line starts an error trailer
+	 *
+	 * @param complete whether the whole line is held back
+	 */
+	private void checkLineStart(boolean complete) throws SQLException, IOException {
+		String line = lineStart.toString(UTF_8).stripTrailing();
+		if (openingBrace != null) {
+			if (StreamedErrorTrailer.isJsonTrailer("{", line)) {
+				throw trailerError(openingBrace, true);
+			}
+			write(openingBrace, 0, openingBrace.length);
+			openingBrace = null;
+		}
+		boolean jsonTrailer = StreamedErrorTrailer.isJsonTrailer(line, null);
+		if (jsonTrailer || StreamedErrorTrailer.isPlainTrailer(line)) {
+			throw trailerError(new byte[0], jsonTrailer);
+		}
+		if (complete && "{".equals(line.strip())) {
+			openingBrace = lineStart.toByteArray();
+		} else {
+			write(lineStart.toByteArray(), 0, lineStart.size());
+			inLine = !complete;
+		}
+		lineStart.reset();
+	}
+
+	/**
+	 * @param held the bytes of the trailer held back before the start of the current line
+	 * @param json whether the trailer is a JSON envelope
+	 * @return the error of the trailer, read until the end of the response
+	 */
+	private SQLException trailerError(byte[] held, boolean json) {
+		ByteArrayOutputStream trailer = new ByteArrayOutputStream();
+		trailer.writeBytes(held);
+		trailer.writeBytes(lineStart.toByteArray());
+		trailer.write(buffer, position, limit - position);
+		try {
+			in.transferTo(trailer);
+		} catch (IOException ignored) {
+			// already capturing what we have; the SQLException is the primary signal
+		}
+		String text = trailer.toString(UTF_8).replace("\r\n", "\n").stripTrailing();
+		return new SQLException(StreamedErrorTrailer.getMessage(text, json));
+	}
+
+	private static int indexOfNewline(byte[] buffer, int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (buffer[i] == '\n') {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private void write(byte[] bytes, int offset, int length) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, length);
+		while (buffer.hasRemaining()) {
+			target.write(buffer);
+		}
+		written += length;
+	}
+
+	/**
+	 * Writes the bytes of the response to the target as they are read
+	 */
+	private static final class CopyingInputStream extends FilterInputStream {
+		private final WritableByteChannel target;
+		private long copied;
+
+		private CopyingInputStream(InputStream in, WritableByteChannel target) {
+			super(in);
+			this.target = target;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b >= 0) {
+				copy(new byte[] { (byte) b }, 0, 1);
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length) throws IOException {
+			int read = super.read(bytes, offset, length);
+			if (read > 0) {
+				copy(bytes, offset, read);
+			}
+			return read;
+		}
+
+		private void copy(byte[] bytes, int offset, int length) throws IOException {
+			ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, length);
+			while (buffer.hasRemaining()) {
+				target.write(buffer);
+			}
+			copied += length;
+		}
+	}
+}
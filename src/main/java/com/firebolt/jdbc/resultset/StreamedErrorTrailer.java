@@ -0,0 +1,66 @@
+package com.firebolt.jdbc.resultset;
+
+import com.firebolt.jdbc.exception.ServerError;
+import lombok.experimental.UtilityClass;
+import org.json.JSONObject;
+
+import java.util.regex.Pattern;
+
+/**
+ * Server can append an error trailer to a 200 OK streaming response when a per-row evaluation (e.g. CAST(text AS
+ * BOOLEAN) on uncastable text) fails partway through. If we just keep reading lines we surface those trailer lines as
+ * if they were data rows, producing silent wrong results. The trailer is detected so callers see the same SQLException
+ * they would for a non-streaming error.
+ * <p>
+ * Two trailer shapes occur: a plain-text line "Line N, Column N: &lt;reason&gt;" (followed by an echo of the query and
+ * a caret), and a JSON error envelope ({ "errors": [ { "description": "Line N, Column M: ..." } ], ... }) that the
+ * firebolt server appends. In the JSON form the "Line N, Column" text is indented inside "description", so the plain
+ * pattern (anchored at start-of-line) does not match it — the envelope's "errors": [ marker is detected instead.
+ */
+@UtilityClass
+public class StreamedErrorTrailer {
+	private static final Pattern PLAIN_TRAILER = Pattern.compile("^Line \\d+, Column \\d+: .+$");
+	private static final Pattern JSON_TRAILER = Pattern.compile("^\\s*\\{?\\s*\"errors\"\\s*:\\s*\\[");
+
+	/**
+	 * @param line a line of the response
+	 * @return true if the line starts a plain-text error trailer
+	 */
+	public static boolean isPlainTrailer(String line) {
+		return PLAIN_TRAILER.matcher(line).matches();
+	}
+
+	/**
+	 * Matches the "errors": [ marker of the JSON envelope on this line (compact form), or on the next line right after
+	 * a lone "{" (pretty-printed) so the "{" isn't first surfaced as a data row.
+	 *
+	 * @param line a line of the response
+	 * @param nextLine the line after it, null if it is not known
+	 * @return true if the line starts a JSON error trailer
+	 */
+	public static boolean isJsonTrailer(String line, String nextLine) {
+		return JSON_TRAILER.matcher(line).find()
+				|| ("{".equals(line.strip()) && nextLine != null && JSON_TRAILER.matcher(nextLine).find());
+	}
+
+	/**
+	 * Extracts a human-readable message from a streamed JSON error envelope, mirroring the non-streaming error parsing
+	 * in FireboltClient so callers (and error-substring matchers) see a consistent message shape. Falls back to the raw
+	 * drained text if it doesn't parse as JSON.
+	 *
+	 * @param trailer the trailer, from its first line to the end of the response
+	 * @param json whether the trailer is a JSON envelope
+	 * @return the message of the error
+	 */
+	public static String getMessage(String trailer, boolean json) {
+		if (!json) {
+			return trailer;
+		}
+		try {
+			String message = new ServerError(new JSONObject(trailer.substring(trailer.indexOf('{')))).getErrorMessage();
+			return (message == null || message.isBlank()) ? trailer : message;
+		} catch (RuntimeException e) {
+			return trailer;
+		}
+	}
+}
@@ -8,10 +8,15 @@ import com.firebolt.jdbc.cache.key.CacheKey;
 import com.firebolt.jdbc.connection.Engine;
 import com.firebolt.jdbc.connection.FireboltConnection;
 import com.firebolt.jdbc.connection.settings.FireboltProperties;
+import com.firebolt.jdbc.exception.FireboltException;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import lombok.CustomLog;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
@@ -22,6 +27,11 @@ import static java.lang.String.format;
 public class FireboltEngineVersion2Service {
 
     private static final boolean DO_NOT_VALIDATE_CONNECTION_FLAG = false;
+    private static final ExecutorService BOOTSTRAP_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "firebolt-jdbc-connection-bootstrap");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     private final FireboltConnection fireboltConnection;
 
@@ -31,11 +41,13 @@ public class FireboltEngineVersion2Service {
 
     @SuppressWarnings("java:S2077") // Formatting SQL queries is security-sensitive - looks safe in this case
     public Engine getEngine(FireboltProperties properties, Optional<ConnectionCache> connectionCacheOptional, CacheService cacheService, CacheKey cacheKey) throws SQLException {
-        try (Statement statement = fireboltConnection.createStatement()) {
-            if (StringUtils.isNotBlank(properties.getDatabase())) {
-                getAndSetDatabaseProperties(statement, properties.getDatabase(), connectionCacheOptional, cacheService, cacheKey);
-            }
-            getAndSetEngineProperties(statement, properties.getEngine(), connectionCacheOptional, cacheService, cacheKey);
+        String databaseName = StringUtils.isNotBlank(properties.getDatabase()) ? properties.getDatabase() : null;
+        // if the connection cache is empty it means it is not cachable
+        if (connectionCacheOptional.isEmpty()) {
+            // if no caching of the result then just make the calls
+            useDatabaseAndEngine(databaseName, properties.getEngine());
+        } else {
+            getAndSetDatabaseAndEngineProperties(databaseName, properties.getEngine(), connectionCacheOptional.get(), cacheService, cacheKey);
         }
         // now session properties are updated with new database and engine
         FireboltProperties sessionProperties = fireboltConnection.getSessionProperties();
@@ -43,102 +55,118 @@ public class FireboltEngineVersion2Service {
     }
 
     /**
-     * Once we verify a database with the backend we will cache its result and would consider the database valid in between connection establishing.
-     * If the database was deleted between the time a connection cached the database and the second connection using the cached value, then this would only
+     * Once we verify a database or an engine with the backend we will cache its result and would consider it valid in between connection establishing.
+     * If the database or engine was deleted between the time a connection cached it and the second connection using the cached value, then this would only
      * be caught while executing the statement, not during connection time.
      *
-     * @param statement - statement that will execute the verification of the database
-     * @param databaseName - the name of the database to check
+     * @param databaseName - the name of the database to check, null if there is no database to check
+     * @param engineName - the name of the engine to check
      */
+    private void getAndSetDatabaseAndEngineProperties(String databaseName, String engineName, ConnectionCache connectionCache, CacheService cacheService, CacheKey cacheKey) throws SQLException {
+        // check the cache first
+        Optional<DatabaseOptions> databaseOptions = databaseName == null ? Optional.empty() : connectionCache.getDatabaseOptions(databaseName);
+        Optional<EngineOptions> engineOptions = connectionCache.getEngineOptions(engineName);
 
-    private void getAndSetDatabaseProperties(Statement statement, String databaseName, final Optional<ConnectionCache> connectionCacheOptional, CacheService cacheService, CacheKey cacheKey) throws SQLException {
-        // if the connection cache is empty it means it is not cachable
-        if (connectionCacheOptional.isEmpty()) {
-            // if no caching of the result then just make the call
-            statement.executeUpdate(use("DATABASE", databaseName));
-        } else {
-            // check the cache first
-            ConnectionCache connectionCache = connectionCacheOptional.get();
-            Optional<DatabaseOptions> databaseOptions = connectionCache.getDatabaseOptions(databaseName);
-
+        if ((databaseName == null || databaseOptions.isPresent()) && engineOptions.isPresent()) {
             if (databaseOptions.isPresent()) {
                 updateDatabasePropertiesOnConnection(databaseOptions.get());
-                return;
             }
+            updateEngineOptionsOnConnection(engineOptions.get());
+            return;
+        }
 
-            synchronized (connectionCache) {
-                // make sure another thread did not already populate it
+        synchronized (connectionCache) {
+            // make sure another thread did not already populate them
+            if (databaseName != null) {
                 databaseOptions = connectionCache.getDatabaseOptions(databaseName);
-                if (databaseOptions.isPresent()) {
-                    updateDatabasePropertiesOnConnection(databaseOptions.get());
-                    return;
-                }
+            }
+            engineOptions = connectionCache.getEngineOptions(engineName);
 
-                // we know for sure it is not present, so execute the statement
-                statement.executeUpdate(use("DATABASE", databaseName));
+            String databaseToVerify = databaseName != null && databaseOptions.isEmpty() ? databaseName : null;
+            String engineToVerify = engineOptions.isEmpty() ? engineName : null;
+
+            // the cached values are applied in the same order the statements would be executed: database first, then engine
+            if (databaseOptions.isPresent()) {
+                updateDatabasePropertiesOnConnection(databaseOptions.get());
+            }
+            useDatabaseAndEngine(databaseToVerify, engineToVerify);
+            if (engineOptions.isPresent()) {
+                updateEngineOptionsOnConnection(engineOptions.get());
+            }
 
+            if (databaseToVerify != null) {
                 // as of Mar 2025 we know that as a side effect of calling "use database <xxx>" we are updating the database parameter on the connection.
                 // so if we want to use the value from cache we need to save this value on the connection when we use the cached connection
                 List<Pair<String, String>> cachedValuesForDatabase = List.of(
                         Pair.of("database", fireboltConnection.getSessionProperties().getDatabase()));
-                connectionCache.setDatabaseOptions(databaseName, new DatabaseOptions(cachedValuesForDatabase));
-                cacheService.put(cacheKey, connectionCache);
+                connectionCache.setDatabaseOptions(databaseToVerify, new DatabaseOptions(cachedValuesForDatabase));
             }
-        }
-    }
-
-    private void updateDatabasePropertiesOnConnection(DatabaseOptions databaseOptions) throws SQLException {
-        log.debug("Using cache verification of database");
-        // need to set the values on the connection that were cached on the original use database call
-        for (Pair<String, String> pair : databaseOptions.getParameters()) {
-            fireboltConnection.addProperty(pair.getKey(), pair.getValue(), DO_NOT_VALIDATE_CONNECTION_FLAG);
+            if (engineToVerify != null) {
+                // as of Mar 2025 we know that the side effect of calling "use engine <xxx>" we are updating the endpoint and the engine parameter.
+                // so if we want to use the value from cache we need to save this value on the connection when we use the cached connection
+                List<Pair<String, String>> engineProperties = List.of(Pair.of("engine", fireboltConnection.getSessionProperties().getEngine()));
+                connectionCache.setEngineOptions(engineToVerify, new EngineOptions(fireboltConnection.getEndpoint(), engineProperties));
+            }
+            cacheService.put(cacheKey, connectionCache);
         }
     }
 
     /**
-     * Once we verify an engine with the backend we will cache its result and would consider the engine valid in between connection establishing.
-     * If the engine was deleted between the time a connection cached the engine and the second connection using the cached value, then this would only
-     * be caught while executing the statement, not during connection time.
-     *
-     * @param statement - statement that will execute the verification of the database
-     * @param engineName - the name of the engine to check
-
+     * Executes "USE DATABASE" and "USE ENGINE" for the names that are not null. These are separate round trips to the system engine that do not depend
+     * on each other, so when both are needed they are sent concurrently, each with its own snapshot of the session properties.
      */
-    private void getAndSetEngineProperties(Statement statement, String engineName, final Optional<ConnectionCache> connectionCacheOptional, final CacheService cacheService, final CacheKey cacheKey) throws SQLException {
-        // if the connection cache is empty it means it is not cachable
-        if (connectionCacheOptional.isEmpty()) {
-            // if no caching of the result then just make the call
-            statement.executeUpdate(use("ENGINE", engineName));
-        } else {
-            // check the cache first
-            ConnectionCache connectionCache = connectionCacheOptional.get();
-            Optional<EngineOptions> engineOptions = connectionCache.getEngineOptions(engineName);
-
-            if (engineOptions.isPresent()) {
-                updateEngineOptionsOnConnection(engineOptions.get());
-                return;
+    private void useDatabaseAndEngine(String databaseName, String engineName) throws SQLException {
+        if (databaseName == null || engineName == null) {
+            if (databaseName != null || engineName != null) {
+                try (Statement statement = fireboltConnection.createStatement()) {
+                    statement.executeUpdate(databaseName != null ? use("DATABASE", databaseName) : use("ENGINE", engineName));
+                }
             }
+            return;
+        }
 
-            synchronized (connectionCache) {
-                // double check another thread did not already update the engine
-                engineOptions = connectionCache.getEngineOptions(engineName);
-
-                if (engineOptions.isPresent()) {
-                    updateEngineOptionsOnConnection(engineOptions.get());
-                    return;
-                }
+        Statement databaseStatement = fireboltConnection.createStatementWithSessionSnapshot();
+        Statement engineStatement = fireboltConnection.createStatementWithSessionSnapshot();
+        CompletableFuture<Void> useDatabase = CompletableFuture.runAsync(() -> executeUse(databaseStatement, use("DATABASE", databaseName)), BOOTSTRAP_EXECUTOR);
+        try (engineStatement) {
+            engineStatement.executeUpdate(use("ENGINE", engineName));
+        } catch (SQLException | RuntimeException e) {
+            // wait for the database even if the engine failed, so no statement outlives the connection bootstrap
+            try {
+                waitFor(useDatabase);
+            } catch (SQLException databaseError) {
+                e.addSuppressed(databaseError);
+            }
+            throw e;
+        }
+        waitFor(useDatabase);
+    }
 
-                // we know for sure it is not present, so execute the statement
-                statement.executeUpdate(use("ENGINE", engineName));
+    private static void executeUse(Statement statement, String sql) {
+        try (statement) {
+            statement.executeUpdate(sql);
+        } catch (SQLException e) {
+            throw new CompletionException(e);
+        }
+    }
 
-                // as of Mar 2025 we know that the side effect of calling "use engine <xxx>" we are updating the endpoint and the engine parameter.
-                // so if we want to use the value from cache we need to save this value on the connection when we use the cached connection
-                List<Pair<String, String>> engineProperties = List.of(Pair.of("engine", fireboltConnection.getSessionProperties().getEngine()));
-                connectionCache.setEngineOptions(engineName, new EngineOptions(fireboltConnection.getEndpoint(), engineProperties));
-                cacheService.put(cacheKey, connectionCache);
+    private static void waitFor(CompletableFuture<Void> future) throws SQLException {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
             }
+            throw new FireboltException("Could not use the database", e.getCause());
         }
+    }
 
+    private void updateDatabasePropertiesOnConnection(DatabaseOptions databaseOptions) throws SQLException {
+        log.debug("Using cache verification of database");
+        // need to set the values on the connection that were cached on the original use database call
+        for (Pair<String, String> pair : databaseOptions.getParameters()) {
+            fireboltConnection.addProperty(pair.getKey(), pair.getValue(), DO_NOT_VALIDATE_CONNECTION_FLAG);
+        }
     }
 
     private void updateEngineOptionsOnConnection(EngineOptions engineOptions) throws SQLException {
@@ -4,13 +4,17 @@ import com.firebolt.jdbc.client.query.StatementClient;
 import com.firebolt.jdbc.connection.settings.FireboltProperties;
 import com.firebolt.jdbc.exception.FireboltException;
 import com.firebolt.jdbc.resultset.FireboltResultSet;
+import com.firebolt.jdbc.resultset.ResultExporter;
 import com.firebolt.jdbc.resultset.compress.LZ4InputStream;
+import com.firebolt.jdbc.statement.ExportFormat;
 import com.firebolt.jdbc.statement.FireboltStatement;
 import com.firebolt.jdbc.statement.StatementInfoWrapper;
 import com.firebolt.jdbc.statement.StatementType;
+import com.firebolt.jdbc.statement.preparedstatement.FileSource;
 import com.firebolt.jdbc.statement.rawstatement.QueryRawStatement;
 import com.firebolt.jdbc.util.CloseableUtil;
 import com.firebolt.jdbc.util.InputStreamUtil;
+import com.firebolt.jdbc.util.ResultSpool;
 import lombok.CustomLog;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -21,8 +25,10 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.channels.WritableByteChannel;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -55,8 +61,24 @@ public class FireboltStatementService {
 	public Optional<ResultSet> execute(StatementInfoWrapper statementInfoWrapper,
 									   FireboltProperties properties, FireboltStatement statement)
 			throws SQLException {
+		return execute(statementInfoWrapper, properties, statement, properties.isSpoolResults());
+	}
+
+	/**
+	 * Executes statement
+	 *
+	 * @param statementInfoWrapper the statement info
+	 * @param properties the connection properties
+	 * @param statement           the statement
+	 * @param spoolResults        whether to read the whole result of a query before returning its ResultSet, whatever
+	 *                            the spool_results property is
+	 * @return an Optional ResultSet if the statement returns results
+	 */
+	public Optional<ResultSet> execute(StatementInfoWrapper statementInfoWrapper,
+									   FireboltProperties properties, FireboltStatement statement, boolean spoolResults)
+			throws SQLException {
 		int queryTimeout = statement.getQueryTimeout();
-		return executeStatementInternal(statementInfoWrapper, properties, statement, () ->
+		return executeStatementInternal(statementInfoWrapper, properties, statement, spoolResults, () ->
 				statementClient.executeSqlStatement(statementInfoWrapper, properties, queryTimeout, false));
 	}
 
@@ -82,10 +104,37 @@ public class FireboltStatementService {
 												 Map<String, byte[]> files)
 			throws SQLException {
 		int queryTimeout = statement.getQueryTimeout();
-		return executeStatementInternal(statementInfoWrapper, properties, statement, () ->
+		return executeStatementInternal(statementInfoWrapper, properties, statement, properties.isSpoolResults(), () ->
 				statementClient.executeSqlStatementWithFiles(statementInfoWrapper, properties, queryTimeout, false, files));
 	}
 
+	/**
+	 * Executes statement with files whose content is streamed into the request
+	 *
+	 * @param statementInfoWrapper the statement info
+	 * @param properties the connection properties
+	 * @param statement the statement
+	 * @param files the files to send
+	 * @return an Optional ResultSet if the statement returns results
+	 */
+	public Optional<ResultSet> executeWithFileSources(StatementInfoWrapper statementInfoWrapper,
+													  FireboltProperties properties, FireboltStatement statement,
+													  List<FileSource> files)
+			throws SQLException {
+		int queryTimeout = statement.getQueryTimeout();
+		return executeStatementInternal(statementInfoWrapper, properties, statement, properties.isSpoolResults(), () ->
+				statementClient.executeSqlStatementWithFileSources(statementInfoWrapper, properties, queryTimeout, false, files));
+	}
+
+	public String executeAsyncStatementWithFileSources(StatementInfoWrapper statementInfoWrapper,
+													   FireboltProperties properties, FireboltStatement statement,
+													   List<FileSource> files)
+			throws SQLException {
+		int queryTimeout = statement.getQueryTimeout();
+		return executeAsyncStatementInternal(properties, () ->
+				statementClient.executeSqlStatementWithFileSources(statementInfoWrapper, properties, queryTimeout, true, files));
+	}
+
 	public String executeAsyncStatementWithFiles(StatementInfoWrapper statementInfoWrapper,
 												  FireboltProperties properties, FireboltStatement statement,
 												  Map<String, byte[]> files)
@@ -101,6 +150,7 @@ public class FireboltStatementService {
 	 * @param statementInfoWrapper the statement info
 	 * @param properties the connection properties
 	 * @param statement the statement
+	 * @param spoolResults whether to read the whole result of a query before creating its ResultSet
 	 * @param statementExecutor function that executes the statement and returns the InputStream
 	 * @return an Optional ResultSet if the statement returns results
 	 * @throws SQLException if execution fails
@@ -108,10 +158,14 @@ public class FireboltStatementService {
 	private Optional<ResultSet> executeStatementInternal(StatementInfoWrapper statementInfoWrapper,
 														  FireboltProperties properties,
 														  FireboltStatement statement,
+														  boolean spoolResults,
 														  StatementExecutor statementExecutor)
 			throws SQLException {
 		InputStream is = statementExecutor.execute();
 		if (statementInfoWrapper.getType() == StatementType.QUERY) {
+			if (spoolResults) {
+				is = spool(is, properties);
+			}
 			return Optional.of(createResultSet(is, (QueryRawStatement) statementInfoWrapper.getInitialStatement(), properties, statement));
 		} else {
 			// If the statement is not a query, read all bytes from the input stream and close it.
@@ -155,6 +209,46 @@ public class FireboltStatementService {
 		}
 	}
 
+	/**
+	 * Reads the whole response so the request is released before the ResultSet is read
+	 *
+	 * @param is the response
+	 * @param properties the connection properties
+	 * @return the response read from memory or from a temporary file
+	 * @throws SQLException if the response cannot be read
+	 */
+	private InputStream spool(InputStream is, FireboltProperties properties) throws SQLException {
+		try {
+			// a compressed response is not compressed again
+			return ResultSpool.spool(is, properties.getSpoolMemoryThreshold(), !properties.isCompress());
+		} catch (IOException e) {
+			throw new FireboltException("Cannot read response from DB: error while spooling the result", e);
+		}
+	}
+
+	/**
+	 * Executes a query and writes its result to the target as it is received, without creating a ResultSet
+	 *
+	 * @param statementInfoWrapper the query
+	 * @param properties the connection properties
+	 * @param statement the statement
+	 * @param format the format of the result
+	 * @param target the channel to write the result to
+	 * @param keepCompression whether to write the result as it is received when the response is compressed
+	 * @return the number of bytes written
+	 * @throws SQLException if the query fails or the result cannot be written
+	 */
+	public long export(StatementInfoWrapper statementInfoWrapper, FireboltProperties properties, FireboltStatement statement,
+					   ExportFormat format, WritableByteChannel target, boolean keepCompression) throws SQLException {
+		InputStream is = statementClient.executeSqlStatementWithOutputFormat(statementInfoWrapper, properties,
+				statement.getQueryTimeout(), format.getOutputFormat());
+		try {
+			return ResultExporter.export(is, target, format, properties.isCompress(), keepCompression);
+		} catch (IOException e) {
+			throw new FireboltException("Cannot read response from DB: error while exporting the result", e);
+		}
+	}
+
 	public void abortStatement(@NonNull String statementLabel, @NonNull FireboltProperties properties) throws SQLException {
 		statementClient.abortStatement(statementLabel, properties);
 	}
@@ -0,0 +1,36 @@
+package com.firebolt.jdbc.statement;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The formats in which {@link FireboltStatement#exportQuery(String, java.nio.channels.WritableByteChannel, ExportFormat)}
+ * writes the result of a query. The result is produced by the server in this format and written as it is received.
+ */
+@RequiredArgsConstructor
+@Getter
+public enum ExportFormat {
+	/**
+	 * Tab-separated values with a header line holding the names of the columns
+	 */
+	TSV("TabSeparatedWithNames", false),
+	/**
+	 * Comma-separated values with a header line holding the names of the columns
+	 */
+	CSV("CSVWithNames", false),
+	/**
+	 * A JSON document per line
+	 */
+	JSON_LINES("JSONLines_Compact", false),
+	/**
+	 * A Parquet file
+	 */
+	PARQUET("Parquet", true),
+	;
+
+	/**
+	 * The name of the format sent to the server as output_format
+	 */
+	private final String outputFormat;
+	private final boolean binary;
+}
@@ -3,8 +3,20 @@ package com.firebolt.jdbc.statement;
 import static com.firebolt.jdbc.statement.rawstatement.StatementValidatorFactory.createValidator;
 import static java.util.stream.Collectors.toCollection;
 
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.sql.*;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.firebolt.jdbc.JdbcBase;
 import com.firebolt.jdbc.annotation.NotImplemented;
@@ -22,6 +34,12 @@ import lombok.Getter;
 
 @CustomLog
 public class FireboltStatement extends JdbcBase implements Statement {
+	private static final String TIMED_OUT_MESSAGE = "The execution of the statement was cancelled because its deadline passed";
+	private static final ExecutorService concurrentStatementsExecutor = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, "firebolt-jdbc-concurrent-statement");
+		thread.setDaemon(true);
+		return thread;
+	});
 
 	private final FireboltStatementService statementService;
 	protected final FireboltProperties sessionProperties;
@@ -35,7 +53,13 @@ public class FireboltStatement extends JdbcBase implements Statement {
 	protected StatementResultWrapper currentStatementResult;
 	protected StatementResultWrapper firstUnclosedStatementResult;
 	private int queryTimeout = 0; // zero means that there is no limit
+	private Instant queryDeadline; // null means that there is no deadline
+	private volatile ExecutionTimeout executionTimeout;
 	protected String runningStatementLabel;
+	// set when the statement is cancelled, or its deadline passes, until its next execution
+	private volatile boolean cancelled;
+	// the labels of the statements running concurrently, see max_concurrent_statements
+	private final Set<String> runningStatementLabels = ConcurrentHashMap.newKeySet();
 	private final List<String> batchStatements = new LinkedList<>();
 	@Getter
 	private String asyncToken;
@@ -66,6 +90,55 @@ public class FireboltStatement extends JdbcBase implements Statement {
 		return execute(StatementUtil.parseToStatementInfoWrappers(sql)).isPresent();
 	}
 
+	/**
+	 * Executes a query and writes its result to the target in the given format as it is received from the server. The
+	 * rows are not parsed and no ResultSet is created, which makes it suitable to extract large results to a file.
+	 *
+	 * @param sql the query
+	 * @param target the stream to write the result to, it is not closed
+	 * @param format the format of the result
+	 * @return the number of bytes written
+	 * @throws SQLException if the query fails, including while its result is streamed, or the result cannot be written
+	 */
+	public long exportQuery(String sql, OutputStream target, ExportFormat format) throws SQLException {
+		return exportQuery(sql, Channels.newChannel(target), format);
+	}
+
+	/**
+	 * Executes a query and writes its result to the target in the given format as it is received from the server. The
+	 * rows are not parsed and no ResultSet is created, which makes it suitable to extract large results to a file.
+	 *
+	 * @param sql the query
+	 * @param target the channel to write the result to, it is not closed
+	 * @param format the format of the result
+	 * @return the number of bytes written
+	 * @throws SQLException if the query fails, including while its result is streamed, or the result cannot be written
+	 */
+	public long exportQuery(String sql, WritableByteChannel target, ExportFormat format) throws SQLException {
+		return exportQuery(sql, target, format, false);
+	}
+
+	/**
+	 * Executes a query and writes its result to the target in the given format as it is received from the server.
+	 *
+	 * @param sql the query
+	 * @param target the channel to write the result to, it is not closed
+	 * @param format the format of the result
+	 * @param keepCompression whether to write the LZ4 blocks of the response as they are received when the compress
+	 *                        property is set, instead of their decompressed content
+	 * @return the number of bytes written
+	 * @throws SQLException if the query fails, including while its result is streamed, or the result cannot be written
+	 */
+	public long exportQuery(String sql, WritableByteChannel target, ExportFormat format, boolean keepCompression) throws SQLException {
+		StatementInfoWrapper query = getOneQueryStatementInfo(StatementUtil.parseToStatementInfoWrappers(sql));
+		AtomicLong written = new AtomicLong();
+		executeStatements(Collections.singletonList(query), statement -> executeStatement(statement, () -> {
+			written.set(statementService.export(statement, sessionProperties, this, format, target, keepCompression));
+			return Optional.empty();
+		}, "export"));
+		return written.get();
+	}
+
 	/**
 	 * Functional interface for executing a single statement
 	 */
@@ -75,7 +148,16 @@ public class FireboltStatement extends JdbcBase implements Statement {
 	}
 
 	protected Optional<ResultSet> execute(List<StatementInfoWrapper> statements) throws SQLException {
-		return executeStatements(statements, this::execute);
+		return executeStatements(statements, this::execute, getMaxConcurrentStatements(statements));
+	}
+
+	private int getMaxConcurrentStatements(List<StatementInfoWrapper> statements) throws SQLException {
+		if (statements.size() < 2 || !connection.getAutoCommit() || sessionProperties.getMaxConcurrentStatements() < 2) {
+			return 1;
+		}
+		// the statements are cancelled by label, they cannot run concurrently if they share one (e.g. query_label is set)
+		boolean distinctLabels = statements.stream().map(this::determineQueryLabel).distinct().count() == statements.size();
+		return distinctLabels ? sessionProperties.getMaxConcurrentStatements() : 1;
 	}
 
 	/**
@@ -87,28 +169,159 @@ public class FireboltStatement extends JdbcBase implements Statement {
 	 */
 	protected Optional<ResultSet> executeStatements(List<StatementInfoWrapper> statements,
 													 SingleStatementExecutor singleStatementExecutor) throws SQLException {
+		return executeStatements(statements, singleStatementExecutor, 1);
+	}
+
+	/**
+	 * Executes the statements, consecutive queries running concurrently if more than one statement can run at a time
+	 *
+	 * @param statements list of statements to execute
+	 * @param singleStatementExecutor function to execute a single statement
+	 * @param maxConcurrentStatements the maximum number of queries sent at the same time
+	 * @return Optional ResultSet from the first statement
+	 */
+	private Optional<ResultSet> executeStatements(List<StatementInfoWrapper> statements,
+												  SingleStatementExecutor singleStatementExecutor,
+												  int maxConcurrentStatements) throws SQLException {
 		Optional<ResultSet> resultSet = Optional.empty();
 		closeAllResults();
+		cancelled = false;
 		Set<String> queryLabels = statements.stream().map(StatementInfoWrapper::getLabel).collect(toCollection(HashSet::new));
+		ExecutionTimeout timeout = null;
 		try {
 			synchronized (statementsToExecuteLabels) {
 				statementsToExecuteLabels.addAll(queryLabels);
 			}
-			for (int i = 0; i < statements.size(); i++) {
+			timeout = startExecutionTimeout(queryLabels);
+			int i = 0;
+			while (i < statements.size()) {
+				int end = maxConcurrentStatements > 1 ? endOfConsecutiveQueries(statements, i) : i + 1;
+				Optional<ResultSet> currentResultSet = end - i > 1
+						? executeConcurrently(statements.subList(i, end), maxConcurrentStatements)
+						: singleStatementExecutor.execute(statements.get(i));
 				if (i == 0) {
-					resultSet = singleStatementExecutor.execute(statements.get(i));
-				} else {
-					singleStatementExecutor.execute(statements.get(i));
+					resultSet = currentResultSet;
 				}
+				i = end;
 			}
+		} catch (SQLException e) {
+			if (timeout != null && timeout.isTimedOut()) {
+				throw new FireboltException(TIMED_OUT_MESSAGE, e, ExceptionType.CANCELED);
+			}
+			throw e;
 		} finally {
 			synchronized (statementsToExecuteLabels) {
 				statementsToExecuteLabels.removeAll(queryLabels);
 			}
+			if (timeout != null) {
+				timeout.executed();
+			}
+		}
+		if (timeout != null && timeout.isTimedOut()) {
+			// the statements that were not sent yet were skipped
+			closeAllResults();
+			throw new FireboltException(TIMED_OUT_MESSAGE, ExceptionType.CANCELED);
 		}
 		return resultSet;
 	}
 
+	private static int endOfConsecutiveQueries(List<StatementInfoWrapper> statements, int start) {
+		int end = start;
+		while (end < statements.size() && statements.get(end).getType() == StatementType.QUERY) {
+			end++;
+		}
+		return Math.max(end, start + 1);
+	}
+
+	/**
+	 * Executes queries concurrently, at most maxConcurrentStatements at a time. The results are added in the order of
+	 * the queries once they all returned. They are spooled so that a query releases its server stream once its result
+	 * is received: the number of open streams is bounded like the number of queries sent. If a query fails, the queries
+	 * after it are cancelled and the error of the first query that failed is thrown, like when the queries run one after
+	 * the other.
+	 *
+	 * @param statements the queries to execute
+	 * @param maxConcurrentStatements the maximum number of queries sent at the same time
+	 * @return Optional ResultSet of the first query
+	 */
+	private Optional<ResultSet> executeConcurrently(List<StatementInfoWrapper> statements, int maxConcurrentStatements) throws SQLException {
+		for (StatementInfoWrapper statement : statements) {
+			createValidator(statement.getInitialStatement(), connection).validate(statement.getInitialStatement());
+		}
+		synchronized (this) {
+			validateStatementIsNotClosed();
+		}
+		connection.ensureTransactionForQueryExecution();
+		ConcurrentQueries queries = new ConcurrentQueries(statements);
+		// the responses can update the session while the other queries are sent, so every worker sends its queries with
+		// its own copy of the session taken before the first query is sent. The updates are still applied to the
+		// connection, and the next statements of the script see them once all the queries of this group completed.
+		int workerCount = Math.min(maxConcurrentStatements, statements.size());
+		List<FireboltProperties> sessionSnapshots = new ArrayList<>(workerCount);
+		for (int i = 0; i < workerCount; i++) {
+			sessionSnapshots.add(FireboltProperties.copy(sessionProperties));
+		}
+		List<Future<?>> workers = new ArrayList<>();
+		for (int i = 1; i < workerCount; i++) {
+			FireboltProperties sessionSnapshot = sessionSnapshots.get(i);
+			workers.add(concurrentStatementsExecutor.submit(() -> queries.run(sessionSnapshot)));
+		}
+		queries.run(sessionSnapshots.get(0));
+		boolean interrupted = false;
+		for (Future<?> worker : workers) {
+			while (true) {
+				try {
+					worker.get();
+					break;
+				} catch (InterruptedException e) {
+					// the queries are cancelled but the results that are already received still have to be closed
+					interrupted = true;
+					queries.cancelFrom(0);
+				} catch (ExecutionException e) {
+					break; // the errors of the queries are kept by the queries
+				}
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+			queries.closeResults(0);
+			throw new FireboltException("The execution of the statement was interrupted", ExceptionType.CANCELED);
+		}
+		return queries.deliver();
+	}
+
+	/**
+	 * Schedules the cancellation of the statements at the deadline of the execution, if there is one
+	 *
+	 * @param queryLabels the labels of the statements to execute
+	 * @return the timeout of the execution or null if the execution has no deadline
+	 */
+	private ExecutionTimeout startExecutionTimeout(Collection<String> queryLabels) {
+		Instant deadline = getExecutionDeadline();
+		if (deadline == null) {
+			return null;
+		}
+		ExecutionTimeout timeout = new ExecutionTimeout(queryLabels);
+		executionTimeout = timeout;
+		timeout.schedule(deadline);
+		return timeout;
+	}
+
+	/**
+	 * @return the earliest of the deadline set with {@link #setQueryDeadline(Instant)} and the end of the query timeout
+	 * starting now, or null if there is neither
+	 */
+	private Instant getExecutionDeadline() {
+		Instant deadline = queryDeadline;
+		if (queryTimeout > 0) {
+			Instant timeoutDeadline = Instant.now().plusSeconds(queryTimeout);
+			if (deadline == null || timeoutDeadline.isBefore(deadline)) {
+				deadline = timeoutDeadline;
+			}
+		}
+		return deadline;
+	}
+
 	/**
 	 * Functional interface for executing statements that may throw SQLException
 	 */
@@ -140,6 +353,10 @@ public class FireboltStatement extends JdbcBase implements Statement {
 				validateStatementIsNotClosed();
 			}
 			try {
+				ExecutionTimeout timeout = executionTimeout;
+				if (timeout != null) {
+					timeout.started(runningStatementLabel);
+				}
 				log.debug("Executing the {} with label {} : {}", logContext, statementInfoWrapper.getLabel(),
 						sanitizeSql(statementInfoWrapper.getSql()));
 				if (statementInfoWrapper.getType() == StatementType.PARAM_SETTING) {
@@ -196,11 +413,18 @@ public class FireboltStatement extends JdbcBase implements Statement {
 				firstUnclosedStatementResult.close();
 				firstUnclosedStatementResult = null;
 			}
+			// nothing can run anymore once the results are closed
+			ExecutionTimeout timeout = executionTimeout;
+			if (timeout != null) {
+				timeout.cancel();
+				executionTimeout = null;
+			}
 		}
 	}
 
 	@Override
 	public void cancel() throws SQLException {
+		cancelled = true;
 		synchronized (statementsToExecuteLabels) {
 			statementsToExecuteLabels.clear();
 		}
@@ -209,6 +433,20 @@ public class FireboltStatement extends JdbcBase implements Statement {
 			log.info("Cancelling statement with label " + statementLabel);
 			abortStatementRunningOnFirebolt(statementLabel);
 		}
+		for (String label : runningStatementLabels) {
+			log.info("Cancelling statement with label " + label);
+			abortStatementRunningOnFirebolt(label);
+		}
+	}
+
+	/**
+	 * Returns true if the statement was cancelled, or its deadline passed, since its last execution started. The
+	 * results of a cancelled statement fail when they are read: the failure is then reported as a cancellation.
+	 *
+	 * @return true if the statement was cancelled
+	 */
+	public boolean isCancelled() {
+		return cancelled;
 	}
 
 	private void abortStatementRunningOnFirebolt(String statementLabel) throws SQLException {
@@ -443,6 +681,27 @@ public class FireboltStatement extends JdbcBase implements Statement {
 		queryTimeout = seconds;
 	}
 
+	/**
+	 * Returns the deadline of the executions of this statement
+	 *
+	 * @return the deadline or null if there is none
+	 */
+	public Instant getQueryDeadline() {
+		return queryDeadline;
+	}
+
+	/**
+	 * Sets a deadline for the executions of this statement. Unlike the query timeout that starts with each execution,
+	 * the deadline is a point in time, e.g. the deadline of the request being served by the application. When it passes,
+	 * the statements of the execution are cancelled, including while their results are being read. If a query timeout
+	 * is also set, the earliest of the two applies.
+	 *
+	 * @param deadline the deadline or null to remove it
+	 */
+	public void setQueryDeadline(Instant deadline) {
+		queryDeadline = deadline;
+	}
+
 	protected void validateStatementIsNotClosed() throws SQLException {
 		if (isClosed()) {
 			throw new FireboltException("Cannot proceed: statement closed");
@@ -464,7 +723,9 @@ public class FireboltStatement extends JdbcBase implements Statement {
 	 * @return true if the statement is currently running
 	 */
 	public boolean isStatementRunning() {
-		return runningStatementLabel != null && statementService.isStatementRunning(runningStatementLabel);
+		String statementLabel = runningStatementLabel;
+		return (statementLabel != null && statementService.isStatementRunning(statementLabel))
+				|| runningStatementLabels.stream().anyMatch(statementService::isStatementRunning);
 	}
 
 	@Override
@@ -629,6 +890,204 @@ public class FireboltStatement extends JdbcBase implements Statement {
 		return currentStatementResult.getNext() != null;
 	}
 
+	/**
+	 * The deadline of an execution. When it passes, the statements of the execution that were not sent yet are skipped
+	 * and the ones that are running or whose results are being read are cancelled on the client and on the server.
+	 */
+	private class ExecutionTimeout implements Runnable {
+		private final Collection<String> queryLabels;
+		private final List<String> startedLabels = new ArrayList<>();
+		private ScheduledFuture<?> task;
+		private boolean executing = true;
+		private boolean done = false;
+		private volatile boolean timedOut = false;
+
+		private ExecutionTimeout(Collection<String> queryLabels) {
+			this.queryLabels = queryLabels;
+		}
+
+		private synchronized void schedule(Instant deadline) {
+			task = QueryTimeoutWatchdog.schedule(deadline, this);
+		}
+
+		private synchronized void started(String label) throws FireboltException {
+			if (timedOut) {
+				throw new FireboltException(TIMED_OUT_MESSAGE, ExceptionType.CANCELED);
+			}
+			startedLabels.add(label);
+		}
+
+		private synchronized void executed() {
+			executing = false;
+			if (startedLabels.stream().noneMatch(statementService::isStatementRunning)) {
+				cancel();
+			}
+		}
+
+		private synchronized void cancel() {
+			done = true;
+			if (task != null) {
+				task.cancel(false);
+			}
+		}
+
+		private boolean isTimedOut() {
+			return timedOut;
+		}
+
+		@Override
+		public void run() {
+			List<String> labels;
+			String runningLabel = runningStatementLabel;
+			synchronized (this) {
+				if (done) {
+					return;
+				}
+				done = true;
+				labels = new ArrayList<>(startedLabels);
+				if (!executing && labels.stream().noneMatch(statementService::isStatementRunning)) {
+					return;
+				}
+				timedOut = true;
+			}
+			cancelled = true;
+			synchronized (statementsToExecuteLabels) {
+				statementsToExecuteLabels.removeAll(queryLabels);
+			}
+			for (String label : labels) {
+				if (label.equals(runningLabel) || runningStatementLabels.contains(label) || statementService.isStatementRunning(label)) {
+					log.warn("Cancelling the statement with label {} because its deadline passed", label);
+					try {
+						statementService.abortStatement(label, sessionProperties);
+					} catch (Exception e) {
+						log.warn(String.format("Could not cancel the statement with label %s on Firebolt", label), e);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * The queries of a script running concurrently. Each worker runs the next query that was not started yet until
+	 * there is none left, so the number of workers bounds the number of queries sent at the same time. The results are
+	 * spooled, so the streams of the queries that completed are not kept open until the results are delivered.
+	 */
+	private class ConcurrentQueries {
+		private final List<StatementInfoWrapper> statements;
+		private final String[] labels;
+		private final List<Optional<ResultSet>> results;
+		private final List<Throwable> errors;
+		private final AtomicInteger next = new AtomicInteger();
+
+		private ConcurrentQueries(List<StatementInfoWrapper> statements) {
+			this.statements = statements;
+			labels = new String[statements.size()];
+			results = new ArrayList<>(Collections.nCopies(statements.size(), null));
+			errors = new ArrayList<>(Collections.nCopies(statements.size(), null));
+			for (int i = 0; i < labels.length; i++) {
+				labels[i] = determineQueryLabel(statements.get(i));
+			}
+		}
+
+		/**
+		 * Runs the next queries that were not started yet
+		 *
+		 * @param sessionSnapshot the copy of the session properties the queries are sent with
+		 */
+		private void run(FireboltProperties sessionSnapshot) {
+			for (int i = next.getAndIncrement(); i < statements.size(); i = next.getAndIncrement()) {
+				StatementInfoWrapper statement = statements.get(i);
+				if (!isStatementNotCancelled(statement)) {
+					log.warn("Aborted query with id {}", labels[i]);
+					continue;
+				}
+				runningStatementLabels.add(labels[i]);
+				try {
+					ExecutionTimeout timeout = executionTimeout;
+					if (timeout != null) {
+						timeout.started(labels[i]);
+					}
+					log.debug("Executing the statement with label {} : {}", statement.getLabel(), sanitizeSql(statement.getSql()));
+					Optional<ResultSet> resultSet = statementService.execute(statement, sessionSnapshot, FireboltStatement.this, true);
+					synchronized (this) {
+						results.set(i, resultSet);
+					}
+					log.info("The query with the label {} was executed with success", labels[i]);
+				} catch (Throwable e) {
+					// an Error is kept too, so it is thrown to the caller instead of being reported as a cancelled query
+					log.error(String.format("An error happened while executing the statement with the id %s", labels[i]), e);
+					synchronized (this) {
+						errors.set(i, e);
+					}
+					cancelFrom(i + 1);
+				} finally {
+					runningStatementLabels.remove(labels[i]);
+				}
+			}
+		}
+
+		/**
+		 * Cancels the queries from the given index: the ones not started yet are skipped and the running ones aborted
+		 */
+		private void cancelFrom(int start) {
+			synchronized (statementsToExecuteLabels) {
+				for (StatementInfoWrapper statement : statements.subList(start, statements.size())) {
+					statementsToExecuteLabels.remove(statement.getLabel());
+				}
+			}
+			for (int i = start; i < labels.length; i++) {
+				if (runningStatementLabels.contains(labels[i])) {
+					try {
+						statementService.abortStatement(labels[i], sessionProperties);
+					} catch (Exception e) {
+						log.warn(String.format("Could not cancel the statement with label %s", labels[i]), e);
+					}
+				}
+			}
+		}
+
+		private synchronized void closeResults(int start) {
+			for (Optional<ResultSet> resultSet : results.subList(start, results.size())) {
+				if (resultSet != null && resultSet.isPresent()) {
+					try {
+						resultSet.get().close();
+					} catch (SQLException e) {
+						log.warn("Could not close the result of a cancelled query", e);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Adds the results in the order of the queries up to the first one that failed, whose error is then thrown
+		 *
+		 * @return Optional ResultSet of the first query
+		 */
+		private synchronized Optional<ResultSet> deliver() throws SQLException {
+			for (int i = 0; i < statements.size(); i++) {
+				Throwable error = errors.get(i);
+				if (error != null) {
+					closeResults(i + 1);
+					if (error instanceof SQLException) {
+						throw (SQLException) error;
+					}
+					if (error instanceof Error) {
+						throw (Error) error;
+					}
+					throw (RuntimeException) error;
+				}
+				Optional<ResultSet> resultSet = results.get(i);
+				if (resultSet != null) { // null if the query was cancelled before it was sent
+					currentUpdateCount = resultSet.isPresent() ? -1 : 0;
+					synchronized (FireboltStatement.this) {
+						setOrAppendFirstUnclosedStatementResult(statements.get(i), resultSet.orElse(null));
+					}
+				}
+			}
+			return results.get(0) == null ? Optional.empty() : results.get(0);
+		}
+	}
+
 	private String sanitizeSql(String sql) {
 		// Replace any occurrence of secrets with ***
 		 return sql.replaceAll("AWS_KEY_ID\\s*=\\s*[\\S]*", "AWS_KEY_ID=***")
@@ -0,0 +1,56 @@
+package com.firebolt.jdbc.statement;
+
+import lombok.experimental.UtilityClass;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the cancellation of the statements whose deadline passed. A single thread shared by all the statements waits for
+ * the deadlines, the cancellations themselves are sent from other threads so that a slow cancel request does not delay
+ * the cancellation of other statements.
+ */
+@UtilityClass
+class QueryTimeoutWatchdog {
+	private static final ScheduledThreadPoolExecutor scheduler = createScheduler();
+	private static final ExecutorService cancelExecutor = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, "firebolt-jdbc-query-cancel");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private static ScheduledThreadPoolExecutor createScheduler() {
+		ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+			Thread thread = new Thread(runnable, "firebolt-jdbc-query-timeout");
+			thread.setDaemon(true);
+			return thread;
+		});
+		// most of the statements complete before their deadline: their tasks are removed when they are canceled
+		executor.setRemoveOnCancelPolicy(true);
+		return executor;
+	}
+
+	/**
+	 * Schedules the cancellation of a statement
+	 * @param deadline - the time at which the action is run, right away if it already passed
+	 * @param action - the action cancelling the statement
+	 * @return the scheduled task, to cancel if the statement completes before its deadline
+	 */
+	static ScheduledFuture<?> schedule(Instant deadline, Runnable action) {
+		Duration delay = Duration.between(Instant.now(), deadline);
+		Runnable task = () -> cancelExecutor.execute(action);
+		if (delay.isNegative()) {
+			return scheduler.schedule(task, 0, TimeUnit.MILLISECONDS);
+		}
+		// a delay that does not fit in milliseconds, e.g. until Instant.MAX, is scheduled in seconds
+		if (delay.getSeconds() >= Long.MAX_VALUE / 1000) {
+			return scheduler.schedule(task, delay.getSeconds(), TimeUnit.SECONDS);
+		}
+		return scheduler.schedule(task, delay.toMillis(), TimeUnit.MILLISECONDS);
+	}
+}
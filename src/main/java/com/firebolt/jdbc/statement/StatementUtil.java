@@ -8,7 +8,6 @@ import com.firebolt.jdbc.util.StringUtil;
 import lombok.CustomLog;
 import lombok.NonNull;
 import lombok.experimental.UtilityClass;
-import org.json.JSONArray;
 import org.json.JSONObject;
 
 import java.util.ArrayList;
@@ -157,34 +156,32 @@ public class StatementUtil {
 	public List<StatementInfoWrapper> replaceParameterMarksWithValues(@NonNull Map<Integer, Object> params,
 			@NonNull RawStatementWrapper rawStatement) {
 		List<StatementInfoWrapper> subQueries = new ArrayList<>();
+		// the sql between the parameter markers and the values are copied once into a buffer reused for each statement
+		StringBuilder sql = new StringBuilder();
 		for (int subQueryIndex = 0; subQueryIndex < rawStatement.getSubStatements().size(); subQueryIndex++) {
-			int currentPos;
-			/*
-			 * As the parameter markers are being placed then the statement sql keeps
-			 * getting bigger, which is why we need to keep track of the offset
-			 */
-			int offset = 0;
 			RawStatement subQuery = rawStatement.getSubStatements().get(subQueryIndex);
-			String subQueryWithParams = subQuery.getSql();
+			String subQuerySql = subQuery.getSql();
 
 			if (params.size() != rawStatement.getTotalParams()) {
 				throw new IllegalArgumentException(String.format(
 						"The number of parameters passed does not equal the number of parameter markers in the SQL query. Provided: %d, Parameter markers in the SQL query: %d",
 						params.size(), rawStatement.getTotalParams()));
 			}
+			sql.setLength(0);
+			int copied = 0;
 			for (ParamMarker param : subQuery.getParamMarkers()) {
 				String value = (String) params.get(param.getId());
 				if (value == null) {
 					throw new IllegalArgumentException("No value for parameter marker at position: " + param.getId());
 				}
-				currentPos = param.getPosition() + offset;
-				if (currentPos >= subQuery.getSql().length() + offset) {
+				int position = param.getPosition();
+				if (position >= subQuerySql.length() || position < copied) {
 					throw new IllegalArgumentException("The position of the parameter marker provided is invalid");
 				}
-				subQueryWithParams = subQueryWithParams.substring(0, currentPos) + value
-						+ subQueryWithParams.substring(currentPos + 1);
-				offset += value.length() - 1;
+				sql.append(subQuerySql, copied, position).append(value);
+				copied = position + 1;
 			}
+			String subQueryWithParams = copied == 0 ? subQuerySql : sql.append(subQuerySql, copied, subQuerySql.length()).toString();
 			Entry<String, String> additionalParams = subQuery.getStatementType() == StatementType.PARAM_SETTING
 					? ((SetParamRawStatement) subQuery).getAdditionalProperty()
 					: null;
@@ -216,11 +213,36 @@ public class StatementUtil {
 		return subQueries;
 	}
 
+	/**
+	 * Writes the parameters as the JSON array sent in the query_parameters request parameter:
+	 * [{"name":"$1","value":...}, ...]. The JSON text is written directly, without building a JSON object per parameter.
+	 */
 	private String getPreparedStatementQueryParameters(@NonNull Map<Integer, Object> params) {
-		JSONArray jsonArray = new JSONArray();
-		params.forEach((key, value) -> jsonArray.put(new JSONObject().put("name", "$" + key).put("value", value == null ? JSONObject.NULL : value)));
+		StringBuilder json = new StringBuilder(params.size() * 32 + 2).append('[');
+		params.forEach((key, value) -> {
+			if (json.length() > 1) {
+				json.append(',');
+			}
+			json.append("{\"name\":\"$").append(key).append("\",\"value\":").append(JSONObject.valueToString(value)).append('}');
+		});
+		return json.append(']').toString();
+	}
 
-		return jsonArray.toString();
+	/**
+	 * Returns the JSON text of an array with the values, e.g. [1,"a",null], as sent for array parameters
+	 *
+	 * @param values the values of the array
+	 * @return the JSON array
+	 */
+	public static String toJsonArray(@NonNull Collection<?> values) {
+		StringBuilder json = new StringBuilder(values.size() * 8 + 2).append('[');
+		for (Object value : values) {
+			if (json.length() > 1) {
+				json.append(',');
+			}
+			json.append(JSONObject.valueToString(value));
+		}
+		return json.append(']').toString();
 	}
 
 	private Optional<String> extractTableNameFromFromPartOfTheQuery(String from) {
@@ -0,0 +1,248 @@
+package com.firebolt.jdbc.statement.preparedstatement;
+
+import lombok.Getter;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A file sent with a {@link FireboltParquetStatement}. The content of the file is only read while the request is sent
+ * and is streamed into it, so the file does not have to fit in memory. Files are read with
+ * {@link FileChannel#transferTo(long, long, WritableByteChannel)}.
+ * <p>
+ * Files and byte arrays can be sent several times, e.g. when the request is retried. Streams and channels can only be
+ * read once: a request sending them is not retried. The streams and channels are not closed.
+ */
+public abstract class FileSource {
+	/**
+	 * The content length of a stream or channel whose length is not known, the request is then sent in chunks
+	 */
+	public static final long UNKNOWN_LENGTH = -1;
+	private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+	@Getter
+	private final String identifier;
+
+	private FileSource(String identifier) {
+		this.identifier = identifier;
+	}
+
+	public static FileSource of(String identifier, byte[] content) {
+		return new BytesSource(identifier, content);
+	}
+
+	public static FileSource of(String identifier, Path file) {
+		return new PathSource(identifier, file);
+	}
+
+	public static FileSource of(String identifier, InputStream content) {
+		return of(identifier, content, UNKNOWN_LENGTH);
+	}
+
+	/**
+	 * @param identifier - the identifier of the file in the statement
+	 * @param content - the content of the file, read from its current position
+	 * @param length - the number of bytes that will be read from the stream or {@link #UNKNOWN_LENGTH}
+	 */
+	public static FileSource of(String identifier, InputStream content, long length) {
+		return new ChannelSource(identifier, content == null ? null : Channels.newChannel(content), length);
+	}
+
+	/**
+	 * @param identifier - the identifier of the file in the statement
+	 * @param content - the content of the file, read from its current position. The length of a {@link FileChannel} is
+	 *                known, the length of other channels is not.
+	 */
+	public static FileSource of(String identifier, ReadableByteChannel content) {
+		return new ChannelSource(identifier, content, UNKNOWN_LENGTH);
+	}
+
+	/**
+	 * @param files - the content of the files by identifier
+	 * @return a source for each file
+	 */
+	public static List<FileSource> fromBytes(Map<String, byte[]> files) {
+		List<FileSource> sources = new ArrayList<>(files.size());
+		files.forEach((identifier, content) -> sources.add(of(identifier, content)));
+		return sources;
+	}
+
+	/**
+	 * @return the number of bytes of the file or {@link #UNKNOWN_LENGTH}
+	 */
+	public abstract long getContentLength() throws IOException;
+
+	/**
+	 * @return true if the file can be sent more than once
+	 */
+	public abstract boolean isRepeatable();
+
+	/**
+	 * Writes the content of the file
+	 * @param target - the channel to write to
+	 */
+	public abstract void writeTo(WritableByteChannel target) throws IOException;
+
+	/**
+	 * @return true if the source has no content to send, e.g. a null array or path
+	 */
+	boolean isEmpty() {
+		return false;
+	}
+
+	private static void transfer(FileChannel channel, long position, long count, WritableByteChannel target) throws IOException {
+		long end = position + count;
+		while (position < end) {
+			long transferred = channel.transferTo(position, end - position, target);
+			if (transferred <= 0) {
+				throw new EOFException(String.format("The file ended after %d bytes instead of %d", position, end));
+			}
+			position += transferred;
+		}
+	}
+
+	private static final class BytesSource extends FileSource {
+		private final byte[] content;
+
+		private BytesSource(String identifier, byte[] content) {
+			super(identifier);
+			this.content = content;
+		}
+
+		@Override
+		public long getContentLength() {
+			return content.length;
+		}
+
+		@Override
+		public boolean isRepeatable() {
+			return true;
+		}
+
+		@Override
+		public void writeTo(WritableByteChannel target) throws IOException {
+			ByteBuffer buffer = ByteBuffer.wrap(content);
+			while (buffer.hasRemaining()) {
+				target.write(buffer);
+			}
+		}
+
+		@Override
+		boolean isEmpty() {
+			return content == null;
+		}
+	}
+
+	private static final class PathSource extends FileSource {
+		private final Path file;
+
+		private PathSource(String identifier, Path file) {
+			super(identifier);
+			this.file = file;
+		}
+
+		@Override
+		public long getContentLength() throws IOException {
+			return Files.size(file);
+		}
+
+		@Override
+		public boolean isRepeatable() {
+			return true;
+		}
+
+		@Override
+		public void writeTo(WritableByteChannel target) throws IOException {
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+				transfer(channel, 0, channel.size(), target);
+			}
+		}
+
+		@Override
+		boolean isEmpty() {
+			return file == null;
+		}
+	}
+
+	private static final class ChannelSource extends FileSource {
+		private final ReadableByteChannel content;
+		private final long length;
+		private final AtomicBoolean sent = new AtomicBoolean();
+
+		private ChannelSource(String identifier, ReadableByteChannel content, long length) {
+			super(identifier);
+			this.content = content;
+			this.length = length;
+		}
+
+		@Override
+		public long getContentLength() throws IOException {
+			if (length == UNKNOWN_LENGTH && content instanceof FileChannel) {
+				FileChannel channel = (FileChannel) content;
+				return channel.size() - channel.position();
+			}
+			return length;
+		}
+
+		@Override
+		public boolean isRepeatable() {
+			return false;
+		}
+
+		@Override
+		public void writeTo(WritableByteChannel target) throws IOException {
+			if (!sent.compareAndSet(false, true)) {
+				throw new IOException(String.format("The content of the file %s was already sent and cannot be read again", getIdentifier()));
+			}
+			long count = getContentLength();
+			if (content instanceof FileChannel) {
+				FileChannel channel = (FileChannel) content;
+				transfer(channel, channel.position(), count, target);
+				channel.position(channel.position() + count);
+			} else {
+				copy(count, target);
+			}
+		}
+
+		private void copy(long count, WritableByteChannel target) throws IOException {
+			ByteBuffer buffer = ByteBuffer.allocate(COPY_BUFFER_SIZE);
+			long copied = 0;
+			while (count == UNKNOWN_LENGTH || copied < count) {
+				if (count != UNKNOWN_LENGTH) {
+					buffer.limit((int) Math.min(buffer.capacity(), count - copied));
+				}
+				int read = content.read(buffer);
+				if (read < 0) {
+					if (count != UNKNOWN_LENGTH) {
+						throw new EOFException(String.format("The file %s ended after %d bytes instead of %d", getIdentifier(), copied, count));
+					}
+					break;
+				}
+				buffer.flip();
+				while (buffer.hasRemaining()) {
+					target.write(buffer);
+				}
+				buffer.clear();
+				copied += read;
+			}
+		}
+
+		@Override
+		boolean isEmpty() {
+			return content == null;
+		}
+	}
+}
@@ -5,6 +5,7 @@ import com.firebolt.jdbc.exception.ExceptionType;
 import com.firebolt.jdbc.exception.FireboltException;
 import com.firebolt.jdbc.service.FireboltStatementService;
 import com.firebolt.jdbc.statement.StatementInfoWrapper;
+import com.firebolt.jdbc.statement.StatementUtil;
 import com.firebolt.jdbc.type.JavaTypeToFireboltSQLString;
 import lombok.CustomLog;
 import lombok.NonNull;
@@ -16,19 +17,48 @@ import java.sql.Date;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static com.firebolt.jdbc.statement.StatementUtil.prepareFbNumericStatement;
+import static com.firebolt.jdbc.statement.preparedstatement.PreparedStatementParamStyle.FB_NUMERIC;
 import static java.sql.Types.DECIMAL;
 import static java.sql.Types.NUMERIC;
 
 @CustomLog
 public class FireboltBackendPreparedStatement extends FireboltPreparedStatement {
 
+    // INSERT INTO table [(columns)] VALUES ($1, ...): the statements whose batches can be bound as arrays
+    private static final Pattern ARRAY_BATCH_INSERT = Pattern.compile(
+            "\\s*(INSERT\\s+INTO\\s+.+?)\\s+VALUES\\s*\\((\\s*\\$\\d+\\s*(?:,\\s*\\$\\d+\\s*)*)\\)\\s*;?\\s*",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern PARAMETER = Pattern.compile("\\$(\\d+)");
+    private static final int MAX_DECIMAL_PRECISION = 38;
+
+    // the beginning of the INSERT that reads the batch from array parameters, null if the batch is sent row by row
+    private final String arrayInsert;
+    // the parameters in the order of the VALUES of the INSERT
+    private final int[] arrayInsertParameters;
+    // true once a parameter of the current row is sent as text that does not have the type of the column, e.g. an array
+    private boolean arrayInsertUnsupported;
+    // true if such a parameter is in a row of the batch that is not sent yet
+    private boolean batchArrayInsertUnsupported;
+
     public FireboltBackendPreparedStatement(FireboltStatementService statementService, FireboltConnection connection, String sql) {
         super(statementService, connection, sql);
+        Matcher matcher = ARRAY_BATCH_INSERT.matcher(sql);
+        if (sessionProperties.isArrayBatchInsert() && rawStatement.getSubStatements().size() == 1 && matcher.matches()) {
+            arrayInsert = matcher.group(1);
+            arrayInsertParameters = PARAMETER.matcher(matcher.group(2)).results().mapToInt(m -> Integer.parseInt(m.group(1))).toArray();
+        } else {
+            arrayInsert = null;
+            arrayInsertParameters = new int[0];
+        }
     }
 
     @Override
@@ -127,6 +157,7 @@ public class FireboltBackendPreparedStatement extends FireboltPreparedStatement
     public void setArray(int parameterIndex, Array x) throws SQLException {
         validateStatementIsNotClosed();
         providedParameters.put(parameterIndex, new JSONArray(x.getArray()).toString());
+        arrayInsertUnsupported = true;
     }
 
     @Override
@@ -158,6 +189,135 @@ public class FireboltBackendPreparedStatement extends FireboltPreparedStatement
         } else {
             String timeZoneId = calendar.getTimeZone().getID();
             providedParameters.put(parameterIndex, type.transformDateTimeForServerSide(datetime, timeZoneId));
+            arrayInsertUnsupported = true;
+        }
+    }
+
+    @Override
+    public void clearParameters() {
+        super.clearParameters();
+        arrayInsertUnsupported = false;
+        batchArrayInsertUnsupported = false;
+    }
+
+    @Override
+    public void addBatch() throws SQLException {
+        batchArrayInsertUnsupported |= arrayInsertUnsupported;
+        arrayInsertUnsupported = false;
+        super.addBatch();
+    }
+
+    @Override
+    public void clearBatch() {
+        super.clearBatch();
+        batchArrayInsertUnsupported = false;
+    }
+
+    @Override
+    protected void executeBatchRows() throws SQLException {
+        Optional<StatementInfoWrapper> arrayStatement = arrayInsert == null || batchArrayInsertUnsupported ? Optional.empty() : asArrayInsert();
+        if (arrayStatement.isEmpty()) {
+            super.executeBatchRows();
+        } else {
+            log.debug("Executing batch of {} rows as a single statement: {}", rows.size(), arrayStatement.get().getSql());
+            execute(List.of(arrayStatement.get()));
         }
+        // the rows are sent, the next ones may be sent as arrays again
+        batchArrayInsertUnsupported = false;
+    }
+
+    /**
+     * Turns the rows of the batch into a column array per parameter and returns the INSERT reading the rows from the
+     * arrays: INSERT INTO table [(columns)] SELECT * FROM UNNEST($1::type[], ...)
+     * @return empty if the values of a parameter cannot be bound as an array of a single type
+     */
+    private Optional<StatementInfoWrapper> asArrayInsert() {
+        StringBuilder sql = new StringBuilder(arrayInsert).append(" SELECT * FROM UNNEST(");
+        Map<Integer, Object> arrays = new ParameterValues(arrayInsertParameters.length);
+        for (int parameter : arrayInsertParameters) {
+            List<Object> values = new ArrayList<>(rows.size());
+            for (Map<Integer, Object> row : rows) {
+                if (!row.containsKey(parameter)) {
+                    return Optional.empty();
+                }
+                values.add(row.get(parameter));
+            }
+            String type = getArrayElementType(values);
+            if (type == null || arrays.put(parameter, StatementUtil.toJsonArray(values)) != null) {
+                return Optional.empty();
+            }
+            sql.append(arrays.size() == 1 ? "" : ", ").append('$').append(parameter).append("::").append(type).append("[]");
+        }
+        sql.append(')');
+        return Optional.of(prepareFbNumericStatement(arrays, StatementUtil.parseToRawStatementWrapper(sql.toString(), FB_NUMERIC)).get(0));
+    }
+
+    /**
+     * @return the SQL type of the values or null if they do not have a single supported type or are all null
+     */
+    private static String getArrayElementType(List<Object> values) {
+        String type = null;
+        int scale = 0;
+        int integerDigits = 0;
+        for (Object value : values) {
+            if (value == null) {
+                continue;
+            }
+            String valueType = getElementType(value);
+            if (valueType == null) {
+                return null;
+            }
+            if (value instanceof BigDecimal) {
+                BigDecimal decimal = (BigDecimal) value;
+                scale = Math.max(scale, Math.max(decimal.scale(), 0));
+                integerDigits = Math.max(integerDigits, decimal.precision() - decimal.scale());
+            }
+            type = type == null ? valueType : mergeTypes(type, valueType);
+            if (type == null) {
+                return null;
+            }
+        }
+        if ("numeric".equals(type)) {
+            return integerDigits + scale > MAX_DECIMAL_PRECISION ? null : String.format("numeric(%d, %d)", MAX_DECIMAL_PRECISION, scale);
+        }
+        return type;
+    }
+
+    private static String getElementType(Object value) {
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return "integer";
+        } else if (value instanceof Long) {
+            return "bigint";
+        } else if (value instanceof Float) {
+            return "real";
+        } else if (value instanceof Double) {
+            return "double precision";
+        } else if (value instanceof BigDecimal) {
+            return "numeric";
+        } else if (value instanceof Boolean) {
+            return "boolean";
+        } else if (value instanceof String) {
+            return "text";
+        } else if (value instanceof Date) {
+            return "date";
+        } else if (value instanceof Timestamp) {
+            return "timestamp";
+        }
+        return null;
+    }
+
+    private static String mergeTypes(String type, String other) {
+        if (type.equals(other)) {
+            return type;
+        } else if (isOneOf(type, other, "integer", "bigint")) {
+            return "bigint";
+        } else if (isOneOf(type, other, "real", "double precision")) {
+            return "double precision";
+        }
+        return null;
+    }
+
+    private static boolean isOneOf(String type, String other, String first, String second) {
+        return (type.equals(first) || type.equals(second)) && (other.equals(first) || other.equals(second));
     }
 }
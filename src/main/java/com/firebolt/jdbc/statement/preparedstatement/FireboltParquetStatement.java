@@ -11,9 +11,11 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static com.firebolt.jdbc.statement.rawstatement.StatementValidatorFactory.createValidator;
 
@@ -43,6 +45,22 @@ public class FireboltParquetStatement extends FireboltStatement {
 		return executeWithFiles(parsedStatements, files).isPresent();
 	}
 
+	/**
+	 * Executes the statement with files whose content is streamed into the request, e.g. Parquet files that are too
+	 * large to be loaded in memory
+	 *
+	 * @param sql the SQL statement to execute
+	 * @param files the files referenced by the statement
+	 * @return true if the statement returned a ResultSet
+	 * @throws SQLException if the SQL is invalid, the statement is closed, or execution fails
+	 */
+	public boolean execute(String sql, FileSource... files) throws SQLException {
+		validateStatementIsNotClosed();
+		setSql(sql);
+		List<FileSource> sources = validateFiles(files);
+		return executeStatements(parsedStatements, statement -> executeWithFileSources(statement, sources)).isPresent();
+	}
+
 	@Override
 	protected Optional<ResultSet> execute(List<StatementInfoWrapper> statements) throws SQLException {
 		throw new FireboltException("Cannot call execute(List<StatementInfoWrapper>) directly. Use execute(String, Map<String, byte[]>) instead.");
@@ -61,6 +79,22 @@ public class FireboltParquetStatement extends FireboltStatement {
         return validateAndCloseUpdateResults();
 	}
 
+	/**
+	 * Executes the update statement with files whose content is streamed into the request
+	 *
+	 * @param sql the SQL statement to execute
+	 * @param files the files referenced by the statement
+	 * @return the update count
+	 * @throws SQLException if the SQL is invalid, the statement is closed, or execution fails
+	 */
+	public int executeUpdate(String sql, FileSource... files) throws SQLException {
+		validateStatementIsNotClosed();
+		setSql(sql);
+		List<FileSource> sources = validateFiles(files);
+		executeStatements(parsedStatements, statement -> executeWithFileSources(statement, sources));
+		return validateAndCloseUpdateResults();
+	}
+
 	@Override
 	protected int executeUpdate(List<StatementInfoWrapper> sql) throws SQLException {
 		throw new FireboltException("Cannot call executeUpdate(List<StatementInfoWrapper>) directly. Use executeUpdate(String, Map<String, byte[]>) instead.");
@@ -82,6 +116,15 @@ public class FireboltParquetStatement extends FireboltStatement {
 				"statement with files");
 	}
 
+	/**
+	 * Executes a single statement with files whose content is streamed
+	 */
+	private Optional<ResultSet> executeWithFileSources(StatementInfoWrapper statementInfoWrapper, List<FileSource> files) throws SQLException {
+		return executeStatement(statementInfoWrapper,
+				() -> statementService.executeWithFileSources(statementInfoWrapper, sessionProperties, this, files),
+				"statement with files");
+	}
+
 	private void validateSqlParameter(String sql) throws SQLException {
 		if (StringUtils.isBlank(sql)) {
 			throw new FireboltException("SQL cannot be null or blank");
@@ -120,6 +163,28 @@ public class FireboltParquetStatement extends FireboltStatement {
 		}
 	}
 
+	/**
+	 * Validates that there is at least one file and that every file has an identifier and a content
+	 */
+	private List<FileSource> validateFiles(FileSource... files) throws SQLException {
+		if (files == null || files.length == 0) {
+			throw new FireboltException("Files cannot be null or empty");
+		}
+		Set<String> identifiers = new HashSet<>();
+		for (FileSource file : files) {
+			if (file == null || file.getIdentifier() == null) {
+				throw new FireboltException("File identifier cannot be null");
+			}
+			if (file.isEmpty()) {
+				throw new FireboltException("File content for identifier '" + file.getIdentifier() + "' cannot be null");
+			}
+			if (!identifiers.add(file.getIdentifier())) {
+				throw new FireboltException("Duplicate file identifier '" + file.getIdentifier() + "'");
+			}
+		}
+		return List.of(files);
+	}
+
 	/**
 	 * Executes a statement asynchronously with files
 	 *
@@ -135,4 +200,20 @@ public class FireboltParquetStatement extends FireboltStatement {
 				() -> statementService.executeAsyncStatementWithFiles(query, sessionProperties, this, files),
 				"statement with files");
 	}
+
+	/**
+	 * Executes a statement asynchronously with files whose content is streamed into the request
+	 *
+	 * @param sql the SQL statement to execute
+	 * @param files the files referenced by the statement
+	 * @throws SQLException if the SQL is invalid, the statement is closed, or execution fails
+	 */
+	public void executeAsync(String sql, FileSource... files) throws SQLException {
+		List<FileSource> sources = validateFiles(files);
+		setSql(sql);
+		StatementInfoWrapper query = parsedStatements.get(0);
+		executeAsyncStatement(query,
+				() -> statementService.executeAsyncStatementWithFileSources(query, sessionProperties, this, sources),
+				"statement with files");
+	}
 }
@@ -40,10 +40,13 @@ import java.sql.SQLXML;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static com.firebolt.jdbc.statement.StatementUtil.replaceParameterMarksWithValues;
 import static com.firebolt.jdbc.statement.rawstatement.StatementValidatorFactory.createValidator;
@@ -55,10 +58,25 @@ import static java.sql.Types.VARBINARY;
 @CustomLog
 public class FireboltPreparedStatement extends FireboltStatement implements PreparedStatement {
 
+	// INSERT INTO table [(columns)] VALUES (?, ...): the statements whose batches can be sent as a Parquet file
+	private static final Pattern PARQUET_BATCH_INSERT = Pattern.compile(
+			"\\s*(INSERT\\s+INTO\\s+.+?)\\s+VALUES\\s*\\((\\s*\\?\\s*(?:,\\s*\\?\\s*)*)\\)\\s*;?\\s*",
+			Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+	private static final String PARQUET_BATCH_FILE = "batch";
+
 	protected final RawStatementWrapper rawStatement;
 	protected Map<Integer, Object> providedParameters;
-	private final List<Map<Integer, Object>> rows;
+	protected final List<Map<Integer, Object>> rows;
 	private final ParserVersion parserVersion;
+	// the beginning of the INSERT that reads the batch from a Parquet file, null if the batch is sent as text statements
+	private final String parquetInsert;
+	// the Java values of the parameters, only kept if the batch can be sent as a Parquet file
+	private Map<Integer, Object> providedValues;
+	private final List<Map<Integer, Object>> valueRows;
+	// the estimated memory used by the rows of the batch that are not sent yet
+	private long batchMemory;
+	// the number of rows of the batch already sent, before executeBatch if the batch used too much memory
+	private int sentBatchRows;
 
 	public FireboltPreparedStatement(FireboltStatementService statementService, FireboltConnection connection, String sql) {
 		this(statementService, connection.getSessionProperties(), connection, sql);
@@ -68,12 +86,24 @@ public class FireboltPreparedStatement extends FireboltStatement implements Prep
 									 FireboltConnection connection, String sql) {
 		super(statementService, sessionProperties, connection);
 		log.debug("Populating PreparedStatement object for SQL: {}", sql);
-		this.providedParameters = new HashMap<>();
 		PreparedStatementParamStyle queryParamStyle = PreparedStatementParamStyle.fromString(sessionProperties.getPreparedStatementParamStyle());
 		this.rawStatement = StatementUtil.parseToRawStatementWrapper(sql, queryParamStyle);
+		this.providedParameters = new ParameterValues(rawStatement.getTotalParams());
 		rawStatement.getSubStatements().forEach(statement -> createValidator(statement, connection).validate(statement));
 		this.rows = new ArrayList<>();
 		this.parserVersion = connection.getParserVersion();
+		this.parquetInsert = sessionProperties.isParquetBatchInsert() ? getParquetInsert(sql) : null;
+		this.providedValues = parquetInsert == null ? null : new ParameterValues(rawStatement.getTotalParams());
+		this.valueRows = new ArrayList<>();
+	}
+
+	private String getParquetInsert(String sql) {
+		Matcher matcher = PARQUET_BATCH_INSERT.matcher(sql);
+		if (rawStatement.getSubStatements().size() != 1 || !matcher.matches()
+				|| matcher.group(2).chars().filter(c -> c == '?').count() != rawStatement.getTotalParams()) {
+			return null;
+		}
+		return matcher.group(1);
 	}
 
 	@Override
@@ -96,6 +126,7 @@ public class FireboltPreparedStatement extends FireboltStatement implements Prep
 		validateStatementIsNotClosed();
 		validateParamIndex(parameterIndex);
 		providedParameters.put(parameterIndex, JavaTypeToFireboltSQLString.NULL_VALUE);
+		setParquetValue(parameterIndex, null);
 	}
 
 	@Override
@@ -103,6 +134,7 @@ public class FireboltPreparedStatement extends FireboltStatement implements Prep
 		validateStatementIsNotClosed();
 		validateParamIndex(parameterIndex);
 		providedParameters.put(parameterIndex, JavaTypeToFireboltSQLString.BOOLEAN.transform(x));
+		setParquetValue(parameterIndex, x);
 	}
 
 	@Override
@@ -110,6 +142,7 @@ public class FireboltPreparedStatement extends FireboltStatement implements Prep
 		validateStatementIsNotClosed();
 		validateParamIndex(parameterIndex);
 		providedParameters.put(parameterIndex, JavaTypeToFireboltSQLString.BYTE.transform(x));
+		setParquetValue(parameterIndex, x);
 	}
 
 	@Override
@@ -117,6 +150,7 @@ public class FireboltPreparedStatement extends FireboltStatement implements Prep
 		validateStatementIsNotClosed();
 		validateParamIndex(parameterIndex);
 		providedParameters.put(parameterIndex, JavaTypeToFireboltSQLString.SHORT.transform(x));
+		setParquetValue(parameterIndex, x);
 	}
 
 	@Override
@@ -124,6 +158,7 @@ public class FireboltPreparedStatement extends FireboltStatement implements Prep
 		validateStatementIsNotClosed();
 		validateParamIndex(parameterIndex);
 		providedParameters.put(parameterIndex, JavaTypeToFireboltSQLString.INTEGER.transform(x));
+		setParquetValue(parameterIndex, x);
 	}
 
 	@Override
@@ -131,6 +166,7 @@ public class FireboltPreparedStatement extends FireboltStatement implements Prep
 		validateStatementIsNotClosed();
 		validateParamIndex(parameterIndex);
 		providedParameters.put(parameterIndex, JavaTypeToFireboltSQLString.LONG.transform(x));
+		setParquetValue(parameterIndex, x);
 	}
 
 	@Override
@@ -138,6 +174,7 @@ public class FireboltPreparedStatement extends FireboltStatement implements Prep
 		validateStatementIsNotClosed();
 		validateParamIndex(parameterIndex);
 		providedParameters.put(parameterIndex, JavaTypeToFireboltSQLString.FLOAT.transform(x));
+		setParquetValue(parameterIndex, x);
 	}
 
 	@Override
@@ -145,6 +182,7 @@ public class FireboltPreparedStatement extends FireboltStatement implements Prep
 		validateStatementIsNotClosed();
 		validateParamIndex(parameterIndex);
 		providedParameters.put(parameterIndex, JavaTypeToFireboltSQLString.DOUBLE.transform(x));
+		setParquetValue(parameterIndex, x);
 	}
 
 	@Override
@@ -152,6 +190,7 @@ public class FireboltPreparedStatement extends FireboltStatement implements Prep
 		validateStatementIsNotClosed();
 		validateParamIndex(parameterIndex);
 		providedParameters.put(parameterIndex, JavaTypeToFireboltSQLString.BIG_DECIMAL.transform(x));
+		setParquetValue(parameterIndex, x);
 	}
 
 	@Override
@@ -159,6 +198,7 @@ public class FireboltPreparedStatement extends FireboltStatement implements Prep
 		validateStatementIsNotClosed();
 		validateParamIndex(parameterIndex);
 		providedParameters.put(parameterIndex, JavaTypeToFireboltSQLString.STRING.transform(x, parserVersion));
+		setParquetValue(parameterIndex, x);
 	}
 
 	@Override
@@ -167,6 +207,7 @@ public class FireboltPreparedStatement extends FireboltStatement implements Prep
 			setNull(parameterIndex, VARBINARY);
 		} else {
 			setObject(parameterIndex, bytes, VARBINARY);
+			setParquetValue(parameterIndex, bytes);
 		}
 	}
 
@@ -175,6 +216,7 @@ public class FireboltPreparedStatement extends FireboltStatement implements Prep
 		validateStatementIsNotClosed();
 		validateParamIndex(parameterIndex);
 		providedParameters.put(parameterIndex, JavaTypeToFireboltSQLString.DATE.transform(x));
+		setParquetValue(parameterIndex, x);
 	}
 
 	@Override
@@ -188,12 +230,29 @@ public class FireboltPreparedStatement extends FireboltStatement implements Prep
 		validateStatementIsNotClosed();
 		validateParamIndex(parameterIndex);
 		providedParameters.put(parameterIndex, JavaTypeToFireboltSQLString.TIMESTAMP.transform(x));
+		setParquetValue(parameterIndex, x == null ? null : ParquetBatchEncoder.UNSUPPORTED);
 	}
 
 	@Override
 	public void clearParameters() {
 		providedParameters.clear();
 		rows.clear();
+		if (providedValues != null) {
+			providedValues.clear();
+		}
+		valueRows.clear();
+		batchMemory = 0;
+		sentBatchRows = 0;
+	}
+
+	@Override
+	public void clearBatch() {
+		super.clearBatch();
+		rows.clear();
+		valueRows.clear();
+		batchMemory = 0;
+		// the rows already sent because of the memory limit are not reported by the next executeBatch
+		sentBatchRows = 0;
 	}
 
 	@Override
@@ -203,6 +262,8 @@ public class FireboltPreparedStatement extends FireboltStatement implements Prep
 		try {
 			providedParameters.put(parameterIndex,
 							JavaTypeToFireboltSQLString.transformAny(x, targetSqlType, parserVersion));
+			// the value is converted to the target type, the type of the Java value may not match it
+			setParquetValue(parameterIndex, x == null ? null : ParquetBatchEncoder.UNSUPPORTED);
 		} catch (FireboltException fbe) {
 			if (ExceptionType.TYPE_NOT_SUPPORTED.equals(fbe.getType())) {
 				throw new SQLFeatureNotSupportedException(fbe.getMessage(), fbe);
@@ -216,6 +277,7 @@ public class FireboltPreparedStatement extends FireboltStatement implements Prep
 		validateStatementIsNotClosed();
 		validateParamIndex(parameterIndex);
 		providedParameters.put(parameterIndex, JavaTypeToFireboltSQLString.transformAny(x));
+		setParquetValue(parameterIndex, x);
 	}
 
 	@Override
@@ -225,9 +287,20 @@ public class FireboltPreparedStatement extends FireboltStatement implements Prep
 	}
 
 	@Override
-	public void addBatch() {
+	public void addBatch() throws SQLException {
 		rows.add(providedParameters);
-		providedParameters = new HashMap<>();
+		batchMemory += ParameterValues.estimateMemory(providedParameters);
+		providedParameters = new ParameterValues(rawStatement.getTotalParams());
+		if (providedValues != null) {
+			valueRows.add(providedValues);
+			batchMemory += ParameterValues.estimateMemory(providedValues);
+			providedValues = new ParameterValues(rawStatement.getTotalParams());
+		}
+		long batchMemoryLimit = sessionProperties.getBatchMemoryLimit();
+		if (batchMemoryLimit > 0 && batchMemory >= batchMemoryLimit) {
+			log.debug("Sending {} rows of the batch that use about {} bytes", rows.size(), batchMemory);
+			sendBatch();
+		}
 	}
 
 	@Override
@@ -241,6 +314,7 @@ public class FireboltPreparedStatement extends FireboltStatement implements Prep
 		validateStatementIsNotClosed();
 		validateParamIndex(parameterIndex);
 		providedParameters.put(parameterIndex, JavaTypeToFireboltSQLString.NULL_VALUE);
+		setParquetValue(parameterIndex, null);
 	}
 
 	@Override
@@ -260,33 +334,86 @@ public class FireboltPreparedStatement extends FireboltStatement implements Prep
 		validateStatementIsNotClosed();
 		validateParamIndex(parameterIndex);
 		providedParameters.put(parameterIndex, JavaTypeToFireboltSQLString.ARRAY.transform(x));
+		setParquetValue(parameterIndex, x == null ? null : ParquetBatchEncoder.UNSUPPORTED);
 	}
 
 	@Override
 	public int[] executeBatch() throws SQLException {
 		validateStatementIsNotClosed();
 		log.debug("Executing batch for statement: {}", rawStatement);
+		sendBatch();
+		int[] result = new int[sentBatchRows];
+		Arrays.fill(result, SUCCESS_NO_INFO);
+		sentBatchRows = 0;
+		return result;
+	}
+
+	/**
+	 * Executes the rows added to the batch and removes them from the batch
+	 */
+	private void sendBatch() throws SQLException {
+		if (!rows.isEmpty()) {
+			executeBatchRows();
+		}
+		sentBatchRows += rows.size();
+		rows.clear();
+		valueRows.clear();
+		batchMemory = 0;
+	}
+
+	/**
+	 * Executes the rows of the batch, as a single INSERT reading a Parquet file when possible
+	 */
+	protected void executeBatchRows() throws SQLException {
+		if (parquetInsert != null && executeBatchAsParquet()) {
+			return;
+		}
 		List<StatementInfoWrapper> statements = new ArrayList<>();
-		int[] result = new int[rows.size()];
 		for (Map<Integer, Object> row : rows) {
 			statements.addAll(prepareSQL(row));
 		}
 		if (sessionProperties.isMergePreparedStatementBatches()) {
-			if (!statements.isEmpty()) {
-				execute(List.of(asSingleStatement(statements)));
-			}
+			execute(List.of(asSingleStatement(statements)));
 		} else {
 			execute(statements);
 		}
-		for (int i = 0; i < statements.size(); i++) {
-			result[i] = SUCCESS_NO_INFO;
-		}
-		return result;
 	}
 
+	/**
+	 * Sends the rows of the batch in a Parquet file read by a single INSERT
+	 * @return false if the values of the batch cannot be written in a Parquet file
+	 */
+	private boolean executeBatchAsParquet() throws SQLException {
+		Optional<byte[]> file;
+		try {
+			file = ParquetBatchEncoder.encode(valueRows, rawStatement.getTotalParams());
+		} catch (IOException e) {
+			throw new FireboltException("Could not write the batch in a Parquet file", e);
+		}
+		if (file.isEmpty()) {
+			log.debug("The batch cannot be written in a Parquet file and is sent row by row");
+			return false;
+		}
+		String sql = format("%s SELECT * FROM read_parquet('upload://%s')", parquetInsert, PARQUET_BATCH_FILE);
+		List<FileSource> files = List.of(FileSource.of(PARQUET_BATCH_FILE, file.get()));
+		executeStatements(StatementUtil.parseToStatementInfoWrappers(sql), statement -> executeStatement(statement,
+				() -> statementService.executeWithFileSources(statement, sessionProperties, this, files), "batch insert"));
+		return true;
+	}
+
+	/**
+	 * Merges the queries into a single query, separated by semicolons. The merged SQL is one String that holds the
+	 * whole batch: it is only encoded and compressed while the request is sent. Streaming the queries one after the
+	 * other into the request would need the statements to carry their parts of the SQL down to the client, it is not
+	 * done yet.
+	 */
 	protected StatementInfoWrapper asSingleStatement(List<StatementInfoWrapper> queries) {
-		// merge all queries into a single query, separated by semicolons
-		StringBuilder sb = new StringBuilder();
+		int length = 0;
+		for (StatementInfoWrapper query : queries) {
+			length += query.getSql().length() + 1;
+		}
+		// sized upfront so the batch is not copied each time the builder grows
+		StringBuilder sb = new StringBuilder(length);
 		var first = queries.get(0);
 		for (StatementInfoWrapper query : queries) {
 			sb.append(query.getSql()).append(";");
@@ -362,6 +489,16 @@ public class FireboltPreparedStatement extends FireboltStatement implements Prep
 		} else {
 			providedParameters.put(parameterIndex, type.transform(datetime, calendar.getTimeZone().getID()));
 		}
+		setParquetValue(parameterIndex, datetime == null ? null : ParquetBatchEncoder.UNSUPPORTED);
+	}
+
+	/**
+	 * Keeps the Java value of the parameter when the batch can be sent as a Parquet file
+	 */
+	private void setParquetValue(int parameterIndex, Object value) {
+		if (providedValues != null) {
+			providedValues.put(parameterIndex, value);
+		}
 	}
 
 	@Override
@@ -416,6 +553,7 @@ public class FireboltPreparedStatement extends FireboltStatement implements Prep
 			boolean isNumber = (DECIMAL == targetSqlType || NUMERIC == targetSqlType) && x instanceof Number;
 			String str = isNumber ? formatDecimalNumber(x, scaleOrLength) : JavaTypeToFireboltSQLString.transformAny(x, targetSqlType);
 			providedParameters.put(parameterIndex, str);
+			setParquetValue(parameterIndex, x == null ? null : ParquetBatchEncoder.UNSUPPORTED);
 		} catch (FireboltException fbe) {
 			if (ExceptionType.TYPE_NOT_SUPPORTED.equals(fbe.getType())) {
 				throw new SQLFeatureNotSupportedException(fbe.getMessage(), fbe);
@@ -0,0 +1,165 @@
+package com.firebolt.jdbc.statement.preparedstatement;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The values of the parameters of a prepared statement by parameter index, starting at 1. The values are held in an
+ * array sized to the number of parameters of the statement instead of a hash map, so setting a parameter of a row does
+ * not allocate. The array grows if a parameter with a larger index is set. The entries are iterated in the order of the
+ * parameter indexes.
+ */
+final class ParameterValues extends AbstractMap<Integer, Object> {
+	// marks the parameters that are not set, null being a valid value
+	private static final Object NOT_SET = new Object();
+	// approximate sizes in bytes used to estimate the memory of a row: the map and its array, a reference, a string
+	// (object and byte array, with compact strings storing a byte per character) and another value
+	private static final int ROW_SIZE = 48;
+	private static final int REFERENCE_SIZE = 8;
+	private static final int STRING_SIZE = 40;
+	private static final int VALUE_SIZE = 32;
+
+	private Object[] values;
+	private int size;
+
+	ParameterValues(int parameterCount) {
+		values = new Object[Math.max(parameterCount, 0)];
+		Arrays.fill(values, NOT_SET);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		int slot = slot(key);
+		return slot >= 0 && values[slot] != NOT_SET;
+	}
+
+	@Override
+	public Object get(Object key) {
+		int slot = slot(key);
+		return slot < 0 || values[slot] == NOT_SET ? null : values[slot];
+	}
+
+	@Override
+	public Object put(Integer key, Object value) {
+		int slot = key - 1;
+		if (slot < 0) {
+			throw new IllegalArgumentException("Invalid parameter index " + key);
+		}
+		if (slot >= values.length) {
+			int length = values.length;
+			values = Arrays.copyOf(values, Math.max(slot + 1, length * 2));
+			Arrays.fill(values, length, values.length, NOT_SET);
+		}
+		Object previous = values[slot];
+		values[slot] = value;
+		if (previous == NOT_SET) {
+			size++;
+			return null;
+		}
+		return previous;
+	}
+
+	@Override
+	public Object remove(Object key) {
+		int slot = slot(key);
+		if (slot < 0 || values[slot] == NOT_SET) {
+			return null;
+		}
+		Object previous = values[slot];
+		values[slot] = NOT_SET;
+		size--;
+		return previous;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(values, NOT_SET);
+		size = 0;
+	}
+
+	@Override
+	public Set<Entry<Integer, Object>> entrySet() {
+		return new AbstractSet<>() {
+			@Override
+			public Iterator<Entry<Integer, Object>> iterator() {
+				return new Iterator<>() {
+					private int next = nextSlot(0);
+					private int current = -1;
+
+					@Override
+					public boolean hasNext() {
+						return next < values.length;
+					}
+
+					@Override
+					public Entry<Integer, Object> next() {
+						if (!hasNext()) {
+							throw new NoSuchElementException();
+						}
+						current = next;
+						next = nextSlot(next + 1);
+						return new SimpleImmutableEntry<>(current + 1, values[current]);
+					}
+
+					@Override
+					public void remove() {
+						if (current < 0) {
+							throw new IllegalStateException();
+						}
+						ParameterValues.this.remove(current + 1);
+						current = -1;
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	private int nextSlot(int from) {
+		int slot = from;
+		while (slot < values.length && values[slot] == NOT_SET) {
+			slot++;
+		}
+		return slot;
+	}
+
+	private int slot(Object key) {
+		if (!(key instanceof Integer)) {
+			return -1;
+		}
+		int slot = (Integer) key - 1;
+		return slot >= 0 && slot < values.length ? slot : -1;
+	}
+
+	/**
+	 * @param parameters the values of the parameters of a row
+	 * @return the estimated number of bytes used by the row
+	 */
+	static long estimateMemory(Map<Integer, Object> parameters) {
+		long memory = ROW_SIZE + (long) REFERENCE_SIZE * parameters.size();
+		for (Object value : parameters.values()) {
+			if (value instanceof String) {
+				memory += STRING_SIZE + ((String) value).length();
+			} else if (value instanceof byte[]) {
+				memory += VALUE_SIZE + ((byte[]) value).length;
+			} else if (value != null) {
+				memory += VALUE_SIZE;
+			}
+		}
+		return memory;
+	}
+}
@@ -0,0 +1,463 @@
+package com.firebolt.jdbc.statement.preparedstatement;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encodes the rows of a prepared statement batch as a Parquet file, so they can be inserted by a single
+ * {@code INSERT INTO ... SELECT * FROM read_parquet(...)} statement.
+ * <p>
+ * The file has a single row group with one data page per column. The values are PLAIN encoded and the pages are
+ * compressed with GZIP. All the columns are optional and are named {@code c1}, {@code c2}, ... in the order of the
+ * parameters. The type of a column is the type of its values:
+ * <ul>
+ *     <li>{@link Boolean}: BOOLEAN</li>
+ *     <li>{@link Byte}, {@link Short} and {@link Integer}: INT32, or INT64 if the column also has {@link Long} values</li>
+ *     <li>{@link Float}: FLOAT, or DOUBLE if the column also has {@link Double} values</li>
+ *     <li>{@link String}: UTF8 BYTE_ARRAY</li>
+ *     <li>{@code byte[]}: BYTE_ARRAY</li>
+ *     <li>{@link Date} and {@link LocalDate}: DATE</li>
+ *     <li>{@link BigDecimal}: DECIMAL(38, s) where s is the largest scale of the column</li>
+ * </ul>
+ * A batch with other values, with values of different types in the same column or with a column that only has nulls
+ * cannot be encoded.
+ */
+final class ParquetBatchEncoder {
+	/**
+	 * Value recorded for a parameter whose Java value cannot be sent in a Parquet file
+	 */
+	static final Object UNSUPPORTED = new Object();
+
+	private static final byte[] MAGIC = "PAR1".getBytes(StandardCharsets.US_ASCII);
+	private static final String CREATED_BY = "firebolt-jdbc";
+	private static final int DECIMAL_PRECISION = 38;
+	private static final int DECIMAL_LENGTH = 16;
+
+	// enums of parquet.thrift
+	private static final int PLAIN = 0;
+	private static final int RLE = 3;
+	private static final int GZIP = 2;
+	private static final int DATA_PAGE = 0;
+	private static final int OPTIONAL = 1;
+
+	private ParquetBatchEncoder() {
+	}
+
+	/**
+	 * @param rows - the parameters of each row of the batch by index, starting at 1
+	 * @param columnCount - the number of parameters of a row
+	 * @return the Parquet file, or empty if the values cannot be encoded
+	 */
+	static Optional<byte[]> encode(List<Map<Integer, Object>> rows, int columnCount) throws IOException {
+		if (rows.isEmpty() || columnCount == 0) {
+			return Optional.empty();
+		}
+		Column[] columns = new Column[columnCount];
+		for (int i = 0; i < columnCount; i++) {
+			columns[i] = Column.of(rows, i + 1);
+			if (columns[i] == null) {
+				return Optional.empty();
+			}
+		}
+		ByteArrayOutputStream file = new ByteArrayOutputStream();
+		file.write(MAGIC);
+		long totalSize = 0;
+		for (Column column : columns) {
+			column.offset = file.size();
+			byte[] page = column.encodePage(rows);
+			byte[] compressed = gzip(page);
+			ThriftWriter header = new ThriftWriter();
+			header.structBegin();
+			header.i32(1, DATA_PAGE);
+			header.i32(2, page.length);
+			header.i32(3, compressed.length);
+			header.structField(5);
+			header.i32(1, rows.size());
+			header.i32(2, PLAIN);
+			header.i32(3, RLE);
+			header.i32(4, RLE);
+			header.structEnd();
+			header.structEnd();
+			header.writeTo(file);
+			file.write(compressed);
+			column.uncompressedSize = header.size() + page.length;
+			column.compressedSize = header.size() + compressed.length;
+			totalSize += column.uncompressedSize;
+		}
+		ThriftWriter footer = new ThriftWriter();
+		footer.structBegin();
+		footer.i32(1, 1);
+		footer.listBegin(2, ThriftWriter.STRUCT, columnCount + 1);
+		footer.structBegin();
+		footer.string(4, "schema");
+		footer.i32(5, columnCount);
+		footer.structEnd();
+		for (Column column : columns) {
+			column.writeSchema(footer);
+		}
+		footer.i64(3, rows.size());
+		footer.listBegin(4, ThriftWriter.STRUCT, 1);
+		footer.structBegin();
+		footer.listBegin(1, ThriftWriter.STRUCT, columnCount);
+		for (Column column : columns) {
+			column.writeChunk(footer, rows.size());
+		}
+		footer.i64(2, totalSize);
+		footer.i64(3, rows.size());
+		footer.structEnd();
+		footer.string(6, CREATED_BY);
+		footer.structEnd();
+		footer.writeTo(file);
+		file.write(ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(footer.size()).array());
+		file.write(MAGIC);
+		return Optional.of(file.toByteArray());
+	}
+
+	private static byte[] gzip(byte[] page) throws IOException {
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream(page.length / 2 + 64);
+		try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+			out.write(page);
+		}
+		return compressed.toByteArray();
+	}
+
+	private enum ColumnType {
+		BOOLEAN(0, -1), INT32(1, -1), INT64(2, -1), FLOAT(4, -1), DOUBLE(5, -1),
+		STRING(6, 0), BINARY(6, -1), DATE(1, 6), DECIMAL(7, 5);
+
+		private final int physicalType;
+		private final int convertedType;
+
+		ColumnType(int physicalType, int convertedType) {
+			this.physicalType = physicalType;
+			this.convertedType = convertedType;
+		}
+
+		private static ColumnType of(Object value) {
+			if (value instanceof Boolean) {
+				return BOOLEAN;
+			} else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+				return INT32;
+			} else if (value instanceof Long) {
+				return INT64;
+			} else if (value instanceof Float) {
+				return FLOAT;
+			} else if (value instanceof Double) {
+				return DOUBLE;
+			} else if (value instanceof String) {
+				return STRING;
+			} else if (value instanceof byte[]) {
+				return BINARY;
+			} else if (value instanceof Date || value instanceof LocalDate) {
+				return DATE;
+			} else if (value instanceof BigDecimal) {
+				return DECIMAL;
+			}
+			return null;
+		}
+
+		private static ColumnType merge(ColumnType type, ColumnType other) {
+			if (type == null || type == other) {
+				return other;
+			} else if ((type == INT32 && other == INT64) || (type == INT64 && other == INT32)) {
+				return INT64;
+			} else if ((type == FLOAT && other == DOUBLE) || (type == DOUBLE && other == FLOAT)) {
+				return DOUBLE;
+			}
+			return null;
+		}
+	}
+
+	private static final class Column {
+		private final int index;
+		private final ColumnType type;
+		private final int scale;
+		private long offset;
+		private long uncompressedSize;
+		private long compressedSize;
+
+		private Column(int index, ColumnType type, int scale) {
+			this.index = index;
+			this.type = type;
+			this.scale = scale;
+		}
+
+		/**
+		 * @return the column of the parameter, or null if its values cannot be encoded
+		 */
+		private static Column of(List<Map<Integer, Object>> rows, int index) {
+			ColumnType type = null;
+			int scale = 0;
+			for (Map<Integer, Object> row : rows) {
+				Object value = row.getOrDefault(index, UNSUPPORTED);
+				if (value == null) {
+					continue;
+				}
+				ColumnType valueType = ColumnType.of(value);
+				type = valueType == null ? null : ColumnType.merge(type, valueType);
+				if (type == null) {
+					return null;
+				}
+				if (value instanceof BigDecimal) {
+					scale = Math.max(scale, ((BigDecimal) value).scale());
+				}
+			}
+			if (type == ColumnType.DECIMAL && !fitsDecimal(rows, index, scale)) {
+				return null;
+			}
+			return type == null ? null : new Column(index, type, scale);
+		}
+
+		private static boolean fitsDecimal(List<Map<Integer, Object>> rows, int index, int scale) {
+			if (scale > DECIMAL_PRECISION) {
+				return false;
+			}
+			for (Map<Integer, Object> row : rows) {
+				BigDecimal value = (BigDecimal) row.get(index);
+				if (value != null && value.setScale(scale).precision() > DECIMAL_PRECISION) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private byte[] encodePage(List<Map<Integer, Object>> rows) {
+			ByteArrayOutputStream page = new ByteArrayOutputStream();
+			writeDefinitionLevels(rows, page);
+			ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+			int bits = 0;
+			int bitCount = 0;
+			for (Map<Integer, Object> row : rows) {
+				Object value = row.get(index);
+				if (value == null) {
+					continue;
+				}
+				buffer.clear();
+				switch (type) {
+					case BOOLEAN:
+						bits |= ((Boolean) value ? 1 : 0) << bitCount;
+						if (++bitCount == Byte.SIZE) {
+							page.write(bits);
+							bits = 0;
+							bitCount = 0;
+						}
+						break;
+					case INT32:
+						page.write(buffer.putInt(((Number) value).intValue()).array(), 0, Integer.BYTES);
+						break;
+					case INT64:
+						page.write(buffer.putLong(((Number) value).longValue()).array(), 0, Long.BYTES);
+						break;
+					case FLOAT:
+						page.write(buffer.putFloat((Float) value).array(), 0, Float.BYTES);
+						break;
+					case DOUBLE:
+						page.write(buffer.putDouble(((Number) value).doubleValue()).array(), 0, Double.BYTES);
+						break;
+					case STRING:
+						writeByteArray(((String) value).getBytes(StandardCharsets.UTF_8), buffer, page);
+						break;
+					case BINARY:
+						writeByteArray((byte[]) value, buffer, page);
+						break;
+					case DATE:
+						LocalDate date = value instanceof Date ? ((Date) value).toLocalDate() : (LocalDate) value;
+						page.write(buffer.putInt((int) date.toEpochDay()).array(), 0, Integer.BYTES);
+						break;
+					case DECIMAL:
+						writeDecimal(((BigDecimal) value).setScale(scale).unscaledValue(), page);
+						break;
+				}
+			}
+			if (bitCount > 0) {
+				page.write(bits);
+			}
+			return page.toByteArray();
+		}
+
+		/**
+		 * Writes the definition levels (1 for a value, 0 for a null) with the RLE encoding of Parquet, prefixed by their
+		 * length
+		 */
+		private void writeDefinitionLevels(List<Map<Integer, Object>> rows, ByteArrayOutputStream page) {
+			ByteArrayOutputStream levels = new ByteArrayOutputStream();
+			int run = 0;
+			boolean defined = false;
+			for (Map<Integer, Object> row : rows) {
+				boolean rowDefined = row.get(index) != null;
+				if (run > 0 && rowDefined != defined) {
+					writeRun(run, defined, levels);
+					run = 0;
+				}
+				defined = rowDefined;
+				run++;
+			}
+			writeRun(run, defined, levels);
+			page.write(ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(levels.size()).array(), 0, Integer.BYTES);
+			page.write(levels.toByteArray(), 0, levels.size());
+		}
+
+		private static void writeRun(int run, boolean defined, ByteArrayOutputStream levels) {
+			ThriftWriter.writeVarint(levels, (long) run << 1);
+			levels.write(defined ? 1 : 0);
+		}
+
+		private static void writeByteArray(byte[] value, ByteBuffer buffer, ByteArrayOutputStream page) {
+			page.write(buffer.putInt(value.length).array(), 0, Integer.BYTES);
+			page.write(value, 0, value.length);
+		}
+
+		/**
+		 * Writes the unscaled value in big-endian two's complement on {@link #DECIMAL_LENGTH} bytes
+		 */
+		private static void writeDecimal(BigInteger unscaled, ByteArrayOutputStream page) {
+			byte[] bytes = unscaled.toByteArray();
+			int padding = unscaled.signum() < 0 ? 0xFF : 0;
+			for (int i = bytes.length; i < DECIMAL_LENGTH; i++) {
+				page.write(padding);
+			}
+			page.write(bytes, 0, bytes.length);
+		}
+
+		private String name() {
+			return "c" + index;
+		}
+
+		private void writeSchema(ThriftWriter writer) {
+			writer.structBegin();
+			writer.i32(1, type.physicalType);
+			if (type == ColumnType.DECIMAL) {
+				writer.i32(2, DECIMAL_LENGTH);
+			}
+			writer.i32(3, OPTIONAL);
+			writer.string(4, name());
+			if (type.convertedType >= 0) {
+				writer.i32(6, type.convertedType);
+			}
+			if (type == ColumnType.DECIMAL) {
+				writer.i32(7, scale);
+				writer.i32(8, DECIMAL_PRECISION);
+			}
+			writer.structEnd();
+		}
+
+		private void writeChunk(ThriftWriter writer, int rowCount) {
+			writer.structBegin();
+			writer.i64(2, offset);
+			writer.structField(3);
+			writer.i32(1, type.physicalType);
+			writer.listBegin(2, ThriftWriter.I32, 2);
+			writer.listI32(PLAIN);
+			writer.listI32(RLE);
+			writer.listBegin(3, ThriftWriter.BINARY, 1);
+			writer.listString(name());
+			writer.i32(4, GZIP);
+			writer.i64(5, rowCount);
+			writer.i64(6, uncompressedSize);
+			writer.i64(7, compressedSize);
+			writer.i64(9, offset);
+			writer.structEnd();
+			writer.structEnd();
+		}
+	}
+
+	/**
+	 * Writes the metadata of the file with the Thrift compact protocol
+	 */
+	private static final class ThriftWriter {
+		private static final int BINARY = 8;
+		private static final int I32 = 5;
+		private static final int I64 = 6;
+		private static final int LIST = 9;
+		private static final int STRUCT = 12;
+
+		private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		private final Deque<Integer> parentFieldIds = new ArrayDeque<>();
+		private int lastFieldId;
+
+		private void structBegin() {
+			parentFieldIds.push(lastFieldId);
+			lastFieldId = 0;
+		}
+
+		private void structField(int id) {
+			fieldHeader(id, STRUCT);
+			structBegin();
+		}
+
+		private void structEnd() {
+			out.write(0);
+			lastFieldId = parentFieldIds.pop();
+		}
+
+		private void i32(int id, int value) {
+			fieldHeader(id, I32);
+			listI32(value);
+		}
+
+		private void i64(int id, long value) {
+			fieldHeader(id, I64);
+			writeVarint(out, (value << 1) ^ (value >> 63));
+		}
+
+		private void string(int id, String value) {
+			fieldHeader(id, BINARY);
+			listString(value);
+		}
+
+		private void listBegin(int id, int elementType, int size) {
+			fieldHeader(id, LIST);
+			if (size < 15) {
+				out.write(size << 4 | elementType);
+			} else {
+				out.write(0xF0 | elementType);
+				writeVarint(out, size);
+			}
+		}
+
+		private void listI32(int value) {
+			writeVarint(out, ((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL);
+		}
+
+		private void listString(String value) {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			writeVarint(out, bytes.length);
+			out.write(bytes, 0, bytes.length);
+		}
+
+		private void fieldHeader(int id, int type) {
+			// field ids always increase by less than 16 in the structures written here
+			out.write((id - lastFieldId) << 4 | type);
+			lastFieldId = id;
+		}
+
+		private int size() {
+			return out.size();
+		}
+
+		private void writeTo(ByteArrayOutputStream target) {
+			target.write(out.toByteArray(), 0, out.size());
+		}
+
+		private static void writeVarint(ByteArrayOutputStream target, long value) {
+			while ((value & ~0x7FL) != 0) {
+				target.write((int) ((value & 0x7F) | 0x80));
+				value >>>= 7;
+			}
+			target.write((int) value);
+		}
+	}
+}
@@ -21,7 +21,6 @@ import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.TimeZone;
 import java.util.stream.Stream;
@@ -51,12 +50,8 @@ public enum JavaTypeToFireboltSQLString {
 	OFFSET_DATE_TIME(OffsetDateTime.class, offsetDateTime -> SqlDateUtil.transformFromOffsetDateTimeToSQLStringFunction.apply((OffsetDateTime) offsetDateTime)),
 	BIG_DECIMAL(BigDecimal.class, value -> value == null ? BaseType.NULL_VALUE : ((BigDecimal) value).toPlainString()),
 	ARRAY(Array.class, SqlArrayUtil::arrayToString),
-	BYTE_ARRAY(byte[].class, value -> ofNullable(byteArrayToHexString((byte[])value, true)).map(x  -> format("E'%s'::BYTEA", x)).orElse(null));
+	BYTE_ARRAY(byte[].class, value -> ofNullable(byteArrayToHexString((byte[])value, true)).map(x  -> "E'" + x + "'::BYTEA").orElse(null));
 
-	private static final List<Entry<String, String>> legacyCharacterToEscapedCharacterPairs = List.of(
-			Map.entry("\0", "\\0"), Map.entry("\\", "\\\\"), Map.entry("'", "''"));
-	private static final List<Entry<String, String>> characterToEscapedCharacterPairs = List.of(
-			Map.entry("'", "''"));
 	//https://docs.oracle.com/javase/1.5.0/docs/guide/jdbc/getstart/mapping.html
 	private static final Map<JDBCType, List<Class<?>>> jdbcTypeToClass = Map.ofEntries(
 			Map.entry(JDBCType.CHAR, List.of(String.class)),
@@ -167,15 +162,58 @@ public enum JavaTypeToFireboltSQLString {
 
 	private static CheckedFunction<Object, String> getSQLStringValueOfString(ParserVersion version) {
 		return value -> {
-			String escaped = (String) value;
-			List<Entry<String, String>> charactersToEscape = version == ParserVersion.LEGACY ? legacyCharacterToEscapedCharacterPairs : characterToEscapedCharacterPairs;
-			for (Entry<String, String> specialCharacter : charactersToEscape) {
-				escaped = escaped.replace(specialCharacter.getKey(), specialCharacter.getValue());
-			}
-			return format("'%s'", escaped);
+			String string = (String) value;
+			return appendSQLString(new StringBuilder(string.length() + 8), string, version).toString();
 		};
 	}
 
+	/**
+	 * Appends the string as a quoted SQL literal, escaping its special characters in a single pass over the string
+	 *
+	 * @param sql the buffer to append to
+	 * @param value the string
+	 * @param version the parser version, the legacy parser escapes more characters
+	 * @return the buffer
+	 */
+	public static StringBuilder appendSQLString(StringBuilder sql, String value, ParserVersion version) {
+		sql.append('\'');
+		int copied = 0;
+		for (int i = 0; i < value.length(); i++) {
+			String escaped = escape(value.charAt(i), version);
+			if (escaped != null) {
+				sql.append(value, copied, i).append(escaped);
+				copied = i + 1;
+			}
+		}
+		return sql.append(value, copied, value.length()).append('\'');
+	}
+
+	private static String escape(char c, ParserVersion version) {
+		if (c == '\'') {
+			return "''";
+		}
+		if (version == ParserVersion.LEGACY) {
+			// the backslash of the escaped \0 is escaped as well
+			if (c == '\0') {
+				return "\\\\0";
+			} else if (c == '\\') {
+				return "\\\\";
+			}
+		}
+		return null;
+	}
+
+	public String transform(Object object) throws SQLException {
+		if (object == null) {
+			return NULL_VALUE;
+		}
+		try {
+			return transformToJavaTypeFunction.apply(object);
+		} catch (Exception e) {
+			throw new FireboltException("Could not convert object to a String ", e, TYPE_TRANSFORMATION_ERROR);
+		}
+	}
+
 	public String transform(Object object, Object ... more) throws SQLException {
 		if (object == null) {
 			return NULL_VALUE;
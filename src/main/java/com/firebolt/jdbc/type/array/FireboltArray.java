@@ -1,5 +1,7 @@
 package com.firebolt.jdbc.type.array;
 
+import com.firebolt.jdbc.CheckedSupplier;
+import com.firebolt.jdbc.GenericWrapper;
 import com.firebolt.jdbc.QueryResult;
 import com.firebolt.jdbc.exception.FireboltException;
 import com.firebolt.jdbc.resultset.FireboltResultSet;
@@ -10,6 +12,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.IntStream;
@@ -18,15 +21,40 @@ import static com.firebolt.jdbc.type.FireboltDataType.INTEGER;
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
 
-public class FireboltArray implements Array {
+public class FireboltArray implements Array, GenericWrapper {
 
 	private final FireboltDataType type;
 	private Object array;
+	private CheckedSupplier<Object> arrayDecoder;
+	private PrimitiveArray primitiveArray;
+	private CheckedSupplier<PrimitiveArray> primitiveArrayDecoder;
+	private final Class<?> primitiveArrayType;
+	private boolean freed;
 	private final List<QueryResult.Column> columns;
 
 	public FireboltArray(FireboltDataType type, Object array) {
+		this(type, array, null, null);
+	}
+
+	/**
+	 * Creates array which content is decoded on first access. Exactly one of the decoders is expected: the primitive
+	 * decoder is used for one-dimensional arrays of numbers and booleans, so they can also be unwrapped to the
+	 * primitive java array (e.g. {@code int[]}) and the {@link BitSet} of {@code NULL} elements.
+	 *
+	 * @param type - the type of the array elements
+	 * @param arrayDecoder - decoder of the array of objects
+	 * @param primitiveArrayDecoder - decoder of the primitive array
+	 */
+	FireboltArray(FireboltDataType type, CheckedSupplier<Object> arrayDecoder, CheckedSupplier<PrimitiveArray> primitiveArrayDecoder) {
+		this(type, null, arrayDecoder, primitiveArrayDecoder);
+	}
+
+	private FireboltArray(FireboltDataType type, Object array, CheckedSupplier<Object> arrayDecoder, CheckedSupplier<PrimitiveArray> primitiveArrayDecoder) {
 		this.type = type;
 		this.array = array;
+		this.arrayDecoder = arrayDecoder;
+		this.primitiveArrayDecoder = primitiveArrayDecoder;
+		this.primitiveArrayType = primitiveArrayDecoder == null ? null : PrimitiveArray.getPrimitiveArrayType(type);
 		columns = Arrays.asList(
 				QueryResult.Column.builder().name("INDEX").type(INTEGER).build(),
 				QueryResult.Column.builder().name("VALUE").type(type).build());
@@ -44,12 +72,63 @@ public class FireboltArray implements Array {
 
 	@Override
 	public Object getArray() throws SQLException {
+		return array();
+	}
+
+	private Object array() throws SQLException {
+		if (freed) {
+			throw new SQLException("Cannot call method getArray() after calling free()");
+		}
+		if (array == null) {
+			if (primitiveArrayType != null) {
+				array = primitiveArray().toBoxedArray();
+			} else if (arrayDecoder != null) {
+				array = arrayDecoder.get();
+				arrayDecoder = null;
+			}
+		}
 		if (array == null) {
 			throw new SQLException("Cannot call method getArray() after calling free()");
 		}
 		return array;
 	}
 
+	private PrimitiveArray primitiveArray() throws SQLException {
+		if (freed) {
+			throw new SQLException("Cannot call method getArray() after calling free()");
+		}
+		if (primitiveArray == null) {
+			primitiveArray = primitiveArrayDecoder.get();
+			primitiveArrayDecoder = null;
+		}
+		return primitiveArray;
+	}
+
+	/**
+	 * Besides of the interfaces implemented by this class one-dimensional arrays of {@code INT}, {@code BIGINT},
+	 * {@code REAL}, {@code DOUBLE} and {@code BOOLEAN} returned by a result set can be unwrapped to the primitive
+	 * java array ({@code int[]}, {@code long[]}, {@code float[]}, {@code double[]} or {@code boolean[]}) and to
+	 * the {@link BitSet} where bits of {@code NULL} elements are set. Values of {@code NULL} elements in the primitive
+	 * array are {@code 0} or {@code false}. The returned objects are shared, so they should not be modified.
+	 */
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		if (primitiveArrayType != null && isPrimitiveWrapperFor(iface)) {
+			PrimitiveArray values = primitiveArray();
+			return iface.cast(iface == BitSet.class ? values.getNulls() : values.getValues());
+		}
+		return GenericWrapper.super.unwrap(iface);
+	}
+
+	@Override
+	public boolean isWrapperFor(Class<?> iface) {
+		return (primitiveArrayType != null && isPrimitiveWrapperFor(iface)) || GenericWrapper.super.isWrapperFor(iface);
+	}
+
+	private boolean isPrimitiveWrapperFor(Class<?> iface) {
+		return iface == primitiveArrayType || iface == BitSet.class;
+	}
+
 	@Override
 	public Object getArray(Map<String, Class<?>> map) throws SQLException {
 		return getArray(1, Integer.MAX_VALUE, map);
@@ -57,7 +136,11 @@ public class FireboltArray implements Array {
 
 	@Override
 	public void free() {
+		freed = true;
 		array = null;
+		arrayDecoder = null;
+		primitiveArray = null;
+		primitiveArrayDecoder = null;
 	}
 
 	@Override
@@ -67,20 +150,18 @@ public class FireboltArray implements Array {
 
 	@Override
 	public Object getArray(long index, int count, Map<String, Class<?>> map) throws SQLException {
-		if (array == null) {
-			throw new SQLException("Cannot call method getArray() after calling free()");
-		}
+		Object elements = array();
 		if (map != null && !map.isEmpty()) {
 			throw new SQLFeatureNotSupportedException("Maps are not supported with Arrays");
 		}
 		if (index < 1) {
 			throw new FireboltException(format("The array index is out of range: %d", index));
 		}
-		int length = java.lang.reflect.Array.getLength(array);
+		int length = java.lang.reflect.Array.getLength(elements);
 		int from = (int)(index - 1);
 		int to = Math.min(from + count, length);
 		int maxCount = length - from;
-		return index == 1 && count >= maxCount ? array : Arrays.copyOfRange((Object[])array, from, to);
+		return index == 1 && count >= maxCount ? elements : Arrays.copyOfRange((Object[])elements, from, to);
 	}
 
 	@Override
@@ -0,0 +1,195 @@
+package com.firebolt.jdbc.type.array;
+
+import com.firebolt.jdbc.type.BaseType;
+import com.firebolt.jdbc.type.FireboltDataType;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+
+/**
+ * One-dimensional array of numeric or boolean values decoded into a primitive java array. {@code NULL} elements are
+ * stored as {@code 0} (or {@code false}) in the values array and marked in the {@link #getNulls() null bitmap}.
+ */
+final class PrimitiveArray {
+	private static final Map<BaseType, Class<?>> PRIMITIVE_ARRAY_TYPES = Map.of(
+			BaseType.INTEGER, int[].class,
+			BaseType.LONG, long[].class,
+			BaseType.DOUBLE, double[].class,
+			BaseType.REAL, float[].class,
+			BaseType.BOOLEAN, boolean[].class
+	);
+
+	private final FireboltDataType type;
+	private final Object values;
+	private final BitSet nulls;
+
+	private PrimitiveArray(FireboltDataType type, Object values, BitSet nulls) {
+		this.type = type;
+		this.values = values;
+		this.nulls = nulls;
+	}
+
+	/**
+	 * Returns the class of the primitive array used to hold values of the given type or {@code null} if the type
+	 * cannot be represented by a primitive array.
+	 */
+	static Class<?> getPrimitiveArrayType(FireboltDataType type) {
+		return PRIMITIVE_ARRAY_TYPES.get(type.getBaseType());
+	}
+
+	/**
+	 * Decodes the comma separated elements found in {@code content} between {@code from} (inclusive) and {@code to}
+	 * (exclusive). The content must not contain the array brackets.
+	 */
+	static PrimitiveArray parse(FireboltDataType type, String content, int from, int to, char quote) throws SQLException {
+		BaseType baseType = type.getBaseType();
+		int capacity = 1;
+		for (int i = from; i < to; i++) {
+			if (content.charAt(i) == ',') {
+				capacity++;
+			}
+		}
+		Object values = java.lang.reflect.Array.newInstance(PRIMITIVE_ARRAY_TYPES.get(baseType).getComponentType(), capacity);
+		BitSet nulls = new BitSet();
+		int length = 0;
+		for (int start = from; start <= to; ) {
+			int end = content.indexOf(',', start);
+			if (end < 0 || end > to) {
+				end = to;
+			}
+			int elementStart = start;
+			int elementEnd = end;
+			start = end + 1;
+			if (elementStart == elementEnd) {
+				continue; // empty elements are skipped exactly as in the generic array parser
+			}
+			if (elementEnd - elementStart >= 2 && content.charAt(elementStart) == quote && content.charAt(elementEnd - 1) == quote) {
+				elementStart++;
+				elementEnd--;
+			}
+			if (isNull(content, elementStart, elementEnd)) {
+				nulls.set(length++);
+				continue;
+			}
+			setValue(baseType, values, length++, content, elementStart, elementEnd);
+		}
+		if (length < capacity) {
+			values = copyOf(values, length);
+		}
+		return new PrimitiveArray(type, values, nulls);
+	}
+
+	private static boolean isNull(String content, int from, int to) {
+		int length = to - from;
+		return (length == 4 && content.startsWith("NULL", from)) || (length == 2 && content.startsWith("\\N", from));
+	}
+
+	private static void setValue(BaseType baseType, Object values, int index, String content, int from, int to) throws SQLException {
+		if (baseType == BaseType.INTEGER) {
+			((int[]) values)[index] = parseInt(content, from, to);
+		} else if (baseType == BaseType.LONG) {
+			((long[]) values)[index] = parseLong(content, from, to);
+		} else if (baseType == BaseType.DOUBLE) {
+			((double[]) values)[index] = parseDouble(content, from, to);
+		} else if (baseType == BaseType.REAL) {
+			((float[]) values)[index] = parseFloat(content, from, to);
+		} else {
+			((boolean[]) values)[index] = parseBoolean(content, from, to);
+		}
+	}
+
+	private static int parseInt(String content, int from, int to) throws SQLException {
+		try {
+			return Integer.parseInt(content, from, to, 10);
+		} catch (NumberFormatException e) {
+			// unusual representation (e.g. surrounding spaces): let the generic transformation deal with it
+			return BaseType.INTEGER.<Integer>transform(content.substring(from, to));
+		}
+	}
+
+	private static long parseLong(String content, int from, int to) throws SQLException {
+		try {
+			return Long.parseLong(content, from, to, 10);
+		} catch (NumberFormatException e) {
+			return BaseType.LONG.<Long>transform(content.substring(from, to));
+		}
+	}
+
+	private static double parseDouble(String content, int from, int to) throws SQLException {
+		String value = content.substring(from, to);
+		try {
+			return Double.parseDouble(value);
+		} catch (NumberFormatException e) {
+			// special values like nan or inf
+			return BaseType.DOUBLE.<Double>transform(value);
+		}
+	}
+
+	private static float parseFloat(String content, int from, int to) throws SQLException {
+		String value = content.substring(from, to);
+		try {
+			return Float.parseFloat(value);
+		} catch (NumberFormatException e) {
+			return BaseType.REAL.<Float>transform(value);
+		}
+	}
+
+	private static boolean parseBoolean(String content, int from, int to) throws SQLException {
+		if (to - from == 1) {
+			switch (content.charAt(from)) {
+				case '1': case 't': case 'T':
+					return true;
+				case '0': case 'f': case 'F':
+					return false;
+				default:
+					break;
+			}
+		}
+		return BaseType.BOOLEAN.<Boolean>transform(content.substring(from, to));
+	}
+
+	private static Object copyOf(Object values, int length) {
+		if (values instanceof int[]) {
+			return Arrays.copyOf((int[]) values, length);
+		}
+		if (values instanceof long[]) {
+			return Arrays.copyOf((long[]) values, length);
+		}
+		if (values instanceof double[]) {
+			return Arrays.copyOf((double[]) values, length);
+		}
+		if (values instanceof float[]) {
+			return Arrays.copyOf((float[]) values, length);
+		}
+		return Arrays.copyOf((boolean[]) values, length);
+	}
+
+	Object getValues() {
+		return values;
+	}
+
+	BitSet getNulls() {
+		return nulls;
+	}
+
+	int getLength() {
+		return java.lang.reflect.Array.getLength(values);
+	}
+
+	/**
+	 * Creates the array of boxed values (e.g. {@code Integer[]}) with {@code null} elements restored from the null
+	 * bitmap. This is the representation returned by {@link java.sql.Array#getArray()}.
+	 */
+	Object[] toBoxedArray() {
+		int length = getLength();
+		Object[] boxed = (Object[]) java.lang.reflect.Array.newInstance(type.getBaseType().getType(), length);
+		for (int i = 0; i < length; i++) {
+			if (!nulls.get(i)) {
+				boxed[i] = java.lang.reflect.Array.get(values, i);
+			}
+		}
+		return boxed;
+	}
+}
@@ -5,12 +5,16 @@ import com.firebolt.jdbc.resultset.column.ColumnType;
 import com.firebolt.jdbc.type.FireboltDataType;
 import com.firebolt.jdbc.type.JavaTypeToFireboltSQLString;
 import com.firebolt.jdbc.util.StringUtil;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Array;
 import java.nio.ByteBuffer;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
 import lombok.CustomLog;
@@ -23,6 +27,7 @@ import static java.util.stream.Collectors.toList;
 
 @CustomLog
 public class SqlArrayUtil {
+	private static final byte[] HEX_DIGITS = createHexDigitsTable();
 	private static final Map<Character, Markers> formatMarkers = Map.of(
 			'[', new Markers('[', ']', '\'', '\''),
 			'{', new Markers('{', '}', '"', '\'')
@@ -60,8 +65,15 @@ public class SqlArrayUtil {
 		SqlArrayUtil parser = new SqlArrayUtil(columnType,
 				ofNullable(formatMarkers.get(value.charAt(0))).orElseThrow(() -> new IllegalArgumentException("Wrong format"))
 		);
-		Object arr = parser.createArray(value, dimensions);
-		return arr == null ? null : new FireboltArray(columnType.getArrayBaseColumnType().getDataType(), arr);
+		if (value.length() <= "NULL".length() + 2 && isNullValue(parser.stripBrackets(value))) {
+			return null;
+		}
+		// The elements are decoded only when the array content is requested for the first time
+		FireboltDataType arrayBaseType = columnType.getArrayBaseColumnType().getDataType();
+		if (dimensions == 1 && PrimitiveArray.getPrimitiveArrayType(arrayBaseType) != null) {
+			return new FireboltArray(arrayBaseType, null, () -> parser.extractPrimitiveArray(value));
+		}
+		return new FireboltArray(arrayBaseType, () -> parser.createArray(value, dimensions), null);
 	}
 
 	private static int getDimensions(ColumnType columnType) {
@@ -73,10 +85,20 @@ public class SqlArrayUtil {
 	}
 
 	private Object createArray(String arrayContent, int dimension) throws SQLException {
+		return extractArray(stripBrackets(arrayContent), dimension);
+	}
+
+	private String stripBrackets(String arrayContent) {
 		int from = arrayContent.charAt(0) == markers.leftArrayBracket ? 1 : 0;
 		int to = arrayContent.charAt(arrayContent.length() - 1) == markers.rightArrayBracket ? arrayContent.length() - 1 : arrayContent.length();
-		arrayContent = arrayContent.substring(from, to);
-		return extractArray(arrayContent, dimension);
+		return arrayContent.substring(from, to);
+	}
+
+	private PrimitiveArray extractPrimitiveArray(String value) throws SQLException {
+		// parses the elements in place, so the brackets are skipped rather than stripped by copying the content
+		int from = value.charAt(0) == markers.leftArrayBracket ? 1 : 0;
+		int to = value.charAt(value.length() - 1) == markers.rightArrayBracket ? value.length() - 1 : value.length();
+		return PrimitiveArray.parse(columnType.getArrayBaseColumnType().getDataType(), value, from, to, markers.literalQuote);
 	}
 
 	private Object extractArray(String arrayContent, int dimension) throws SQLException {
@@ -100,6 +122,9 @@ public class SqlArrayUtil {
 
 	private Object extractArrayFromOneDimensionalArray(String arrayContent) throws SQLException {
 		FireboltDataType arrayBaseType = columnType.getArrayBaseColumnType().getDataType();
+		if (PrimitiveArray.getPrimitiveArrayType(arrayBaseType) != null) {
+			return PrimitiveArray.parse(arrayBaseType, arrayContent, 0, arrayContent.length(), markers.literalQuote).toBoxedArray();
+		}
 		@SuppressWarnings("java:S6204") // JDK 11 compatible
 		List<String> elements = splitArrayContent(arrayContent, arrayBaseType, markers.literalQuote)
 				.stream().filter(s -> s != null && !s.isEmpty()).map(x -> removeQuotesAndTransformNull(x, markers.literalQuote))
@@ -277,24 +302,157 @@ public class SqlArrayUtil {
 		if (str == null) {
 			return null;
 		}
-		if (!str.startsWith(BYTEA_PREFIX) && !str.startsWith(BYTEA_IN_ARRAY_PREFIX)) {
-			throw new FireboltException("Cannot convert binary string in non-hex format to byte array");
+		int from = getHexDigitsStart(str);
+		int length = getDecodedLength(str, from);
+		byte[] bytes = new byte[length];
+		for (int i = 0, j = from; i < length; i++, j += 2) {
+			bytes[i] = (byte) ((hexDigit(str.charAt(j)) << 4) + hexDigit(str.charAt(j + 1)));
+		}
+		return bytes;
+	}
+
+	/**
+	 * Creates stream that decodes the given hexadecimal string prepended by marker {@code \x} while it is being read,
+	 * so the decoded value is never held in memory as a whole.
+	 *
+	 * @param str - the hexadecimal string
+	 * @return stream of decoded bytes or {@code null} if the given string is {@code null}
+	 * @throws SQLException if the string is not in hex format
+	 */
+	public static InputStream hexStringToInputStream(String str) throws SQLException {
+		if (str == null) {
+			return null;
+		}
+		int from = getHexDigitsStart(str);
+		return new HexInputStream(str, from, from + getDecodedLength(str, from) * 2);
+	}
+
+	/**
+	 * Returns the number of bytes the given hexadecimal string prepended by marker {@code \x} decodes to, without
+	 * decoding it.
+	 *
+	 * @param str - the hexadecimal string
+	 * @return the number of decoded bytes
+	 * @throws SQLException if the string is not in hex format
+	 */
+	public static int hexStringDecodedLength(@NonNull String str) throws SQLException {
+		return getDecodedLength(str, getHexDigitsStart(str));
+	}
+
+	private static int getHexDigitsStart(String str) throws SQLException {
+		if (str.startsWith(BYTEA_PREFIX)) {
+			return BYTEA_PREFIX.length();
+		}
+		if (str.startsWith(BYTEA_IN_ARRAY_PREFIX)) {
+			return BYTEA_IN_ARRAY_PREFIX.length();
 		}
+		throw new FireboltException("Cannot convert binary string in non-hex format to byte array");
+	}
 
-		int prefixLength = str.startsWith(BYTEA_PREFIX) ? BYTEA_PREFIX.length() : BYTEA_IN_ARRAY_PREFIX.length();
-		char[] chars = str.substring(prefixLength).toCharArray();
-		byte[] bytes = new byte[chars.length / 2];
-		for (int i = 0; i < chars.length; i += 2) {
-			bytes[i / 2] = (byte) ((hexDigit(chars[i]) << 4) + hexDigit(chars[i + 1]));
+	private static int getDecodedLength(String str, int from) {
+		int digits = str.length() - from;
+		if (digits % 2 != 0) {
+			throw new IllegalArgumentException("Odd number of characters in hex string");
 		}
-		return bytes;
+		return digits / 2;
 	}
 
 	private static int hexDigit(char c) {
-		int d = Character.digit(c, 16);
+		int d = c < HEX_DIGITS.length ? HEX_DIGITS[c] : -1;
 		if (d < 0) {
 			throw new IllegalArgumentException(format("Illegal character %s in hex string", c));
 		}
 		return d;
 	}
+
+	private static byte[] createHexDigitsTable() {
+		byte[] table = new byte['f' + 1];
+		Arrays.fill(table, (byte) -1);
+		for (char c = '0'; c <= '9'; c++) {
+			table[c] = (byte) (c - '0');
+		}
+		for (char c = 'a'; c <= 'f'; c++) {
+			table[c] = (byte) (c - 'a' + 10);
+			table[Character.toUpperCase(c)] = (byte) (c - 'a' + 10);
+		}
+		return table;
+	}
+
+	/**
+	 * Decodes pairs of hexadecimal digits found in the given range of a string on the fly.
+	 */
+	private static final class HexInputStream extends InputStream {
+		private final String str;
+		private final int to;
+		private int position;
+		private int mark;
+
+		private HexInputStream(String str, int from, int to) {
+			this.str = str;
+			this.to = to;
+			this.position = from;
+			this.mark = from;
+		}
+
+		@Override
+		public int read() throws IOException {
+			if (position >= to) {
+				return -1;
+			}
+			int b = decode(position);
+			position += 2;
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			Objects.checkFromIndexSize(off, len, b.length);
+			if (len == 0) {
+				return 0;
+			}
+			int n = Math.min(len, available());
+			if (n == 0) {
+				return -1;
+			}
+			for (int i = 0; i < n; i++, position += 2) {
+				b[off + i] = (byte) decode(position);
+			}
+			return n;
+		}
+
+		@Override
+		public long skip(long n) {
+			long skipped = Math.max(0, Math.min(n, available()));
+			position += (int) skipped * 2;
+			return skipped;
+		}
+
+		@Override
+		public int available() {
+			return (to - position) / 2;
+		}
+
+		@Override
+		public boolean markSupported() {
+			return true;
+		}
+
+		@Override
+		public synchronized void mark(int readLimit) {
+			mark = position;
+		}
+
+		@Override
+		public synchronized void reset() {
+			position = mark;
+		}
+
+		private int decode(int index) throws IOException {
+			try {
+				return (hexDigit(str.charAt(index)) << 4) + hexDigit(str.charAt(index + 1));
+			} catch (IllegalArgumentException e) {
+				throw new IOException(e.getMessage(), e);
+			}
+		}
+	}
 }
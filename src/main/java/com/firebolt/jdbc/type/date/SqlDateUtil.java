@@ -28,27 +28,27 @@ public class SqlDateUtil {
 			.appendPattern("[XXX]")
 			.appendPattern("[X]").toFormatter();
 
-	public static final Function<LocalDateTime, String> transformFromLocalDateTimeToSQLStringFunction = value -> String
-			.format("'%s'", dateTimeFormatter.format(value));
+	public static final Function<LocalDateTime, String> transformFromLocalDateTimeToSQLStringFunction = value -> "'"
+			+ dateTimeFormatter.format(value) + "'";
 	public static final Function<OffsetDateTime, String> transformFromOffsetDateTimeToSQLStringFunction = offsetDateTime ->
-			String.format("'%s'", offsetDateTime.toString());
+			"'" + offsetDateTime + "'";
 	public static final Function<Timestamp, String> transformFromTimestampToSQLStringFunction = value ->
 			transformFromLocalDateTimeToSQLStringFunction.apply(value.toLocalDateTime());
 	public static final BiFunction<Timestamp, TimeZone, String> transformFromTimestampWithTimezoneToStringFunction =
 			(ts, tz) -> dateTimeFormatter.format(ts.toInstant().atZone(tz.toZoneId()).toLocalDateTime());
-	public static final BiFunction<Timestamp, TimeZone, String> transformFromTimestampWithTimezoneToSQLStringFunction = (ts, tz) -> String
-			.format("'%s'", transformFromTimestampWithTimezoneToStringFunction.apply(ts, tz));
+	public static final BiFunction<Timestamp, TimeZone, String> transformFromTimestampWithTimezoneToSQLStringFunction = (ts, tz) -> "'"
+			+ transformFromTimestampWithTimezoneToStringFunction.apply(ts, tz) + "'";
 	private static final TimeZone DEFAULT_SERVER_TZ = TimeZone.getTimeZone("UTC");
 	private static final DateTimeFormatter dateFormatter = new DateTimeFormatterBuilder()
 			.appendValue(ChronoField.YEAR, 4).parseDefaulting(ChronoField.YEAR, 0).appendPattern("[-]MM-dd")
 			.toFormatter();
-	public static final Function<LocalDate, String> transformFromLocalDateToSQLStringFunction = value -> String.format("'%s'",
-			dateFormatter.format(value));
+	public static final Function<LocalDate, String> transformFromLocalDateToSQLStringFunction = value -> "'"
+			+ dateFormatter.format(value) + "'";
 	public static final Function<Date, String> transformFromDateToSQLStringFunction = value -> transformFromLocalDateToSQLStringFunction.apply(value.toLocalDate());
 	public static final BiFunction<Date, TimeZone, String> transformFromDateWithTimezoneToStringFunction =
 			(date, tz) -> dateFormatter.format(Instant.ofEpochMilli(date.getTime()).atZone(tz.toZoneId()).toLocalDateTime());
-	public static final BiFunction<Date, TimeZone, String> transformFromDateWithTimezoneToSQLStringFunction = (date, tz) -> String.format("'%s'",
-			transformFromDateWithTimezoneToStringFunction.apply(date, tz));
+	public static final BiFunction<Date, TimeZone, String> transformFromDateWithTimezoneToSQLStringFunction = (date, tz) -> "'"
+			+ transformFromDateWithTimezoneToStringFunction.apply(date, tz) + "'";
 	public static final CheckedBiFunction<String, TimeZone, Timestamp> transformToTimestampFunction = TimestampUtil::toTimestamp;
 
 	public static final Function<Timestamp, OffsetDateTime> transformFromTimestampToOffsetDateTime = timestamp -> {
@@ -59,8 +59,15 @@ public class SqlDateUtil {
 		return timestamp.toLocalDateTime().atOffset(offsetDateTime.getOffset());
 	};
 
-	public static final CheckedBiFunction<String, TimeZone, Date> transformToDateFunction = (value,
-			fromTimeZone) -> TimestampUtil.convertToDate(TimestampUtil.toTimestamp(value, fromTimeZone).getTime(), fromTimeZone);
+	public static final CheckedBiFunction<String, TimeZone, Date> transformToDateFunction = TimestampUtil::toDate;
 
 	public static final CheckedBiFunction<String, TimeZone, Time> transformToTimeFunction = TimestampUtil::toTime;
+
+	public static final CheckedBiFunction<String, TimeZone, LocalDate> transformToLocalDateFunction = TimestampUtil::toLocalDate;
+
+	public static final CheckedBiFunction<String, TimeZone, LocalDateTime> transformToLocalDateTimeFunction = TimestampUtil::toLocalDateTime;
+
+	public static final CheckedBiFunction<String, TimeZone, OffsetDateTime> transformToOffsetDateTimeFunction = TimestampUtil::toOffsetDateTime;
+
+	public static final CheckedBiFunction<String, TimeZone, Instant> transformToInstantFunction = TimestampUtil::toInstant;
 }
@@ -32,6 +32,7 @@
  *  - Type specification in the map constructor with the diamond operator
  *  - Adding final keyword for constants
  *  - Replacing isSpace() with isWhiteSpaced()
+ *  - Replaced the shared Calendar instances with java.time zone rules and parsing from a char range
  */
 
 /*
@@ -63,91 +64,52 @@
  */
 package com.firebolt.jdbc.type.date;
 
-import java.lang.reflect.Field;
 import java.sql.Date;
 import java.sql.SQLException;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
 import java.time.ZoneOffset;
-import java.util.*;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.Nullable;
 
-import com.firebolt.jdbc.JavaVersion;
 import com.firebolt.jdbc.exception.FireboltException;
 
 import lombok.experimental.UtilityClass;
 
+/**
+ * Converts the text representation of dates, times and timestamps returned by the server to the java.sql types.
+ * <p>
+ * The conversions only rely on immutable {@link ZoneRules} (cached per time zone id), so they can be called
+ * concurrently without any locking. Values are read straight from a range of the field and the result of the
+ * conversion is the only object that is allocated in the common case.
+ * <p>
+ * The produced values are compatible with {@link java.util.GregorianCalendar}: dates before the Gregorian
+ * cutover (1582-10-15) are interpreted as Julian dates, like the JDBC types do.
+ */
 @UtilityClass
 public class TimestampUtil {
 
-	private static final char[][] NUMBERS;
-	private static final HashMap<String, TimeZone> GMT_ZONES = new HashMap<>();
 	private static final long DATE_POSITIVE_INFINITY = 9223372036825200000L;
 	private static final long DATE_NEGATIVE_INFINITY = -9223372036832400000L;
-	private static final @Nullable Field DEFAULT_TIME_ZONE_FIELD;
 	private static final int ONEDAY = 24 * 3600 * 1000;
-	private static @Nullable TimeZone prevDefaultZoneFieldValue;
-	private static @Nullable TimeZone defaultTimeZoneCache;
-	// This calendar is used when user provides calendar in setX(, Calendar) method.
-	// It ensures calendar is Gregorian.
-	private static final Calendar calendarWithUserTz = new GregorianCalendar();
-	private static @Nullable Calendar calCache;
-	private static @Nullable ZoneOffset calCacheZone;
-
-	static {
-		// The expected maximum value is 60 (seconds), so 64 is used "just in case"
-		NUMBERS = new char[64][];
-		for (int i = 0; i < NUMBERS.length; i++) {
-			NUMBERS[i] = ((i < 10 ? "0" : "") + Integer.toString(i)).toCharArray();
-		}
-
-		// Backend's gmt-3 means GMT+03 in Java. Here a map is created so gmt-3 can be
-		// converted to
-		// java TimeZone
-		for (int i = -12; i <= 14; i++) {
-			TimeZone timeZone;
-			String pgZoneName;
-			if (i == 0) {
-				timeZone = TimeZone.getTimeZone("GMT");
-				pgZoneName = "GMT";
-			} else {
-				timeZone = TimeZone.getTimeZone("GMT" + (i <= 0 ? "+" : "-") + Math.abs(i));
-				pgZoneName = "GMT" + (i >= 0 ? "+" : "-");
-			}
-
-			if (i == 0) {
-				GMT_ZONES.put(pgZoneName, timeZone);
-				continue;
-			}
-			GMT_ZONES.put(pgZoneName + Math.abs(i), timeZone);
-			GMT_ZONES.put(pgZoneName + new String(NUMBERS[Math.abs(i)]), timeZone);
-		}
-		// Fast path to getting the default timezone.
-		// Accessing the default timezone over and over creates a clone with regular
-		// API.
-		// Because we don't mutate that object in our use of it, we can access the field
-		// directly.
-		// This saves the creation of a clone everytime, and the memory associated to
-		// all these clones.
-		Field tzField;
-		try {
-			tzField = null;
-			// Avoid reflective access in Java 9+
-			if (JavaVersion.getRuntimeVersion().compareTo(JavaVersion.V1_8) <= 0) {
-				tzField = TimeZone.class.getDeclaredField("defaultTimeZone");
-				tzField.setAccessible(true);
-				TimeZone defaultTz = getDefaultTz();
-				Object tzFromField = tzField.get(null);
-				if (defaultTz == null || !defaultTz.equals(tzFromField)) {
-					tzField = null;
-				}
-			}
-		} catch (Exception e) {
-			tzField = null;
-		}
-		DEFAULT_TIME_ZONE_FIELD = tzField;
-	}
+	private static final int SECONDS_PER_DAY = 24 * 3600;
+	private static final long DAYS_0000_TO_1970 = 719528L;
+	private static final long JULIAN_DAY_OF_EPOCH = 2440588L;
+	// 1900-01-01T00:00:00Z, before that instant java.util.TimeZone only uses the raw offset of a zone
+	private static final long FIRST_TRANSITION_EPOCH_SECOND = -2208988800L;
+	private static final Map<String, ZoneRulesCache> ZONE_RULES = new ConcurrentHashMap<>();
 
 	/**
 	 * Extracts the date part from a timestamp.
@@ -157,42 +119,43 @@ public class TimestampUtil {
 	 * @return The extracted date.
 	 */
 	public static Date convertToDate(long millis, @Nullable TimeZone tz) {
-
 		// no adjustments for the inifity hack values
 		if (millis <= DATE_NEGATIVE_INFINITY || millis >= DATE_POSITIVE_INFINITY) {
 			return new Date(millis);
 		}
-		if (tz == null) {
-			tz = getDefaultTz();
-		}
-		if (isSimpleTimeZone(tz.getID())) {
-			// Truncate to 00:00 of the day.
-			// Suppose the input date is 7 Jan 15:40 GMT+02:00 (that is 13:40 UTC)
-			// We want it to become 7 Jan 00:00 GMT+02:00
-			// 1) Make sure millis becomes 15:40 in UTC, so add offset
-			int offset = tz.getRawOffset();
-			millis += offset;
-			// 2) Truncate hours, minutes, etc. Day is always 86400 seconds, no matter what
-			// leap seconds
-			// are
-			millis = floorDiv(millis, ONEDAY) * ONEDAY;
-			// 2) Now millis is 7 Jan 00:00 UTC, however we need that in GMT+02:00, so
-			// subtract some
-			// offset
-			millis -= offset;
-			// Now we have brand-new 7 Jan 00:00 GMT+02:00
-			return new Date(millis);
+		ZoneRulesCache zone = getRules(tz);
+		// Truncate to 00:00 of the day in the given time zone.
+		// Suppose the input date is 7 Jan 15:40 GMT+02:00 (that is 13:40 UTC)
+		// 1) Make sure millis becomes 15:40 in UTC, so add offset
+		// 2) Truncate hours, minutes, etc. Day is always 86400 seconds, no matter what leap seconds are
+		// 3) Now millis is 7 Jan 00:00 UTC, however we need that in GMT+02:00, so subtract the offset of that moment
+		long localMillis = millis + getOffsetSeconds(zone, millis) * 1000L;
+		long localMidnightSeconds = Math.floorDiv(localMillis, ONEDAY) * SECONDS_PER_DAY;
+		return new Date((localMidnightSeconds - getLocalOffsetSeconds(zone, localMidnightSeconds)) * 1000L);
+	}
+
+	/**
+	 * Parse a string and return a date representing its value.
+	 *
+	 * @param s  The ISO formated date or timestamp string to parse.
+	 * @param tz timezone
+	 * @return null if s is null or a date of the parsed string s.
+	 * @throws SQLException if there is a problem parsing s.
+	 */
+	public static Date toDate(String s, @Nullable TimeZone tz) throws SQLException {
+		if (s == null) {
+			return null;
+		}
+		Long infinity = getInfinity(s, 0, s.length());
+		if (infinity != null) {
+			return new Date(infinity);
 		}
-		synchronized (calendarWithUserTz) {
-			Calendar cal = calendarWithUserTz;
-			cal.setTimeZone(tz);
-			cal.setTimeInMillis(millis);
-			cal.set(Calendar.HOUR_OF_DAY, 0);
-			cal.set(Calendar.MINUTE, 0);
-			cal.set(Calendar.SECOND, 0);
-			cal.set(Calendar.MILLISECOND, 0);
-			return new Date(cal.getTimeInMillis());
+		ParsedTimestamp ts = parseBackendTimestamp(s, 0, s.length());
+		if (ts.hasOffset) {
+			return convertToDate(toEpochMillis(ts, null), tz);
 		}
+		long localMidnightSeconds = ts.getEpochDay() * SECONDS_PER_DAY;
+		return new Date((localMidnightSeconds - getLocalOffsetSeconds(getRules(tz), localMidnightSeconds)) * 1000L);
 	}
 
 	/**
@@ -204,58 +167,26 @@ public class TimestampUtil {
 	 * @throws SQLException if there is a problem parsing s.
 	 */
 	public static Time toTime(String s, TimeZone tz) throws SQLException {
-		// 1) Parse backend string
 		if (s == null) {
 			return null;
 		}
-		ParsedTimestamp ts = parseBackendTimestamp(s);
-		long timeMillis;
-
-		Calendar calendar = ts.hasOffset ? getCalendar(ts.offset) : calendarWithUserTz;
-		synchronized (calendar) {
-			if (!ts.hasOffset) {
-				if (tz == null) {
-					tz = getDefaultTz();
-				}
-				// When no time zone provided (e.g. time or timestamp)
-				// We get the year-month-day from the string, then truncate the day to
-				// 1970-01-01
-				// This is used for timestamp -> time conversion
-				// Note: this cannot be merged with "else" branch since
-				// timestamps at which the time flips to/from DST depend on the date
-				// For instance, 2000-03-26 02:00:00 is invalid timestamp in Europe/Moscow time
-				// zone
-				// and the valid one is 2000-03-26 03:00:00. That is why we parse full timestamp
-				// then set year to 1970 later
-				calendar.setTimeZone(tz);
-				calendar.set(Calendar.ERA, ts.era);
-				calendar.set(Calendar.YEAR, ts.year);
-				calendar.set(Calendar.MONTH, ts.month - 1);
-				calendar.set(Calendar.DAY_OF_MONTH, ts.day);
-			} else {
-				// When time zone is given, we just pick the time part and assume date to be
-				// 1970-01-01
-				// this is used for time, timez, and timestamptz parsing
-				calendar.set(Calendar.ERA, GregorianCalendar.AD);
-				calendar.set(Calendar.YEAR, 1970);
-				calendar.set(Calendar.MONTH, Calendar.JANUARY);
-				calendar.set(Calendar.DAY_OF_MONTH, 1);
-			}
-			calendar.set(Calendar.HOUR_OF_DAY, ts.hour);
-			calendar.set(Calendar.MINUTE, ts.minute);
-			calendar.set(Calendar.SECOND, ts.second);
-			calendar.set(Calendar.MILLISECOND, 0);
-
-			timeMillis = calendar.getTimeInMillis() + ts.nanos / 1000000;
-
-			if (ts.hasOffset || (ts.year == 1970 && ts.era == GregorianCalendar.AD)) {
-				// time with time zone has proper time zone, so the value can be returned as is
-				return new Time(timeMillis);
-			}
-			// 2) Truncate date part so in given time zone the date would be formatted as
-			// 01/01/1970
-			return convertToTime(timeMillis, calendar.getTimeZone());
+		ParsedTimestamp ts = parseBackendTimestamp(s, 0, s.length());
+		if (ts.hasOffset) {
+			// When time zone is given, we just pick the time part and assume date to be 1970-01-01
+			// this is used for time, timez, and timestamptz parsing
+			return new Time((ts.getSecondOfDay() - ts.offset.getTotalSeconds()) * 1000L + ts.nanos / 1000000);
 		}
+		// When no time zone provided (e.g. time or timestamp)
+		// We get the year-month-day from the string, then truncate the day to 1970-01-01
+		// Note: the full timestamp must be resolved first since timestamps at which the time flips to/from DST
+		// depend on the date. For instance, 2000-03-26 02:00:00 is invalid timestamp in Europe/Moscow time zone
+		// and the valid one is 2000-03-26 03:00:00.
+		ZoneRulesCache zone = getRules(tz);
+		long timeMillis = toEpochMillis(ts, zone);
+		if (ts.year == 1970 && !ts.bc) {
+			return new Time(timeMillis);
+		}
+		return convertToTime(timeMillis, zone);
 	}
 
 	/**
@@ -267,179 +198,278 @@ public class TimestampUtil {
 	 * @throws SQLException if there is a problem parsing s.
 	 */
 	public static Timestamp toTimestamp(String s, @Nullable TimeZone tz) throws SQLException {
+		return s == null ? null : toTimestamp(s, 0, s.length(), tz);
+	}
+
+	/**
+	 * Parse the range {@code [start, end)} of a char sequence and return a timestamp representing its value.
+	 *
+	 * @param s     The char sequence that contains the ISO formated date.
+	 * @param start the index of the first char of the value
+	 * @param end   the index after the last char of the value
+	 * @param tz    timezone
+	 * @return a timestamp of the parsed range
+	 * @throws SQLException if there is a problem parsing the range.
+	 */
+	public static Timestamp toTimestamp(CharSequence s, int start, int end, @Nullable TimeZone tz) throws SQLException {
+		Long infinity = getInfinity(s, start, end);
+		if (infinity != null) {
+			return new Timestamp(infinity);
+		}
+		ParsedTimestamp ts = parseBackendTimestamp(s, start, end);
+		Timestamp result = new Timestamp(toEpochMillis(ts, ts.hasOffset ? null : getRules(tz)));
+		result.setNanos(ts.nanos);
+		return result;
+	}
+
+	/**
+	 * Parse a string and return the local date-time it represents, without any intermediate {@link Timestamp}.
+	 * A value that contains an offset (timestamptz) is converted to the given time zone.
+	 *
+	 * @param s  The ISO formated date string to parse.
+	 * @param tz the time zone of the returned value when s has an offset, the default time zone is used when null
+	 * @return null if s is null or the local date-time of the parsed string s.
+	 * @throws SQLException if there is a problem parsing s.
+	 */
+	public static LocalDateTime toLocalDateTime(String s, @Nullable TimeZone tz) throws SQLException {
 		if (s == null) {
 			return null;
 		}
+		Long infinity = getInfinity(s, 0, s.length());
+		if (infinity != null) {
+			return infinity > 0 ? LocalDateTime.MAX : LocalDateTime.MIN;
+		}
+		return toLocalDateTime(s, parseBackendTimestamp(s, 0, s.length()), tz);
+	}
 
-		int slen = s.length();
+	/**
+	 * Parse a string and return the local date it represents. A value that contains an offset (timestamptz) is
+	 * converted to the given time zone before the date is extracted.
+	 *
+	 * @param s  The ISO formated date string to parse.
+	 * @param tz the time zone of the returned value when s has an offset, the default time zone is used when null
+	 * @return null if s is null or the local date of the parsed string s.
+	 * @throws SQLException if there is a problem parsing s.
+	 */
+	public static LocalDate toLocalDate(String s, @Nullable TimeZone tz) throws SQLException {
+		if (s == null) {
+			return null;
+		}
+		Long infinity = getInfinity(s, 0, s.length());
+		if (infinity != null) {
+			return infinity > 0 ? LocalDate.MAX : LocalDate.MIN;
+		}
+		return toLocalDateTime(s, parseBackendTimestamp(s, 0, s.length()), tz).toLocalDate();
+	}
 
-		// convert postgres's infinity values to internal infinity magic value
-		if (slen == 8 && s.equals("infinity")) {
-			return new Timestamp(DATE_POSITIVE_INFINITY);
+	/**
+	 * Parse a string and return the offset date-time it represents. The offset sent by the server is kept as is,
+	 * a value without offset is read in the given time zone.
+	 *
+	 * @param s  The ISO formated date string to parse.
+	 * @param tz the time zone of s when it has no offset, UTC is used when null
+	 * @return null if s is null or the offset date-time of the parsed string s.
+	 * @throws SQLException if there is a problem parsing s.
+	 */
+	public static OffsetDateTime toOffsetDateTime(String s, @Nullable TimeZone tz) throws SQLException {
+		if (s == null) {
+			return null;
 		}
+		Long infinity = getInfinity(s, 0, s.length());
+		if (infinity != null) {
+			return infinity > 0 ? OffsetDateTime.MAX : OffsetDateTime.MIN;
+		}
+		ParsedTimestamp ts = parseBackendTimestamp(s, 0, s.length());
+		LocalDateTime localDateTime = toLocalDateTime(s, ts);
+		if (ts.hasOffset) {
+			return OffsetDateTime.of(localDateTime, ts.offset);
+		}
+		return tz == null ? OffsetDateTime.of(localDateTime, ZoneOffset.UTC)
+				: localDateTime.atZone(tz.toZoneId()).toOffsetDateTime();
+	}
 
-		if (slen == 9 && s.equals("-infinity")) {
-			return new Timestamp(DATE_NEGATIVE_INFINITY);
+	/**
+	 * Parse a string and return the instant it represents.
+	 *
+	 * @param s  The ISO formated date string to parse.
+	 * @param tz the time zone of s when it has no offset, UTC is used when null
+	 * @return null if s is null or the instant of the parsed string s.
+	 * @throws SQLException if there is a problem parsing s.
+	 */
+	public static Instant toInstant(String s, @Nullable TimeZone tz) throws SQLException {
+		if (s == null) {
+			return null;
 		}
-		ParsedTimestamp ts = parseBackendTimestamp(s);
-		Calendar useCal = ts.hasOffset ? getCalendar(ts.offset) : calendarWithUserTz;
-		synchronized (useCal) {
-			if (!ts.hasOffset) {
-				if (tz == null) {
-					tz = getDefaultTz();
-				}
-				useCal.setTimeZone(tz);
-			}
-			useCal.set(Calendar.ERA, ts.era);
-			useCal.set(Calendar.YEAR, ts.year);
-			useCal.set(Calendar.MONTH, ts.month - 1);
-			useCal.set(Calendar.DAY_OF_MONTH, ts.day);
-			useCal.set(Calendar.HOUR_OF_DAY, ts.hour);
-			useCal.set(Calendar.MINUTE, ts.minute);
-			useCal.set(Calendar.SECOND, ts.second);
-			useCal.set(Calendar.MILLISECOND, 0);
-
-			Timestamp result = new Timestamp(useCal.getTimeInMillis());
-			result.setNanos(ts.nanos);
-			return result;
+		Long infinity = getInfinity(s, 0, s.length());
+		if (infinity != null) {
+			return infinity > 0 ? Instant.MAX : Instant.MIN;
+		}
+		ParsedTimestamp ts = parseBackendTimestamp(s, 0, s.length());
+		LocalDateTime localDateTime = toLocalDateTime(s, ts);
+		if (ts.hasOffset) {
+			return localDateTime.toInstant(ts.offset);
 		}
+		return tz == null ? localDateTime.toInstant(ZoneOffset.UTC) : localDateTime.atZone(tz.toZoneId()).toInstant();
 	}
 
-	private static long floorDiv(long x, long y) {
-		long r = x / y;
-		// if the signs are different and modulo not zero, round down
-		if ((x ^ y) < 0 && (r * y != x)) {
-			r--;
+	private static LocalDateTime toLocalDateTime(String s, ParsedTimestamp ts, @Nullable TimeZone tz) throws SQLException {
+		LocalDateTime localDateTime = toLocalDateTime(s, ts);
+		if (!ts.hasOffset) {
+			return localDateTime;
 		}
-		return r;
+		ZoneId zoneId = tz == null ? ZoneId.systemDefault() : tz.toZoneId();
+		return localDateTime.atOffset(ts.offset).atZoneSameInstant(zoneId).toLocalDateTime();
 	}
 
-	private static boolean isSimpleTimeZone(String id) {
-		return id.startsWith("GMT") || id.startsWith("UTC");
+	private static LocalDateTime toLocalDateTime(String s, ParsedTimestamp ts) throws SQLException {
+		try {
+			return LocalDateTime.of(ts.getProlepticYear(), ts.month, ts.day, ts.hour, ts.minute, ts.second, ts.nanos);
+		} catch (DateTimeException e) {
+			throw new FireboltException(String.format("Bad value for type timestamp/date/time: %s", s));
+		}
 	}
 
-	private static int skipWhitespace(char[] s, int start) {
-		int slen = s.length;
-		for (int i = start; i < slen; i++) {
-			if (!Character.isWhitespace(s[i])) {
-				return i;
-			}
+	/**
+	 * Converts millis to time. This method ensures the date part of
+	 * output timestamp looks like 1970-01-01 in given timezone.
+	 *
+	 * @param millis The timestamp from which to extract the time.
+	 * @param zone   the time zone to use.
+	 * @return The extracted time.
+	 */
+	private static Time convertToTime(long millis, ZoneRulesCache zone) {
+		// Leave just time part of the day.
+		// Suppose the input date is 2015 7 Jan 15:40 GMT+02:00 (that is 13:40 UTC)
+		// We want it to become 1970 1 Jan 15:40 GMT+02:00
+		long millisOfDay = Math.floorMod(millis + getOffsetSeconds(zone, millis) * 1000L, ONEDAY);
+		return new Time(millisOfDay - getLocalOffsetSeconds(zone, millisOfDay / 1000) * 1000L);
+	}
+
+	private static Long getInfinity(CharSequence s, int start, int end) {
+		// convert postgres's infinity values to internal infinity magic value
+		int len = end - start;
+		if (len == 8 && regionMatches(s, start, "infinity")) {
+			return DATE_POSITIVE_INFINITY;
+		}
+		if (len == 9 && regionMatches(s, start, "-infinity")) {
+			return DATE_NEGATIVE_INFINITY;
 		}
-		return slen;
+		return null;
 	}
 
-	private static int firstNonDigit(char[] s, int start) {
-		int slen = s.length;
-		for (int i = start; i < slen; i++) {
-			if (!Character.isDigit(s[i])) {
-				return i;
+	private static boolean regionMatches(CharSequence s, int start, String expected) {
+		for (int i = 0; i < expected.length(); i++) {
+			if (s.charAt(start + i) != expected.charAt(i)) {
+				return false;
 			}
 		}
-		return slen;
+		return true;
 	}
 
-	private static char charAt(char[] s, int pos) {
-		if (pos >= 0 && pos < s.length) {
-			return s[pos];
-		}
-		return '\0';
+	private static long toEpochMillis(ParsedTimestamp ts, @Nullable ZoneRulesCache zone) {
+		long localSeconds = ts.getEpochDay() * SECONDS_PER_DAY + ts.getSecondOfDay();
+		int offsetSeconds = ts.hasOffset ? ts.offset.getTotalSeconds() : getLocalOffsetSeconds(zone, localSeconds);
+		return (localSeconds - offsetSeconds) * 1000L + ts.nanos / 1000000;
 	}
 
-	private static int number(char[] s, int start, int end) {
-		if (start >= end) {
-			throw new NumberFormatException();
+	private static ZoneRulesCache getRules(@Nullable TimeZone tz) {
+		TimeZone timeZone = tz == null ? TimeZone.getDefault() : tz;
+		return ZONE_RULES.computeIfAbsent(timeZone.getID(), id -> new ZoneRulesCache(timeZone));
+	}
+
+	private static int getOffsetSeconds(ZoneRulesCache zone, long epochMillis) {
+		if (zone.fixedOffsetSeconds != null) {
+			return zone.fixedOffsetSeconds;
 		}
-		int n = 0;
-		for (int i = start; i < end; i++) {
-			n = 10 * n + (s[i] - '0');
+		if (epochMillis < FIRST_TRANSITION_EPOCH_SECOND * 1000L) {
+			return zone.initialOffsetSeconds;
 		}
-		return n;
+		return zone.rules.getOffset(Instant.ofEpochMilli(epochMillis)).getTotalSeconds();
 	}
 
-	private static long floorMod(long x, long y) {
-		return x - floorDiv(x, y) * y;
+	/**
+	 * Returns the offset of a local date-time the same way {@link java.util.GregorianCalendar} resolves it: a time
+	 * that falls into a gap is read using the offset before the gap, and an ambiguous time uses the offset after
+	 * the overlap (the standard time).
+	 */
+	private static int getLocalOffsetSeconds(ZoneRulesCache zone, long localEpochSeconds) {
+		if (zone.fixedOffsetSeconds != null) {
+			return zone.fixedOffsetSeconds;
+		}
+		if (localEpochSeconds - zone.initialOffsetSeconds < FIRST_TRANSITION_EPOCH_SECOND) {
+			return zone.initialOffsetSeconds;
+		}
+		LocalDateTime localDateTime = LocalDateTime.ofEpochSecond(localEpochSeconds, 0, ZoneOffset.UTC);
+		List<ZoneOffset> validOffsets = zone.rules.getValidOffsets(localDateTime);
+		if (validOffsets.size() == 1) {
+			return validOffsets.get(0).getTotalSeconds();
+		}
+		ZoneOffsetTransition transition = zone.rules.getTransition(localDateTime);
+		return (transition.isGap() ? transition.getOffsetBefore() : transition.getOffsetAfter()).getTotalSeconds();
 	}
 
 	/**
-	 * Converts millis to time. This method ensures the date part of
-	 * output timestamp looks like 1970-01-01 in given timezone.
-	 *
-	 * @param millis The timestamp from which to extract the time.
-	 * @param tz     timezone to use.
-	 * @return The extracted time.
+	 * Immutable rules of a time zone together with the values needed on the hot path.
+	 * <p>
+	 * {@link TimeZone} does not have any transition before 1900 and uses the raw offset of the zone for these
+	 * instants, while {@link ZoneRules} use the local mean time. The raw offset is used here as well so the converted
+	 * values do not depend on the API used to read them.
 	 */
-	private static Time convertToTime(long millis, TimeZone tz) {
-		if (tz == null) {
-			tz = getDefaultTz();
-		}
-		if (isSimpleTimeZone(tz.getID())) {
-			// Leave just time part of the day.
-			// Suppose the input date is 2015 7 Jan 15:40 GMT+02:00 (that is 13:40 UTC)
-			// We want it to become 1970 1 Jan 15:40 GMT+02:00
-			// 1) Make sure millis becomes 15:40 in UTC, so add offset
-			int offset = tz.getRawOffset();
-			millis += offset;
-			// 2) Truncate year, month, day. Day is always 86400 seconds, no matter what
-			// leap seconds are
-			millis = floorMod(millis, ONEDAY);
-			// 2) Now millis is 1970 1 Jan 15:40 UTC, however we need that in GMT+02:00, so
-			// subtract some
-			// offset
-			millis -= offset;
-			// Now we have brand-new 1970 1 Jan 15:40 GMT+02:00
-			return new Time(millis);
-		}
-		synchronized (calendarWithUserTz) {
-			Calendar cal = calendarWithUserTz;
-			cal.setTimeZone(tz);
-			cal.setTimeInMillis(millis);
-			cal.set(Calendar.ERA, GregorianCalendar.AD);
-			cal.set(Calendar.YEAR, 1970);
-			cal.set(Calendar.MONTH, 0);
-			cal.set(Calendar.DAY_OF_MONTH, 1);
-			return new Time(cal.getTimeInMillis());
+	private static final class ZoneRulesCache {
+		private final ZoneRules rules;
+		private final Integer fixedOffsetSeconds;
+		private final int initialOffsetSeconds;
+
+		private ZoneRulesCache(TimeZone timeZone) {
+			this.rules = timeZone.toZoneId().getRules();
+			this.fixedOffsetSeconds = rules.isFixedOffset() ? rules.getOffset(Instant.EPOCH).getTotalSeconds() : null;
+			this.initialOffsetSeconds = timeZone.getRawOffset() / 1000;
 		}
 	}
 
-	private static synchronized Calendar getCalendar(ZoneOffset offset) {
-		if (calCache != null && Objects.equals(offset, calCacheZone)) {
-			return calCache;
+	private static int skipWhitespace(CharSequence s, int start, int end) {
+		for (int i = start; i < end; i++) {
+			if (!Character.isWhitespace(s.charAt(i))) {
+				return i;
+			}
 		}
-
-		// normally we would use:
-		// calCache = new GregorianCalendar(TimeZone.getTimeZone(offset));
-		// But this seems to cause issues for some crazy offsets as returned by server
-		// for BC dates!
-		final String tzid = (offset.getTotalSeconds() == 0) ? "UTC" : "GMT".concat(offset.getId());
-		final TimeZone syntheticTZ = new SimpleTimeZone(offset.getTotalSeconds() * 1000, tzid);
-		calCache = new GregorianCalendar(syntheticTZ);
-		calCacheZone = offset;
-		return calCache;
+		return end;
 	}
 
-	private static TimeZone getDefaultTz() {
-		// Fast path to getting the default timezone.
-		if (DEFAULT_TIME_ZONE_FIELD != null) {
-			try {
-				TimeZone defaultTimeZone = (TimeZone) DEFAULT_TIME_ZONE_FIELD.get(null);
-				if (defaultTimeZoneCache != null) {
-					if (defaultTimeZone == prevDefaultZoneFieldValue) {
-						return defaultTimeZoneCache;
-					}
-					prevDefaultZoneFieldValue = defaultTimeZone;
-				}
-			} catch (Exception e) {
-				// If this were to fail, fallback on slow method.
+	private static int firstNonDigit(CharSequence s, int start, int end) {
+		for (int i = start; i < end; i++) {
+			if (!Character.isDigit(s.charAt(i))) {
+				return i;
 			}
 		}
-		TimeZone tz = TimeZone.getDefault();
-		defaultTimeZoneCache = tz;
-		return tz;
+		return end;
+	}
+
+	private static char charAt(CharSequence s, int pos, int end) {
+		if (pos >= 0 && pos < end) {
+			return s.charAt(pos);
+		}
+		return '\0';
+	}
+
+	private static int number(CharSequence s, int start, int end) {
+		if (start >= end) {
+			throw new NumberFormatException();
+		}
+		int n = 0;
+		for (int i = start; i < end; i++) {
+			n = 10 * n + (s.charAt(i) - '0');
+		}
+		return n;
+	}
+
+	private static boolean startsWith(CharSequence s, int start, int end, char first, char second) {
+		return end - start >= 2 && s.charAt(start) == first && s.charAt(start + 1) == second;
 	}
 
 	private static class ParsedTimestamp {
 		boolean hasDate = false;
-		int era = GregorianCalendar.AD;
+		boolean bc = false;
 		int year = 1970;
 		int month = 1;
 
@@ -452,17 +482,60 @@ public class TimestampUtil {
 
 		boolean hasOffset = false;
 		ZoneOffset offset = ZoneOffset.UTC;
+
+		private int getProlepticYear() {
+			return bc ? 1 - year : year;
+		}
+
+		private long getSecondOfDay() {
+			return hour * 3600L + minute * 60L + second;
+		}
+
+		/**
+		 * Returns the number of days since 1970-01-01 using the Julian calendar before the Gregorian cutover, like
+		 * {@link java.util.GregorianCalendar} does. Year 0 and BC years are converted to the proleptic year.
+		 */
+		private long getEpochDay() {
+			long y = getProlepticYear();
+			if (isJulian()) {
+				long a = (14 - month) / 12;
+				long julianYear = y + 4800 - a;
+				long julianMonth = month + 12 * a - 3;
+				return day + (153 * julianMonth + 2) / 5 + 365 * julianYear + Math.floorDiv(julianYear, 4) - 32083
+						- JULIAN_DAY_OF_EPOCH;
+			}
+			// Same algorithm as LocalDate.toEpochDay(), but lenient regarding the day of month
+			long total = 365 * y + (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+			total += (367L * month - 362) / 12;
+			total += day - 1;
+			if (month > 2) {
+				total--;
+				if (!isLeapYear(y)) {
+					total--;
+				}
+			}
+			return total - DAYS_0000_TO_1970;
+		}
+
+		private boolean isJulian() {
+			if (bc || year < 1582) {
+				return true;
+			}
+			if (year > 1582) {
+				return false;
+			}
+			return month < 10 || (month == 10 && day < 15);
+		}
+
+		private static boolean isLeapYear(long year) {
+			return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+		}
 	}
 
 	/**
-	 * Load date/time information into the provided calendar returning the
-	 * fractional seconds.
+	 * Parses date/time information from the range {@code [begin, slen)} of the given char sequence.
 	 */
-	private static ParsedTimestamp parseBackendTimestamp(String str) throws SQLException {
-		char[] s = str.toCharArray();
-		int slen = s.length;
-
-		// This is pretty gross..
+	private static ParsedTimestamp parseBackendTimestamp(CharSequence s, int begin, int slen) throws SQLException {
 		ParsedTimestamp result = new ParsedTimestamp();
 
 		// We try to parse these fields in order; all are optional
@@ -481,13 +554,13 @@ public class TimestampUtil {
 		// trailing whitespace
 
 		try {
-			int start = skipWhitespace(s, 0); // Skip leading whitespace
-			int end = firstNonDigit(s, start);
+			int start = skipWhitespace(s, begin, slen); // Skip leading whitespace
+			int end = firstNonDigit(s, start, slen);
 			int num;
 			char sep;
 
 			// Possibly read date.
-			if (charAt(s, end) == '-') {
+			if (charAt(s, end, slen) == '-') {
 				//
 				// Date
 				//
@@ -498,10 +571,13 @@ public class TimestampUtil {
 				start = end + 1; // Skip '-'
 
 				// month
-				end = firstNonDigit(s, start);
+				end = firstNonDigit(s, start, slen);
 				result.month = number(s, start, end);
+				if (result.month < 1 || result.month > 12) {
+					throw new NumberFormatException("Month is out of range: " + result.month);
+				}
 
-				sep = charAt(s, end);
+				sep = charAt(s, end, slen);
 				if (sep != '-') {
 					throw new NumberFormatException("Expected date to be dash-separated, got '" + sep + "'");
 				}
@@ -509,14 +585,14 @@ public class TimestampUtil {
 				start = end + 1; // Skip '-'
 
 				// day of month
-				end = firstNonDigit(s, start);
+				end = firstNonDigit(s, start, slen);
 				result.day = number(s, start, end);
 
-				start = skipWhitespace(s, end); // Skip trailing whitespace
+				start = skipWhitespace(s, end, slen); // Skip trailing whitespace
 			}
 
 			// Possibly read time.
-			if (Character.isDigit(charAt(s, start))) {
+			if (Character.isDigit(charAt(s, start, slen))) {
 				//
 				// Time.
 				//
@@ -525,10 +601,10 @@ public class TimestampUtil {
 
 				// Hours
 
-				end = firstNonDigit(s, start);
+				end = firstNonDigit(s, start, slen);
 				result.hour = number(s, start, end);
 
-				sep = charAt(s, end);
+				sep = charAt(s, end, slen);
 				if (sep != ':') {
 					throw new NumberFormatException("Expected time to be colon-separated, got '" + sep + "'");
 				}
@@ -537,10 +613,10 @@ public class TimestampUtil {
 
 				// minutes
 
-				end = firstNonDigit(s, start);
+				end = firstNonDigit(s, start, slen);
 				result.minute = number(s, start, end);
 
-				sep = charAt(s, end);
+				sep = charAt(s, end, slen);
 				if (sep != ':') {
 					throw new NumberFormatException("Expected time to be colon-separated, got '" + sep + "'");
 				}
@@ -549,13 +625,13 @@ public class TimestampUtil {
 
 				// seconds
 
-				end = firstNonDigit(s, start);
+				end = firstNonDigit(s, start, slen);
 				result.second = number(s, start, end);
 				start = end;
 
 				// Fractional seconds.
-				if (charAt(s, start) == '.') {
-					end = firstNonDigit(s, start + 1); // Skip '.'
+				if (charAt(s, start, slen) == '.') {
+					end = firstNonDigit(s, start + 1, slen); // Skip '.'
 					num = number(s, start + 1, end);
 
 					for (int numlength = (end - (start + 1)); numlength < 9; ++numlength) {
@@ -566,11 +642,11 @@ public class TimestampUtil {
 					start = end;
 				}
 
-				start = skipWhitespace(s, start); // Skip trailing whitespace
+				start = skipWhitespace(s, start, slen); // Skip trailing whitespace
 			}
 
 			// Possibly read timezone.
-			sep = charAt(s, start);
+			sep = charAt(s, start, slen);
 			if (sep == '-' || sep == '+') {
 				result.hasOffset = true;
 
@@ -579,13 +655,13 @@ public class TimestampUtil {
 				int tzmin;
 				int tzsec;
 
-				end = firstNonDigit(s, start + 1); // Skip +/-
+				end = firstNonDigit(s, start + 1, slen); // Skip +/-
 				tzhr = number(s, start + 1, end);
 				start = end;
 
-				sep = charAt(s, start);
+				sep = charAt(s, start, slen);
 				if (sep == ':') {
-					end = firstNonDigit(s, start + 1); // Skip ':'
+					end = firstNonDigit(s, start + 1, slen); // Skip ':'
 					tzmin = number(s, start + 1, end);
 					start = end;
 				} else {
@@ -593,40 +669,38 @@ public class TimestampUtil {
 				}
 
 				tzsec = 0;
-				sep = charAt(s, start);
+				sep = charAt(s, start, slen);
 				if (sep == ':') {
-					end = firstNonDigit(s, start + 1); // Skip ':'
+					end = firstNonDigit(s, start + 1, slen); // Skip ':'
 					tzsec = number(s, start + 1, end);
 					start = end;
 				}
 
 				result.offset = ZoneOffset.ofHoursMinutesSeconds(tzsign * tzhr, tzsign * tzmin, tzsign * tzsec);
 
-				start = skipWhitespace(s, start); // Skip trailing whitespace
+				start = skipWhitespace(s, start, slen); // Skip trailing whitespace
 			}
 
 			if (result.hasDate && start < slen) {
-				String eraString = new String(s, start, slen - start);
-				if (eraString.startsWith("AD")) {
-					result.era = GregorianCalendar.AD;
+				if (startsWith(s, start, slen, 'A', 'D')) {
 					start += 2;
-				} else if (eraString.startsWith("BC")) {
-					result.era = GregorianCalendar.BC;
+				} else if (startsWith(s, start, slen, 'B', 'C')) {
+					result.bc = true;
 					start += 2;
 				}
 			}
 
 			if (start < slen) {
 				throw new NumberFormatException(
-						"Trailing junk on timestamp: '" + new String(s, start, slen - start) + "'");
+						"Trailing junk on timestamp: '" + s.subSequence(start, slen) + "'");
 			}
 
 			if (!result.hasTime && !result.hasDate) {
 				throw new NumberFormatException("Timestamp has neither date nor time");
 			}
 
-		} catch (NumberFormatException nfe) {
-			throw new FireboltException(String.format("Bad value for type timestamp/date/time: %s", str));
+		} catch (NumberFormatException | DateTimeException e) {
+			throw new FireboltException(String.format("Bad value for type timestamp/date/time: %s", s.subSequence(begin, slen)));
 		}
 
 		return result;
@@ -1,5 +1,6 @@
 package com.firebolt.jdbc.type.lob;
 
+import com.firebolt.jdbc.type.array.SqlArrayUtil;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -10,6 +11,8 @@ import java.util.Arrays;
 import java.util.LinkedList;
 
 public class FireboltBlob extends FireboltLob<byte[], Byte> implements Blob {
+    private String hex; // the value in the hexadecimal format of the server until it is decoded
+
     public FireboltBlob() {
         this(new byte[0]);
     }
@@ -18,8 +21,24 @@ public class FireboltBlob extends FireboltLob<byte[], Byte> implements Blob {
         super(buf, (a, i) -> a[i], Integer::byteValue, n -> (byte[])Array.newInstance(byte.class, n));
     }
 
+    /**
+     * Creates a blob of a value in the hexadecimal format of the server prepended by marker {@code \x}. The value is
+     * only decoded into an array when the bytes of the blob are needed: {@link #getBinaryStream()} decodes it while
+     * the stream is read.
+     * @param hex - the hexadecimal string
+     * @return the blob
+     * @throws SQLException if the string is not in hex format
+     */
+    public static FireboltBlob ofHexString(String hex) throws SQLException {
+        SqlArrayUtil.hexStringDecodedLength(hex); // validates the value before it is read
+        FireboltBlob blob = new FireboltBlob(null);
+        blob.hex = hex;
+        return blob;
+    }
+
     @Override
     public byte[] getBytes(long pos, int length) throws SQLException {
+        decode();
         isValid(buf);
         validateGetRange(pos, length, buf.length);
         int from = (int)pos - 1;
@@ -30,12 +49,16 @@ public class FireboltBlob extends FireboltLob<byte[], Byte> implements Blob {
 
     @Override
     public InputStream getBinaryStream() throws SQLException {
+        if (hex != null) {
+            return SqlArrayUtil.hexStringToInputStream(hex);
+        }
         isValid(buf);
         return new ByteArrayInputStream(buf);
     }
 
     @Override
     public long position(byte[] pattern, long start) throws SQLException {
+        decode();
         return super.position(pattern, start);
     }
 
@@ -51,16 +74,19 @@ public class FireboltBlob extends FireboltLob<byte[], Byte> implements Blob {
 
     @Override
     public int setBytes(long pos, byte[] bytes, int offset, int len) throws SQLException {
+        decode();
         return setData(pos, bytes, offset, len);
     }
 
     @Override
     public OutputStream setBinaryStream(long pos) throws SQLException {
+        decode();
         return setStream(pos, new LinkedList<>());
     }
 
     @Override
     public void truncate(long length) throws SQLException {
+        decode();
         isValid(buf);
         buf = length == 0 ? new byte[0] : getBytes(1, (int)length);
     }
@@ -70,14 +96,48 @@ public class FireboltBlob extends FireboltLob<byte[], Byte> implements Blob {
         return new ByteArrayInputStream(getBytes(pos, (int)length));
     }
 
+    @Override
+    public long length() throws SQLException {
+        return hex != null ? SqlArrayUtil.hexStringDecodedLength(hex) : super.length();
+    }
+
+    @Override
+    public void free() throws SQLException {
+        if (hex != null) {
+            hex = null; // the buffer was never decoded
+            return;
+        }
+        super.free();
+    }
+
     @Override
     @SuppressWarnings("java:S6201") // Pattern Matching for "instanceof" was introduced in java 16 while we still try to be compliant with java 11
     public boolean equals(Object obj) {
-        return this == obj || (obj instanceof FireboltBlob && Arrays.equals(buf, ((FireboltBlob)obj).buf));
+        return this == obj || (obj instanceof FireboltBlob && Arrays.equals(decodedBuffer(), ((FireboltBlob)obj).decodedBuffer()));
     }
 
     @Override
     public int hashCode() {
-        return 31 * FireboltBlob.class.hashCode() + Arrays.hashCode(buf);
+        return 31 * FireboltBlob.class.hashCode() + Arrays.hashCode(decodedBuffer());
+    }
+
+    private void decode() throws SQLException {
+        if (hex != null) {
+            try {
+                buf = SqlArrayUtil.hexStringToByteArray(hex);
+            } catch (IllegalArgumentException e) {
+                throw new SQLException("Cannot decode the binary value: " + e.getMessage(), e);
+            }
+            hex = null;
+        }
+    }
+
+    private byte[] decodedBuffer() {
+        try {
+            decode();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        return buf;
     }
 }
@@ -0,0 +1,85 @@
+package com.firebolt.jdbc.util;
+
+import lombok.CustomLog;
+import lombok.experimental.UtilityClass;
+import net.jpountz.lz4.LZ4FrameInputStream;
+import net.jpountz.lz4.LZ4FrameOutputStream;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads a response entirely before it is consumed so the request, and the resources of the query on the server, are
+ * released as soon as the response is received instead of when its last row is read. A response smaller than the memory
+ * threshold is kept in memory, a larger one is written to a temporary file that is deleted once the spooled stream is
+ * closed.
+ */
+@CustomLog
+@UtilityClass
+public class ResultSpool {
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * Reads the source until its end and closes it
+	 *
+	 * @param source the stream to read
+	 * @param memoryThreshold the number of bytes kept in memory, the stream is written to a file if it is longer
+	 * @param compressFile whether to compress the file with LZ4, e.g. if the stream is not already compressed
+	 * @return a stream reading the content of the source from memory or from the file
+	 */
+	public InputStream spool(InputStream source, int memoryThreshold, boolean compressFile) throws IOException {
+		try (InputStream in = source) {
+			byte[] buffer = new byte[Math.min(Math.max(memoryThreshold, 0), BUFFER_SIZE)];
+			int length = 0;
+			while (length < memoryThreshold) {
+				if (length == buffer.length) {
+					buffer = Arrays.copyOf(buffer, (int) Math.min((long) buffer.length * 2, memoryThreshold));
+				}
+				int read = in.read(buffer, length, buffer.length - length);
+				if (read < 0) {
+					return new ByteArrayInputStream(buffer, 0, length);
+				}
+				length += read;
+			}
+			return spoolToFile(buffer, length, in, compressFile);
+		}
+	}
+
+	private InputStream spoolToFile(byte[] buffer, int length, InputStream in, boolean compressFile) throws IOException {
+		Path file = Files.createTempFile("firebolt-jdbc-result", ".spool");
+		try {
+			long size;
+			try (OutputStream out = newOutputStream(file, compressFile)) {
+				out.write(buffer, 0, length);
+				size = length + in.transferTo(out);
+			}
+			log.debug("Spooled a result of {} bytes to {}", size, file);
+			InputStream fileStream = new BufferedInputStream(Files.newInputStream(file, StandardOpenOption.READ, StandardOpenOption.DELETE_ON_CLOSE), BUFFER_SIZE);
+			if (!compressFile) {
+				return fileStream;
+			}
+			try {
+				return new LZ4FrameInputStream(fileStream);
+			} catch (IOException e) {
+				fileStream.close();
+				throw e;
+			}
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(file);
+			throw e;
+		}
+	}
+
+	private OutputStream newOutputStream(Path file, boolean compress) throws IOException {
+		OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE);
+		return compress ? new LZ4FrameOutputStream(out, LZ4FrameOutputStream.BLOCKSIZE.SIZE_64KB) : out;
+	}
+}
@@ -0,0 +1,202 @@
+package com.firebolt.jdbc.cache;
+
+import com.firebolt.jdbc.cache.key.CacheKey;
+import com.firebolt.jdbc.cache.key.ClientSecretCacheKey;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DiskCacheStoreTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T10:00:00Z");
+    private static final CacheKey CACHE_KEY = new ClientSecretCacheKey("client_id", "client_secret", "account");
+
+    @TempDir
+    private Path directory;
+
+    @Mock
+    private ScheduledExecutorService mockExecutorService;
+
+    @Test
+    void canReadConnectionCacheWrittenByAnotherStore() {
+        ConnectionCache connectionCache = connectionCache("token");
+        connectionCache.setSystemEngineUrl("https://system.engine");
+        connectionCache.setDatabaseOptions("db", new DatabaseOptions(List.of(Pair.of("database", "db"))));
+        connectionCache.setEngineOptions("engine", new EngineOptions("https://engine", List.of(Pair.of("engine", "engine"), Pair.of("query_label", "x"))));
+
+        DiskCacheStore writer = store(NOW);
+        writer.put(CACHE_KEY, connectionCache);
+        writer.flush();
+
+        ConnectionCache fromDisk = store(NOW).get(CACHE_KEY).get();
+        assertEquals("connection_id", fromDisk.getConnectionId());
+        assertEquals("token", fromDisk.getAccessToken());
+        assertEquals("https://system.engine", fromDisk.getSystemEngineUrl());
+        assertEquals(List.of(Pair.of("database", "db")), fromDisk.getDatabaseOptions("db").get().getParameters());
+        assertEquals(connectionCache.getEngineOptions("engine").get(), fromDisk.getEngineOptions("engine").get());
+    }
+
+    @Test
+    void lastWriteWithinTheCoalescingWindowWins() throws IOException {
+        DiskCacheStore writer = store(NOW);
+        writer.put(CACHE_KEY, connectionCache("first_token"));
+        writer.put(CACHE_KEY, connectionCache("second_token"));
+        // pending writes are visible before they are flushed
+        assertEquals("second_token", writer.get(CACHE_KEY).get().getAccessToken());
+        verify(mockExecutorService, times(1)).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+
+        writer.flush();
+        long sizeWithOneRecord = Files.size(cacheFile());
+        assertEquals("second_token", store(NOW).get(CACHE_KEY).get().getAccessToken());
+
+        writer.put(CACHE_KEY, connectionCache("third_token"));
+        writer.flush();
+        assertTrue(Files.size(cacheFile()) > sizeWithOneRecord);
+        assertEquals("third_token", store(NOW).get(CACHE_KEY).get().getAccessToken());
+    }
+
+    @Test
+    void removedEntryIsNotReturned() {
+        DiskCacheStore writer = store(NOW);
+        writer.put(CACHE_KEY, connectionCache("token"));
+        writer.flush();
+        writer.remove(CACHE_KEY);
+        assertTrue(writer.get(CACHE_KEY).isEmpty());
+        writer.flush();
+
+        assertTrue(store(NOW).get(CACHE_KEY).isEmpty());
+        assertTrue(writer.get(CACHE_KEY).isEmpty());
+    }
+
+    @Test
+    void entryIsOnlyReturnedWithinItsTimeToLive() {
+        DiskCacheStore writer = store(NOW);
+        writer.put(CACHE_KEY, connectionCache("token"));
+        writer.flush();
+
+        assertEquals(Optional.of(NOW), store(NOW.plus(Duration.ofMinutes(59))).getCreationTime(CACHE_KEY));
+        assertTrue(store(NOW.plus(Duration.ofMinutes(59))).get(CACHE_KEY).isPresent());
+        assertTrue(store(NOW.plus(Duration.ofMinutes(61))).get(CACHE_KEY).isEmpty());
+    }
+
+    @Test
+    void updatingAnEntryKeepsItsCreationTime() {
+        DiskCacheStore writer = store(NOW);
+        writer.put(CACHE_KEY, connectionCache("token"));
+        writer.flush();
+
+        DiskCacheStore laterWriter = store(NOW.plus(Duration.ofMinutes(10)));
+        laterWriter.put(CACHE_KEY, connectionCache("new_token"));
+        laterWriter.flush();
+
+        DiskCacheStore reader = store(NOW.plus(Duration.ofMinutes(10)));
+        assertEquals("new_token", reader.get(CACHE_KEY).get().getAccessToken());
+        assertEquals(Optional.of(NOW), reader.getCreationTime(CACHE_KEY));
+    }
+
+    @Test
+    void entryIsNotReturnedForAnotherKey() {
+        DiskCacheStore writer = store(NOW);
+        writer.put(CACHE_KEY, connectionCache("token"));
+        writer.flush();
+
+        assertTrue(store(NOW).get(new ClientSecretCacheKey("client_id", "other_secret", "account")).isEmpty());
+    }
+
+    @Test
+    void corruptedRecordIsIgnored() throws IOException {
+        DiskCacheStore writer = store(NOW);
+        writer.put(CACHE_KEY, connectionCache("token"));
+        writer.flush();
+
+        try (RandomAccessFile file = new RandomAccessFile(cacheFile().toFile(), "rw")) {
+            file.seek(file.length() - 1);
+            int lastByte = file.read();
+            file.seek(file.length() - 1);
+            file.write(lastByte ^ 0xFF);
+        }
+
+        assertTrue(store(NOW).get(CACHE_KEY).isEmpty());
+    }
+
+    @Test
+    void canSeeRecordsAppendedByAnotherStoreAfterItWasOpened() {
+        DiskCacheStore reader = store(NOW);
+        assertTrue(reader.get(CACHE_KEY).isEmpty());
+
+        DiskCacheStore writer = store(NOW);
+        writer.put(CACHE_KEY, connectionCache("token"));
+        writer.flush();
+
+        assertEquals("token", reader.get(CACHE_KEY).get().getAccessToken());
+    }
+
+    @Test
+    void compactsTheFileWhenMostOfItsRecordsAreOverridden() throws IOException {
+        DiskCacheStore reader = store(NOW);
+        assertTrue(reader.get(CACHE_KEY).isEmpty());
+
+        DiskCacheStore writer = store(NOW);
+        String largeToken = StringUtils.repeat('t', 10_000);
+        for (int i = 0; i < 40; i++) {
+            writer.put(CACHE_KEY, connectionCache(largeToken + i));
+            writer.flush();
+            assertTrue(Files.size(cacheFile()) < DiskCacheStore.COMPACTION_THRESHOLD_BYTES + 20_000);
+        }
+
+        assertEquals(largeToken + 39, store(NOW).get(CACHE_KEY).get().getAccessToken());
+        // the reader opened the file before it was compacted, it has to switch to the new file
+        assertEquals(largeToken + 39, reader.get(CACHE_KEY).get().getAccessToken());
+    }
+
+    @Test
+    void deletesTheCacheFilesOfOlderDriverVersions() throws IOException {
+        Path legacyCacheFile = Files.writeString(directory.resolve("WW1GeVpXNWpjbmx3ZEdWa0xXdGxlUT09.txt"), "encrypted connection cache");
+        Path otherFile = Files.writeString(directory.resolve("notes.md"), "not a cache file");
+
+        assertTrue(store(NOW).get(CACHE_KEY).isEmpty());
+        assertFalse(Files.exists(legacyCacheFile));
+        assertTrue(Files.exists(otherFile));
+        assertTrue(Files.exists(cacheFile()));
+    }
+
+    private DiskCacheStore store(Instant now) {
+        return new DiskCacheStore(cacheFile(), new EncryptionService(), mockExecutorService, Clock.fixed(now, ZoneOffset.UTC),
+                Duration.ofMinutes(OnDiskMemoryCacheService.CACHE_TIME_IN_MINUTES));
+    }
+
+    private Path cacheFile() {
+        return directory.resolve(DiskCacheStore.CACHE_FILE_NAME);
+    }
+
+    private ConnectionCache connectionCache(String accessToken) {
+        ConnectionCache connectionCache = new ConnectionCache("connection_id");
+        connectionCache.setAccessToken(accessToken);
+        return connectionCache;
+    }
+}
@@ -1,76 +1,61 @@
 package com.firebolt.jdbc.cache;
 
 import com.firebolt.jdbc.cache.exception.EncryptionException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
-import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.NullSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class EncryptionServiceTest {
 
-    private static final String VALID_ENCRYPTION_KEY = "valid encryption key";
+    private static final byte[] ASSOCIATED_DATA = "my data".getBytes(StandardCharsets.UTF_8);
 
     private EncryptionService encryptionService = new EncryptionService();
 
     @ParameterizedTest
-    @ValueSource(strings = {
-            "1234",
-            "12345678",
-            "1234567890123456", //16 chars
-            "123456789012345678", //18 chars
-            "12345678901234567890", //20 chars
-
-    })
-    void samePlainTextWithSameEncryptionKeyWouldEncryptToTheSameValue(String encryptionKey) {
-        String firstEncryption = encryptionService.encrypt("text1", encryptionKey);
-        assertNotEquals("text1", firstEncryption);
-
-        String secondEncryption = encryptionService.encrypt("text1", encryptionKey);
-        assertNotEquals("text1", secondEncryption);
-        assertEquals(firstEncryption, secondEncryption);
-    }
-
-    @ParameterizedTest
-    @CsvSource({
-            "'plain text',''",
-            "'','valid key'"
-    })
-    void cannotEncryptWithEmptyKeyOrPlainText(String text, String key) {
-        assertThrows(IllegalArgumentException.class, () -> encryptionService.encrypt(text, key));
+    @NullSource
+    @ValueSource(strings = {"", " "})
+    void cannotEncryptOrDecryptWithEmptyKey(String key) {
+        byte[] plainBytes = "my text".getBytes(StandardCharsets.UTF_8);
+        assertThrows(IllegalArgumentException.class, () -> encryptionService.encrypt(plainBytes, ASSOCIATED_DATA, key));
+        assertThrows(IllegalArgumentException.class, () -> encryptionService.decrypt(plainBytes, ASSOCIATED_DATA, key));
     }
 
     @Test
-    void encryptionKeyHasToBeAtLeast16CharsLong() {
-        assertNotNull(encryptionService.encrypt("text1", VALID_ENCRYPTION_KEY));
+    void cannotEncryptOrDecryptNullBytes() {
+        assertThrows(IllegalArgumentException.class, () -> encryptionService.encrypt(null, ASSOCIATED_DATA, "my key"));
+        assertThrows(IllegalArgumentException.class, () -> encryptionService.decrypt(null, ASSOCIATED_DATA, "my key"));
     }
 
     @Test
-    void canDecryptTextEncryptedWithTheSameKey() {
-        String encryptedText = encryptionService.encrypt("my text", "my key");
-        assertNotEquals("my text", encryptedText);
-        assertEquals("my text", encryptionService.decrypt(encryptedText, "my key"));
+    void samePlainBytesEncryptToDifferentValuesAndCanBeDecrypted() {
+        byte[] plainBytes = "my text".getBytes(StandardCharsets.UTF_8);
+        byte[] firstEncryption = encryptionService.encrypt(plainBytes, ASSOCIATED_DATA, "my key");
+        byte[] secondEncryption = encryptionService.encrypt(plainBytes, ASSOCIATED_DATA, "my key");
+        assertFalse(Arrays.equals(firstEncryption, secondEncryption));
+        assertArrayEquals(plainBytes, encryptionService.decrypt(firstEncryption, ASSOCIATED_DATA, "my key"));
+        assertArrayEquals(plainBytes, encryptionService.decrypt(secondEncryption, ASSOCIATED_DATA, "my key"));
     }
 
     @Test
-    void cannotDecryptTextWithOtherKey() {
-        String encryptedText = encryptionService.encrypt("my text", "my key");
-        assertThrows(EncryptionException.class, () -> encryptionService.decrypt(encryptedText, "another key"));
+    void cannotDecryptBytesWithOtherKeyOrOtherAssociatedData() {
+        byte[] encrypted = encryptionService.encrypt("my text".getBytes(StandardCharsets.UTF_8), ASSOCIATED_DATA, "my key");
+        assertThrows(EncryptionException.class, () -> encryptionService.decrypt(encrypted, ASSOCIATED_DATA, "another key"));
+        assertThrows(EncryptionException.class, () -> encryptionService.decrypt(encrypted, "other data".getBytes(StandardCharsets.UTF_8), "my key"));
     }
 
-    @ParameterizedTest
-    @CsvSource({
-            "'decrypted key',''",
-            "'','valid key'"
-    })
-    void cannotDecryptWithEmptyDecryptedTextOrEmptyKey(String encryptedText, String key) {
-        assertThrows(IllegalArgumentException.class, () -> encryptionService.decrypt(encryptedText, key));
+    @Test
+    void hashDependsOnTheValueAndTheKey() {
+        assertArrayEquals(encryptionService.hash("value", "my key"), encryptionService.hash("value", "my key"));
+        assertEquals(32, encryptionService.hash("value", "my key").length);
+        assertFalse(Arrays.equals(encryptionService.hash("value", "my key"), encryptionService.hash("value", "another key")));
+        assertFalse(Arrays.equals(encryptionService.hash("value", "my key"), encryptionService.hash("other value", "my key")));
     }
-
-
-
 }
@@ -1,38 +1,109 @@
 package com.firebolt.jdbc.client;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
 
-import java.lang.reflect.Field;
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
-import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import com.firebolt.jdbc.client.transport.JdkHttpTransport;
 import com.firebolt.jdbc.connection.settings.FireboltProperties;
 
 import okhttp3.OkHttpClient;
 
 class HttpClientConfigTest {
+	private final List<OkHttpClient> clients = new ArrayList<>();
+	private final List<JdkHttpTransport> transports = new ArrayList<>();
 
-	@BeforeEach
-	public void resetSingleton() throws ReflectiveOperationException {
-		Field instance = HttpClientConfig.class.getDeclaredField("instance");
-		instance.setAccessible(true);
-		instance.set(null, null);
+	@AfterEach
+	void releaseClients() {
+		// each client is released as many times as it was returned, so the next test does not get it
+		clients.forEach(HttpClientConfig::release);
+		transports.forEach(HttpClientConfig::release);
 	}
 
 	@Test
 	void shouldInitHttpClient() throws Exception {
-		assertNull(HttpClientConfig.getInstance());
-		OkHttpClient client = HttpClientConfig.init(new FireboltProperties(new Properties()));
+		OkHttpClient client = init(new FireboltProperties(new Properties()));
 		assertNotNull(client);
-		assertSame(client, HttpClientConfig.getInstance());
+		assertSame(client, init(new FireboltProperties(new Properties())));
 	}
 
 	@Test
-	void shouldBeNullIfClientWasNotInitialized() {
-		assertNull(HttpClientConfig.getInstance());
+	void shouldShareHttpClientWhenOnlyNonHttpSettingsDiffer() throws Exception {
+		OkHttpClient client = init(properties("database", "db1"));
+		assertSame(client, init(properties("database", "db2")));
+	}
+
+	@Test
+	void shouldCreateHttpClientPerHttpSettings() throws Exception {
+		OkHttpClient lowLatency = init(properties("max_connections_total", "10"));
+		OkHttpClient bulk = init(properties("max_connections_total", "2"));
+		OkHttpClient longKeepAlive = init(properties("keep_alive_timeout_millis", "600000"));
+		assertNotSame(lowLatency, bulk);
+		assertNotSame(lowLatency, longKeepAlive);
+		assertNotSame(lowLatency.connectionPool(), bulk.connectionPool());
+		// the clients have their own dispatcher but share the threads
+		assertNotSame(lowLatency.dispatcher(), bulk.dispatcher());
+		assertSame(lowLatency.dispatcher().executorService(), bulk.dispatcher().executorService());
+	}
+
+	@Test
+	void shouldCreateJdkClientPerHttpSettings() throws Exception {
+		HttpClient client = initJdkTransport(properties("http_protocol", "http1.1")).getHttpClient();
+		assertSame(client, initJdkTransport(properties("http_protocol", "http1.1")).getHttpClient());
+		assertNotSame(client, initJdkTransport(properties("http_protocol", "h2")).getHttpClient());
+	}
+
+	@Test
+	void shouldKeepHttpClientUntilLastConnectionReleasesIt() throws Exception {
+		OkHttpClient client = init(properties("max_connections_total", "5"));
+		assertSame(client, init(properties("max_connections_total", "5")));
+		HttpClientConfig.release(client);
+		assertSame(client, init(properties("max_connections_total", "5")));
+		HttpClientConfig.release(client);
+		HttpClientConfig.release(client);
+		assertNotSame(client, init(properties("max_connections_total", "5")));
+	}
+
+	@Test
+	void shouldKeepJdkClientUntilLastConnectionReleasesIt() throws Exception {
+		JdkHttpTransport transport = initJdkTransport(properties("http_protocol", "http1.1"));
+		JdkHttpTransport other = initJdkTransport(properties("http_protocol", "http1.1"));
+		HttpClientConfig.release(transport);
+		assertSame(other.getHttpClient(), initJdkTransport(properties("http_protocol", "http1.1")).getHttpClient());
+		HttpClientConfig.release(other);
+		HttpClientConfig.release(other);
+		assertNotSame(other.getHttpClient(), initJdkTransport(properties("http_protocol", "http1.1")).getHttpClient());
+	}
+
+	@Test
+	void shouldIgnoreReleaseOfUnknownClient() {
+		HttpClientConfig.release(new OkHttpClient());
+		HttpClientConfig.release(new JdkHttpTransport(HttpClient.newHttpClient()));
+	}
+
+	private OkHttpClient init(FireboltProperties properties) throws Exception {
+		OkHttpClient client = HttpClientConfig.init(properties);
+		clients.add(client);
+		return client;
+	}
+
+	private JdkHttpTransport initJdkTransport(FireboltProperties properties) throws Exception {
+		JdkHttpTransport transport = HttpClientConfig.initJdkTransport(properties);
+		transports.add(transport);
+		return transport;
+	}
+
+	private static FireboltProperties properties(String key, String value) {
+		Properties properties = new Properties();
+		properties.setProperty(key, value);
+		return new FireboltProperties(properties);
 	}
 }
@@ -0,0 +1,129 @@
+package com.firebolt.jdbc.client;
+
+import com.firebolt.jdbc.exception.FireboltException;
+import com.github.luben.zstd.ZstdInputStream;
+import net.jpountz.lz4.LZ4FrameInputStream;
+import okhttp3.MediaType;
+import okhttp3.MultipartBody;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestBodiesTest {
+
+	private static final MediaType TEXT = MediaType.parse("text/plain; charset=utf-8");
+
+	@Test
+	void shouldWriteTextInUtf8() throws IOException {
+		// multi-byte chars and a surrogate pair on each side of the chunk boundaries
+		String text = "é".repeat(8191) + "😀" + "SELECT 'ü'".repeat(2000) + "😀";
+		RequestBody body = RequestBodies.text(text, TEXT);
+		byte[] expected = text.getBytes(StandardCharsets.UTF_8);
+
+		assertEquals(expected.length, body.contentLength());
+		assertEquals(TEXT, body.contentType());
+		assertArrayEquals(expected, write(body));
+		// the body can be written again, e.g. when the request is retried
+		assertArrayEquals(expected, write(body));
+	}
+
+	@ParameterizedTest
+	@EnumSource(value = CompressionType.class, names = "NONE", mode = EnumSource.Mode.EXCLUDE)
+	void shouldCompressBody(CompressionType compressionType) throws IOException {
+		String text = "INSERT INTO t VALUES (1, 'some text');".repeat(10_000);
+		RequestBody body = RequestBodies.compress(RequestBodies.text(text, TEXT), compressionType);
+
+		assertEquals(-1, body.contentLength());
+		assertEquals(TEXT, body.contentType());
+		byte[] compressed = write(body);
+		assertTrue(compressed.length < text.length() / 10);
+		assertEquals(text, new String(decompress(compressed, compressionType), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void shouldNotCompressWithoutCompression() {
+		RequestBody body = RequestBodies.text("SELECT 1", TEXT);
+		assertSame(body, RequestBodies.compress(body, CompressionType.NONE));
+	}
+
+	@Test
+	void shouldKeepOneShotMultipartBodies() {
+		RequestBody multipart = new MultipartBody.Builder().setType(MultipartBody.FORM)
+				.addFormDataPart("sql", null, RequestBodies.text("SELECT 1", TEXT))
+				.addFormDataPart("file", "file", oneShotBody())
+				.build();
+		assertTrue(RequestBodies.isOneShot(multipart));
+		assertTrue(RequestBodies.compress(multipart, CompressionType.LZ4).isOneShot());
+		assertFalse(RequestBodies.isOneShot(RequestBodies.text("SELECT 1", TEXT)));
+		assertFalse(RequestBodies.isOneShot(null));
+	}
+
+	@Test
+	void shouldGetCompressionTypeFromName() throws FireboltException {
+		assertEquals(CompressionType.GZIP, CompressionType.fromName(null));
+		assertEquals(CompressionType.LZ4, CompressionType.fromName("LZ4"));
+		assertEquals(CompressionType.ZSTD, CompressionType.fromName("zstd"));
+		assertEquals("Unknown compression brotli. Supported values: gzip, lz4, zstd",
+				assertThrows(FireboltException.class, () -> CompressionType.fromName("brotli")).getMessage());
+	}
+
+	private static byte[] write(RequestBody body) throws IOException {
+		Buffer buffer = new Buffer();
+		body.writeTo(buffer);
+		return buffer.readByteArray();
+	}
+
+	private static byte[] decompress(byte[] compressed, CompressionType compressionType) throws IOException {
+		InputStream in = new Buffer().write(compressed).inputStream();
+		switch (compressionType) {
+			case GZIP:
+				in = new GZIPInputStream(in);
+				break;
+			case LZ4:
+				in = new LZ4FrameInputStream(in);
+				break;
+			case ZSTD:
+				in = new ZstdInputStream(in);
+				break;
+			default:
+				break;
+		}
+		try (InputStream decompressed = in) {
+			return decompressed.readAllBytes();
+		}
+	}
+
+	private static RequestBody oneShotBody() {
+		return new RequestBody() {
+			@Override
+			public MediaType contentType() {
+				return null;
+			}
+
+			@Override
+			public boolean isOneShot() {
+				return true;
+			}
+
+			@Override
+			public void writeTo(BufferedSink sink) {
+				// nothing to write
+			}
+		};
+	}
+}
@@ -0,0 +1,154 @@
+package com.firebolt.jdbc.client.account;
+
+import com.firebolt.jdbc.client.gateway.GatewayUrlResponse;
+import com.firebolt.jdbc.connection.FireboltConnection;
+import com.firebolt.jdbc.exception.FireboltException;
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.lang.String.format;
+import static java.net.HttpURLConnection.HTTP_OK;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FireboltAccountRetrieverCacheTest {
+    @Mock
+    private OkHttpClient httpClient;
+    @Mock
+    private FireboltConnection fireboltConnection;
+    private FireboltAccountRetriever<GatewayUrlResponse> fireboltGatewayUrlClient;
+
+    @BeforeEach
+    void setUp() {
+        fireboltGatewayUrlClient = new FireboltAccountRetriever<>(httpClient, fireboltConnection, null, null, "test-firebolt.io", GatewayUrlResponse.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fireboltGatewayUrlClient.cleanup();
+    }
+
+    @Test
+    void shouldRetrieveValueOnceForConcurrentCalls() throws Exception {
+        CountDownLatch requestStarted = new CountDownLatch(1);
+        CountDownLatch releaseResponse = new CountDownLatch(1);
+        Response response = mockResponse("http://engine");
+        Call call = mock(Call.class);
+        when(httpClient.newCall(any())).thenReturn(call);
+        when(call.execute()).thenAnswer(invocation -> {
+            requestStarted.countDown();
+            releaseResponse.await();
+            return response;
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<GatewayUrlResponse>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> fireboltGatewayUrlClient.retrieve("access_token", "concurrent")));
+            }
+            assertTrue(requestStarted.await(10, SECONDS));
+            releaseResponse.countDown();
+            for (Future<GatewayUrlResponse> result : results) {
+                assertEquals("http://engine", result.get(10, SECONDS).getEngineUrl());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(httpClient, times(1)).newCall(any());
+    }
+
+    @Test
+    void shouldReturnStaleValueAndRefreshItInBackground() throws Exception {
+        Clock clock = mock(Clock.class);
+        List<Runnable> refreshes = new ArrayList<>();
+        FireboltAccountRetriever<GatewayUrlResponse> retriever = new FireboltAccountRetriever<>(httpClient, fireboltConnection, null, null, "test-firebolt.io", GatewayUrlResponse.class, clock, refreshes::add);
+        injectMockedResponses("http://engine1", "http://engine2");
+        Instant now = Instant.parse("2025-01-01T10:00:00Z");
+        when(clock.millis()).thenReturn(now.toEpochMilli());
+        assertEquals("http://engine1", retriever.retrieve("access_token", "stale").getEngineUrl());
+
+        when(clock.millis()).thenReturn(now.plus(Duration.ofMinutes(6)).toEpochMilli());
+        assertEquals("http://engine1", retriever.retrieve("access_token", "stale").getEngineUrl());
+        assertEquals("http://engine1", retriever.retrieve("access_token", "stale").getEngineUrl());
+        assertEquals(1, refreshes.size());
+        verify(httpClient, times(1)).newCall(any());
+
+        refreshes.get(0).run();
+        assertEquals("http://engine2", retriever.retrieve("access_token", "stale").getEngineUrl());
+        assertEquals(1, refreshes.size());
+        verify(httpClient, times(2)).newCall(any());
+    }
+
+    @Test
+    void shouldRetrieveExpiredValueAgain() throws Exception {
+        Clock clock = mock(Clock.class);
+        List<Runnable> refreshes = new ArrayList<>();
+        FireboltAccountRetriever<GatewayUrlResponse> retriever = new FireboltAccountRetriever<>(httpClient, fireboltConnection, null, null, "test-firebolt.io", GatewayUrlResponse.class, clock, refreshes::add);
+        injectMockedResponses("http://engine1", "http://engine2");
+        Instant now = Instant.parse("2025-01-01T10:00:00Z");
+        when(clock.millis()).thenReturn(now.toEpochMilli());
+        assertEquals("http://engine1", retriever.retrieve("access_token", "expired").getEngineUrl());
+
+        when(clock.millis()).thenReturn(now.plus(Duration.ofMinutes(61)).toEpochMilli());
+        assertEquals("http://engine2", retriever.retrieve("access_token", "expired").getEngineUrl());
+        assertTrue(refreshes.isEmpty());
+        verify(httpClient, times(2)).newCall(any());
+    }
+
+    @Test
+    void shouldNotCacheFailure() throws Exception {
+        Call call = mock(Call.class);
+        when(httpClient.newCall(any())).thenReturn(call);
+        Response response = mockResponse("http://engine");
+        when(call.execute()).thenThrow(new IOException("io error")).thenReturn(response);
+        assertThrows(FireboltException.class, () -> fireboltGatewayUrlClient.retrieve("token", "failing"));
+        assertEquals("http://engine", fireboltGatewayUrlClient.retrieve("token", "failing").getEngineUrl());
+    }
+
+    private void injectMockedResponses(String... engineUrls) throws IOException {
+        Call call = mock(Call.class);
+        when(httpClient.newCall(any())).thenReturn(call);
+        Response first = mockResponse(engineUrls[0]);
+        Response[] next = new Response[engineUrls.length - 1];
+        for (int i = 1; i < engineUrls.length; i++) {
+            next[i - 1] = mockResponse(engineUrls[i]);
+        }
+        when(call.execute()).thenReturn(first, next);
+    }
+
+    private Response mockResponse(String engineUrl) throws IOException {
+        Response response = mock(Response.class);
+        when(response.code()).thenReturn(HTTP_OK);
+        ResponseBody body = mock(ResponseBody.class);
+        when(response.body()).thenReturn(body);
+        when(body.string()).thenReturn(format("{\"engineUrl\":  \"%s\"}", engineUrl));
+        return response;
+    }
+}
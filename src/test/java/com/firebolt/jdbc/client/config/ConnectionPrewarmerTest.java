@@ -0,0 +1,78 @@
+package com.firebolt.jdbc.client.config;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+class ConnectionPrewarmerTest {
+
+	private MockWebServer server;
+	private OkHttpClient httpClient;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		server = new MockWebServer();
+		server.start();
+		httpClient = new OkHttpClient.Builder().addInterceptor(new RetryInterceptor(3)).build();
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		httpClient.connectionPool().evictAll();
+		server.shutdown();
+	}
+
+	@Test
+	void shouldOpenRequestedNumberOfConnections() throws Exception {
+		enqueue(4);
+		ConnectionPrewarmer.prewarm(httpClient, server.url("/"), 4).get(10, SECONDS);
+		assertEquals(4, server.getRequestCount());
+		assertEquals("HEAD", server.takeRequest().getMethod());
+		assertEquals(4, httpClient.connectionPool().connectionCount());
+		assertEquals(4, httpClient.connectionPool().idleConnectionCount());
+	}
+
+	@Test
+	void shouldReuseConnectionsThatAreAlreadyOpen() throws Exception {
+		enqueue(5);
+		ConnectionPrewarmer.prewarm(httpClient, server.url("/"), 3).get(10, SECONDS);
+		ConnectionPrewarmer.prewarm(httpClient, server.url("/"), 2).get(10, SECONDS);
+		assertEquals(5, server.getRequestCount());
+		assertEquals(3, httpClient.connectionPool().connectionCount());
+	}
+
+	@Test
+	void shouldNotRetryFailedRequests() throws Exception {
+		server.enqueue(new MockResponse().setResponseCode(503));
+		ConnectionPrewarmer.prewarm(httpClient, server.url("/"), 1).get(10, SECONDS);
+		assertEquals(1, server.getRequestCount());
+	}
+
+	@Test
+	void shouldCompleteWhenServerIsNotReachable() throws Exception {
+		int unusedPort;
+		try (ServerSocket socket = new ServerSocket(0)) {
+			unusedPort = socket.getLocalPort();
+		}
+		HttpUrl unreachable = new HttpUrl.Builder().scheme("http").host(server.getHostName()).port(unusedPort).build();
+		ConnectionPrewarmer.prewarm(httpClient, unreachable, 2).get(10, SECONDS);
+		assertEquals(0, httpClient.connectionPool().connectionCount());
+	}
+
+	private void enqueue(int responses) {
+		for (int i = 0; i < responses; i++) {
+			server.enqueue(new MockResponse());
+		}
+	}
+}
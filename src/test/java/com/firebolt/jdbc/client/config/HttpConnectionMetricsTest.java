@@ -0,0 +1,117 @@
+package com.firebolt.jdbc.client.config;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.firebolt.jdbc.client.config.HttpConnectionMetrics.ConnectionMetrics;
+import com.firebolt.jdbc.connection.settings.FireboltProperties;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+class HttpConnectionMetricsTest {
+
+	private final CountDownLatch releaseSlowResponse = new CountDownLatch(1);
+	private MockWebServer server;
+	private OkHttpClient httpClient;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		server = new MockWebServer();
+		server.setProtocols(List.of(Protocol.H2_PRIOR_KNOWLEDGE));
+		server.setDispatcher(new Dispatcher() {
+			@Override
+			public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+				if ("/slow".equals(request.getPath())) {
+					releaseSlowResponse.await(10, SECONDS);
+				}
+				return new MockResponse().setBody("ok");
+			}
+		});
+		server.start();
+		Properties properties = new Properties();
+		properties.setProperty("http_protocol", "h2c");
+		properties.setProperty("ssl", "false");
+		httpClient = OkHttpClientCreator.createClient(new FireboltProperties(properties));
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		releaseSlowResponse.countDown();
+		httpClient.connectionPool().evictAll();
+		server.shutdown();
+	}
+
+	@Test
+	void shouldMultiplexStreamsAndCancelThemOneByOne() throws Exception {
+		Call slowCall = httpClient.newCall(request("/slow"));
+		CompletableFuture<IOException> slowCallFailure = new CompletableFuture<>();
+		slowCall.enqueue(new Callback() {
+			@Override
+			public void onFailure(Call call, IOException e) {
+				slowCallFailure.complete(e);
+			}
+
+			@Override
+			public void onResponse(Call call, Response response) {
+				response.close();
+				slowCallFailure.complete(null);
+			}
+		});
+		assertEquals("/slow", server.takeRequest(10, SECONDS).getPath());
+
+		assertEquals("ok", execute("/fast"));
+		ConnectionMetrics metrics = getSingleConnectionMetrics();
+		assertEquals("h2_prior_knowledge", metrics.getProtocol());
+		assertEquals(server.getPort(), metrics.getPort());
+		assertEquals(2, metrics.getPeakActiveStreams());
+		assertEquals(1, metrics.getActiveStreams());
+
+		slowCall.cancel();
+		assertInstanceOf(IOException.class, slowCallFailure.get(10, SECONDS));
+
+		// the connection shared with the canceled stream is still used
+		assertEquals("ok", execute("/fast"));
+		assertEquals(1, httpClient.connectionPool().connectionCount());
+		metrics = getSingleConnectionMetrics();
+		assertEquals(0, metrics.getActiveStreams());
+		assertEquals(3, metrics.getTotalStreams());
+	}
+
+	private ConnectionMetrics getSingleConnectionMetrics() {
+		List<ConnectionMetrics> connections = ((HttpConnectionMetrics) httpClient.eventListenerFactory()).getConnectionMetrics();
+		assertEquals(1, connections.size());
+		return connections.get(0);
+	}
+
+	private String execute(String path) throws IOException {
+		try (Response response = httpClient.newCall(request(path)).execute()) {
+			assertTrue(response.isSuccessful());
+			return response.body().string();
+		}
+	}
+
+	private Request request(String path) {
+		return new Request.Builder().url(server.url(path)).build();
+	}
+}
@@ -0,0 +1,64 @@
+package com.firebolt.jdbc.client.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.firebolt.jdbc.connection.settings.FireboltProperties;
+import com.firebolt.jdbc.exception.FireboltException;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+class OkHttpClientCreatorTest {
+
+	@ParameterizedTest
+	@CsvSource(value = {
+			"http1.1;http/1.1",
+			"h2;h2,http/1.1",
+			"h2c;h2_prior_knowledge"
+	}, delimiter = ';')
+	void shouldUseConfiguredProtocols(String httpProtocol, String expectedProtocols) throws Exception {
+		OkHttpClient client = OkHttpClientCreator.createClient(properties(httpProtocol));
+		assertEquals(expectedProtocols, String.join(",", client.protocols().stream().map(Protocol::toString).toArray(String[]::new)));
+	}
+
+	@Test
+	void shouldNegotiateHttp2ByDefault() throws Exception {
+		assertEquals(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1), OkHttpClientCreator.createClient(new FireboltProperties(new Properties())).protocols());
+	}
+
+	@Test
+	void shouldNotAcceptUnknownProtocol() {
+		assertEquals("The http protocol h3 set by http_protocol does not exist. Supported values: http1.1, h2, h2c",
+				assertThrows(FireboltException.class, () -> OkHttpClientCreator.createClient(properties("h3"))).getMessage());
+	}
+
+	@Test
+	void shouldNotAcceptHttp2CleartextWithSsl() {
+		Properties properties = new Properties();
+		properties.setProperty("http_protocol", "h2c");
+		properties.setProperty("ssl", "true");
+		assertEquals("http_protocol=h2c sends the requests without TLS, it cannot be used with ssl=true",
+				assertThrows(FireboltException.class, () -> OkHttpClientCreator.createClient(new FireboltProperties(properties))).getMessage());
+	}
+
+	@Test
+	void shouldCollectConnectionMetrics() throws Exception {
+		assertInstanceOf(HttpConnectionMetrics.class, OkHttpClientCreator.createClient(properties("h2")).eventListenerFactory());
+	}
+
+	private FireboltProperties properties(String httpProtocol) {
+		Properties properties = new Properties();
+		properties.setProperty("http_protocol", httpProtocol);
+		properties.setProperty("ssl", String.valueOf(!OkHttpClientCreator.HTTP_2_CLEARTEXT.equals(httpProtocol)));
+		return new FireboltProperties(properties);
+	}
+}
@@ -11,6 +11,7 @@ import okhttp3.ResponseBody;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.Assert;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -72,6 +73,11 @@ class FireboltAccountRetrieverTest {
         fireboltGatewayUrlClient = new FireboltAccountRetriever<>(httpClient, fireboltConnection, null, null, "test-firebolt.io", GatewayUrlResponse.class);
     }
 
+    @AfterEach
+    void tearDown() {
+        fireboltGatewayUrlClient.cleanup();
+    }
+
 	@Test
 	void shouldGetGatewayUrlWhenResponseIsOk() throws SQLException, IOException {
         String engineUrl = "http://engine";
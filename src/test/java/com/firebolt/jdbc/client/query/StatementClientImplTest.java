@@ -19,6 +19,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -32,13 +33,15 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.zip.GZIPInputStream;
 import lombok.NonNull;
+import net.jpountz.lz4.LZ4FrameInputStream;
 import okhttp3.Call;
-import okhttp3.Dispatcher;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
+import okhttp3.internal.http2.ErrorCode;
+import okhttp3.internal.http2.StreamResetException;
 import okio.Buffer;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.BeforeEach;
@@ -55,6 +58,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.Answer;
 
 import static com.firebolt.jdbc.client.UserAgentFormatter.userAgent;
+import static com.firebolt.jdbc.client.query.StatementClientImpl.HEADER_QUERY_ID;
 import static com.firebolt.jdbc.client.query.StatementClientImpl.HEADER_REMOVE_PARAMETER;
 import static com.firebolt.jdbc.client.query.StatementClientImpl.HEADER_RESET_SESSION;
 import static com.firebolt.jdbc.client.query.StatementClientImpl.HEADER_UPDATE_ENDPOINT;
@@ -72,6 +76,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -110,6 +115,27 @@ class StatementClientImplTest {
 		assertEquals(expectedUrl, shouldPostSqlQuery(systemEngine).getValue());
 	}
 
+	@Test
+	void shouldPostSqlQueryWithRequestedOutputFormat() throws Exception {
+		FireboltProperties fireboltProperties = FireboltProperties.builder()
+				.database("db2").host("firebolt2").port(555)
+				.compress(false)
+				.build();
+		when(cloudV2connection.getAccessToken()).thenReturn(Optional.of("token"));
+		StatementClient statementClient = new StatementClientImpl(okHttpClient, cloudV2connection, "ConnA:1.0.9", "ConnB:2.0.9");
+		injectMockedResponse(okHttpClient, 200, "");
+		Call call = getMockedCallWithResponse(200, "");
+		when(okHttpClient.newCall(any())).thenReturn(call);
+		StatementInfoWrapper statementInfoWrapper = StatementUtil.parseToStatementInfoWrappers("select 1").get(0);
+
+		statementClient.executeSqlStatementWithOutputFormat(statementInfoWrapper, fireboltProperties, 15, "CSVWithNames");
+
+		verify(okHttpClient).newCall(requestArgumentCaptor.capture());
+		String url = requestArgumentCaptor.getValue().url().toString();
+		assertTrue(url.contains("output_format=CSVWithNames"), url);
+		assertFalse(url.contains("TabSeparatedWithNamesAndTypes"), url);
+	}
+
 	@Test
 	void shouldGzipRequestBodyWhenCompressionEnabled() throws Exception {
 		FireboltProperties fireboltProperties = FireboltProperties.builder()
@@ -135,6 +161,33 @@ class StatementClientImplTest {
 		assertSqlStatement("show databases;", decoded);
 	}
 
+	@Test
+	void shouldCompressRequestBodyWithConfiguredCompression() throws Exception {
+		FireboltProperties fireboltProperties = FireboltProperties.builder()
+				.database("db2").host("firebolt2").port(555)
+				.compress(true)
+				.compressRequestPayload(true)
+				.requestPayloadCompression("lz4")
+				.build();
+		when(cloudV2connection.getAccessToken()).thenReturn(Optional.of("token"));
+		StatementClient statementClient = new StatementClientImpl(okHttpClient, cloudV2connection, "ConnA:1.0.9", "ConnB:2.0.9");
+		injectMockedResponse(okHttpClient, 200, "");
+		Call call = getMockedCallWithResponse(200, "");
+		when(okHttpClient.newCall(any())).thenReturn(call);
+		StatementInfoWrapper statementInfoWrapper = StatementUtil.parseToStatementInfoWrappers("show databases").get(0);
+
+		statementClient.executeSqlStatement(statementInfoWrapper, fireboltProperties, 15, false);
+
+		verify(okHttpClient).newCall(requestArgumentCaptor.capture());
+		Request actualRequest = requestArgumentCaptor.getValue();
+		assertEquals("lz4", actualRequest.header("Content-Encoding"));
+		Buffer buffer = new Buffer();
+		actualRequest.body().writeTo(buffer);
+		try (InputStream decoded = new LZ4FrameInputStream(buffer.inputStream())) {
+			assertSqlStatement("show databases;", new String(decoded.readAllBytes(), StandardCharsets.UTF_8));
+		}
+	}
+
 	@Test
 	void shouldNotGzipRequestBodyWhenCompressionDisabled() throws Exception {
 		FireboltProperties fireboltProperties = FireboltProperties.builder()
@@ -281,7 +334,6 @@ class StatementClientImplTest {
 		injectMockedResponse(okHttpClient, 200, "");
 		Call call = getMockedCallWithResponse(200, "");
 		when(okHttpClient.newCall(any())).thenReturn(call);
-		when(okHttpClient.dispatcher()).thenReturn(mock(Dispatcher.class));
 		statementClient.abortStatement(id, FIREBOLT_PROPERTIES);
 		verify(okHttpClient).newCall(requestArgumentCaptor.capture());
 		assertEquals("http://firebolt1:555/cancel?query_id=12345",
@@ -303,13 +355,38 @@ class StatementClientImplTest {
 		injectMockedResponse(okHttpClient, 200, "");
 		Call call = getMockedCallWithResponse(400, ""); // BAD REQUEST
 		when(okHttpClient.newCall(any())).thenReturn(call);
-		when(okHttpClient.dispatcher()).thenReturn(mock(Dispatcher.class));
 		statementClient.abortStatement(id, FIREBOLT_PROPERTIES);
 		verify(okHttpClient).newCall(requestArgumentCaptor.capture());
 		assertEquals("http://firebolt1:555/cancel?query_id=12345",
 				requestArgumentCaptor.getValue().url().uri().toString());
 	}
 
+	@Test
+	void shouldCancelSqlQueryWithIdReportedByServer() throws SQLException, IOException {
+		when(connection.getBackendType()).thenReturn(FireboltBackendType.CLOUD_2_0);
+		when(connection.getAccessToken()).thenReturn(Optional.of("token"));
+		when(connection.getInfraVersion()).thenReturn(2);
+		StatementClient statementClient = new StatementClientImpl(okHttpClient, connection, "", "");
+		Call call = getMockedCallWithResponse(200, "", Map.of(HEADER_QUERY_ID, List.of("query-1")));
+		when(okHttpClient.newCall(any())).thenAnswer(invocation -> {
+			Response response = call.execute();
+			lenient().when(response.request()).thenReturn(invocation.getArgument(0));
+			return call;
+		});
+		StatementInfoWrapper statementInfoWrapper = StatementUtil.parseToStatementInfoWrappers("select 1").get(0);
+		statementClient.executeSqlStatement(statementInfoWrapper, FIREBOLT_PROPERTIES, 15, false);
+		verify(okHttpClient).newCall(requestArgumentCaptor.capture());
+		String label = (String) requestArgumentCaptor.getValue().tag();
+
+		statementClient.abortStatement(label, FIREBOLT_PROPERTIES);
+
+		// the id is not looked up in the query history
+		verify(connection, never()).prepareStatement(anyString());
+		verify(okHttpClient, times(2)).newCall(requestArgumentCaptor.capture());
+		assertEquals("http://firebolt1:555/cancel?query_id=query-1",
+				requestArgumentCaptor.getValue().url().uri().toString());
+	}
+
 	@ParameterizedTest(name = "infra version:{0}")
 	@ValueSource(ints = {0, 1, 2})
 	void cannotGetStatementIdWhenCancelling(int infraVersion) throws SQLException {
@@ -322,7 +399,6 @@ class StatementClientImplTest {
 		when(ps.executeQuery()).thenReturn(rs);
 		when(rs.next()).thenReturn(true);
 		when(rs.getString(1)).thenReturn(null);
-		when(okHttpClient.dispatcher()).thenReturn(mock(Dispatcher.class));
 		assertEquals("Cannot retrieve id for statement with label " + id, assertThrows(FireboltException.class, () -> statementClient.abortStatement(id, FIREBOLT_PROPERTIES)).getMessage());
 	}
 
@@ -345,7 +421,6 @@ class StatementClientImplTest {
 		when(rs.getString(1)).thenReturn(id);
 		Call call = getMockedCallWithResponse(httpStatus, "");
 		when(okHttpClient.newCall(any())).thenReturn(call);
-		when(okHttpClient.dispatcher()).thenReturn(mock(Dispatcher.class));
 		FireboltException e = assertThrows(FireboltException.class, () -> statementClient.abortStatement(id, FIREBOLT_PROPERTIES));
 		assertTrue(e.getMessage().contains(errorMessage));
 	}
@@ -609,7 +684,8 @@ class StatementClientImplTest {
 	@ParameterizedTest
 	@CsvSource({
 			"java.io.IOException, ERROR",
-			"okhttp3.internal.http2.StreamResetException, CANCELED",
+			// created without its error code, so it is not known to be reset by a cancellation
+			"okhttp3.internal.http2.StreamResetException, ERROR",
 			"java.lang.IllegalArgumentException, ERROR",
 	})
 	<T extends Exception> void shouldThrowIOException(Class<T> exceptionClass, ExceptionType exceptionType) throws IOException {
@@ -623,6 +699,50 @@ class StatementClientImplTest {
 		assertEquals(exceptionClass, ex.getCause().getClass());
 	}
 
+	@ParameterizedTest
+	@CsvSource({
+			"CANCEL, CANCELED",
+			"REFUSED_STREAM, ERROR",
+			"INTERNAL_ERROR, ERROR",
+	})
+	void shouldThrowCanceledExceptionOnlyWhenStreamIsResetByCancel(ErrorCode errorCode, ExceptionType exceptionType) throws IOException {
+		Call call = mock(Call.class);
+		when(call.execute()).thenThrow(new StreamResetException(errorCode));
+		when(okHttpClient.newCall(any())).thenReturn(call);
+		StatementClient statementClient = new StatementClientImpl(okHttpClient, cloudV2connection, "", "");
+		StatementInfoWrapper statementInfoWrapper = StatementUtil.parseToStatementInfoWrappers("select 1").get(0);
+		FireboltException ex = assertThrows(FireboltException.class, () -> statementClient.executeSqlStatement(statementInfoWrapper, FIREBOLT_PROPERTIES, 5, false));
+		assertEquals(exceptionType, ex.getType());
+	}
+
+	@Test
+	void shouldThrowCanceledExceptionWhenStatementIsCanceledWhileItIsSent() throws IOException {
+		StatementClient statementClient = new StatementClientImpl(okHttpClient, cloudV2connection, "", "");
+		FireboltProperties systemEngineProperties = FIREBOLT_PROPERTIES.toBuilder().systemEngine(true).build();
+		when(okHttpClient.newCall(any())).thenAnswer(invocation -> {
+			String label = (String) invocation.getArgument(0, Request.class).tag();
+			Call call = mock(Call.class);
+			when(call.execute()).thenAnswer(execution -> {
+				// the statement is canceled on the client only, the server cannot be asked to cancel a system engine statement
+				assertThrows(FireboltException.class, () -> statementClient.abortStatement(label, systemEngineProperties));
+				throw new IOException("Canceled");
+			});
+			return call;
+		});
+		StatementInfoWrapper statementInfoWrapper = StatementUtil.parseToStatementInfoWrappers("select 1").get(0);
+		FireboltException ex = assertThrows(FireboltException.class, () -> statementClient.executeSqlStatement(statementInfoWrapper, FIREBOLT_PROPERTIES, 5, false));
+		assertEquals(ExceptionType.CANCELED, ex.getType());
+
+		// the next statement with the same label is not canceled
+		when(okHttpClient.newCall(any())).thenAnswer(invocation -> {
+			Call call = mock(Call.class);
+			when(call.execute()).thenThrow(new IOException("Connection reset"));
+			return call;
+		});
+		ex = assertThrows(FireboltException.class, () -> statementClient.executeSqlStatement(statementInfoWrapper, FIREBOLT_PROPERTIES, 5, false));
+		assertEquals(ExceptionType.ERROR, ex.getType());
+	}
+
 	@Test
 	void shouldExecuteSqlStatementWithFiles() throws SQLException, IOException {
 		FireboltProperties fireboltProperties = FireboltProperties.builder().database("db1").compress(true).host("firebolt1").port(555).build();
@@ -0,0 +1,204 @@
+package com.firebolt.jdbc.client.transport;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ServerSocket;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpClient;
+import java.util.Properties;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.firebolt.jdbc.connection.settings.FireboltProperties;
+
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.BufferedSink;
+
+class JdkHttpTransportTest {
+
+	private MockWebServer server;
+	private JdkHttpTransport transport;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		server = new MockWebServer();
+		server.start();
+		transport = new JdkHttpTransport(HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build());
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		server.shutdown();
+	}
+
+	@Test
+	void shouldSendRequestAndStreamResponse() throws Exception {
+		server.enqueue(new MockResponse().setBody("1\n2\n").addHeader("Firebolt-Update-Parameters", "a=b"));
+		Request request = new Request.Builder().url(server.url("/query?database=db")).tag("label")
+				.addHeader("Authorization", "Bearer token")
+				.post(RequestBody.create("SELECT 1", MediaType.parse("text/plain"))).build();
+		try (Response response = transport.execute(request, 0, 0)) {
+			assertEquals(200, response.code());
+			assertEquals(Protocol.HTTP_1_1, response.protocol());
+			assertEquals("a=b", response.header("Firebolt-Update-Parameters"));
+			assertEquals(4, response.body().contentLength());
+			assertTrue(transport.isRunning("label"));
+			assertEquals(1, transport.getStats().getRunningRequests());
+			assertEquals("1\n2\n", response.body().string());
+		}
+		assertFalse(transport.isRunning("label"));
+		assertEquals(new TransportStats("jdk", 0, TransportStats.UNKNOWN, TransportStats.UNKNOWN), transport.getStats());
+
+		RecordedRequest recorded = server.takeRequest(10, SECONDS);
+		assertEquals("POST", recorded.getMethod());
+		assertEquals("/query?database=db", recorded.getPath());
+		assertEquals("Bearer token", recorded.getHeader("Authorization"));
+		assertEquals("text/plain; charset=utf-8", recorded.getHeader("Content-Type"));
+		assertEquals("SELECT 1", recorded.getBody().readUtf8());
+	}
+
+	@Test
+	void shouldStreamLargeRequestBodyWhoseLengthIsUnknown() throws Exception {
+		server.enqueue(new MockResponse().setBody("ok"));
+		int length = JdkHttpTransport.BUFFERED_BODY_MAX_LENGTH * 10 + 1;
+		RequestBody body = new RequestBody() {
+			@Override
+			public MediaType contentType() {
+				return MediaType.parse("application/octet-stream");
+			}
+
+			@Override
+			public void writeTo(BufferedSink sink) throws IOException {
+				for (int i = 0; i < length; i++) {
+					sink.writeByte('a' + i % 26);
+				}
+			}
+		};
+		Request request = new Request.Builder().url(server.url("/query")).tag("label").post(body).build();
+		try (Response response = transport.execute(request, 0, 0)) {
+			assertEquals("ok", response.body().string());
+		}
+
+		byte[] received = server.takeRequest(10, SECONDS).getBody().readByteArray();
+		assertEquals(length, received.length);
+		for (int i = 0; i < length; i++) {
+			assertEquals('a' + i % 26, received[i]);
+		}
+	}
+
+	@Test
+	void shouldFailRequestWhoseBodyCannotBeWritten() {
+		RequestBody body = new RequestBody() {
+			@Override
+			public MediaType contentType() {
+				return null;
+			}
+
+			@Override
+			public void writeTo(BufferedSink sink) throws IOException {
+				sink.writeUtf8("start");
+				throw new IOException("Cannot read the file");
+			}
+		};
+		Request request = new Request.Builder().url(server.url("/query")).tag("label").post(body).build();
+		assertThrows(IOException.class, () -> transport.execute(request, 0, 0));
+		assertFalse(transport.isRunning("label"));
+	}
+
+	@Test
+	void shouldRetryRequestWithRetryableResponseCode() throws Exception {
+		server.enqueue(new MockResponse().setResponseCode(503));
+		server.enqueue(new MockResponse().setResponseCode(503));
+		server.enqueue(new MockResponse().setBody("ok"));
+		JdkHttpTransport retryingTransport = new JdkHttpTransport(HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build(), 2);
+		Request request = new Request.Builder().url(server.url("/query")).tag("label")
+				.post(RequestBody.create("SELECT 1", MediaType.parse("text/plain"))).build();
+		try (Response response = retryingTransport.execute(request, 0, 0)) {
+			assertEquals(200, response.code());
+			assertEquals("ok", response.body().string());
+		}
+		assertEquals(3, server.getRequestCount());
+		assertFalse(retryingTransport.isRunning("label"));
+	}
+
+	@Test
+	void shouldCancelRequestWhoseResponseIsBeingRead() throws Exception {
+		server.enqueue(new MockResponse().setBody("x".repeat(1_000_000)).throttleBody(1024, 1, SECONDS));
+		Request request = new Request.Builder().url(server.url("/query")).tag("label").build();
+		try (Response response = transport.execute(request, 0, 0)) {
+			InputStream body = response.body().byteStream();
+			assertEquals('x', body.read());
+			assertTrue(transport.cancel("label"));
+			assertThrows(IOException.class, () -> body.readAllBytes());
+		}
+		assertFalse(transport.isRunning("label"));
+		assertFalse(transport.cancel("label"));
+	}
+
+	@Test
+	void shouldAbortResponseWhoseBodyIsNotReceivedWithinReadTimeout() throws Exception {
+		server.enqueue(new MockResponse().setBody("x".repeat(10_000)).throttleBody(1024, 5, SECONDS));
+		Request request = new Request.Builder().url(server.url("/query")).tag("label").build();
+		try (Response response = transport.execute(request, 0, 500)) {
+			InputStream body = response.body().byteStream();
+			assertThrows(SocketTimeoutException.class, body::readAllBytes);
+		}
+		assertFalse(transport.isRunning("label"));
+	}
+
+	@Test
+	void shouldReadSlowResponseWhoseBodyIsReceivedWithinReadTimeout() throws Exception {
+		server.enqueue(new MockResponse().setBody("x".repeat(4096)).throttleBody(1024, 100, MILLISECONDS));
+		Request request = new Request.Builder().url(server.url("/query")).build();
+		try (Response response = transport.execute(request, 0, 2000)) {
+			assertEquals(4096, response.body().bytes().length);
+		}
+	}
+
+	@Test
+	void shouldRejectRequestWithAnotherConnectTimeoutThanTheClient() {
+		Request request = new Request.Builder().url(server.url("/query")).build();
+		assertThrows(IOException.class, () -> transport.execute(request, 1000, 0));
+		assertEquals(0, server.getRequestCount());
+	}
+
+	@Test
+	void shouldReportFailureAsIOException() throws IOException {
+		int unusedPort;
+		try (ServerSocket socket = new ServerSocket(0)) {
+			unusedPort = socket.getLocalPort();
+		}
+		Request request = new Request.Builder().url("http://localhost:" + unusedPort + "/query").tag("label").build();
+		assertThrows(IOException.class, () -> transport.execute(request, 0, 0));
+		assertFalse(transport.isRunning("label"));
+	}
+
+	@Test
+	void shouldCreateClientConfiguredBySessionProperties() throws Exception {
+		Properties properties = new Properties();
+		properties.setProperty("http_protocol", "http1.1");
+		properties.setProperty("ssl", "false");
+		server.enqueue(new MockResponse().setBody("ok"));
+		FireboltProperties fireboltProperties = new FireboltProperties(properties);
+		try (Response response = JdkHttpTransport.create(fireboltProperties).execute(new Request.Builder().url(server.url("/")).build(),
+				fireboltProperties.getConnectionTimeoutMillis(), 0)) {
+			assertEquals("ok", response.body().string());
+		}
+	}
+}
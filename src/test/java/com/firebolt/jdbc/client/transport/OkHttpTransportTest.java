@@ -0,0 +1,135 @@
+package com.firebolt.jdbc.client.transport;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+class OkHttpTransportTest {
+
+	private MockWebServer server;
+	private OkHttpClient httpClient;
+	private OkHttpTransport transport;
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+
+	@BeforeEach
+	void setUp() throws IOException {
+		server = new MockWebServer();
+		server.start();
+		httpClient = new OkHttpClient();
+		transport = new OkHttpTransport(httpClient);
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		executor.shutdownNow();
+		httpClient.connectionPool().evictAll();
+		server.shutdown();
+	}
+
+	@Test
+	void shouldTrackRequestUntilResponseIsReceived() throws Exception {
+		server.enqueue(new MockResponse().setBody("1").setHeadersDelay(1, SECONDS));
+		CompletableFuture<String> response = executeAsync("label");
+		awaitRunning("label");
+		assertFalse(transport.isRunning("other"));
+		assertEquals("1", response.get(10, SECONDS));
+		assertFalse(transport.isRunning("label"));
+	}
+
+	@Test
+	void shouldCancelRequestsOfLabel() throws Exception {
+		server.enqueue(new MockResponse().setHeadersDelay(10, SECONDS));
+		server.enqueue(new MockResponse().setBody("2").setHeadersDelay(1, SECONDS));
+		CompletableFuture<String> canceled = executeAsync("label1");
+		awaitRunning("label1");
+		CompletableFuture<String> other = executeAsync("label2");
+		awaitRunning("label2");
+		assertTrue(transport.cancel("label1"));
+		assertCanceled(canceled::get);
+		assertEquals("2", other.get(10, SECONDS));
+		assertFalse(transport.cancel("label1"));
+	}
+
+	@Test
+	void shouldCancelAllRequests() throws Exception {
+		server.enqueue(new MockResponse().setHeadersDelay(10, SECONDS));
+		server.enqueue(new MockResponse().setHeadersDelay(10, SECONDS));
+		CompletableFuture<String> first = executeAsync("label1");
+		CompletableFuture<String> second = executeAsync("label2");
+		awaitRunning("label1");
+		awaitRunning("label2");
+		assertEquals(2, transport.cancelAll());
+		assertCanceled(first::get);
+		assertCanceled(second::get);
+		assertEquals(0, transport.cancelAll());
+	}
+
+	@Test
+	void shouldCancelRequestWhoseResponseIsBeingRead() throws Exception {
+		server.enqueue(new MockResponse().setBody("x".repeat(1_000_000)).throttleBody(1024, 1, SECONDS));
+		Request request = new Request.Builder().url(server.url("/query")).tag("label").build();
+		try (Response response = transport.execute(request, 0, 0)) {
+			InputStream body = response.body().byteStream();
+			assertEquals('x', body.read());
+			assertTrue(transport.isRunning("label"));
+			assertTrue(transport.cancel("label"));
+			assertThrows(IOException.class, () -> body.readAllBytes());
+		}
+		assertFalse(transport.isRunning("label"));
+		assertFalse(transport.cancel("label"));
+	}
+
+	@Test
+	void shouldNotTrackRequestWithoutLabel() throws Exception {
+		server.enqueue(new MockResponse().setBody("1"));
+		try (Response response = transport.execute(new Request.Builder().url(server.url("/")).build(), 0, 0)) {
+			assertEquals("1", response.body().string());
+		}
+		assertEquals(0, transport.cancelAll());
+	}
+
+	private CompletableFuture<String> executeAsync(String label) {
+		Request request = new Request.Builder().url(server.url("/query")).tag(label).build();
+		return CompletableFuture.supplyAsync(() -> {
+			try (Response response = transport.execute(request, 10_000, 20_000)) {
+				return response.body().string();
+			} catch (IOException e) {
+				throw new CompletionException(e);
+			}
+		}, executor);
+	}
+
+	private void awaitRunning(String label) throws InterruptedException {
+		for (int i = 0; i < 100 && !transport.isRunning(label); i++) {
+			Thread.sleep(50);
+		}
+		assertTrue(transport.isRunning(label));
+	}
+
+	private static void assertCanceled(Executable executable) {
+		ExecutionException e = assertThrows(ExecutionException.class, executable);
+		assertInstanceOf(IOException.class, e.getCause());
+	}
+}
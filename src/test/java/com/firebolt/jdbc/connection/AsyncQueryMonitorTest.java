@@ -0,0 +1,163 @@
+package com.firebolt.jdbc.connection;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.firebolt.jdbc.exception.FireboltException;
+
+class AsyncQueryMonitorTest {
+
+	private static final Duration INTERVAL = Duration.ofMillis(10);
+
+	private final FireboltConnection connection = mock(FireboltConnection.class);
+	private final PreparedStatement statement = mock(PreparedStatement.class);
+	private final ResultSet resultSet = mock(ResultSet.class);
+	private AsyncQueryMonitor monitor;
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		when(connection.prepareStatement("CALL fb_GetAsyncStatus(?)")).thenReturn(statement);
+		when(statement.executeQuery()).thenReturn(resultSet);
+		when(resultSet.next()).thenReturn(true);
+	}
+
+	@AfterEach
+	void tearDown() {
+		monitor.close();
+	}
+
+	@Test
+	void shouldCompleteWithFinalStatus() throws Exception {
+		when(resultSet.getString("status")).thenReturn("RUNNING", "RUNNING", "ENDED_SUCCESSFULLY");
+		monitor = new AsyncQueryMonitor(connection, INTERVAL, INTERVAL);
+		CompletableFuture<String> status = monitor.track("token");
+		assertSame(status, monitor.track("token"));
+		assertEquals("ENDED_SUCCESSFULLY", status.get(10, SECONDS));
+		verify(statement, times(3)).setString(1, "token");
+		assertEquals(0, monitor.getTrackedQueryCount());
+	}
+
+	@Test
+	void shouldBackOffWhileQueryIsRunning() throws Exception {
+		when(resultSet.getString("status")).thenReturn("RUNNING");
+		MutableClock clock = new MutableClock();
+		monitor = new AsyncQueryMonitor(connection, INTERVAL, Duration.ofMillis(40), clock);
+		monitor.track("token");
+		verify(statement, timeout(5_000).times(1)).executeQuery();
+		// polled again after 10ms, then 20ms, then 40ms, then 40ms
+		int polls = 1;
+		for (long now : new long[] {10, 30, 70, 110}) {
+			clock.set(now - 1);
+			Thread.sleep(50);
+			verify(statement, times(polls)).executeQuery();
+			clock.set(now);
+			verify(statement, timeout(5_000).times(++polls)).executeQuery();
+		}
+	}
+
+	@Test
+	void shouldWaitForAllQueries() throws Exception {
+		when(resultSet.getString("status")).thenReturn("RUNNING", "ENDED_SUCCESSFULLY", "ENDED_WITH_ERROR");
+		monitor = new AsyncQueryMonitor(connection, INTERVAL, INTERVAL);
+		Map<String, String> statuses = monitor.waitForAll(List.of("token1", "token2"), Duration.ofSeconds(10));
+		assertEquals(List.of("token1", "token2"), List.copyOf(statuses.keySet()));
+		assertTrue(statuses.values().containsAll(List.of("ENDED_SUCCESSFULLY", "ENDED_WITH_ERROR")));
+	}
+
+	@Test
+	void shouldFailToWaitWhenQueriesDoNotEndInTime() {
+		when(resultSet.getString("status")).thenReturn("RUNNING");
+		monitor = new AsyncQueryMonitor(connection, INTERVAL, INTERVAL);
+		FireboltException e = assertThrows(FireboltException.class,
+				() -> monitor.waitForAll(List.of("token1", "token2"), Duration.ofMillis(100)));
+		assertEquals("2 of 2 async queries did not end within PT0.1S", e.getMessage());
+	}
+
+	@Test
+	void shouldFailWhenStatusIsNotFound() throws SQLException {
+		when(resultSet.next()).thenReturn(false);
+		monitor = new AsyncQueryMonitor(connection, INTERVAL, INTERVAL);
+		ExecutionException e = assertThrows(ExecutionException.class, () -> monitor.track("token").get(10, SECONDS));
+		assertInstanceOf(FireboltException.class, e.getCause());
+		assertEquals("Could not get status for the async query with token: token", e.getCause().getMessage());
+	}
+
+	@Test
+	void shouldRetryWhenStatusCannotBeRead() throws Exception {
+		when(statement.executeQuery()).thenThrow(new SQLException("timeout")).thenReturn(resultSet);
+		when(resultSet.getString("status")).thenReturn("ENDED_SUCCESSFULLY");
+		monitor = new AsyncQueryMonitor(connection, INTERVAL, INTERVAL);
+		assertEquals("ENDED_SUCCESSFULLY", monitor.track("token").get(10, SECONDS));
+	}
+
+	@Test
+	void shouldNotTrackBlankToken() {
+		monitor = new AsyncQueryMonitor(connection, INTERVAL, INTERVAL);
+		assertThrows(FireboltException.class, () -> monitor.track(" "));
+	}
+
+	@Test
+	void shouldCancelFuturesWhenClosed() throws SQLException {
+		when(resultSet.getString("status")).thenReturn("RUNNING");
+		monitor = new AsyncQueryMonitor(connection, INTERVAL, INTERVAL);
+		CompletableFuture<String> status = monitor.track("token");
+		monitor.close();
+		assertTrue(status.isCancelled());
+		assertThrows(FireboltException.class, () -> monitor.track("token"));
+	}
+
+	private static class MutableClock extends Clock {
+		private final AtomicLong millis = new AtomicLong();
+
+		void set(long now) {
+			millis.set(now);
+		}
+
+		@Override
+		public long millis() {
+			return millis.get();
+		}
+
+		@Override
+		public Instant instant() {
+			return Instant.ofEpochMilli(millis());
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+	}
+}
@@ -22,10 +22,10 @@ class FireboltPropertiesTest {
 				.sslCertificatePath("").sslMode("strict").path("").port(443) // 443 by default as SSL is enabled by
 				.systemEngine(false).compress(true)													// default
 				.principal(null).secret(null).host("host").ssl(true).initialAdditionalProperties(new HashMap<>())
-				.keepAliveTimeoutMillis(300000).maxConnectionsTotal(300).maxRetries(3)
+				.keepAliveTimeoutMillis(300000).maxConnectionsTotal(300).maxRetries(3).httpProtocol("h2").httpTransport("okhttp")
 				.socketTimeoutMillis(0).connectionTimeoutMillis(60000).tcpKeepInterval(30).environment("app").tcpKeepIdle(60)
 				.tcpKeepCount(10).connectionCachingEnabled(true).preparedStatementParamStyle("native")
-				.compressRequestPayload(false)
+				.compressRequestPayload(false).requestPayloadCompression("gzip").spoolMemoryThreshold(8388608)
 				.build();
 
 		Properties properties = new Properties();
@@ -60,10 +60,10 @@ class FireboltPropertiesTest {
 				.sslCertificatePath("root_cert").sslMode("none").path("example").database("myDb").compress(true)
 				.port(443).principal(null).secret(null).host("myDummyHost").ssl(true).systemEngine(false)
 				.initialAdditionalProperties(customProperties).keepAliveTimeoutMillis(300000)
-				.maxConnectionsTotal(300).maxRetries(3).socketTimeoutMillis(20).connectionTimeoutMillis(60000)
+				.maxConnectionsTotal(300).httpProtocol("h2").httpTransport("okhttp").maxRetries(3).socketTimeoutMillis(20).connectionTimeoutMillis(60000)
 				.tcpKeepInterval(30).tcpKeepIdle(60).tcpKeepCount(10).environment("app").validateOnSystemEngine(true)
 				.mergePreparedStatementBatches(true).connectionCachingEnabled(true).preparedStatementParamStyle("fb_numeric")
-				.compressRequestPayload(false)
+				.compressRequestPayload(false).requestPayloadCompression("gzip").spoolMemoryThreshold(8388608)
 				.build();
 		assertEquals(expectedDefaultProperties, new FireboltProperties(properties));
 	}
@@ -1,13 +1,16 @@
 package com.firebolt.jdbc.resultset;
 
 import com.firebolt.jdbc.CheckedFunction;
+import com.firebolt.jdbc.exception.ExceptionType;
 import com.firebolt.jdbc.exception.FireboltException;
+import com.firebolt.jdbc.exception.SQLState;
 import com.firebolt.jdbc.statement.FireboltStatement;
 import com.firebolt.jdbc.util.LoggerUtil;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.io.SequenceInputStream;
 import java.io.StringReader;
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -15,6 +18,7 @@ import java.math.RoundingMode;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.sql.Array;
+import java.sql.Blob;
 import java.sql.Clob;
 import java.sql.Date;
 import java.sql.ResultSet;
@@ -29,12 +33,14 @@ import java.sql.Types;
 import java.sql.Wrapper;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.Calendar;
+import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
 import java.util.concurrent.Callable;
@@ -84,6 +90,41 @@ class FireboltResultSetTest {
 		resultSet.close();
 	}
 
+	@Test
+	void shouldReportReadFailureOfCancelledStatementAsCancellation() throws SQLException {
+		when(fireboltStatement.isCancelled()).thenReturn(true);
+		inputStream = failingAfter("c\ntext\n1\n2\n");
+		resultSet = createResultSet(inputStream);
+		FireboltException e = assertThrows(FireboltException.class, () -> {
+			while (resultSet.next()) {
+				resultSet.getString(1);
+			}
+		});
+		assertEquals(ExceptionType.CANCELED, e.getType());
+		assertEquals(SQLState.QUERY_CANCELED.getCode(), e.getSQLState());
+	}
+
+	@Test
+	void shouldReportReadFailureOfStatementNotCancelledAsError() throws SQLException {
+		inputStream = failingAfter("c\ntext\n1\n2\n");
+		resultSet = createResultSet(inputStream);
+		SQLException e = assertThrows(SQLException.class, () -> {
+			while (resultSet.next()) {
+				resultSet.getString(1);
+			}
+		});
+		assertFalse(e instanceof FireboltException);
+	}
+
+	private static InputStream failingAfter(String content) {
+		return new SequenceInputStream(new ByteArrayInputStream(content.getBytes()), new InputStream() {
+			@Override
+			public int read() throws IOException {
+				throw new IOException("stream was reset: CANCEL");
+			}
+		});
+	}
+
 	@Test
 	void shouldThrowOnStreamedErrorTrailer() throws SQLException {
 		// Firebolt Core can return HTTP 200 with a per-row evaluation error appended inline to a
@@ -981,6 +1022,49 @@ class FireboltResultSetTest {
 		assertEquals("\\x00ab", resultSet.getString("a_bytea"));
 	}
 
+	@Test
+	void shouldStreamByteA() throws SQLException, IOException {
+		inputStream = getInputStreamWithByteA();
+		resultSet = createResultSet(inputStream);
+		resultSet.next();
+		InputStream binaryStream = resultSet.getBinaryStream("a_bytea");
+		assertArrayEquals(new byte[] { -34, -83, -66, -17 }, resultSet.getBlob("a_bytea").getBytes(1, 4));
+		assertNull(resultSet.getBinaryStream("null_bytea"));
+		assertArrayEquals(new byte[] {}, resultSet.getBinaryStream("an_empty_bytea").readAllBytes());
+		resultSet.next();
+		// the stream obtained for the previous row is still readable after moving to the next row
+		assertArrayEquals(new byte[] { -34, -83, -66, -17 }, binaryStream.readAllBytes());
+		assertArrayEquals(new byte[] { 0, -85 }, resultSet.getBinaryStream("a_bytea").readAllBytes());
+	}
+
+	@Test
+	void shouldReportInvalidByteAWithTheColumnIndex() throws SQLException {
+		String body = String.join("\n", "id\todd_bytea\tinvalid_bytea", "Int64\tbytea\tbytea", "1\t\\x123\t\\x4zz1") + "\n";
+		inputStream = new ByteArrayInputStream(body.getBytes());
+		resultSet = createResultSet(inputStream);
+		resultSet.next();
+		for (Executable read : List.<Executable>of(() -> resultSet.getBytes(2), () -> resultSet.getBinaryStream(2), () -> resultSet.getBlob(2))) {
+			FireboltException e = assertThrows(FireboltException.class, read);
+			assertEquals("The value of the column 2 is not a valid binary value: Odd number of characters in hex string", e.getMessage());
+			assertEquals(TYPE_TRANSFORMATION_ERROR, e.getType());
+		}
+		assertEquals("The value of the column 3 is not a valid binary value: Illegal character z in hex string",
+				assertThrows(FireboltException.class, () -> resultSet.getBytes(3)).getMessage());
+	}
+
+	@Test
+	void shouldDecodeBlobOfByteAWhenItIsRead() throws SQLException, IOException {
+		inputStream = getInputStreamWithByteA();
+		resultSet = createResultSet(inputStream);
+		resultSet.next();
+		Blob blob = resultSet.getBlob("a_bytea");
+		assertEquals(4, blob.length());
+		assertArrayEquals(new byte[] { -34, -83, -66, -17 }, blob.getBinaryStream().readAllBytes());
+		assertArrayEquals(new byte[] { -83, -66 }, blob.getBytes(2, 2));
+		assertEquals(0, resultSet.getBlob("an_empty_bytea").length());
+		assertNull(resultSet.getBlob("null_bytea"));
+	}
+
 	@Test
 	void shouldFindEmptyByteA() throws SQLException {
 		inputStream = getInputStreamWithByteA();
@@ -1449,6 +1533,40 @@ class FireboltResultSetTest {
 		assertArrayEquals(new Integer[] { 1, 2, 3, 4 }, ((Integer[]) resultSet.getObject(9, Array.class).getArray()));
 	}
 
+	@Test
+	void shouldReturnJavaTimeObjectsWithProvidedTypes() throws SQLException {
+		inputStream = getInputStreamWithNewTypes();
+		resultSet = createResultSet(inputStream);
+		resultSet.next();
+		assertEquals(LocalDate.of(1, 3, 28), resultSet.getObject(2, LocalDate.class));
+		assertEquals(LocalDateTime.of(1860, 3, 4, 0, 0), resultSet.getObject(3, LocalDateTime.class));
+		assertEquals(LocalDateTime.of(2019, 7, 31, 1, 1, 1, 123400000), resultSet.getObject(6, LocalDateTime.class));
+		assertEquals(LocalDate.of(2019, 7, 31), resultSet.getObject(6, LocalDate.class));
+		assertEquals(LocalDateTime.of(2019, 7, 31, 1, 1, 1, 123400000).toInstant(ZoneOffset.UTC),
+				resultSet.getObject(6, Instant.class));
+		assertEquals(LocalDateTime.of(1111, 1, 5, 17, 4, 42, 123456000), resultSet.getObject(7, LocalDateTime.class));
+		assertEquals(LocalDateTime.of(1111, 1, 5, 17, 4, 42, 123456000), resultSet.getObject(8, LocalDateTime.class));
+		assertEquals(LocalDateTime.of(1111, 1, 5, 17, 4, 42, 123456000).toInstant(ZoneOffset.UTC),
+				resultSet.getObject(8, Instant.class));
+		assertThrows(FireboltException.class, () -> resultSet.getObject(1, LocalDateTime.class));
+	}
+
+	@Test
+	void shouldKeepOffsetOfTimestampWithTimezoneWhenReadingJavaTimeObjects() throws SQLException {
+		String body = String.join("\n",
+				"tsz", // header (column name)
+				"timestamptz", // header (column type)
+				"2023-01-05 16:04:42.123456+05:30") + "\n";
+		inputStream = new ByteArrayInputStream(body.getBytes());
+		resultSet = createResultSet(inputStream);
+		resultSet.next();
+		OffsetDateTime expected = OffsetDateTime.of(2023, 1, 5, 16, 4, 42, 123456000, ZoneOffset.ofHoursMinutes(5, 30));
+		assertEquals(expected, resultSet.getObject(1, OffsetDateTime.class));
+		assertEquals(expected.toInstant(), resultSet.getObject(1, Instant.class));
+		assertEquals(LocalDateTime.of(2023, 1, 5, 10, 34, 42, 123456000), resultSet.getObject(1, LocalDateTime.class));
+		assertEquals(LocalDate.of(2023, 1, 5), resultSet.getObject(1, LocalDate.class));
+	}
+
 	@Test
 	void shouldThrowExceptionWhenConvertingIncompatibleTypes() throws SQLException {
 		inputStream = getInputStreamWithCommonResponseExample();
@@ -0,0 +1,101 @@
+package com.firebolt.jdbc.resultset;
+
+import com.firebolt.jdbc.resultset.compress.LZ4OutputStream;
+import com.firebolt.jdbc.statement.ExportFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResultExporterTest {
+
+	private static final String ROWS = "id,name\n1,first\n2,\"{\"\n3,third";
+
+	@Test
+	void shouldWriteResponseAsItIsAndCloseIt() throws SQLException, IOException {
+		boolean[] closed = { false };
+		InputStream response = new ByteArrayInputStream(ROWS.getBytes(UTF_8)) {
+			@Override
+			public void close() {
+				closed[0] = true;
+			}
+		};
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		assertEquals(ROWS.length(), ResultExporter.export(response, Channels.newChannel(out), ExportFormat.CSV, false, false));
+		assertEquals(ROWS, out.toString(UTF_8));
+		assertTrue(closed[0]);
+	}
+
+	@Test
+	void shouldWriteLinesLongerThanTheBuffer() throws SQLException, IOException {
+		char[] line = new char[200_000];
+		Arrays.fill(line, 'a');
+		String rows = "{\"a\":1}\n{\n" + new String(line) + "\n{\n";
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ResultExporter.export(new ByteArrayInputStream(rows.getBytes(UTF_8)), Channels.newChannel(out), ExportFormat.JSON_LINES, false, false);
+		assertEquals(rows, out.toString(UTF_8));
+	}
+
+	@Test
+	void shouldThrowPlainErrorTrailerWithoutWritingIt() {
+		String trailer = "Line 1, Column 8: Unable to cast text 'x' to boolean\nSELECT 'x'::boolean\n       ^";
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		SQLException e = assertThrows(SQLException.class, () -> ResultExporter.export(
+				new ByteArrayInputStream((ROWS + "\n" + trailer).getBytes(UTF_8)), Channels.newChannel(out), ExportFormat.CSV, false, false));
+		assertEquals(trailer, e.getMessage());
+		assertEquals(ROWS + "\n", out.toString(UTF_8));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			"{\"errors\":[{\"description\":\"Line 1, Column 8: Unable to cast\"}]}",
+			"{\n  \"errors\": [\n    {\n      \"description\": \"Line 1, Column 8: Unable to cast\"\n    }\n  ]\n}\n",
+	})
+	void shouldThrowJsonErrorTrailerWithoutWritingIt(String trailer) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		SQLException e = assertThrows(SQLException.class, () -> ResultExporter.export(
+				new ByteArrayInputStream((ROWS + "\n" + trailer).getBytes(UTF_8)), Channels.newChannel(out), ExportFormat.TSV, false, false));
+		assertTrue(e.getMessage().contains("Line 1, Column 8: Unable to cast"));
+		assertEquals(ROWS + "\n", out.toString(UTF_8));
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = {false, true})
+	void shouldWriteCompressedResponse(boolean keepCompression) throws SQLException, IOException {
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		LZ4OutputStream lz4 = new LZ4OutputStream(compressed, 16);
+		lz4.write(ROWS.getBytes(UTF_8));
+		lz4.flush();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ResultExporter.export(new ByteArrayInputStream(compressed.toByteArray()), Channels.newChannel(out), ExportFormat.CSV, true, keepCompression);
+		assertArrayEquals(keepCompression ? compressed.toByteArray() : ROWS.getBytes(UTF_8), out.toByteArray());
+	}
+
+	@Test
+	void shouldWriteParquetFile() throws SQLException, IOException {
+		byte[] file = "PAR1\n\0Line 1, Column 1: data\n{\"errors\":[]}PAR1".getBytes(UTF_8);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ResultExporter.export(new ByteArrayInputStream(file), Channels.newChannel(out), ExportFormat.PARQUET, false, false);
+		assertArrayEquals(file, out.toByteArray());
+	}
+
+	@Test
+	void shouldThrowWhenParquetFileIsCut() {
+		byte[] file = "PAR1 data Line 1, Column 1: error".getBytes(UTF_8);
+		assertThrows(SQLException.class, () -> ResultExporter.export(new ByteArrayInputStream(file),
+				Channels.newChannel(new ByteArrayOutputStream()), ExportFormat.PARQUET, false, false));
+	}
+}
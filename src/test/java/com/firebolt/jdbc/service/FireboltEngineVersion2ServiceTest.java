@@ -13,6 +13,8 @@ import java.sql.Statement;
 import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.apache.commons.lang3.tuple.Pair;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -24,12 +26,17 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -73,7 +80,7 @@ class FireboltEngineVersion2ServiceTest {
         properties = new FireboltProperties(props);
 
         sessionProperties = new FireboltProperties(new Properties());
-        when(mockFireboltConnection.getSessionProperties()).thenReturn(sessionProperties);
+        lenient().when(mockFireboltConnection.getSessionProperties()).thenReturn(sessionProperties);
     }
 
     @ParameterizedTest(name = "database={0}")
@@ -87,10 +94,12 @@ class FireboltEngineVersion2ServiceTest {
         props.setProperty("engine", MY_ENGINE);
         properties = new FireboltProperties(props);
         Statement statement = mock(Statement.class);
-        when(mockFireboltConnection.createStatement()).thenReturn(statement);
         if (database != null) {
+            // database and engine are verified concurrently by separate statements
+            when(mockFireboltConnection.createStatementWithSessionSnapshot()).thenReturn(statement);
             when(statement.executeUpdate("USE DATABASE \"" + database + "\"")).thenReturn(1);
         } else {
+            when(mockFireboltConnection.createStatement()).thenReturn(statement);
             verify(statement, never()).executeQuery("USE DATABASE \"" + database + "\"");
         }
         when(statement.executeUpdate("USE ENGINE \"" + MY_ENGINE + "\"")).thenReturn(1);
@@ -106,7 +115,7 @@ class FireboltEngineVersion2ServiceTest {
 
     @Test
     void canGetDatabaseAndEngineFromSourceWhenCachingIsNotEnabled() throws SQLException {
-        when(mockFireboltConnection.createStatement()).thenReturn(mockFireboltStatement);
+        when(mockFireboltConnection.createStatementWithSessionSnapshot()).thenReturn(mockFireboltStatement);
         when(mockFireboltStatement.executeUpdate("USE DATABASE \"" + MY_DATABASE + "\"")).thenReturn(1);
         when(mockFireboltStatement.executeUpdate("USE ENGINE \"" + MY_ENGINE + "\"")).thenReturn(1);
         when(mockFireboltConnection.getSessionProperties()).thenReturn(properties);
@@ -136,7 +145,7 @@ class FireboltEngineVersion2ServiceTest {
         sessionProperties.addProperty("engine", MY_ENGINE, true);
         when(mockFireboltConnection.getEndpoint()).thenReturn(MY_ENGINE_ENDPOINT);
 
-        when(mockFireboltConnection.createStatement()).thenReturn(mockFireboltStatement);
+        when(mockFireboltConnection.createStatementWithSessionSnapshot()).thenReturn(mockFireboltStatement);
         when(mockFireboltStatement.executeUpdate("USE DATABASE \"" + MY_DATABASE + "\"")).thenReturn(1);
         when(mockFireboltStatement.executeUpdate("USE ENGINE \"" + MY_ENGINE + "\"")).thenReturn(1);
 
@@ -163,14 +172,12 @@ class FireboltEngineVersion2ServiceTest {
         assertEquals("engine", engineOptions.getParameters().get(0).getKey());
         assertEquals(MY_ENGINE, engineOptions.getParameters().get(0).getValue());
 
-        // one for the db and one for engine
-        verify(mockCacheService, times(2)).put(mockCacheKey, mockConnectionCache);
+        // the db and the engine are saved together
+        verify(mockCacheService, times(1)).put(mockCacheKey, mockConnectionCache);
     }
 
     @Test
     void canGetDatabaseAndEngineFromCache() throws SQLException {
-        when(mockFireboltConnection.createStatement()).thenReturn(mockFireboltStatement);
-
         DatabaseOptions databaseOptions = new DatabaseOptions(List.of(Pair.of("database", MY_DATABASE)));
         when(mockConnectionCache.getDatabaseOptions(MY_DATABASE)).thenReturn(Optional.of(databaseOptions));
 
@@ -188,8 +195,8 @@ class FireboltEngineVersion2ServiceTest {
         assertEquals(new Engine(MY_ENGINE_ENDPOINT, null, MY_ENGINE, MY_DATABASE, null), actualEngine);
 
         // should not make db calls
-        verify(mockFireboltStatement, never()).executeUpdate("USE DATABASE \"" + MY_DATABASE + "\"");
-        verify(mockFireboltStatement, never()).executeUpdate("USE ENGINE \"" + MY_ENGINE + "\"");
+        verify(mockFireboltConnection, never()).createStatement();
+        verify(mockFireboltConnection, never()).createStatementWithSessionSnapshot();
 
         // should not update any values in cache
         verify(mockConnectionCache, never()).setDatabaseOptions(any(), any());
@@ -292,4 +299,74 @@ class FireboltEngineVersion2ServiceTest {
        verify(mockCacheService).put(mockCacheKey, mockConnectionCache);
    }
 
-}
\ No newline at end of file
+    @Test
+    void verifiesDatabaseAndEngineConcurrently() throws Exception {
+        when(mockFireboltConnection.getSessionProperties()).thenReturn(properties);
+        when(mockFireboltConnection.getEndpoint()).thenReturn(MY_ENGINE_ENDPOINT);
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        Statement databaseStatement = mock(Statement.class);
+        Statement engineStatement = mock(Statement.class);
+        when(mockFireboltConnection.createStatementWithSessionSnapshot()).thenReturn(databaseStatement, engineStatement);
+        Answer<Integer> waitForTheOtherStatement = invocation -> {
+            bothStarted.countDown();
+            // would time out if the statements were executed one after the other
+            return bothStarted.await(5, TimeUnit.SECONDS) ? 1 : 0;
+        };
+        when(databaseStatement.executeUpdate("USE DATABASE \"" + MY_DATABASE + "\"")).thenAnswer(waitForTheOtherStatement);
+        when(engineStatement.executeUpdate("USE ENGINE \"" + MY_ENGINE + "\"")).thenAnswer(waitForTheOtherStatement);
+
+        FireboltEngineVersion2Service service = new FireboltEngineVersion2Service(mockFireboltConnection);
+        assertEquals(new Engine(MY_ENGINE_ENDPOINT, null, MY_ENGINE, MY_DATABASE, null), service.getEngine(properties, Optional.empty(), mockCacheService, mockCacheKey));
+        assertEquals(0, bothStarted.getCount());
+        verify(databaseStatement).close();
+        verify(engineStatement).close();
+    }
+
+    @Test
+    void failureOfDatabaseVerificationIsReportedAfterEngineVerification() throws SQLException {
+        Statement databaseStatement = mock(Statement.class);
+        Statement engineStatement = mock(Statement.class);
+        when(mockFireboltConnection.createStatementWithSessionSnapshot()).thenReturn(databaseStatement, engineStatement);
+        SQLException databaseDoesNotExist = new SQLException("Database my_database does not exist");
+        when(databaseStatement.executeUpdate("USE DATABASE \"" + MY_DATABASE + "\"")).thenThrow(databaseDoesNotExist);
+        when(engineStatement.executeUpdate("USE ENGINE \"" + MY_ENGINE + "\"")).thenReturn(1);
+
+        FireboltEngineVersion2Service service = new FireboltEngineVersion2Service(mockFireboltConnection);
+        assertSame(databaseDoesNotExist, assertThrows(SQLException.class, () -> service.getEngine(properties, Optional.of(mockConnectionCache), mockCacheService, mockCacheKey)));
+        verify(engineStatement).executeUpdate("USE ENGINE \"" + MY_ENGINE + "\"");
+        verify(mockCacheService, never()).put(any(), any());
+    }
+
+    @Test
+    void failureOfEngineVerificationIsReportedAsSqlException() throws SQLException {
+        Statement databaseStatement = mock(Statement.class);
+        Statement engineStatement = mock(Statement.class);
+        when(mockFireboltConnection.createStatementWithSessionSnapshot()).thenReturn(databaseStatement, engineStatement);
+        SQLException engineDoesNotExist = new SQLException("Engine my_engine does not exist");
+        when(databaseStatement.executeUpdate("USE DATABASE \"" + MY_DATABASE + "\"")).thenReturn(1);
+        when(engineStatement.executeUpdate("USE ENGINE \"" + MY_ENGINE + "\"")).thenThrow(engineDoesNotExist);
+
+        FireboltEngineVersion2Service service = new FireboltEngineVersion2Service(mockFireboltConnection);
+        assertSame(engineDoesNotExist, assertThrows(SQLException.class, () -> service.getEngine(properties, Optional.empty(), mockCacheService, mockCacheKey)));
+        verify(databaseStatement).executeUpdate("USE DATABASE \"" + MY_DATABASE + "\"");
+        verify(databaseStatement).close();
+        verify(engineStatement).close();
+    }
+
+    @Test
+    void failureOfEngineVerificationIsReportedBeforeFailureOfDatabaseVerification() throws SQLException {
+        Statement databaseStatement = mock(Statement.class);
+        Statement engineStatement = mock(Statement.class);
+        when(mockFireboltConnection.createStatementWithSessionSnapshot()).thenReturn(databaseStatement, engineStatement);
+        SQLException databaseDoesNotExist = new SQLException("Database my_database does not exist");
+        SQLException engineDoesNotExist = new SQLException("Engine my_engine does not exist");
+        when(databaseStatement.executeUpdate("USE DATABASE \"" + MY_DATABASE + "\"")).thenThrow(databaseDoesNotExist);
+        when(engineStatement.executeUpdate("USE ENGINE \"" + MY_ENGINE + "\"")).thenThrow(engineDoesNotExist);
+
+        FireboltEngineVersion2Service service = new FireboltEngineVersion2Service(mockFireboltConnection);
+        SQLException e = assertThrows(SQLException.class, () -> service.getEngine(properties, Optional.of(mockConnectionCache), mockCacheService, mockCacheKey));
+        assertSame(engineDoesNotExist, e);
+        assertArrayEquals(new Throwable[] {databaseDoesNotExist}, e.getSuppressed());
+        verify(mockCacheService, never()).put(any(), any());
+    }
+}
@@ -6,6 +6,7 @@ import com.firebolt.jdbc.connection.FireboltConnection;
 import com.firebolt.jdbc.connection.settings.FireboltProperties;
 import com.firebolt.jdbc.exception.FireboltException;
 import com.firebolt.jdbc.resultset.FireboltResultSet;
+import com.firebolt.jdbc.statement.ExportFormat;
 import com.firebolt.jdbc.statement.FireboltStatement;
 import com.firebolt.jdbc.statement.StatementInfoWrapper;
 import com.firebolt.jdbc.statement.StatementUtil;
@@ -20,7 +21,9 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
+import java.nio.channels.Channels;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Map;
@@ -32,6 +35,7 @@ import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -61,6 +65,37 @@ class FireboltStatementServiceTest {
 		}
 	}
 
+	@Test
+	void shouldSpoolResponseAndCloseItBeforeCreatingResultSet() throws SQLException {
+		try (MockedConstruction<FireboltResultSet> mocked = Mockito.mockConstruction(FireboltResultSet.class)) {
+			StatementInfoWrapper statementInfoWrapper = StatementUtil.parseToStatementInfoWrappers("SELECT 1").get(0);
+			FireboltProperties fireboltProperties = fireboltProperties("firebolt1", false).toBuilder().spoolResults(true).spoolMemoryThreshold(1024).build();
+			InputStream response = spy(new ByteArrayInputStream("1\n".getBytes()));
+			when(statementClient.executeSqlStatement(statementInfoWrapper, fireboltProperties, 0, IS_SYNC)).thenReturn(response);
+			FireboltStatementService fireboltStatementService = new FireboltStatementService(statementClient);
+			fireboltStatementService.execute(statementInfoWrapper, fireboltProperties, mock(FireboltStatement.class));
+			assertEquals(1, mocked.constructed().size());
+			verify(response).close();
+		}
+	}
+
+	@Test
+	void shouldExportQueryResultWithoutCreatingResultSet() throws SQLException {
+		try (MockedConstruction<FireboltResultSet> mocked = Mockito.mockConstruction(FireboltResultSet.class)) {
+			StatementInfoWrapper statementInfoWrapper = StatementUtil.parseToStatementInfoWrappers("SELECT 1").get(0);
+			FireboltProperties fireboltProperties = fireboltProperties("firebolt1", false);
+			InputStream response = spy(new ByteArrayInputStream("?column?\n1\n".getBytes()));
+			when(statementClient.executeSqlStatementWithOutputFormat(statementInfoWrapper, fireboltProperties, 0, "CSVWithNames")).thenReturn(response);
+			FireboltStatementService fireboltStatementService = new FireboltStatementService(statementClient);
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			assertEquals(11, fireboltStatementService.export(statementInfoWrapper, fireboltProperties, mock(FireboltStatement.class),
+					ExportFormat.CSV, Channels.newChannel(out), false));
+			assertEquals("?column?\n1\n", out.toString());
+			assertEquals(0, mocked.constructed().size());
+			verify(response).close();
+		}
+	}
+
 	@Test
 	void shouldExecuteQueryWithLocalHostFormatParameters() throws SQLException {
 		try (MockedConstruction<FireboltResultSet> mocked = Mockito.mockConstruction(FireboltResultSet.class)) {
@@ -9,6 +9,7 @@ import com.firebolt.jdbc.client.query.StatementClient;
 import com.firebolt.jdbc.connection.FireboltConnection;
 import com.firebolt.jdbc.connection.settings.FireboltProperties;
 import com.firebolt.jdbc.connection.settings.FireboltSessionProperty;
+import com.firebolt.jdbc.exception.ExceptionType;
 import com.firebolt.jdbc.exception.FireboltException;
 import com.firebolt.jdbc.resultset.FireboltResultSet;
 import com.firebolt.jdbc.service.FireboltStatementService;
@@ -24,10 +25,14 @@ import java.sql.SQLFeatureNotSupportedException;
 import java.sql.SQLWarning;
 import java.sql.Statement;
 import java.sql.Wrapper;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -50,6 +55,7 @@ import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -57,6 +63,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -120,8 +127,10 @@ class FireboltStatementTest {
         Field runningStatementField = FireboltStatement.class.getDeclaredField("runningStatementLabel");
         runningStatementField.setAccessible(true);
         runningStatementField.set(fireboltStatement, "1234");
+        assertFalse(fireboltStatement.isCancelled());
         fireboltStatement.cancel();
         verify(fireboltStatementService).abortStatement(any(), eq(fireboltProperties));
+        assertTrue(fireboltStatement.isCancelled());
     }
 
     @Test
@@ -426,6 +435,154 @@ class FireboltStatementTest {
         assertEquals(12345, statement.getQueryTimeout());
     }
 
+    @Test
+    void queryDeadline() {
+        FireboltStatement statement = new FireboltStatement(fireboltStatementService, null, mock(FireboltConnection.class));
+        assertNull(statement.getQueryDeadline());
+        Instant deadline = Instant.now().plusSeconds(60);
+        statement.setQueryDeadline(deadline);
+        assertEquals(deadline, statement.getQueryDeadline());
+        statement.setQueryDeadline(null);
+        assertNull(statement.getQueryDeadline());
+    }
+
+    @Test
+    void shouldCancelStatementAndSkipNextOnesWhenDeadlinePasses() throws SQLException {
+        FireboltConnection connection = mock(FireboltConnection.class);
+        when(connection.getSessionProperties()).thenReturn(fireboltProperties);
+        FireboltStatement fireboltStatement = new FireboltStatement(fireboltStatementService, fireboltProperties, connection);
+        CountDownLatch aborted = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            aborted.countDown();
+            return null;
+        }).when(fireboltStatementService).abortStatement(any(), eq(fireboltProperties));
+        // the first statement only completes once it is cancelled
+        when(fireboltStatementService.execute(any(), any(), any())).thenAnswer(invocation -> {
+            assertTrue(aborted.await(10, TimeUnit.SECONDS));
+            return Optional.empty();
+        });
+        fireboltStatement.setQueryDeadline(Instant.now().plusMillis(100));
+        FireboltException e = assertThrows(FireboltException.class, () -> fireboltStatement.execute("INSERT INTO t VALUES (1); INSERT INTO t VALUES (2)"));
+        assertEquals(ExceptionType.CANCELED, e.getType());
+        assertTrue(fireboltStatement.isCancelled());
+        verify(fireboltStatementService).execute(any(), any(), any());
+        verify(fireboltStatementService).abortStatement(any(), eq(fireboltProperties));
+    }
+
+    @Test
+    void shouldNotCancelStatementCompletedBeforeDeadline() throws SQLException, InterruptedException {
+        FireboltConnection connection = mock(FireboltConnection.class);
+        when(connection.getSessionProperties()).thenReturn(fireboltProperties);
+        FireboltStatement fireboltStatement = new FireboltStatement(fireboltStatementService, fireboltProperties, connection);
+        when(fireboltStatementService.execute(any(), any(), any())).thenReturn(Optional.empty());
+        fireboltStatement.setQueryDeadline(Instant.now().plusMillis(100));
+        fireboltStatement.setQueryTimeout(60);
+        assertFalse(fireboltStatement.execute("INSERT INTO t VALUES (1)"));
+        Thread.sleep(300);
+        verify(fireboltStatementService, never()).abortStatement(any(), any());
+    }
+
+    @Test
+    void shouldRunConsecutiveQueriesConcurrentlyAndReturnResultsInOrder() throws SQLException {
+        FireboltProperties properties = FireboltProperties.builder().initialAdditionalProperties(new HashMap<>()).maxConcurrentStatements(3).build();
+        FireboltConnection connection = mock(FireboltConnection.class);
+        when(connection.getSessionProperties()).thenReturn(properties);
+        when(connection.getAutoCommit()).thenReturn(true);
+        Map<String, ResultSet> resultSets = Map.of("SELECT 1", mock(FireboltResultSet.class), "SELECT 2", mock(FireboltResultSet.class),
+                "SELECT 3", mock(FireboltResultSet.class));
+        // each query only returns once the 3 queries were sent
+        CountDownLatch sent = new CountDownLatch(3);
+        when(fireboltStatementService.execute(any(), any(), any(), eq(true))).thenAnswer(invocation -> {
+            sent.countDown();
+            assertTrue(sent.await(10, TimeUnit.SECONDS));
+            String sql = invocation.<StatementInfoWrapper>getArgument(0).getSql();
+            return resultSets.keySet().stream().filter(sql::contains).findFirst().map(resultSets::get);
+        });
+        FireboltStatement fireboltStatement = new FireboltStatement(fireboltStatementService, properties, connection);
+
+        assertTrue(fireboltStatement.execute("SELECT 1; SELECT 2; SELECT 3"));
+        assertSame(resultSets.get("SELECT 1"), fireboltStatement.getResultSet());
+        assertTrue(fireboltStatement.getMoreResults());
+        assertSame(resultSets.get("SELECT 2"), fireboltStatement.getResultSet());
+        assertTrue(fireboltStatement.getMoreResults());
+        assertSame(resultSets.get("SELECT 3"), fireboltStatement.getResultSet());
+        assertFalse(fireboltStatement.getMoreResults());
+    }
+
+    @Test
+    void shouldSendConcurrentQueriesWithTheSessionTakenBeforeTheFirstQuery() throws SQLException {
+        FireboltProperties properties = FireboltProperties.builder().initialAdditionalProperties(new HashMap<>()).maxConcurrentStatements(3).build();
+        FireboltConnection connection = mock(FireboltConnection.class);
+        when(connection.getSessionProperties()).thenReturn(properties);
+        when(connection.getAutoCommit()).thenReturn(true);
+        Map<String, FireboltProperties> sentProperties = new ConcurrentHashMap<>();
+        CountDownLatch sent = new CountDownLatch(3);
+        when(fireboltStatementService.execute(any(), any(), any(), eq(true))).thenAnswer(invocation -> {
+            String sql = invocation.<StatementInfoWrapper>getArgument(0).getSql();
+            String query = Stream.of("SELECT 1", "SELECT 2", "SELECT 3").filter(sql::contains).findFirst().orElseThrow();
+            sentProperties.put(query, invocation.getArgument(1));
+            // the response of each query updates the session of the connection while the other queries are sent
+            synchronized (properties) {
+                properties.addProperty("updated_by_" + query.replace(' ', '_'), "1", true);
+            }
+            sent.countDown();
+            assertTrue(sent.await(10, TimeUnit.SECONDS));
+            return Optional.empty();
+        });
+        FireboltStatement fireboltStatement = new FireboltStatement(fireboltStatementService, properties, connection);
+
+        fireboltStatement.execute("SELECT 1; SELECT 2; SELECT 3");
+        assertEquals(3, sentProperties.size());
+        for (FireboltProperties sessionProperties : sentProperties.values()) {
+            assertNotSame(properties, sessionProperties);
+            assertEquals(Map.of(), sessionProperties.getAdditionalProperties());
+        }
+        assertEquals(Map.of("updated_by_SELECT_1", "1", "updated_by_SELECT_2", "1", "updated_by_SELECT_3", "1"), properties.getAdditionalProperties());
+    }
+
+    @Test
+    void shouldThrowErrorOfFirstFailedConcurrentQueryAndCloseResultsOfNextOnes() throws SQLException {
+        FireboltProperties properties = FireboltProperties.builder().initialAdditionalProperties(new HashMap<>()).maxConcurrentStatements(3).build();
+        FireboltConnection connection = mock(FireboltConnection.class);
+        when(connection.getSessionProperties()).thenReturn(properties);
+        when(connection.getAutoCommit()).thenReturn(true);
+        ResultSet first = mock(FireboltResultSet.class);
+        ResultSet last = mock(FireboltResultSet.class);
+        CountDownLatch sent = new CountDownLatch(3);
+        when(fireboltStatementService.execute(any(), any(), any(), eq(true))).thenAnswer(invocation -> {
+            sent.countDown();
+            assertTrue(sent.await(10, TimeUnit.SECONDS));
+            String sql = invocation.<StatementInfoWrapper>getArgument(0).getSql();
+            if (sql.contains("SELECT 2")) {
+                throw new FireboltException("Query failed");
+            }
+            return Optional.of(sql.contains("SELECT 1") ? first : last);
+        });
+        FireboltStatement fireboltStatement = new FireboltStatement(fireboltStatementService, properties, connection);
+
+        assertEquals("Query failed", assertThrows(FireboltException.class, () -> fireboltStatement.execute("SELECT 1; SELECT 2; SELECT 3")).getMessage());
+        assertSame(first, fireboltStatement.getResultSet());
+        verify(last).close();
+    }
+
+    @Test
+    void shouldThrowErrorOfConcurrentQueryToCaller() throws SQLException {
+        FireboltProperties properties = FireboltProperties.builder().initialAdditionalProperties(new HashMap<>()).maxConcurrentStatements(2).build();
+        FireboltConnection connection = mock(FireboltConnection.class);
+        when(connection.getSessionProperties()).thenReturn(properties);
+        when(connection.getAutoCommit()).thenReturn(true);
+        ResultSet first = mock(FireboltResultSet.class);
+        when(fireboltStatementService.execute(any(), any(), any(), eq(true))).thenAnswer(invocation -> {
+            if (invocation.<StatementInfoWrapper>getArgument(0).getSql().contains("SELECT 2")) {
+                throw new OutOfMemoryError("no memory left");
+            }
+            return Optional.of(first);
+        });
+        FireboltStatement fireboltStatement = new FireboltStatement(fireboltStatementService, properties, connection);
+
+        assertEquals("no memory left", assertThrows(OutOfMemoryError.class, () -> fireboltStatement.execute("SELECT 1; SELECT 2")).getMessage());
+    }
+
     @Test
     void closeOnCompletion() throws SQLException {
         Statement statement = new FireboltStatement(fireboltStatementService, null, mock(FireboltConnection.class));
@@ -0,0 +1,98 @@
+package com.firebolt.jdbc.statement.preparedstatement;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileSourceTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void shouldWriteBytesSeveralTimes() throws IOException {
+		FileSource source = FileSource.of("file1", "content".getBytes(UTF_8));
+		assertEquals("file1", source.getIdentifier());
+		assertEquals(7, source.getContentLength());
+		assertTrue(source.isRepeatable());
+		assertEquals("content", write(source));
+		assertEquals("content", write(source));
+	}
+
+	@Test
+	void shouldStreamFile() throws IOException {
+		Path file = directory.resolve("data.parquet");
+		String content = "parquet".repeat(100_000);
+		Files.writeString(file, content);
+		FileSource source = FileSource.of("file1", file);
+		assertEquals(700_000, source.getContentLength());
+		assertTrue(source.isRepeatable());
+		assertEquals(content, write(source));
+		assertEquals(content, write(source));
+	}
+
+	@Test
+	void shouldStreamInputStreamOnce() throws IOException {
+		FileSource source = FileSource.of("file1", new ByteArrayInputStream("content".getBytes(UTF_8)));
+		assertEquals(FileSource.UNKNOWN_LENGTH, source.getContentLength());
+		assertFalse(source.isRepeatable());
+		assertEquals("content", write(source));
+		IOException e = assertThrows(IOException.class, () -> write(source));
+		assertEquals("The content of the file file1 was already sent and cannot be read again", e.getMessage());
+	}
+
+	@Test
+	void shouldOnlyReadLengthOfInputStream() throws IOException {
+		FileSource source = FileSource.of("file1", new ByteArrayInputStream("content and more".getBytes(UTF_8)), 7);
+		assertEquals(7, source.getContentLength());
+		assertEquals("content", write(source));
+	}
+
+	@Test
+	void shouldFailWhenInputStreamIsShorterThanLength() {
+		FileSource source = FileSource.of("file1", new ByteArrayInputStream("content".getBytes(UTF_8)), 10);
+		assertThrows(EOFException.class, () -> write(source));
+	}
+
+	@Test
+	void shouldStreamFileChannelFromItsPosition() throws IOException {
+		Path file = directory.resolve("data.parquet");
+		Files.writeString(file, "headercontent");
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			channel.position(6);
+			FileSource source = FileSource.of("file1", channel);
+			assertEquals(7, source.getContentLength());
+			assertEquals("content", write(source));
+			assertEquals(13, channel.position());
+		}
+	}
+
+	@Test
+	void shouldCreateSourcesFromBytes() throws IOException {
+		FileSource source = FileSource.fromBytes(Map.of("file1", "content".getBytes(UTF_8))).get(0);
+		assertEquals("file1", source.getIdentifier());
+		assertEquals("content", write(source));
+	}
+
+	private static String write(FileSource source) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		source.writeTo(Channels.newChannel(out));
+		return out.toString(UTF_8);
+	}
+}
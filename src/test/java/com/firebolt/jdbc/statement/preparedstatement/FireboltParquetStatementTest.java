@@ -19,8 +19,10 @@ import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayInputStream;
 import java.sql.SQLException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -97,6 +99,30 @@ class FireboltParquetStatementTest {
 	}
 
 
+	@Test
+	void shouldExecuteWithFileSources() throws SQLException {
+		String sql = "SELECT id, name FROM read_parquet('upload://file1')";
+		FileSource file = FileSource.of("file1", new ByteArrayInputStream(testFileContent));
+
+		when(mockStatementService.executeWithFileSources(any(StatementInfoWrapper.class), eq(mockSessionProperties), eq(parquetStatement), eq(List.of(file))))
+				.thenReturn(Optional.of(mockResultSet));
+
+		try (MockedStatic<StatementValidatorFactory> validatorFactory = mockStatic(StatementValidatorFactory.class)) {
+			validatorFactory.when(() -> createValidator(any(), eq(mockConnection))).thenReturn(mockStatementValidator);
+			doNothing().when(mockStatementValidator).validate(any());
+
+			assertTrue(parquetStatement.execute(sql, file));
+		}
+	}
+
+	@Test
+	void shouldRejectDuplicateFileSources() {
+		FireboltException exception = assertThrows(FireboltException.class, () -> parquetStatement.executeAsync(
+				"INSERT INTO test SELECT * FROM read_parquet('upload://file1')",
+				FileSource.of("file1", testFileContent), FileSource.of("file1", testFileContent)));
+		assertEquals("Duplicate file identifier 'file1'", exception.getMessage());
+	}
+
 	@Test
 	void shouldExecuteUpdateWithByteArrays() throws SQLException {
 		String sql = "INSERT INTO test SELECT id, name FROM read_parquet('upload://file1')";
@@ -51,6 +51,8 @@ import java.util.TimeZone;
 import java.util.stream.Stream;
 
 import static java.lang.String.format;
+import static java.sql.Statement.SUCCESS_NO_INFO;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -302,6 +304,68 @@ class FireboltPreparedStatementFbNumericTest {
 				queryInfoWrapperArgumentCaptor.getAllValues().get(1).getPreparedStatementParameters());
 	}
 
+	@Test
+	void shouldExecuteBatchAsArrayInsert() throws SQLException {
+		when(properties.isArrayBatchInsert()).thenReturn(true);
+		statement = createStatementWithSql("INSERT INTO cars (sales, make, price) VALUES ($1, $2, $3)");
+
+		statement.setInt(1, 150);
+		statement.setString(2, "Ford");
+		statement.setBigDecimal(3, new BigDecimal("1.5"));
+		statement.addBatch();
+		statement.setLong(1, 300L);
+		statement.setNull(2, Types.VARCHAR);
+		statement.setBigDecimal(3, new BigDecimal("20.25"));
+		statement.addBatch();
+		assertArrayEquals(new int[] {SUCCESS_NO_INFO, SUCCESS_NO_INFO}, statement.executeBatch());
+		verify(fireboltStatementService).execute(queryInfoWrapperArgumentCaptor.capture(), eq(properties), any());
+		assertEquals("INSERT INTO cars (sales, make, price) SELECT * FROM UNNEST($1::bigint[], $2::text[], $3::numeric(38, 2)[])",
+				queryInfoWrapperArgumentCaptor.getValue().getSql());
+		assertEquals("[{\"name\":\"$1\",\"value\":\"[150,300]\"},{\"name\":\"$2\",\"value\":\"[\\\"Ford\\\",null]\"}," +
+						"{\"name\":\"$3\",\"value\":\"[1.5,20.25]\"}]",
+				queryInfoWrapperArgumentCaptor.getValue().getPreparedStatementParameters());
+	}
+
+	@Test
+	void shouldExecuteBatchRowByRowWhenValuesCannotBeBoundAsArrays() throws SQLException {
+		when(properties.isArrayBatchInsert()).thenReturn(true);
+		statement = createStatementWithSql("INSERT INTO cars (sales, make) VALUES ($1,$2)");
+
+		statement.setInt(1, 150);
+		statement.setString(2, "Ford");
+		statement.addBatch();
+		statement.setString(1, "300");
+		statement.setString(2, "Tesla");
+		statement.addBatch();
+		statement.executeBatch();
+		verify(fireboltStatementService, times(2)).execute(queryInfoWrapperArgumentCaptor.capture(), eq(properties), any());
+		assertEquals("INSERT INTO cars (sales, make) VALUES ($1,$2)",
+				queryInfoWrapperArgumentCaptor.getAllValues().get(1).getSql());
+	}
+
+	@Test
+	void shouldExecuteBatchAsArrayInsertAfterBatchSentRowByRow() throws SQLException {
+		when(properties.isArrayBatchInsert()).thenReturn(true);
+		statement = createStatementWithSql("INSERT INTO cars (sales, release_date) VALUES ($1,$2)");
+
+		// a date converted with a calendar is sent as text, so this batch cannot be bound as arrays
+		statement.setInt(1, 150);
+		statement.setDate(2, Date.valueOf("2024-04-18"), Calendar.getInstance(TimeZone.getTimeZone("UTC")));
+		statement.addBatch();
+		statement.executeBatch();
+
+		statement.setInt(1, 300);
+		statement.setDate(2, Date.valueOf("2024-04-19"));
+		statement.addBatch();
+		statement.executeBatch();
+
+		verify(fireboltStatementService, times(2)).execute(queryInfoWrapperArgumentCaptor.capture(), eq(properties), any());
+		assertEquals("INSERT INTO cars (sales, release_date) VALUES ($1,$2)",
+				queryInfoWrapperArgumentCaptor.getAllValues().get(0).getSql());
+		assertEquals("INSERT INTO cars (sales, release_date) SELECT * FROM UNNEST($1::integer[], $2::date[])",
+				queryInfoWrapperArgumentCaptor.getAllValues().get(1).getSql());
+	}
+
 	@Test
 	void shouldThrowExceptionWhenAllParametersAreNotDefined() throws SQLException {
 		try (PreparedStatement ps = createStatementWithSql("SELECT * FROM cars WHERE make LIKE $1")) {
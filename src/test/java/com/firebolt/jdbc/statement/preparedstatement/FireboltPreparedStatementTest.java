@@ -53,20 +53,25 @@ import java.text.SimpleDateFormat;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Calendar;
+import java.util.List;
 import java.util.Optional;
 import java.util.TimeZone;
 import java.util.stream.Stream;
 
 import static java.lang.String.format;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -77,6 +82,8 @@ class FireboltPreparedStatementTest {
 
 	@Captor
 	ArgumentCaptor<StatementInfoWrapper> queryInfoWrapperArgumentCaptor;
+	@Captor
+	ArgumentCaptor<List<FileSource>> fileSourcesArgumentCaptor;
 	@Mock
 	private FireboltStatementService fireboltStatementService;
 	@Mock
@@ -323,6 +330,85 @@ class FireboltPreparedStatementTest {
 				queryInfoWrapperArgumentCaptor.getAllValues().get(1).getSql());
 	}
 
+	@Test
+	void shouldSendBatchRowsWhenBatchMemoryLimitIsReached() throws SQLException {
+		// a row of two short parameters uses about 150 bytes
+		when(properties.getBatchMemoryLimit()).thenReturn(250L);
+		statement = createStatementWithSql("INSERT INTO cars (sales, make) VALUES (?,?)");
+
+		for (int i = 1; i <= 5; i++) {
+			statement.setInt(1, i);
+			statement.setString(2, "Ford");
+			statement.addBatch();
+		}
+		// the first 4 rows were sent by 2 batches of 2 rows
+		verify(fireboltStatementService, times(4)).execute(any(), eq(properties), any());
+		assertArrayEquals(new int[] {PreparedStatement.SUCCESS_NO_INFO, PreparedStatement.SUCCESS_NO_INFO,
+				PreparedStatement.SUCCESS_NO_INFO, PreparedStatement.SUCCESS_NO_INFO, PreparedStatement.SUCCESS_NO_INFO}, statement.executeBatch());
+		verify(fireboltStatementService, times(5)).execute(queryInfoWrapperArgumentCaptor.capture(), eq(properties), any());
+		assertEquals("INSERT INTO cars (sales, make) VALUES (5,'Ford')", queryInfoWrapperArgumentCaptor.getValue().getSql());
+
+		// the rows are not sent again
+		assertArrayEquals(new int[0], statement.executeBatch());
+		verify(fireboltStatementService, times(5)).execute(any(), eq(properties), any());
+	}
+
+	@Test
+	void shouldNotReportRowsSentBeforeBatchWasCleared() throws SQLException {
+		when(properties.getBatchMemoryLimit()).thenReturn(250L);
+		statement = createStatementWithSql("INSERT INTO cars (sales, make) VALUES (?,?)");
+
+		for (int i = 1; i <= 3; i++) {
+			statement.setInt(1, i);
+			statement.setString(2, "Ford");
+			statement.addBatch();
+		}
+		// the first 2 rows were sent because of the memory limit, the third one is dropped
+		statement.clearBatch();
+		verify(fireboltStatementService, times(2)).execute(any(), eq(properties), any());
+
+		statement.setInt(1, 4);
+		statement.setString(2, "Tesla");
+		statement.addBatch();
+		assertArrayEquals(new int[] {PreparedStatement.SUCCESS_NO_INFO}, statement.executeBatch());
+		verify(fireboltStatementService, times(3)).execute(queryInfoWrapperArgumentCaptor.capture(), eq(properties), any());
+		assertEquals("INSERT INTO cars (sales, make) VALUES (4,'Tesla')", queryInfoWrapperArgumentCaptor.getValue().getSql());
+	}
+
+	@Test
+	void shouldExecuteBatchAsParquetFile() throws SQLException {
+		when(properties.isParquetBatchInsert()).thenReturn(true);
+		when(fireboltStatementService.executeWithFileSources(any(), eq(properties), any(), anyList())).thenReturn(Optional.empty());
+		statement = createStatementWithSql("INSERT INTO cars (sales, make) VALUES (?,?)");
+
+		statement.setInt(1, 150);
+		statement.setString(2, "Ford");
+		statement.addBatch();
+		statement.setInt(1, 300);
+		statement.setNull(2, Types.VARCHAR);
+		statement.addBatch();
+		assertArrayEquals(new int[] {PreparedStatement.SUCCESS_NO_INFO, PreparedStatement.SUCCESS_NO_INFO}, statement.executeBatch());
+		verify(fireboltStatementService).executeWithFileSources(queryInfoWrapperArgumentCaptor.capture(), eq(properties), any(), fileSourcesArgumentCaptor.capture());
+		verify(fireboltStatementService, never()).execute(any(), any(), any());
+		assertEquals("INSERT INTO cars (sales, make) SELECT * FROM read_parquet('upload://batch')",
+				queryInfoWrapperArgumentCaptor.getValue().getSql());
+		assertEquals("batch", fileSourcesArgumentCaptor.getValue().get(0).getIdentifier());
+	}
+
+	@Test
+	void shouldExecuteBatchRowByRowWhenValuesCannotBeWrittenInParquetFile() throws SQLException {
+		when(properties.isParquetBatchInsert()).thenReturn(true);
+		statement = createStatementWithSql("INSERT INTO cars (sales, sold_at) VALUES (?,?)");
+
+		statement.setInt(1, 150);
+		statement.setTimestamp(2, Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 10, 0)));
+		statement.addBatch();
+		statement.executeBatch();
+		verify(fireboltStatementService).execute(queryInfoWrapperArgumentCaptor.capture(), eq(properties), any());
+		verify(fireboltStatementService, never()).executeWithFileSources(any(), any(), any(), anyList());
+		assertTrue(queryInfoWrapperArgumentCaptor.getValue().getSql().startsWith("INSERT INTO cars (sales, sold_at) VALUES (150,"));
+	}
+
 	@ParameterizedTest
 	@ValueSource(strings = {
 			"SELECT * FROM cars WHERE make LIKE ?",
@@ -0,0 +1,74 @@
+package com.firebolt.jdbc.statement.preparedstatement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class ParameterValuesTest {
+
+	@Test
+	void shouldKeepValuesByParameterIndex() {
+		Map<Integer, Object> values = new ParameterValues(3);
+		values.put(3, "c");
+		values.put(1, null);
+		assertNull(values.put(2, "b"));
+		assertEquals("b", values.put(2, "B"));
+
+		assertEquals(3, values.size());
+		assertTrue(values.containsKey(1));
+		assertNull(values.get(1));
+		assertEquals("B", values.get(2));
+		assertFalse(values.containsKey(4));
+		assertEquals(List.of(1, 2, 3), new ArrayList<>(values.keySet()));
+		Map<Integer, Object> expected = new HashMap<>();
+		expected.put(1, null);
+		expected.put(2, "B");
+		expected.put(3, "c");
+		assertEquals(expected, values);
+	}
+
+	@Test
+	void shouldGrowWhenParameterIndexIsLargerThanParameterCount() {
+		Map<Integer, Object> values = new ParameterValues(1);
+		values.put(5, 5);
+		assertEquals(1, values.size());
+		assertEquals(5, values.get(5));
+		assertFalse(values.containsKey(1));
+	}
+
+	@Test
+	void shouldRemoveAndClearValues() {
+		Map<Integer, Object> values = new ParameterValues(2);
+		values.put(1, "a");
+		values.put(2, "b");
+		assertEquals("a", values.remove(1));
+		assertEquals(Map.of(2, "b"), values);
+		values.clear();
+		assertTrue(values.isEmpty());
+		assertFalse(values.containsKey(2));
+	}
+
+	@Test
+	void shouldEstimateMemoryOfRow() {
+		Map<Integer, Object> values = new ParameterValues(3);
+		values.put(1, "'Ford'");
+		values.put(2, new byte[10]);
+		values.put(3, null);
+		assertEquals(48 + 3 * 8 + 40 + 6 + 32 + 10, ParameterValues.estimateMemory(values));
+	}
+
+	@Test
+	void shouldNotAcceptInvalidParameterIndex() {
+		Map<Integer, Object> values = new ParameterValues(1);
+		assertThrows(IllegalArgumentException.class, () -> values.put(0, "a"));
+	}
+}
@@ -0,0 +1,95 @@
+package com.firebolt.jdbc.statement.preparedstatement;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+
+class ParquetBatchEncoderTest {
+
+	private static final byte[] MAGIC = "PAR1".getBytes(StandardCharsets.US_ASCII);
+
+	@Test
+	void shouldWriteParquetFile() throws IOException {
+		List<Map<Integer, Object>> rows = List.of(
+				row(1, "Ford", true, 10L, new BigDecimal("1.5"), Date.valueOf("2024-01-01"), 0.5, new byte[] {1}),
+				row(2, null, false, 20, new BigDecimal("-2.25"), null, 1.5f, null));
+		byte[] file = ParquetBatchEncoder.encode(rows, 8).orElseThrow();
+
+		assertArrayEquals(MAGIC, Arrays.copyOfRange(file, 0, 4));
+		assertArrayEquals(MAGIC, Arrays.copyOfRange(file, file.length - 4, file.length));
+		int footerLength = ByteBuffer.wrap(file, file.length - 8, 4).order(ByteOrder.LITTLE_ENDIAN).getInt();
+		String footer = new String(file, file.length - 8 - footerLength, footerLength, StandardCharsets.ISO_8859_1);
+		for (int i = 1; i <= 8; i++) {
+			assertTrue(footer.contains("c" + i));
+		}
+		assertTrue(footer.contains("firebolt-jdbc"));
+	}
+
+	@Test
+	void shouldWriteValuesAndDefinitionLevelsInDataPage() throws IOException {
+		byte[] file = ParquetBatchEncoder.encode(List.of(row(7), row((Object) null), row(9)), 1).orElseThrow();
+		// the page header (17 bytes) is followed by the compressed page
+		byte[] page;
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(file, 4 + 17, file.length))) {
+			page = in.readAllBytes();
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(page).order(ByteOrder.LITTLE_ENDIAN);
+		// definition levels: runs of 1 defined value, 1 null and 1 defined value
+		assertEquals(6, buffer.getInt());
+		assertArrayEquals(new byte[] {2, 1, 2, 0, 2, 1}, Arrays.copyOfRange(page, 4, 10));
+		buffer.position(10);
+		assertEquals(7, buffer.getInt());
+		assertEquals(9, buffer.getInt());
+		assertEquals(page.length, buffer.position());
+	}
+
+	@Test
+	void shouldNotWriteValuesThatAreNotSupported() throws IOException {
+		assertEquals(Optional.empty(), ParquetBatchEncoder.encode(List.of(row(ParquetBatchEncoder.UNSUPPORTED)), 1));
+		assertEquals(Optional.empty(), ParquetBatchEncoder.encode(List.of(row(new Object())), 1));
+	}
+
+	@Test
+	void shouldNotWriteColumnsWithDifferentTypes() throws IOException {
+		assertEquals(Optional.empty(), ParquetBatchEncoder.encode(List.of(row(1), row("1")), 1));
+	}
+
+	@Test
+	void shouldNotWriteColumnsWithOnlyNulls() throws IOException {
+		assertEquals(Optional.empty(), ParquetBatchEncoder.encode(List.of(row(1, null), row(2, null)), 2));
+	}
+
+	@Test
+	void shouldNotWriteMissingParameters() throws IOException {
+		assertEquals(Optional.empty(), ParquetBatchEncoder.encode(List.of(row(1)), 2));
+	}
+
+	@Test
+	void shouldNotWriteDecimalsLargerThanMaxPrecision() throws IOException {
+		assertEquals(Optional.empty(), ParquetBatchEncoder.encode(List.of(row(new BigDecimal("1".repeat(39)))), 1));
+	}
+
+	private static Map<Integer, Object> row(Object... values) {
+		Map<Integer, Object> row = new HashMap<>();
+		for (int i = 0; i < values.length; i++) {
+			row.put(i + 1, values[i]);
+		}
+		return row;
+	}
+}
@@ -0,0 +1,117 @@
+package com.firebolt.jdbc.testutils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FakeFireboltServerTest {
+
+	@ParameterizedTest
+	@ValueSource(ints = {0, 1})
+	void shouldStreamGeneratedRowsThroughDriver(int compress) throws Exception {
+		try (FakeFireboltServer server = FakeFireboltServer.start(FakeFireboltServer.options().rows(1000).textWidth(8));
+			 Connection connection = DriverManager.getConnection(server.getJdbcUrl("db", "compress=" + compress));
+			 Statement statement = connection.createStatement();
+			 ResultSet rs = statement.executeQuery("SELECT * FROM t")) {
+			int count = 0;
+			while (rs.next()) {
+				assertEquals(count + 1, rs.getInt(1)); // the generated ids start at 1
+				assertEquals(8, rs.getString(4).length());
+				count++;
+			}
+			assertEquals(1000, count);
+			assertEquals(1, server.getQueryRequests());
+			assertTrue(server.getStreamedBytes() > 0);
+		}
+	}
+
+	@Test
+	void shouldUseRowsHintOfQuery() throws Exception {
+		try (FakeFireboltServer server = FakeFireboltServer.start(FakeFireboltServer.options());
+			 Connection connection = DriverManager.getConnection(server.getJdbcUrl("db", null));
+			 Statement statement = connection.createStatement();
+			 ResultSet rs = statement.executeQuery("SELECT * FROM t /* rows=3 */")) {
+			assertTrue(rs.next());
+			assertTrue(rs.next());
+			assertTrue(rs.next());
+			assertFalse(rs.next());
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"gzip", "lz4", "zstd"})
+	void shouldDecodeCompressedRequests(String compression) throws Exception {
+		try (FakeFireboltServer server = FakeFireboltServer.start(FakeFireboltServer.options());
+			 Connection connection = DriverManager.getConnection(server.getJdbcUrl("db",
+					 "compress_request_payload=true&request_payload_compression=" + compression));
+			 Statement statement = connection.createStatement();
+			 ResultSet rs = statement.executeQuery("SELECT * FROM t /* rows=2 */")) {
+			assertTrue(rs.next());
+			assertTrue(rs.next());
+			assertFalse(rs.next());
+		}
+	}
+
+	@Test
+	void shouldSendQueryIdOfEachQuery() throws Exception {
+		try (FakeFireboltServer server = FakeFireboltServer.start(FakeFireboltServer.options())) {
+			HttpClient client = HttpClient.newHttpClient();
+			HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + "/"))
+					.header("Authorization", "Bearer " + FakeFireboltServer.ACCESS_TOKEN)
+					.POST(HttpRequest.BodyPublishers.ofString("SELECT 1")).build();
+			HttpResponse<String> first = client.send(request, HttpResponse.BodyHandlers.ofString());
+			HttpResponse<String> second = client.send(request, HttpResponse.BodyHandlers.ofString());
+			assertEquals(200, first.statusCode());
+			assertTrue(first.headers().firstValue("Firebolt-Query-Id").isPresent());
+			assertNotEquals(first.headers().firstValue("Firebolt-Query-Id"), second.headers().firstValue("Firebolt-Query-Id"));
+		}
+	}
+
+	@Test
+	void shouldRejectUnknownContentEncoding() throws Exception {
+		try (FakeFireboltServer server = FakeFireboltServer.start(FakeFireboltServer.options())) {
+			HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + "/"))
+					.header("Authorization", "Bearer " + FakeFireboltServer.ACCESS_TOKEN)
+					.header("Content-Encoding", "br")
+					.POST(HttpRequest.BodyPublishers.ofString("SELECT 1")).build();
+			assertEquals(415, HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString()).statusCode());
+		}
+	}
+
+	@Test
+	void shouldChangeDatabase() throws Exception {
+		try (FakeFireboltServer server = FakeFireboltServer.start(FakeFireboltServer.options());
+			 Connection connection = DriverManager.getConnection(server.getJdbcUrl("db", null));
+			 Statement statement = connection.createStatement()) {
+			assertEquals("db", connection.getCatalog());
+			statement.execute("USE DATABASE other_db");
+			assertEquals("other_db", connection.getCatalog());
+		}
+	}
+
+	@Test
+	void shouldFailOnInjectedFailure() throws Exception {
+		try (FakeFireboltServer server = FakeFireboltServer.start(FakeFireboltServer.options().failureRate(1).failureStatus(429));
+			 Connection connection = DriverManager.getConnection(server.getJdbcUrl("db", null));
+			 Statement statement = connection.createStatement()) {
+			assertThrows(SQLException.class, () -> statement.executeQuery("SELECT 1"));
+			assertEquals(1, server.getInjectedFailures());
+		}
+	}
+}
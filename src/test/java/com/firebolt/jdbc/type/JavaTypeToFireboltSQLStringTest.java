@@ -98,6 +98,15 @@ class JavaTypeToFireboltSQLStringTest {
 		assertEquals("'105\\\\'", JavaTypeToFireboltSQLString.transformAny("105\\", ParserVersion.LEGACY));
 	}
 
+	@Test
+	void shouldAppendEscapedStringToBuffer() {
+		StringBuilder sql = new StringBuilder("VALUES (");
+		JavaTypeToFireboltSQLString.appendSQLString(sql, "it's", ParserVersion.CURRENT).append(", ");
+		JavaTypeToFireboltSQLString.appendSQLString(sql, "a\\b'\0", ParserVersion.LEGACY).append(", ");
+		JavaTypeToFireboltSQLString.appendSQLString(sql, "", ParserVersion.CURRENT).append(')');
+		assertEquals("VALUES ('it''s', 'a\\\\b''\\\\0', '')", sql.toString());
+	}
+
 	@Test
 	void shouldTransformLongToString() throws SQLException {
 		assertEquals("105", JavaTypeToFireboltSQLString.LONG.transform(105L));
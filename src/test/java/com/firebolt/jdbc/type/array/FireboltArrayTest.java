@@ -9,10 +9,12 @@ import org.junit.jupiter.params.provider.ValueSource;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.BitSet;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class FireboltArrayTest {
@@ -92,4 +94,20 @@ class FireboltArrayTest {
 		assertThrows(SQLException.class, () -> fireboltArray.getArray(map));
 		assertThrows(SQLException.class, () -> fireboltArray.getArray(1, 100, map));
 	}
+
+	@Test
+	void shouldNotDecodeLazyArrayAfterFree() throws SQLException {
+		FireboltArray array = new FireboltArray(FireboltDataType.INTEGER, null, () -> PrimitiveArray.parse(FireboltDataType.INTEGER, "1,2", 0, 3, '\''));
+		assertArrayEquals(new int[] {1, 2}, array.unwrap(int[].class));
+		array.free();
+		assertThrows(SQLException.class, array::getArray);
+		assertThrows(SQLException.class, () -> array.unwrap(int[].class));
+	}
+
+	@Test
+	void shouldUnwrapOnlyToImplementedInterfacesIfArrayIsNotPrimitive() throws SQLException {
+		assertEquals(fireboltArray, fireboltArray.unwrap(FireboltArray.class));
+		assertFalse(fireboltArray.isWrapperFor(BitSet.class));
+		assertThrows(SQLException.class, () -> fireboltArray.unwrap(BitSet.class));
+	}
 }
@@ -2,9 +2,12 @@ package com.firebolt.jdbc.type.array;
 
 import com.firebolt.jdbc.resultset.column.ColumnType;
 import com.firebolt.jdbc.type.FireboltDataType;
+import java.io.IOException;
+import java.io.InputStream;
 import java.sql.Array;
 import java.sql.JDBCType;
 import java.sql.SQLException;
+import java.util.BitSet;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -21,8 +24,10 @@ import static com.firebolt.jdbc.type.FireboltDataType.TUPLE;
 import static java.lang.String.format;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class SqlArrayUtilTest {
 	private static final String nullableTwoDimIntArray = "Array(Array(int null) null) null";
@@ -185,6 +190,43 @@ class SqlArrayUtilTest {
 		assertArrayEquals(expected.getBytes(), SqlArrayUtil.hexStringToByteArray(hex));
 	}
 
+	@ParameterizedTest
+	@CsvSource({
+			"\\x78797A,xyz",
+			"\\\\x4a4B4c,JKL",
+			"\\x,''"
+	})
+	void hexStringToInputStream(String hex, String expected) throws SQLException, IOException {
+		assertArrayEquals(expected.getBytes(), SqlArrayUtil.hexStringToInputStream(hex).readAllBytes());
+		InputStream in = SqlArrayUtil.hexStringToInputStream(hex);
+		for (byte b : expected.getBytes()) {
+			assertEquals(b & 0xff, in.read());
+		}
+		assertEquals(-1, in.read());
+	}
+
+	@Test
+	void hexStringToInputStreamSupportsSkipAndMark() throws SQLException, IOException {
+		InputStream in = SqlArrayUtil.hexStringToInputStream("\\x48656c6c6f");
+		assertEquals(5, in.available());
+		assertEquals(1, in.skip(1));
+		in.mark(10);
+		byte[] buf = new byte[10];
+		assertEquals(4, in.read(buf, 2, 8));
+		assertEquals("ello", new String(buf, 2, 4));
+		in.reset();
+		assertEquals('e', in.read());
+		assertNull(SqlArrayUtil.hexStringToInputStream(null));
+	}
+
+	@Test
+	void wrongHexStringToInputStream() throws SQLException {
+		assertThrows(SQLException.class, () -> SqlArrayUtil.hexStringToInputStream("nothing"));
+		assertThrows(IllegalArgumentException.class, () -> SqlArrayUtil.hexStringToInputStream("\\x123"));
+		InputStream in = SqlArrayUtil.hexStringToInputStream("\\x41zz");
+		assertThrows(IOException.class, in::readAllBytes);
+	}
+
 	@Test
 	void cannotConvertNotHexStringToByteArray() {
 		assertThrows(SQLException.class, () -> SqlArrayUtil.hexStringToByteArray("nothing"));
@@ -254,6 +296,45 @@ class SqlArrayUtilTest {
 		shouldTransformArray(type, input, expectedType, expected);
 	}
 
+	@ParameterizedTest
+	@ValueSource(strings = {"[1,2,3,\\N,5]", "{1,2,3,NULL,5}", "['1','2','3',NULL,'5']"})
+	void shouldUnwrapIntArrayToPrimitiveArray(String value) throws SQLException {
+		FireboltArray array = SqlArrayUtil.transformToSqlArray(value, ColumnType.of("Array(int null)"));
+		assertTrue(array.isWrapperFor(int[].class));
+		assertTrue(array.isWrapperFor(BitSet.class));
+		assertFalse(array.isWrapperFor(long[].class));
+		assertArrayEquals(new int[] {1, 2, 3, 0, 5}, array.unwrap(int[].class));
+		BitSet nulls = new BitSet();
+		nulls.set(3);
+		assertEquals(nulls, array.unwrap(BitSet.class));
+		assertArrayEquals(new Integer[] {1, 2, 3, null, 5}, (Object[]) array.getArray());
+		assertThrows(SQLException.class, () -> array.unwrap(long[].class));
+	}
+
+	@Test
+	void shouldUnwrapPrimitiveArrays() throws SQLException {
+		assertArrayEquals(new long[] {1L, 9223372036854775807L}, SqlArrayUtil.transformToSqlArray("[1,9223372036854775807]", ColumnType.of("Array(long)")).unwrap(long[].class));
+		assertArrayEquals(new double[] {1.5, Double.NaN, Double.NEGATIVE_INFINITY}, SqlArrayUtil.transformToSqlArray("[1.5,nan,-inf]", ColumnType.of("Array(double)")).unwrap(double[].class));
+		assertArrayEquals(new float[] {2.5f, -1e3f}, SqlArrayUtil.transformToSqlArray("{2.5,-1e3}", ColumnType.of("Array(real)")).unwrap(float[].class));
+		assertArrayEquals(new boolean[] {true, false, false, true}, SqlArrayUtil.transformToSqlArray("{t,f,NULL,1}", ColumnType.of("Array(boolean null)")).unwrap(boolean[].class));
+		assertArrayEquals(new Boolean[] {true, false, null, true}, (Object[]) SqlArrayUtil.transformToSqlArray("{t,f,NULL,1}", ColumnType.of("Array(boolean null)")).getArray());
+	}
+
+	@Test
+	void shouldNotUnwrapArrayOfNonPrimitiveTypeToPrimitiveArray() throws SQLException {
+		FireboltArray array = SqlArrayUtil.transformToSqlArray("['a']", ColumnType.of(textArray));
+		assertFalse(array.isWrapperFor(BitSet.class));
+		assertThrows(SQLException.class, () -> array.unwrap(BitSet.class));
+		assertFalse(SqlArrayUtil.transformToSqlArray("[[1]]", ColumnType.of(nullableTwoDimIntArray)).isWrapperFor(int[].class));
+	}
+
+	@Test
+	void shouldDecodeArrayOnlyWhenItIsAccessed() throws SQLException {
+		FireboltArray array = SqlArrayUtil.transformToSqlArray("[1,two,3]", ColumnType.of("Array(int)"));
+		assertEquals(INTEGER.getSqlType(), array.getBaseType());
+		assertThrows(SQLException.class, array::getArray);
+	}
+
 
 	void shouldTransformArray(String typeDef, String value, FireboltDataType expectedType, Object expectedValue) throws SQLException {
 		FireboltArray expectedArray = new FireboltArray(expectedType, expectedValue);
@@ -8,7 +8,12 @@ import java.sql.SQLException;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.time.*;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.jupiter.api.Test;
 import org.junitpioneer.jupiter.DefaultTimeZone;
@@ -226,4 +231,61 @@ class SqlDateUtilTest {
 				expectedTimestampZdt.toInstant().toEpochMilli() - offsetDiffInMillis);
 		assertEquals(expectedTimestamp, SqlDateUtil.transformToTimestampFunction.apply(dateTime, null));
 	}
+
+	@Test
+	void shouldResolveTimestampInDstGapLikeGregorianCalendar() throws SQLException {
+		TimeZone newYork = TimeZone.getTimeZone("America/New_York");
+		// 02:30 does not exist on that day, it is read with the offset before the gap (03:30 EDT)
+		Timestamp expectedTimestamp = new Timestamp(
+				ZonedDateTime.of(2022, 3, 13, 7, 30, 0, 0, UTC_TZ.toZoneId()).toInstant().toEpochMilli());
+		assertEquals(expectedTimestamp, SqlDateUtil.transformToTimestampFunction.apply("2022-03-13 02:30:00", newYork));
+	}
+
+	@Test
+	void shouldResolveAmbiguousTimestampToStandardTime() throws SQLException {
+		TimeZone newYork = TimeZone.getTimeZone("America/New_York");
+		Timestamp expectedTimestamp = new Timestamp(
+				ZonedDateTime.of(2022, 11, 6, 6, 30, 0, 0, UTC_TZ.toZoneId()).toInstant().toEpochMilli());
+		assertEquals(expectedTimestamp, SqlDateUtil.transformToTimestampFunction.apply("2022-11-06 01:30:00", newYork));
+	}
+
+	@Test
+	void shouldTransformTimestampFromCharRange() throws SQLException {
+		String line = "1\t2023-01-05 16:04:42.123456+05:30\tabc";
+		Timestamp expectedTimestamp = new Timestamp(
+				ZonedDateTime.of(2023, 1, 5, 10, 34, 42, 0, UTC_TZ.toZoneId()).toInstant().toEpochMilli());
+		expectedTimestamp.setNanos(123456000);
+		assertEquals(expectedTimestamp, TimestampUtil.toTimestamp(line, 2, 34, null));
+	}
+
+	@Test
+	void shouldTransformTimestampsConcurrently() throws Exception {
+		TimeZone sydney = TimeZone.getTimeZone("Australia/Sydney");
+		String[] values = { "2023-01-05 16:04:42.123456+05:30", "2022-05-22 10:00:00", "1000-08-23 12:57:13" };
+		Timestamp[] expected = new Timestamp[values.length];
+		for (int i = 0; i < values.length; i++) {
+			expected[i] = SqlDateUtil.transformToTimestampFunction.apply(values[i], i % 2 == 0 ? EST_TZ : sydney);
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Boolean>> results = new ArrayList<>();
+			for (int thread = 0; thread < 8; thread++) {
+				results.add(executor.submit(() -> {
+					for (int i = 0; i < 10_000; i++) {
+						int index = i % values.length;
+						Timestamp actual = SqlDateUtil.transformToTimestampFunction.apply(values[index], index % 2 == 0 ? EST_TZ : sydney);
+						if (!expected[index].equals(actual)) {
+							return false;
+						}
+					}
+					return true;
+				}));
+			}
+			for (Future<Boolean> result : results) {
+				assertTrue(result.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
 }
@@ -57,6 +57,38 @@ class FireboltBlobTest extends FireboltLobTest {
         assertEquals(str, new String(blob.getBinaryStream().readAllBytes()));
     }
 
+    @Test
+    void ofHexString() throws SQLException, IOException {
+        String str = "hello, world!";
+        Blob blob = FireboltBlob.ofHexString("\\x68656c6c6f2c20776f726c6421");
+
+        assertEquals(str.length(), blob.length());
+        assertEquals(str, new String(blob.getBinaryStream().readAllBytes()));
+        assertEquals("world", new String(blob.getBytes(8, 5)));
+        assertEquals(new FireboltBlob(str.getBytes()), blob);
+        blob.setBytes(1, "H".getBytes());
+        assertEquals("Hello, world!", new String(blob.getBinaryStream().readAllBytes()));
+    }
+
+    @Test
+    void freeHexStringBlob() throws SQLException {
+        Blob blob = FireboltBlob.ofHexString("\\x6869");
+        blob.free();
+        assertThrows(SQLException.class, blob::length);
+        assertThrows(SQLException.class, blob::getBinaryStream);
+        assertThrows(SQLException.class, () -> blob.getBytes(1, 1));
+    }
+
+    @Test
+    void invalidHexString() throws SQLException {
+        assertThrows(SQLException.class, () -> FireboltBlob.ofHexString("6869"));
+        assertThrows(IllegalArgumentException.class, () -> FireboltBlob.ofHexString("\\x686"));
+        Blob blob = FireboltBlob.ofHexString("\\x68zz");
+        assertEquals(2, blob.length());
+        assertThrows(SQLException.class, () -> blob.getBytes(1, 2));
+        assertThrows(IOException.class, () -> blob.getBinaryStream().readAllBytes());
+    }
+
     @Test
     void binaryStreamToEmptyBlob() throws SQLException, IOException {
         String str = "hello, world!";
@@ -0,0 +1,56 @@
+package com.firebolt.jdbc.util;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResultSpoolTest {
+
+	@ParameterizedTest
+	@CsvSource(value = {
+			"0,0,false",
+			"10,100,false",
+			"100000,100,false",
+			"100000,100000,false",
+			"0,200000,false",
+			"1000,200000,true",
+			"1048576,200000,true",
+	})
+	void shouldReadWholeStreamAndServeItFromSpool(int memoryThreshold, int length, boolean compressFile) throws IOException {
+		byte[] content = new byte[length];
+		new Random(length).nextBytes(content);
+		boolean[] closed = { false };
+		InputStream source = new ByteArrayInputStream(content) {
+			@Override
+			public void close() {
+				closed[0] = true;
+			}
+		};
+		long spoolFiles = countSpoolFiles();
+
+		InputStream spooled = ResultSpool.spool(source, memoryThreshold, compressFile);
+		assertTrue(closed[0]);
+		try (InputStream in = spooled) {
+			assertArrayEquals(content, in.readAllBytes());
+		}
+		// the temporary file is deleted once the spooled stream is closed
+		assertEquals(spoolFiles, countSpoolFiles());
+	}
+
+	private static long countSpoolFiles() throws IOException {
+		try (Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+			return files.filter(file -> file.getFileName().toString().endsWith(".spool")).count();
+		}
+	}
+}
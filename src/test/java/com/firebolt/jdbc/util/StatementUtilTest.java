@@ -16,6 +16,7 @@ import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.sql.Date;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -488,4 +489,11 @@ class StatementUtilTest {
 		assertEquals(0, rawStatementWrapper.getTotalParams());
 	}
 
+	@Test
+	void shouldWriteValuesAsJsonArray() {
+		assertEquals("[1,\"a \\\"b\\\"\",null,true,1.5,\"2024-01-01\"]",
+				StatementUtil.toJsonArray(Arrays.asList(1, "a \"b\"", null, true, 1.5, Date.valueOf("2024-01-01"))));
+		assertEquals("[]", StatementUtil.toJsonArray(List.of()));
+	}
+
 }
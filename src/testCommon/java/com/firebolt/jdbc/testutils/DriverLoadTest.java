@@ -0,0 +1,181 @@
+package com.firebolt.jdbc.testutils;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.String.format;
+
+/**
+ * Drives N threads through the driver against the {@link FakeFireboltServer} (or any other backend given by
+ * {@code loadTest.url}) and reports throughput and latency percentiles. It is started by the {@code loadTest} gradle
+ * task and configured by system properties:
+ * <ul>
+ *     <li>{@code loadTest.threads} - number of threads, each one using its own connection (default 8)</li>
+ *     <li>{@code loadTest.queries} - number of measured queries per thread (default 50)</li>
+ *     <li>{@code loadTest.warmupQueries} - number of not measured queries per thread executed first (default 5)</li>
+ *     <li>{@code loadTest.rows} - number of rows returned by each query (default 10000)</li>
+ *     <li>{@code loadTest.textWidth} - length of the text column (default 32)</li>
+ *     <li>{@code loadTest.latencyMillis} - server side delay before each response (default 0)</li>
+ *     <li>{@code loadTest.bytesPerSecond} - server side streaming speed limit per query (default unlimited)</li>
+ *     <li>{@code loadTest.failureRate} and {@code loadTest.failureStatus} - share and HTTP status of injected
+ *     failures (default 0 and 503)</li>
+ *     <li>{@code loadTest.compress} - whether the result is LZ4 compressed (default true)</li>
+ *     <li>{@code loadTest.connectionParameters} - additional connection parameters, e.g. {@code max_retries=3}</li>
+ *     <li>{@code loadTest.maxFailures} - number of failed queries above which the run fails, e.g. 0 in CI
+ *     (default unlimited)</li>
+ *     <li>{@code loadTest.url}, {@code loadTest.user}, {@code loadTest.password} - run against a real backend
+ *     instead of the embedded server</li>
+ * </ul>
+ */
+public class DriverLoadTest {
+	private static final String PREFIX = "loadTest.";
+
+	private final int threads = Integer.getInteger(PREFIX + "threads", 8);
+	private final int queries = Integer.getInteger(PREFIX + "queries", 50);
+	private final int warmupQueries = Integer.getInteger(PREFIX + "warmupQueries", 5);
+	private final long rows = Long.getLong(PREFIX + "rows", 10_000);
+	private final long maxFailures = Long.getLong(PREFIX + "maxFailures", -1);
+	private final AtomicLong readRows = new AtomicLong();
+	private final AtomicLong failures = new AtomicLong();
+
+	public static void main(String[] args) throws Exception {
+		new DriverLoadTest().run();
+	}
+
+	private void run() throws Exception {
+		String externalUrl = System.getProperty(PREFIX + "url");
+		FakeFireboltServer server = externalUrl != null ? null : FakeFireboltServer.start(FakeFireboltServer.options()
+				.rows(rows)
+				.textWidth(Integer.getInteger(PREFIX + "textWidth", 32))
+				.latencyMillis(Long.getLong(PREFIX + "latencyMillis", 0))
+				.bytesPerSecond(Long.getLong(PREFIX + "bytesPerSecond", 0))
+				.failureRate(Double.parseDouble(System.getProperty(PREFIX + "failureRate", "0")))
+				.failureStatus(Integer.getInteger(PREFIX + "failureStatus", 503)));
+		try {
+			String parameters = "compress=" + (Boolean.parseBoolean(System.getProperty(PREFIX + "compress", "true")) ? 1 : 0);
+			String additionalParameters = System.getProperty(PREFIX + "connectionParameters", "");
+			if (!additionalParameters.isEmpty()) {
+				parameters += "&" + additionalParameters;
+			}
+			String url = server != null ? server.getJdbcUrl("load_test", parameters) : externalUrl;
+			report(server, execute(url));
+			if (maxFailures >= 0 && failures.get() > maxFailures) {
+				throw new IllegalStateException(format("%d queries failed, at most %d are accepted", failures.get(), maxFailures));
+			}
+		} finally {
+			if (server != null) {
+				server.close();
+			}
+		}
+	}
+
+	private Result execute(String url) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch warmedUp = new CountDownLatch(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<long[]>> futures = new ArrayList<>();
+		for (int i = 0; i < threads; i++) {
+			futures.add(executor.submit(() -> {
+				boolean ready = false;
+				try (Connection connection = DriverManager.getConnection(url, System.getProperty(PREFIX + "user"), System.getProperty(PREFIX + "password"))) {
+					for (int q = 0; q < warmupQueries; q++) {
+						executeQuery(connection, false);
+					}
+					ready = true;
+					warmedUp.countDown();
+					start.await();
+					long[] latencies = new long[queries];
+					for (int q = 0; q < queries; q++) {
+						long started = System.nanoTime();
+						executeQuery(connection, true);
+						latencies[q] = System.nanoTime() - started;
+					}
+					return latencies;
+				} finally {
+					if (!ready) {
+						warmedUp.countDown();
+					}
+				}
+			}));
+		}
+		warmedUp.await();
+		long started = System.nanoTime();
+		start.countDown();
+		long[] latencies = new long[0];
+		for (Future<long[]> future : futures) {
+			long[] threadLatencies = future.get();
+			int length = latencies.length;
+			latencies = Arrays.copyOf(latencies, length + threadLatencies.length);
+			System.arraycopy(threadLatencies, 0, latencies, length, threadLatencies.length);
+		}
+		long elapsed = System.nanoTime() - started;
+		executor.shutdown();
+		Arrays.sort(latencies);
+		return new Result(latencies, elapsed);
+	}
+
+	private void executeQuery(Connection connection, boolean measured) {
+		try (Statement statement = connection.createStatement();
+			 ResultSet rs = statement.executeQuery(format("SELECT * FROM load_test /* rows=%d */", rows))) {
+			long count = 0;
+			while (rs.next()) {
+				rs.getLong(1);
+				rs.getLong(2);
+				rs.getDouble(3);
+				rs.getString(4);
+				count++;
+			}
+			if (measured) {
+				readRows.addAndGet(count);
+			}
+		} catch (SQLException e) {
+			if (measured) {
+				failures.incrementAndGet();
+			}
+		}
+	}
+
+	private void report(FakeFireboltServer server, Result result) {
+		double seconds = result.elapsedNanos / 1e9;
+		long total = result.latencies.length;
+		System.out.printf("Threads: %d, queries: %d (failed: %d), rows per query: %d%n", threads, total, failures.get(), rows);
+		System.out.printf("Elapsed: %.2f s%n", seconds);
+		System.out.printf("Throughput: %.1f queries/s, %.0f rows/s%n", total / seconds, readRows.get() / seconds);
+		if (server != null) {
+			System.out.printf("Streamed by server: %.1f MB (%.1f MB/s), requests: %d, injected failures: %d%n",
+					server.getStreamedBytes() / 1e6, server.getStreamedBytes() / 1e6 / seconds, server.getQueryRequests(), server.getInjectedFailures());
+		}
+		System.out.printf("Latency: p50 %.2f ms, p90 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+				result.percentileMillis(50), result.percentileMillis(90), result.percentileMillis(99), result.percentileMillis(100));
+	}
+
+	private static final class Result {
+		private final long[] latencies;
+		private final long elapsedNanos;
+
+		private Result(long[] latencies, long elapsedNanos) {
+			this.latencies = latencies;
+			this.elapsedNanos = elapsedNanos;
+		}
+
+		private double percentileMillis(int percentile) {
+			if (latencies.length == 0) {
+				return 0;
+			}
+			int index = (int) Math.ceil(percentile / 100.0 * latencies.length) - 1;
+			return latencies[Math.max(0, index)] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+		}
+	}
+}
@@ -0,0 +1,482 @@
+package com.firebolt.jdbc.testutils;
+
+import com.firebolt.jdbc.resultset.compress.LZ4OutputStream;
+import com.github.luben.zstd.ZstdInputStream;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import net.jpountz.lz4.LZ4FrameInputStream;
+
+import static java.lang.String.format;
+
+/**
+ * Local stand-in of a Firebolt backend that can be used to run the real driver end to end without a cloud account.
+ * It is built on the HTTP server shipped with the JDK and implements:
+ * <ul>
+ *     <li>the query endpoint that streams generated {@code TabSeparatedWithNamesAndTypes} results, LZ4 compressed if
+ *     {@code compress=1} is requested, with configurable size, latency and throughput. The SQL of the request can be
+ *     compressed with gzip, lz4 or zstd as announced by its {@code Content-Encoding}, and the response of each query
+ *     has a {@code Firebolt-Query-Id} header</li>
+ *     <li>{@code USE DATABASE} and {@code USE ENGINE} answered with {@code Firebolt-Update-Parameters} and
+ *     {@code Firebolt-Update-Endpoint} headers</li>
+ *     <li>the lookup of running query ids in {@code engine_query_history} and the {@code /cancel} endpoint</li>
+ *     <li>the token ({@code /oauth/token}) and the account engine URL ({@code /web/v3/account/<account>/engineUrl})
+ *     endpoints</li>
+ *     <li>injection of failures (e.g. 429 or 503) for a share of the query requests</li>
+ * </ul>
+ * The driver connects to it as to a local development backend, see {@link #getJdbcUrl(String, String)}.
+ */
+public class FakeFireboltServer implements Closeable {
+	public static final String ACCESS_TOKEN = "fake_access_token";
+	public static final String ACCOUNT = "fake_account";
+	public static final String ACCOUNT_ID = "fake_account_id";
+	public static final String ENGINE = "fake_engine";
+	private static final String HEADER_UPDATE_PARAMETERS = "Firebolt-Update-Parameters";
+	private static final String HEADER_UPDATE_ENDPOINT = "Firebolt-Update-Endpoint";
+	private static final String HEADER_QUERY_ID = "Firebolt-Query-Id";
+	private static final String HEADER_CONTENT_ENCODING = "Content-Encoding";
+	private static final Pattern USE_DATABASE = Pattern.compile("^\\s*USE\\s+DATABASE\\s+\"?([^\";\\s]+)\"?\\s*;?\\s*$", Pattern.CASE_INSENSITIVE);
+	private static final Pattern USE_ENGINE = Pattern.compile("^\\s*USE\\s+ENGINE\\s+\"?([^\";\\s]+)\"?\\s*;?\\s*$", Pattern.CASE_INSENSITIVE);
+	private static final Pattern QUERY_ID_LOOKUP = Pattern.compile("query_history.*query_label\\s*=\\s*'([^']*)'", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+	private static final Pattern ROWS_HINT = Pattern.compile("/\\*\\s*rows\\s*=\\s*(\\d+)\\s*\\*/");
+	private static final Pattern ACCOUNT_PATH = Pattern.compile("^/web/v3/account/([^/]+)/engineUrl$");
+	private static final int LZ4_BLOCK_SIZE = 64 * 1024;
+	private static final long ORPHANED_QUERY_TIMEOUT_MILLIS = 2_000;
+
+	private final Options options;
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final Map<String, RunningQuery> runningQueries = new ConcurrentHashMap<>();
+	private final AtomicLong queryIdSequence = new AtomicLong();
+	private final AtomicLong queryRequests = new AtomicLong();
+	private final AtomicLong injectedFailures = new AtomicLong();
+	private final AtomicLong canceledQueries = new AtomicLong();
+	private final AtomicLong streamedBytes = new AtomicLong();
+
+	private FakeFireboltServer(Options options) throws IOException {
+		this.options = options;
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), options.port), 0);
+		executor = Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "fake-firebolt-server");
+			thread.setDaemon(true);
+			return thread;
+		});
+		server.setExecutor(executor);
+		server.createContext("/", this::handle);
+	}
+
+	/**
+	 * Starts the server on the loopback interface.
+	 *
+	 * @param options - the behaviour of the server
+	 * @return the started server
+	 * @throws IOException if the server cannot be bound
+	 */
+	public static FakeFireboltServer start(Options options) throws IOException {
+		FakeFireboltServer fakeServer = new FakeFireboltServer(options);
+		fakeServer.server.start();
+		return fakeServer;
+	}
+
+	public static Options options() {
+		return new Options();
+	}
+
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	/**
+	 * Returns JDBC URL that makes the driver talk to this server.
+	 *
+	 * @param database - the database name
+	 * @param additionalParameters - additional connection parameters in form {@code key1=value1&key2=value2}, may be empty
+	 * @return the JDBC URL
+	 */
+	public String getJdbcUrl(String database, String additionalParameters) {
+		String url = format("jdbc:firebolt:%s?host=localhost&port=%d&ssl=0&account=%s&engine=%s&access_token=%s", database, getPort(), ACCOUNT, ENGINE, ACCESS_TOKEN);
+		return additionalParameters == null || additionalParameters.isEmpty() ? url : url + "&" + additionalParameters;
+	}
+
+	public long getQueryRequests() {
+		return queryRequests.get();
+	}
+
+	public long getInjectedFailures() {
+		return injectedFailures.get();
+	}
+
+	public long getCanceledQueries() {
+		return canceledQueries.get();
+	}
+
+	public long getStreamedBytes() {
+		return streamedBytes.get();
+	}
+
+	public int getRunningQueries() {
+		return runningQueries.size();
+	}
+
+	@Override
+	public void close() {
+		runningQueries.values().forEach(RunningQuery::cancel);
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	private void handle(HttpExchange exchange) {
+		try {
+			String path = exchange.getRequestURI().getPath();
+			Matcher accountMatcher = ACCOUNT_PATH.matcher(path);
+			if ("/oauth/token".equals(path)) {
+				sendJson(exchange, 200, format("{\"access_token\":\"%s\",\"token_type\":\"Bearer\",\"expires_in\":%d}", ACCESS_TOKEN, TimeUnit.HOURS.toSeconds(12)));
+			} else if (accountMatcher.matches()) {
+				handleEngineUrl(exchange, accountMatcher.group(1));
+			} else if ("/cancel".equals(path)) {
+				handleCancel(exchange);
+			} else if ("/".equals(path) && "POST".equals(exchange.getRequestMethod())) {
+				handleQuery(exchange);
+			} else {
+				sendJson(exchange, 404, error("Not found: " + path));
+			}
+		} catch (IOException e) {
+			// the client went away (e.g. the statement was canceled); nothing to answer
+		}
+		// not reached by QueryCanceledException: the response stays unfinished and the server drops the connection
+		exchange.close();
+	}
+
+	private void handleEngineUrl(HttpExchange exchange, String account) throws IOException {
+		if (!isAuthorized(exchange)) {
+			sendJson(exchange, 401, error("Unauthorized"));
+		} else if (!ACCOUNT.equals(account)) {
+			sendJson(exchange, 404, error(format("Account '%s' does not exist", account)));
+		} else {
+			sendJson(exchange, 200, format("{\"engineUrl\":\"localhost:%d?account_id=%s\"}", getPort(), ACCOUNT_ID));
+		}
+	}
+
+	private void handleCancel(HttpExchange exchange) throws IOException {
+		String queryId = getQueryParameters(exchange).get("query_id");
+		RunningQuery query = runningQueries.values().stream().filter(q -> q.id.equals(queryId)).findFirst().orElse(null);
+		if (query == null) {
+			sendJson(exchange, 400, error(format("Query %s is not running", queryId)));
+			return;
+		}
+		query.cancel();
+		canceledQueries.incrementAndGet();
+		sendJson(exchange, 200, "");
+	}
+
+	private void handleQuery(HttpExchange exchange) throws IOException {
+		queryRequests.incrementAndGet();
+		if (!isAuthorized(exchange)) {
+			sendJson(exchange, 401, error("Unauthorized"));
+			return;
+		}
+		if (options.failureRate > 0 && ThreadLocalRandom.current().nextDouble() < options.failureRate) {
+			injectedFailures.incrementAndGet();
+			sendJson(exchange, options.failureStatus, error(format("Injected failure with status %d", options.failureStatus)));
+			return;
+		}
+		Map<String, String> parameters = getQueryParameters(exchange);
+		String sql = readBody(exchange);
+		if (sql == null) {
+			sendJson(exchange, 415, error("Unsupported Content-Encoding " + exchange.getRequestHeaders().getFirst(HEADER_CONTENT_ENCODING)));
+			return;
+		}
+		String id = Long.toString(queryIdSequence.incrementAndGet());
+		exchange.getResponseHeaders().add(HEADER_QUERY_ID, id);
+		sleep(options.latencyMillis);
+
+		Matcher useDatabase = USE_DATABASE.matcher(sql);
+		Matcher useEngine = USE_ENGINE.matcher(sql);
+		Matcher queryIdLookup = QUERY_ID_LOOKUP.matcher(sql);
+		if (useDatabase.matches()) {
+			exchange.getResponseHeaders().add(HEADER_UPDATE_PARAMETERS, "database=" + useDatabase.group(1));
+			sendJson(exchange, 200, "");
+		} else if (useEngine.matches()) {
+			exchange.getResponseHeaders().add(HEADER_UPDATE_ENDPOINT, format("localhost?engine=%s", useEngine.group(1)));
+			sendJson(exchange, 200, "");
+		} else if (queryIdLookup.find()) {
+			RunningQuery query = runningQueries.get(queryIdLookup.group(1));
+			sendRows(exchange, parameters, "query_id\ttext\n" + (query == null ? "" : query.id + "\n"));
+		} else {
+			streamGeneratedRows(exchange, parameters, id, getRows(sql));
+		}
+	}
+
+	private long getRows(String sql) {
+		Matcher rowsHint = ROWS_HINT.matcher(sql);
+		return rowsHint.find() ? Long.parseLong(rowsHint.group(1)) : options.rows;
+	}
+
+	private void streamGeneratedRows(HttpExchange exchange, Map<String, String> parameters, String id, long rows) throws IOException {
+		String label = parameters.getOrDefault("query_label", "query-" + id);
+		RunningQuery query = new RunningQuery(id);
+		runningQueries.put(label, query);
+		try {
+			addResponseHeaders(exchange);
+			exchange.sendResponseHeaders(200, 0);
+			String payload = "x".repeat(options.textWidth);
+			long started = System.nanoTime();
+			long written = 0;
+			// the stream is intentionally not closed if the query is canceled
+			OutputStream out = createOutputStream(exchange, parameters);
+			StringBuilder block = new StringBuilder("id\tvalue\tamount\tpayload\nint\tbigint\tdouble precision\ttext\n");
+			try {
+				for (long i = 1; i <= rows; i++) {
+					if (query.isCanceled()) {
+						throw new QueryCanceledException();
+					}
+					block.append(i).append('\t').append(i * 31).append('\t').append(i / 4.0).append('\t').append(payload).append('\n');
+					if (block.length() >= 16 * 1024 || i == rows) {
+						byte[] bytes = block.toString().getBytes(StandardCharsets.UTF_8);
+						out.write(bytes);
+						written += bytes.length;
+						block.setLength(0);
+						throttle(started, written);
+					}
+				}
+				if (rows == 0) {
+					out.write(block.toString().getBytes(StandardCharsets.UTF_8));
+				}
+				out.close();
+			} catch (IOException e) {
+				// The client disconnected. A real engine keeps executing the query until it is canceled, so it stays
+				// visible in the query history for a while.
+				query.awaitCancel(ORPHANED_QUERY_TIMEOUT_MILLIS);
+				throw e;
+			} finally {
+				streamedBytes.addAndGet(written);
+			}
+		} finally {
+			runningQueries.remove(label, query);
+		}
+	}
+
+	private void sendRows(HttpExchange exchange, Map<String, String> parameters, String tsv) throws IOException {
+		addResponseHeaders(exchange);
+		exchange.sendResponseHeaders(200, 0);
+		try (OutputStream out = createOutputStream(exchange, parameters)) {
+			out.write(tsv.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	private void addResponseHeaders(HttpExchange exchange) {
+		options.responseHeaders.forEach((name, value) -> exchange.getResponseHeaders().add(name, value));
+	}
+
+	private OutputStream createOutputStream(HttpExchange exchange, Map<String, String> parameters) {
+		OutputStream body = exchange.getResponseBody();
+		if (!"1".equals(parameters.get("compress"))) {
+			return body;
+		}
+		return new LZ4OutputStream(body, LZ4_BLOCK_SIZE) {
+			@Override
+			public void close() throws IOException {
+				flush();
+				body.close();
+			}
+		};
+	}
+
+	private void throttle(long started, long written) {
+		if (options.bytesPerSecond > 0) {
+			long expectedNanos = written * 1_000_000_000L / options.bytesPerSecond;
+			long aheadMillis = TimeUnit.NANOSECONDS.toMillis(expectedNanos - (System.nanoTime() - started));
+			sleep(aheadMillis);
+		}
+	}
+
+	private boolean isAuthorized(HttpExchange exchange) {
+		return !options.requireToken || ("Bearer " + ACCESS_TOKEN).equals(exchange.getRequestHeaders().getFirst("Authorization"));
+	}
+
+	/**
+	 * Reads the SQL of the request, decoded as announced by its {@code Content-Encoding}
+	 *
+	 * @return the SQL or {@code null} if the encoding is not supported
+	 */
+	private static String readBody(HttpExchange exchange) throws IOException {
+		InputStream body = exchange.getRequestBody();
+		String contentEncoding = exchange.getRequestHeaders().getFirst(HEADER_CONTENT_ENCODING);
+		InputStream in;
+		if (contentEncoding == null || "identity".equalsIgnoreCase(contentEncoding)) {
+			in = body;
+		} else if ("gzip".equalsIgnoreCase(contentEncoding)) {
+			in = new GZIPInputStream(body);
+		} else if ("lz4".equalsIgnoreCase(contentEncoding)) {
+			in = new LZ4FrameInputStream(body);
+		} else if ("zstd".equalsIgnoreCase(contentEncoding)) {
+			in = new ZstdInputStream(body);
+		} else {
+			return null;
+		}
+		try (in) {
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+
+	private static Map<String, String> getQueryParameters(HttpExchange exchange) {
+		Map<String, String> parameters = new HashMap<>();
+		String query = exchange.getRequestURI().getRawQuery();
+		if (query != null) {
+			for (String parameter : query.split("&")) {
+				String[] keyValue = parameter.split("=", 2);
+				parameters.put(URLDecoder.decode(keyValue[0], StandardCharsets.UTF_8), keyValue.length > 1 ? URLDecoder.decode(keyValue[1], StandardCharsets.UTF_8) : "");
+			}
+		}
+		return parameters;
+	}
+
+	private static void sendJson(HttpExchange exchange, int status, String json) throws IOException {
+		byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+		if (bytes.length > 0) {
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(bytes);
+			}
+		}
+	}
+
+	private static String error(String message) {
+		return format("{\"errors\":[{\"description\":\"%s\"}]}", message.replace("\"", "'"));
+	}
+
+	private static void sleep(long millis) {
+		if (millis > 0) {
+			TestFixtures.sleepForMillis(millis);
+		}
+	}
+
+	/**
+	 * Thrown out of the handler to make the HTTP server drop the connection without finishing the response, which is
+	 * what the client observes when a running query is canceled.
+	 */
+	private static final class QueryCanceledException extends RuntimeException {
+		private QueryCanceledException() {
+			super("Query was canceled", null, false, false);
+		}
+	}
+
+	private static final class RunningQuery {
+		private final String id;
+		private final CountDownLatch canceled = new CountDownLatch(1);
+
+		private RunningQuery(String id) {
+			this.id = id;
+		}
+
+		private void cancel() {
+			canceled.countDown();
+		}
+
+		private boolean isCanceled() {
+			return canceled.getCount() == 0;
+		}
+
+		private void awaitCancel(long timeoutMillis) {
+			try {
+				canceled.await(timeoutMillis, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Behaviour of the fake server. The number of rows returned by a query can be also overridden by the query itself
+	 * using comment {@code /* rows=N *}{@code /}.
+	 */
+	public static final class Options {
+		private int port;
+		private long rows = 1;
+		private int textWidth = 16;
+		private long latencyMillis;
+		private long bytesPerSecond;
+		private double failureRate;
+		private int failureStatus = 503;
+		private boolean requireToken = true;
+		private final Map<String, String> responseHeaders = new LinkedHashMap<>();
+
+		private Options() {
+		}
+
+		/** Port to listen on, 0 (default) means any free port */
+		public Options port(int port) {
+			this.port = port;
+			return this;
+		}
+
+		/** Number of rows returned by each query */
+		public Options rows(long rows) {
+			this.rows = rows;
+			return this;
+		}
+
+		/** Length of the text column of the generated rows */
+		public Options textWidth(int textWidth) {
+			this.textWidth = textWidth;
+			return this;
+		}
+
+		/** Delay before the response of each query is sent */
+		public Options latencyMillis(long latencyMillis) {
+			this.latencyMillis = latencyMillis;
+			return this;
+		}
+
+		/** Limit of the uncompressed result streaming speed per query, 0 (default) means unlimited */
+		public Options bytesPerSecond(long bytesPerSecond) {
+			this.bytesPerSecond = bytesPerSecond;
+			return this;
+		}
+
+		/** Share (0..1) of the query requests answered with {@code failureStatus} */
+		public Options failureRate(double failureRate) {
+			this.failureRate = failureRate;
+			return this;
+		}
+
+		/** HTTP status of the injected failures, e.g. 429 or 503 */
+		public Options failureStatus(int failureStatus) {
+			this.failureStatus = failureStatus;
+			return this;
+		}
+
+		/** Whether requests without the {@link #ACCESS_TOKEN} are rejected with 401 */
+		public Options requireToken(boolean requireToken) {
+			this.requireToken = requireToken;
+			return this;
+		}
+
+		/** Header added to every successful query response, e.g. {@code Firebolt-Update-Parameters} */
+		public Options responseHeader(String name, String value) {
+			responseHeaders.put(name, value);
+			return this;
+		}
+	}
+}